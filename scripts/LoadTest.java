@@ -0,0 +1,181 @@
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * HTTP load generator for the REST API. Every client is a virtual thread
+ * running a closed loop: send a request, read the whole response, wait the
+ * think time, repeat. Latencies measured after the warm-up are reported as
+ * percentiles. "{id}" in a path is replaced by a random task id.
+ *
+ * Usage (JDK 21+):
+ *   java scripts/LoadTest.java [--url http://localhost:8080] [--clients 10000]
+ *       [--duration 30] [--warmup 5] [--think 0] [--seed 100000] [--path /api/tasks/{id} ...]
+ */
+public class LoadTest {
+    private static final List<String> DEFAULT_PATHS = List.of(
+            "/api/tasks/{id}",
+            "/api/search?status=IN_PROGRESS&priority=HIGH&size=50",
+            "/api/search/stream?keyword=sprint%2042&status=BLOCKED");
+
+    public static void main(String[] args) throws Exception {
+        String url = "http://localhost:8080";
+        int clients = 10_000;
+        int durationSeconds = 30;
+        int warmupSeconds = 5;
+        int thinkMillis = 0;
+        int seed = 0;
+        List<String> paths = new ArrayList<>();
+        for (int i = 0; i < args.length; i += 2) {
+            String value = i + 1 < args.length ? args[i + 1] : usage("Missing value for " + args[i]);
+            switch (args[i]) {
+                case "--url" -> url = value;
+                case "--clients" -> clients = Integer.parseInt(value);
+                case "--duration" -> durationSeconds = Integer.parseInt(value);
+                case "--warmup" -> warmupSeconds = Integer.parseInt(value);
+                case "--think" -> thinkMillis = Integer.parseInt(value);
+                case "--seed" -> seed = Integer.parseInt(value);
+                case "--path" -> paths.add(value);
+                default -> usage("Unknown option " + args[i]);
+            }
+        }
+        if (paths.isEmpty()) {
+            paths.addAll(DEFAULT_PATHS);
+        }
+
+        ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor();
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .executor(threads)
+                .build();
+        if (seed > 0) {
+            seed(client, url, seed);
+        }
+        long maxId = Math.max(1, seed);
+
+        System.out.printf("%d clients, %ds warm-up, %ds measured, think time %dms%n",
+                clients, warmupSeconds, durationSeconds, thinkMillis);
+        long start = System.nanoTime();
+        long measureFrom = start + Duration.ofSeconds(warmupSeconds).toNanos();
+        long end = measureFrom + Duration.ofSeconds(durationSeconds).toNanos();
+        AtomicLong errors = new AtomicLong();
+        List<long[]> samples = new ArrayList<>();
+        List<Future<long[]>> futures = new ArrayList<>(clients);
+        for (int c = 0; c < clients; c++) {
+            String base = url;
+            int think = thinkMillis;
+            futures.add(threads.submit(() -> runClient(client, base, paths, maxId, think, measureFrom, end, errors)));
+        }
+        for (Future<long[]> future : futures) {
+            samples.add(future.get());
+        }
+        threads.shutdown();
+        report(samples, errors.get(), durationSeconds);
+    }
+
+    private static long[] runClient(HttpClient client, String url, List<String> paths, long maxId, int thinkMillis,
+                                    long measureFrom, long end, AtomicLong errors) throws InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long[] latencies = new long[256];
+        int count = 0;
+        while (true) {
+            long sent = System.nanoTime();
+            if (sent >= end) {
+                break;
+            }
+            String path = paths.get(random.nextInt(paths.size()))
+                    .replace("{id}", Long.toString(1 + random.nextLong(maxId)));
+            HttpRequest request = HttpRequest.newBuilder(URI.create(url + path))
+                    .timeout(Duration.ofSeconds(60))
+                    .GET()
+                    .build();
+            boolean failed;
+            try {
+                // 404s for ids deleted or never seeded still exercise the server
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                failed = response.statusCode() >= 500;
+            } catch (IOException e) {
+                failed = true;
+            }
+            long received = System.nanoTime();
+            if (sent >= measureFrom) {
+                if (failed) {
+                    errors.incrementAndGet();
+                } else {
+                    if (count == latencies.length) {
+                        latencies = Arrays.copyOf(latencies, count * 2);
+                    }
+                    latencies[count++] = received - sent;
+                }
+            }
+            if (thinkMillis > 0) {
+                Thread.sleep(thinkMillis);
+            }
+        }
+        return Arrays.copyOf(latencies, count);
+    }
+
+    private static void seed(HttpClient client, String url, int tasks) throws Exception {
+        String[] statuses = {"PENDING", "IN_PROGRESS", "BLOCKED", "COMPLETED"};
+        String[] priorities = {"LOW", "MEDIUM", "HIGH", "CRITICAL"};
+        int batchSize = 1000;
+        for (int from = 0; from < tasks; from += batchSize) {
+            StringBuilder body = new StringBuilder("[");
+            for (int i = from; i < Math.min(tasks, from + batchSize); i++) {
+                if (i > from) {
+                    body.append(',');
+                }
+                body.append("{\"title\":\"Load test task ").append(i)
+                        .append("\",\"description\":\"Sprint ").append(i % 100).append(" item\"")
+                        .append(",\"status\":\"").append(statuses[i % statuses.length])
+                        .append("\",\"priority\":\"").append(priorities[(i / 4) % priorities.length]).append("\"}");
+            }
+            HttpRequest request = HttpRequest.newBuilder(URI.create(url + "/api/tasks/batch"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body.append(']').toString()))
+                    .build();
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 201) {
+                throw new IllegalStateException("Seeding failed with " + response.statusCode() + ": " + response.body());
+            }
+        }
+        System.out.printf("Seeded %d tasks%n", tasks);
+    }
+
+    private static void report(List<long[]> samples, long errors, int durationSeconds) {
+        long[] all = samples.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        System.out.printf("requests: %d ok, %d errors, %.0f req/s%n",
+                all.length, errors, all.length / (double) durationSeconds);
+        if (all.length == 0) {
+            return;
+        }
+        System.out.printf("latency ms: p50 %.2f  p90 %.2f  p99 %.2f  p99.9 %.2f  max %.2f%n",
+                millis(all, 0.50), millis(all, 0.90), millis(all, 0.99), millis(all, 0.999),
+                all[all.length - 1] / 1e6);
+    }
+
+    private static double millis(long[] sorted, double quantile) {
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    private static String usage(String message) {
+        System.err.println(message);
+        System.err.println("Usage: java scripts/LoadTest.java [--url URL] [--clients N] [--duration S] "
+                + "[--warmup S] [--think MS] [--seed TASKS] [--path PATH ...]");
+        System.exit(2);
+        return null;
+    }
+}
@@ -0,0 +1,93 @@
+#!/bin/bash
+
+# ============================================
+# Comparação de latência: virtual threads x platform threads
+# Pipeline de Gerência - Sistema de Gerenciamento de Tarefas
+# ============================================
+#
+# Sobe a aplicação duas vezes (virtual threads e pool de platform threads
+# do Tomcat), popula tarefas e executa scripts/LoadTest.java contra cada
+# modo com o mesmo número de clientes.
+#
+# Uso: ./scripts/compare_threads.sh [clientes] [duração_s] [tarefas]
+# Exemplo: ./scripts/compare_threads.sh 10000 30 100000
+
+set -e  # Parar em caso de erro
+
+CLIENTS=${1:-10000}
+DURATION=${2:-30}
+SEED=${3:-100000}
+PORT=8080
+PLATFORM_THREADS=200
+
+# Cores para output
+RED='\033[0;31m'
+GREEN='\033[0;32m'
+BLUE='\033[0;34m'
+NC='\033[0m' # No Color
+
+print_info() {
+    echo -e "${BLUE}ℹ️  $1${NC}"
+}
+
+print_success() {
+    echo -e "${GREEN}✅ $1${NC}"
+}
+
+print_error() {
+    echo -e "${RED}❌ $1${NC}"
+}
+
+if [ ! -f "build.gradle" ]; then
+    print_error "build.gradle não encontrado. Execute este script na raiz do projeto."
+    exit 1
+fi
+
+# Cada cliente mantém uma conexão aberta nos dois lados
+if [ "$(ulimit -n)" != "unlimited" ] && [ "$(ulimit -n)" -lt $((CLIENTS * 2 + 1024)) ]; then
+    ulimit -n $((CLIENTS * 2 + 1024)) 2>/dev/null || {
+        print_error "Limite de arquivos abertos muito baixo para $CLIENTS clientes (ulimit -n)."
+        exit 1
+    }
+fi
+
+print_info "Compilando aplicação..."
+./gradlew bootJar --no-daemon -q
+JAR_FILE=$(ls build/libs/*.jar | grep -v "plain" | head -n 1)
+
+run_mode() {
+    local name=$1
+    local virtual=$2
+
+    print_info "Iniciando aplicação com $name..."
+    java -jar "$JAR_FILE" --server.port=$PORT \
+        --spring.threads.virtual.enabled=$virtual \
+        --server.tomcat.threads.max=$PLATFORM_THREADS > "build/load-test-$name.log" 2>&1 &
+    local pid=$!
+
+    for _ in $(seq 1 60); do
+        if curl -sf http://localhost:$PORT/actuator/health > /dev/null; then
+            break
+        fi
+        sleep 1
+    done
+    if ! curl -sf http://localhost:$PORT/actuator/health > /dev/null; then
+        kill $pid 2>/dev/null || true
+        print_error "Aplicação não respondeu. Veja build/load-test-$name.log"
+        exit 1
+    fi
+
+    echo ""
+    echo "=== $name ==="
+    java scripts/LoadTest.java --url http://localhost:$PORT --clients "$CLIENTS" \
+        --duration "$DURATION" --seed "$SEED" | tee "build/load-test-$name.txt"
+
+    kill $pid
+    wait $pid 2>/dev/null || true
+}
+
+run_mode virtual-threads true
+run_mode platform-threads false
+
+echo ""
+print_success "Resultados salvos em build/load-test-*.txt"
@@ -0,0 +1,96 @@
+package com.example.pipeline_gerencia.benchmark;
+
+import com.example.pipeline_gerencia.model.*;
+import com.example.pipeline_gerencia.overdue.OverdueTracker;
+import com.example.pipeline_gerencia.overdue.OverdueTrackingTaskRepository;
+import com.example.pipeline_gerencia.repository.TaskRepository;
+import com.example.pipeline_gerencia.repository.impl.ColumnarTaskRepository;
+import com.example.pipeline_gerencia.repository.impl.ConcurrentTaskRepository;
+import com.example.pipeline_gerencia.repository.impl.InMemoryTaskRepository;
+import com.example.pipeline_gerencia.repository.impl.MvccTaskRepository;
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic data sets shared by the benchmarks
+ */
+final class BenchmarkData {
+    static final int USERS = 1_000;
+    static final int CATEGORIES = 20;
+
+    private static final String[] WORDS = {
+            "api", "login", "relatório", "deploy", "banco", "pipeline", "teste", "cache",
+            "tela", "cadastro", "integração", "revisão", "métricas", "backup", "fila", "busca"
+    };
+
+    private BenchmarkData() {}
+
+    static TaskRepository newTaskRepository(String implementation) {
+        switch (implementation) {
+            case "inMemory":
+                return new InMemoryTaskRepository();
+            case "concurrent":
+                return new ConcurrentTaskRepository();
+            case "columnar":
+                return new ColumnarTaskRepository();
+            case "mvcc":
+                return new MvccTaskRepository();
+            case "overdueTracked":
+                return new OverdueTrackingTaskRepository(new ConcurrentTaskRepository(), new OverdueTracker());
+            default:
+                throw new IllegalArgumentException("Unknown repository: " + implementation);
+        }
+    }
+
+    static User[] users() {
+        User[] users = new User[USERS];
+        for (int i = 0; i < USERS; i++) {
+            users[i] = new User("Usuário " + i, "usuario" + i + "@example.com", "Departamento " + (i % 8));
+            users[i].setId((long) i + 1);
+        }
+        return users;
+    }
+
+    static Category[] categories() {
+        Category[] categories = new Category[CATEGORIES];
+        for (int i = 0; i < CATEGORIES; i++) {
+            categories[i] = new Category("Categoria " + i, "Descrição " + i);
+            categories[i].setId((long) i + 1);
+        }
+        return categories;
+    }
+
+    static void populate(TaskRepository repository, int size) {
+        SplittableRandom random = new SplittableRandom(42);
+        User[] users = users();
+        Category[] categories = categories();
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < size; i++) {
+            repository.save(newTask(random, users, categories, now));
+        }
+    }
+
+    static Task newTask(SplittableRandom random, User[] users, Category[] categories, LocalDateTime now) {
+        Task task = new Task(sentence(random, 3), sentence(random, 12));
+        task.setStatus(Status.values()[random.nextInt(Status.values().length)]);
+        task.setPriority(Priority.values()[random.nextInt(Priority.values().length)]);
+        task.setAssignee(users[random.nextInt(users.length)]);
+        task.setCategory(categories[random.nextInt(categories.length)]);
+        task.setCompletionPercentage(random.nextInt(101));
+        if (random.nextInt(4) != 0) {
+            task.setDueDate(now.plusHours(random.nextInt(24 * 60) - 24 * 30));
+        }
+        return task;
+    }
+
+    static String sentence(SplittableRandom random, int words) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.pipeline_gerencia.benchmark;
+
+import com.example.pipeline_gerencia.model.*;
+import com.example.pipeline_gerencia.persistence.DurabilityOptions;
+import com.example.pipeline_gerencia.persistence.DurableStore;
+import com.example.pipeline_gerencia.repository.TaskRepository;
+import com.example.pipeline_gerencia.repository.impl.ConcurrentTaskRepository;
+import com.example.pipeline_gerencia.repository.impl.InMemoryCategoryRepository;
+import com.example.pipeline_gerencia.repository.impl.InMemoryUserRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Task write throughput with and without the write-ahead log. Group commit
+ * only pays off with concurrent writers, so run with several threads, e.g.
+ * -Pjmh.args="-t 16".
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DurabilityBenchmark {
+
+    @Param({"none", "groupCommit"})
+    String durability;
+
+    @Param({"0", "2"})
+    int flushIntervalMillis;
+
+    Path directory;
+    DurableStore store;
+    TaskRepository repository;
+    User[] users;
+    Category[] categories;
+
+    @State(Scope.Thread)
+    public static class ThreadRandom {
+        final SplittableRandom random = new SplittableRandom(7);
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        users = BenchmarkData.users();
+        categories = BenchmarkData.categories();
+        if (durability.equals("none")) {
+            repository = new ConcurrentTaskRepository();
+            return;
+        }
+        DurabilityOptions options = new DurabilityOptions();
+        options.setFlushInterval(Duration.ofMillis(flushIntervalMillis));
+        directory = Files.createTempDirectory("durability-benchmark");
+        store = new DurableStore(directory, new ConcurrentTaskRepository(),
+                new InMemoryUserRepository(), new InMemoryCategoryRepository(), options);
+        repository = store.getTaskRepository();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (store == null) {
+            return;
+        }
+        store.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public Task save(ThreadRandom thread) {
+        return repository.save(BenchmarkData.newTask(thread.random, users, categories, LocalDateTime.now()));
+    }
+
+    @Benchmark
+    public Task saveAndUpdate(ThreadRandom thread) {
+        Task task = repository.save(BenchmarkData.newTask(thread.random, users, categories, LocalDateTime.now()));
+        task.setStatus(Status.IN_PROGRESS);
+        repository.update(task);
+        return task;
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.pipeline_gerencia.benchmark;
+
+import com.example.pipeline_gerencia.metrics.MeteredTaskRepository;
+import com.example.pipeline_gerencia.metrics.MeteredTaskService;
+import com.example.pipeline_gerencia.model.*;
+import com.example.pipeline_gerencia.repository.TaskRepository;
+import com.example.pipeline_gerencia.service.TaskService;
+import com.example.pipeline_gerencia.util.SearchFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the metrics decorators on the cheapest operations, where their
+ * overhead is largest relative to the work. Compare metered=true against
+ * metered=false; run with -t N to include contention on the meters.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MetricsBenchmark {
+
+    @Param({"100000"})
+    int size;
+
+    @Param({"false", "true"})
+    boolean metered;
+
+    TaskRepository repository;
+    TaskService service;
+    SearchFilter filter;
+
+    @State(Scope.Thread)
+    public static class ThreadRandom {
+        final SplittableRandom random = new SplittableRandom(7);
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        repository = BenchmarkData.newTaskRepository("concurrent");
+        BenchmarkData.populate(repository, size);
+        if (metered) {
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            repository = new MeteredTaskRepository(repository, registry);
+            service = new MeteredTaskService(repository, registry);
+        } else {
+            service = new TaskService(repository);
+        }
+        filter = new SearchFilter();
+        filter.setStatus(Status.BLOCKED);
+        filter.setPriority(Priority.CRITICAL);
+    }
+
+    @Benchmark
+    public Optional<Task> findById(ThreadRandom thread) {
+        return repository.findById(1 + thread.random.nextLong(size));
+    }
+
+    @Benchmark
+    public Optional<Task> getTaskById(ThreadRandom thread) {
+        return service.getTaskById(1 + thread.random.nextLong(size));
+    }
+
+    @Benchmark
+    public long countByStatus() {
+        return repository.countByStatus(Status.COMPLETED);
+    }
+
+    @Benchmark
+    public List<Task> searchTasks() {
+        return service.searchTasks(filter);
+    }
+}
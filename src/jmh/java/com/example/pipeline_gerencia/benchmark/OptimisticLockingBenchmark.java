@@ -0,0 +1,73 @@
+package com.example.pipeline_gerencia.benchmark;
+
+import com.example.pipeline_gerencia.model.Task;
+import com.example.pipeline_gerencia.repository.OptimisticLockException;
+import com.example.pipeline_gerencia.repository.impl.ConcurrentTaskRepository;
+import com.example.pipeline_gerencia.service.TaskService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Read-modify-write throughput of versioned updates retried on conflict
+ * against the same change made under one global lock. Fewer hot tasks mean
+ * more conflicts; run with -t N, since single-threaded both only measure
+ * the update itself.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OptimisticLockingBenchmark {
+
+    @Param({"1", "16", "1024"})
+    int hotTasks;
+
+    ConcurrentTaskRepository repository;
+    TaskService service;
+    final Object globalLock = new Object();
+
+    static final Consumer<Task> CHANGE =
+            task -> task.setCompletionPercentage((task.getCompletionPercentage() + 1) % 100);
+
+    @State(Scope.Thread)
+    public static class ThreadRandom {
+        final SplittableRandom random = new SplittableRandom(ThreadLocalRandom.current().nextLong());
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        repository = new ConcurrentTaskRepository();
+        service = new TaskService(repository);
+        BenchmarkData.populate(repository, hotTasks);
+    }
+
+    @Benchmark
+    public Task optimistic(ThreadRandom thread) {
+        long id = 1 + thread.random.nextLong(hotTasks);
+        // Only completed updates count, even when the retries run out
+        while (true) {
+            try {
+                return service.updateTask(id, CHANGE);
+            } catch (OptimisticLockException e) {
+                // try again
+            }
+        }
+    }
+
+    @Benchmark
+    public Task globalLock(ThreadRandom thread) {
+        long id = 1 + thread.random.nextLong(hotTasks);
+        synchronized (globalLock) {
+            Task task = new Task(repository.findById(id).orElseThrow());
+            CHANGE.accept(task);
+            repository.update(task);
+            return task;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.pipeline_gerencia.benchmark;
+
+import com.example.pipeline_gerencia.model.*;
+import com.example.pipeline_gerencia.repository.TaskRepository;
+import com.example.pipeline_gerencia.service.TaskService;
+import com.example.pipeline_gerencia.util.Page;
+import com.example.pipeline_gerencia.util.SearchFilter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TaskService.searchTasks over the supported filter combinations
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchBenchmark {
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    int size;
+
+    @Param({"inMemory", "concurrent", "columnar", "mvcc", "overdueTracked"})
+    String implementation;
+
+    @Param({"keyword", "shortKeyword", "status", "statusPriority", "assignee", "overdue", "allCriteria"})
+    String filterCombination;
+
+    TaskService taskService;
+    SearchFilter filter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        TaskRepository repository = BenchmarkData.newTaskRepository(implementation);
+        BenchmarkData.populate(repository, size);
+        taskService = new TaskService(repository);
+        filter = filter(filterCombination);
+    }
+
+    @Benchmark
+    public List<Task> search() {
+        return taskService.searchTasks(filter);
+    }
+
+    @Benchmark
+    public Page<Task> searchFirstPage() {
+        return taskService.searchTasks(filter, null, 50);
+    }
+
+    static SearchFilter filter(String combination) {
+        SearchFilter filter = new SearchFilter();
+        switch (combination) {
+            case "keyword":
+                filter.setKeyword("pipeline deploy");
+                break;
+            case "shortKeyword":
+                filter.setKeyword("ap");
+                break;
+            case "status":
+                filter.setStatus(Status.BLOCKED);
+                break;
+            case "statusPriority":
+                filter.setStatus(Status.IN_PROGRESS);
+                filter.setPriority(Priority.CRITICAL);
+                break;
+            case "assignee":
+                filter.setAssigneeId(17L);
+                break;
+            case "overdue":
+                filter.setShowOverdueOnly(true);
+                break;
+            case "allCriteria":
+                filter.setKeyword("cache");
+                filter.setStatus(Status.IN_PROGRESS);
+                filter.setPriority(Priority.HIGH);
+                filter.setAssigneeId(17L);
+                filter.setCategoryId(3L);
+                filter.setShowOverdueOnly(true);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown filter: " + combination);
+        }
+        return filter;
+    }
+}
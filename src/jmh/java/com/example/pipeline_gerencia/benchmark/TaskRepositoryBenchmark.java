@@ -0,0 +1,99 @@
+package com.example.pipeline_gerencia.benchmark;
+
+import com.example.pipeline_gerencia.model.*;
+import com.example.pipeline_gerencia.repository.TaskRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point lookups, index queries and writes against the task repositories.
+ * Write benchmarks are only meaningful multi-threaded (-t N) with
+ * implementation=concurrent.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskRepositoryBenchmark {
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    int size;
+
+    @Param({"inMemory", "concurrent", "columnar", "mvcc", "overdueTracked"})
+    String implementation;
+
+    TaskRepository repository;
+    User[] users;
+    Category[] categories;
+
+    @State(Scope.Thread)
+    public static class ThreadRandom {
+        final SplittableRandom random = new SplittableRandom(7);
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        repository = BenchmarkData.newTaskRepository(implementation);
+        BenchmarkData.populate(repository, size);
+        users = BenchmarkData.users();
+        categories = BenchmarkData.categories();
+    }
+
+    @Benchmark
+    public Optional<Task> findById(ThreadRandom thread) {
+        return repository.findById(1 + thread.random.nextLong(size));
+    }
+
+    @Benchmark
+    public List<Task> findByStatus() {
+        return repository.findByStatus(Status.BLOCKED);
+    }
+
+    @Benchmark
+    public List<Task> findByPriority() {
+        return repository.findByPriority(Priority.CRITICAL);
+    }
+
+    @Benchmark
+    public List<Task> findByAssigneeId(ThreadRandom thread) {
+        return repository.findByAssigneeId(1 + thread.random.nextLong(BenchmarkData.USERS));
+    }
+
+    @Benchmark
+    public List<Task> findOverdueTasks() {
+        return repository.findOverdueTasks();
+    }
+
+    @Benchmark
+    public List<Task> findNextDue() {
+        return repository.findNextDue(LocalDateTime.now(), 50);
+    }
+
+    @Benchmark
+    public long countCompleted() {
+        return repository.countByStatus(Status.COMPLETED);
+    }
+
+    @Benchmark
+    public Task saveAndDelete(ThreadRandom thread) {
+        Task task = BenchmarkData.newTask(thread.random, users, categories, LocalDateTime.now());
+        repository.save(task);
+        repository.delete(task.getId());
+        return task;
+    }
+
+    @Benchmark
+    public Task updateStatus(ThreadRandom thread) {
+        Task task = repository.findById(1 + thread.random.nextLong(size)).orElseThrow();
+        task.setStatus(Status.values()[thread.random.nextInt(Status.values().length)]);
+        repository.update(task);
+        return task;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.pipeline_gerencia.benchmark;
+
+import com.example.pipeline_gerencia.model.Task;
+import com.example.pipeline_gerencia.util.TaskValidator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TaskValidator.getValidationError for valid and invalid tasks
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskValidatorBenchmark {
+
+    Task valid;
+    Task invalidTitle;
+    Task longDescription;
+
+    @Setup
+    public void setUp() {
+        valid = new Task("Implementar autenticação", "Sistema de login com JWT");
+        invalidTitle = new Task("ab", "Título curto demais");
+        longDescription = new Task("Descrição no limite", "x".repeat(2000));
+    }
+
+    @Benchmark
+    public String validTask() {
+        return TaskValidator.getValidationError(valid);
+    }
+
+    @Benchmark
+    public String invalidTitle() {
+        return TaskValidator.getValidationError(invalidTitle);
+    }
+
+    @Benchmark
+    public String maxLengthDescription() {
+        return TaskValidator.getValidationError(longDescription);
+    }
+}
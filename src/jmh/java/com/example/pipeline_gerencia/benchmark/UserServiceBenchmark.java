@@ -0,0 +1,47 @@
+package com.example.pipeline_gerencia.benchmark;
+
+import com.example.pipeline_gerencia.model.User;
+import com.example.pipeline_gerencia.repository.impl.InMemoryUserRepository;
+import com.example.pipeline_gerencia.service.UserService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UserService.createUser, dominated by the duplicate email check
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserServiceBenchmark {
+
+    @Param({"1000", "100000", "500000"})
+    int existingUsers;
+
+    UserService userService;
+    long next;
+
+    // Rebuilt every iteration so the measured size stays close to existingUsers
+    @Setup(Level.Iteration)
+    public void setUp() {
+        userService = new UserService(new InMemoryUserRepository());
+        for (int i = 0; i < existingUsers; i++) {
+            userService.createUser("Usuário " + i, "usuario" + i + "@example.com", "Desenvolvimento");
+        }
+        next = existingUsers;
+    }
+
+    @Benchmark
+    public User createUser() {
+        long n = next++;
+        return userService.createUser("Usuário " + n, "usuario" + n + "@example.com", "Desenvolvimento");
+    }
+
+    @Benchmark
+    public boolean lookupByEmail() {
+        return userService.getUserByEmail("USUARIO" + (existingUsers / 2) + "@example.com").isPresent();
+    }
+}
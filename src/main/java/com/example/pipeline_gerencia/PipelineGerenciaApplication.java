@@ -5,10 +5,6 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import com.example.pipeline_gerencia.model.*;
-import com.example.pipeline_gerencia.repository.TaskRepository;
-import com.example.pipeline_gerencia.repository.UserRepository;
-import com.example.pipeline_gerencia.repository.impl.InMemoryTaskRepository;
-import com.example.pipeline_gerencia.repository.impl.InMemoryUserRepository;
 import com.example.pipeline_gerencia.service.TaskService;
 import com.example.pipeline_gerencia.service.UserService;
 import java.time.LocalDateTime;
@@ -21,16 +17,11 @@ public class PipelineGerenciaApplication {
 	}
 
 	@Bean
-	CommandLineRunner demoRunner() {
+	CommandLineRunner demoRunner(UserService userService, TaskService taskService) {
 		return args -> {
-			// Demo of the Task Manager
+			// Demo of the Task Manager; the data stays available through the REST API
 			System.out.println("\n=== Task Manager Demo ===\n");
 			
-			UserRepository userRepository = new InMemoryUserRepository();
-			TaskRepository taskRepository = new InMemoryTaskRepository();
-			UserService userService = new UserService(userRepository);
-			TaskService taskService = new TaskService(taskRepository);
-			
 			// Create some users
 			User user1 = userService.createUser("João Silva", "joao@example.com", "Desenvolvimento");
 			User user2 = userService.createUser("Maria Santos", "maria@example.com", "Gerência");
@@ -0,0 +1,19 @@
+package com.example.pipeline_gerencia.cache;
+
+/**
+ * Point-in-time counters of a TinyLfuCache.
+ */
+public record CacheStats(long hitCount, long missCount, long evictionCount, long size) {
+
+    public long requestCount() {
+        return hitCount + missCount;
+    }
+
+    /**
+     * Share of lookups answered from the cache; 0 before the first lookup.
+     */
+    public double hitRate() {
+        long requests = requestCount();
+        return requests == 0 ? 0 : (double) hitCount / requests;
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.pipeline_gerencia.cache;
+
+import com.example.pipeline_gerencia.model.Category;
+import com.example.pipeline_gerencia.repository.CategoryRepository;
+import com.example.pipeline_gerencia.repository.ForwardingCategoryRepository;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Read-through cache for findById and findByName in front of a slower
+ * CategoryRepository, handing out copies of the cached categories like
+ * CachingUserRepository, including invalidating the name a write replaces.
+ */
+public class CachingCategoryRepository extends ForwardingCategoryRepository {
+    private final TinyLfuCache<Long, Category> byId;
+    private final TinyLfuCache<String, Category> byName;
+
+    /**
+     * @param maximumSize capacity of each of the two caches, in entries
+     */
+    public CachingCategoryRepository(CategoryRepository delegate, int maximumSize) {
+        super(delegate);
+        byId = new TinyLfuCache<>(maximumSize);
+        byName = new TinyLfuCache<>(maximumSize);
+    }
+
+    /**
+     * The caches by the query they answer, for stats.
+     */
+    public Map<String, TinyLfuCache<?, ?>> getCaches() {
+        Map<String, TinyLfuCache<?, ?>> caches = new LinkedHashMap<>();
+        caches.put("findById", byId);
+        caches.put("findByName", byName);
+        return caches;
+    }
+
+    @Override
+    public Optional<Category> findById(Long id) {
+        if (id == null) {
+            return delegate.findById(null);
+        }
+        return Optional.ofNullable(byId.get(id, key -> delegate.findById(key).orElse(null))).map(Category::new);
+    }
+
+    @Override
+    public Optional<Category> findByName(String name) {
+        if (name == null) {
+            return delegate.findByName(null);
+        }
+        String key = nameKey(name);
+        return Optional.ofNullable(byName.get(key, k -> delegate.findByName(name).orElse(null))).map(Category::new);
+    }
+
+    @Override
+    public Category save(Category category) {
+        Category before = stored(category.getId());
+        Category saved = delegate.save(category);
+        invalidate(before);
+        invalidate(saved);
+        return saved;
+    }
+
+    @Override
+    public void update(Category category) {
+        // The name being replaced is only known from the stored category
+        Category before = stored(category.getId());
+        delegate.update(category);
+        invalidate(before);
+        invalidate(category);
+    }
+
+    @Override
+    public boolean delete(Long id) {
+        Category stored = stored(id);
+        boolean deleted = delegate.delete(id);
+        invalidate(stored);
+        return deleted;
+    }
+
+    private Category stored(Long id) {
+        if (id == null) {
+            return null;
+        }
+        Category stored = byId.peek(id);
+        return stored != null ? stored : delegate.findById(id).orElse(null);
+    }
+
+    private void invalidate(Category category) {
+        if (category == null) {
+            return;
+        }
+        if (category.getId() != null) {
+            byId.invalidate(category.getId());
+        }
+        if (category.getName() != null) {
+            byName.invalidate(nameKey(category.getName()));
+        }
+    }
+
+    private static String nameKey(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+}
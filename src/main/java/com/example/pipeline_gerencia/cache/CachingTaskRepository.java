@@ -0,0 +1,198 @@
+package com.example.pipeline_gerencia.cache;
+
+import com.example.pipeline_gerencia.model.Task;
+import com.example.pipeline_gerencia.repository.ForwardingTaskRepository;
+import com.example.pipeline_gerencia.repository.TaskRepository;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read-through cache for findById and findByAssigneeId in front of a slower
+ * TaskRepository. The cache keeps its own copies and hands out copies, so
+ * callers changing a returned task without update() cannot change what
+ * later hits see. Writes through this decorator invalidate the task and the
+ * assignee lists it left and joined; writes that bypass it are not seen
+ * until the entries are evicted. Other queries go to the delegate.
+ * <p>
+ * Writes never read the delegate. The list a task leaves is known from its
+ * cached copy, or from the assignee whose list it was last loaded in: every
+ * list load records that for its tasks, at most one entry per task, dropped
+ * when the task is next written.
+ */
+public class CachingTaskRepository extends ForwardingTaskRepository {
+    private final TinyLfuCache<Long, Task> byId;
+    private final TinyLfuCache<Long, List<Task>> byAssignee;
+    // Task id -> assignee whose loaded list held the task
+    private final ConcurrentHashMap<Long, Long> listedUnder = new ConcurrentHashMap<>();
+
+    /**
+     * @param maximumSize capacity of each of the two caches, in entries
+     */
+    public CachingTaskRepository(TaskRepository delegate, int maximumSize) {
+        super(delegate);
+        byId = new TinyLfuCache<>(maximumSize);
+        byAssignee = new TinyLfuCache<>(maximumSize);
+    }
+
+    /**
+     * The caches by the query they answer, for stats.
+     */
+    public Map<String, TinyLfuCache<?, ?>> getCaches() {
+        Map<String, TinyLfuCache<?, ?>> caches = new LinkedHashMap<>();
+        caches.put("findById", byId);
+        caches.put("findByAssigneeId", byAssignee);
+        return caches;
+    }
+
+    @Override
+    public Optional<Task> findById(Long id) {
+        if (id == null) {
+            return delegate.findById(null);
+        }
+        Task cached = byId.get(id, key -> delegate.findById(key).map(Task::new).orElse(null));
+        return cached == null ? Optional.empty() : Optional.of(new Task(cached));
+    }
+
+    @Override
+    public List<Task> findByAssigneeId(Long userId) {
+        if (userId == null) {
+            return delegate.findByAssigneeId(null);
+        }
+        return copies(byAssignee.get(userId, key -> {
+            List<Task> loaded = copies(delegate.findByAssigneeId(key));
+            // Recorded before the list can be cached, so a write that misses
+            // the record has bumped the cache past this load
+            for (Task task : loaded) {
+                listedUnder.put(task.getId(), key);
+            }
+            return loaded;
+        }));
+    }
+
+    @Override
+    public Task save(Task task) {
+        Long cachedAssignee = cachedAssigneeId(task.getId());
+        Task saved = delegate.save(task);
+        invalidate(List.of(saved), new Long[] {cachedAssignee});
+        return saved;
+    }
+
+    @Override
+    public List<Task> saveAll(Collection<Task> tasks) {
+        Long[] cachedAssignees = cachedAssigneeIds(tasks);
+        List<Task> saved = delegate.saveAll(tasks);
+        invalidate(saved, cachedAssignees);
+        return saved;
+    }
+
+    @Override
+    public void update(Task task) {
+        Long cachedAssignee = cachedAssigneeId(task.getId());
+        delegate.update(task);
+        invalidate(List.of(task), new Long[] {cachedAssignee});
+    }
+
+    @Override
+    public void updateAll(Collection<Task> tasks) {
+        Long[] cachedAssignees = cachedAssigneeIds(tasks);
+        try {
+            delegate.updateAll(tasks);
+        } finally {
+            // Some delegates apply part of a batch before a conflict
+            invalidate(tasks, cachedAssignees);
+        }
+    }
+
+    @Override
+    public boolean delete(Long id) {
+        Long cachedAssignee = cachedAssigneeId(id);
+        boolean deleted = delegate.delete(id);
+        invalidateIds(id == null ? List.of() : List.of(id), new Long[] {cachedAssignee});
+        return deleted;
+    }
+
+    @Override
+    public List<Long> deleteAll(Collection<Long> ids) {
+        Long[] cachedAssignees = new Long[ids.size()];
+        int i = 0;
+        for (Long id : ids) {
+            cachedAssignees[i++] = cachedAssigneeId(id);
+        }
+        List<Long> deleted = delegate.deleteAll(ids);
+        invalidateIds(ids, cachedAssignees);
+        return deleted;
+    }
+
+    // Assignee of the cached copy, read before the write replaces it
+    private Long cachedAssigneeId(Long id) {
+        Task cached = id == null ? null : byId.peek(id);
+        return cached == null ? null : cached.getAssigneeId();
+    }
+
+    private Long[] cachedAssigneeIds(Collection<Task> tasks) {
+        Long[] ids = new Long[tasks.size()];
+        int i = 0;
+        for (Task task : tasks) {
+            ids[i++] = cachedAssigneeId(task.getId());
+        }
+        return ids;
+    }
+
+    private void invalidate(Collection<Task> tasks, Long[] cachedAssignees) {
+        List<Long> ids = new ArrayList<>(tasks.size());
+        Set<Long> assignees = new HashSet<>();
+        for (Task task : tasks) {
+            if (task.getId() != null) {
+                ids.add(task.getId());
+            }
+            if (task.getAssigneeId() != null) {
+                assignees.add(task.getAssigneeId());
+            }
+        }
+        invalidate(ids, cachedAssignees, assignees);
+    }
+
+    private void invalidateIds(Collection<Long> ids, Long[] cachedAssignees) {
+        List<Long> present = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            if (id != null) {
+                present.add(id);
+            }
+        }
+        invalidate(present, cachedAssignees, new HashSet<>());
+    }
+
+    // Runs after the write: drops the tasks and every list they may have left
+    // or joined, in one invalidation per cache so overlapping loads are not
+    // cached even when no list is affected
+    private void invalidate(List<Long> ids, Long[] cachedAssignees, Set<Long> assignees) {
+        for (Long assignee : cachedAssignees) {
+            if (assignee != null) {
+                assignees.add(assignee);
+            }
+        }
+        for (Long id : ids) {
+            Long listed = listedUnder.remove(id);
+            if (listed != null) {
+                assignees.add(listed);
+            }
+        }
+        byId.invalidateAll(ids);
+        byAssignee.invalidateAll(assignees);
+    }
+
+    private static List<Task> copies(List<Task> tasks) {
+        List<Task> copies = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            copies.add(new Task(task));
+        }
+        return copies;
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.pipeline_gerencia.cache;
+
+import com.example.pipeline_gerencia.model.User;
+import com.example.pipeline_gerencia.repository.ForwardingUserRepository;
+import com.example.pipeline_gerencia.repository.UserRepository;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Read-through cache for findById and findByEmail in front of a slower
+ * UserRepository. The cache keeps the delegate's copies and hands out
+ * copies of them, like CachingTaskRepository, so a caller changing a
+ * returned user cannot change what later hits see. Writes through this
+ * decorator invalidate the user's entries under the email it had and the
+ * one it has now; other queries go to the delegate.
+ */
+public class CachingUserRepository extends ForwardingUserRepository {
+    private final TinyLfuCache<Long, User> byId;
+    private final TinyLfuCache<String, User> byEmail;
+
+    /**
+     * @param maximumSize capacity of each of the two caches, in entries
+     */
+    public CachingUserRepository(UserRepository delegate, int maximumSize) {
+        super(delegate);
+        byId = new TinyLfuCache<>(maximumSize);
+        byEmail = new TinyLfuCache<>(maximumSize);
+    }
+
+    /**
+     * The caches by the query they answer, for stats.
+     */
+    public Map<String, TinyLfuCache<?, ?>> getCaches() {
+        Map<String, TinyLfuCache<?, ?>> caches = new LinkedHashMap<>();
+        caches.put("findById", byId);
+        caches.put("findByEmail", byEmail);
+        return caches;
+    }
+
+    @Override
+    public Optional<User> findById(Long id) {
+        if (id == null) {
+            return delegate.findById(null);
+        }
+        return Optional.ofNullable(byId.get(id, key -> delegate.findById(key).orElse(null))).map(User::new);
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        if (email == null) {
+            return delegate.findByEmail(null);
+        }
+        String key = emailKey(email);
+        return Optional.ofNullable(byEmail.get(key, k -> delegate.findByEmail(email).orElse(null))).map(User::new);
+    }
+
+    @Override
+    public User save(User user) {
+        User before = stored(user.getId());
+        User saved = delegate.save(user);
+        invalidate(before);
+        invalidate(saved);
+        return saved;
+    }
+
+    @Override
+    public void update(User user) {
+        // The email being replaced is only known from the stored user
+        User before = stored(user.getId());
+        delegate.update(user);
+        invalidate(before);
+        invalidate(user);
+    }
+
+    @Override
+    public boolean delete(Long id) {
+        User stored = stored(id);
+        boolean deleted = delegate.delete(id);
+        invalidate(stored);
+        return deleted;
+    }
+
+    private User stored(Long id) {
+        if (id == null) {
+            return null;
+        }
+        User stored = byId.peek(id);
+        return stored != null ? stored : delegate.findById(id).orElse(null);
+    }
+
+    private void invalidate(User user) {
+        if (user == null) {
+            return;
+        }
+        if (user.getId() != null) {
+            byId.invalidate(user.getId());
+        }
+        if (user.getEmail() != null) {
+            byEmail.invalidate(emailKey(user.getEmail()));
+        }
+    }
+
+    private static String emailKey(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,413 @@
+package com.example.pipeline_gerencia.cache;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Bounded cache with W-TinyLFU eviction. New entries enter a small LRU
+ * window (1% of the capacity); an entry leaving the window only displaces
+ * the least recently used entry of the main area if a frequency sketch says
+ * it was accessed more often, so one-off scans cannot flush popular
+ * entries. The main area is a segmented LRU: entries hit again while on
+ * probation move to the protected segment (80% of the main area).
+ * <p>
+ * Lookups never block: they read a ConcurrentHashMap and record the access
+ * in a lossy, striped buffer that is replayed onto the policy by whichever
+ * thread gets the lock. Writes and invalidations take the lock.
+ */
+public final class TinyLfuCache<K, V> {
+    private static final int WINDOW = 0;
+    private static final int PROBATION = 1;
+    private static final int PROTECTED = 2;
+    private static final int REMOVED = 3;
+
+    // Accesses per stripe waiting to be replayed; more are dropped
+    private static final int BUFFER_SIZE = 32;
+    private static final int DRAIN_THRESHOLD = BUFFER_SIZE / 2;
+
+    private final ConcurrentHashMap<K, Node<K, V>> data = new ConcurrentHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final int maximumSize;
+    private final int windowMaximum;
+    private final int protectedMaximum;
+    private final FrequencySketch sketch;
+    private final AccessQueue<K, V> window = new AccessQueue<>();
+    private final AccessQueue<K, V> probation = new AccessQueue<>();
+    private final AccessQueue<K, V> protectedSegment = new AccessQueue<>();
+    private final ReadBuffer<K, V>[] readBuffers;
+    private int count;
+    // Bumped by every invalidation; a load that saw another value is not cached
+    private volatile long epoch;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    public TinyLfuCache(int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be positive");
+        }
+        this.maximumSize = maximumSize;
+        windowMaximum = Math.max(1, maximumSize / 100);
+        protectedMaximum = (maximumSize - windowMaximum) * 4 / 5;
+        sketch = new FrequencySketch(maximumSize);
+        int stripes = Integer.highestOneBit(Math.min(16, Runtime.getRuntime().availableProcessors()) * 2 - 1);
+        readBuffers = new ReadBuffer[stripes];
+        for (int i = 0; i < stripes; i++) {
+            readBuffers[i] = new ReadBuffer<>();
+        }
+    }
+
+    /**
+     * Returns the cached value, or null on a miss.
+     */
+    public V getIfPresent(K key) {
+        Node<K, V> node = data.get(key);
+        if (node == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        afterRead(node);
+        return node.value;
+    }
+
+    /**
+     * Returns the cached value without counting a lookup or an access.
+     */
+    public V peek(K key) {
+        Node<K, V> node = data.get(key);
+        return node == null ? null : node.value;
+    }
+
+    /**
+     * Returns the cached value, or loads and caches it on a miss. Null loads
+     * are not cached. Concurrent misses on one key may each run the loader. A
+     * load that overlapped an invalidation is returned but not cached, since
+     * it may have read the value being invalidated.
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        V value = getIfPresent(key);
+        if (value != null) {
+            return value;
+        }
+        long started = epoch;
+        value = loader.apply(key);
+        if (value != null) {
+            lock.lock();
+            try {
+                if (started == epoch) {
+                    putLocked(key, value);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Returns the cached values of the keys, loading every missing key with
+     * a single loader call. Keys the loader has no value for are left out
+     * of the result. As with {@link #get}, a load that overlapped an
+     * invalidation is returned but not cached.
+     */
+    public Map<K, V> getAll(Collection<? extends K> keys,
+                            Function<? super Set<K>, ? extends Map<? extends K, ? extends V>> loader) {
+        Map<K, V> result = new HashMap<>();
+        Set<K> missing = new HashSet<>();
+        for (K key : keys) {
+            V value = getIfPresent(key);
+            if (value != null) {
+                result.put(key, value);
+            } else {
+                missing.add(key);
+            }
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+        long started = epoch;
+        Map<? extends K, ? extends V> loaded = loader.apply(missing);
+        if (!loaded.isEmpty()) {
+            lock.lock();
+            try {
+                boolean cache = started == epoch;
+                for (Map.Entry<? extends K, ? extends V> entry : loaded.entrySet()) {
+                    if (entry.getValue() != null) {
+                        result.put(entry.getKey(), entry.getValue());
+                        if (cache) {
+                            putLocked(entry.getKey(), entry.getValue());
+                        }
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        return result;
+    }
+
+    public void invalidate(K key) {
+        lock.lock();
+        try {
+            drainReadBuffers();
+            Node<K, V> node = data.get(key);
+            if (node != null) {
+                removeLocked(node);
+            }
+            epoch++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Invalidates the keys under one lock. Like every invalidation it keeps
+     * loads that overlapped it from being cached, even if none of the keys
+     * was present.
+     */
+    public void invalidateAll(Iterable<? extends K> keys) {
+        lock.lock();
+        try {
+            drainReadBuffers();
+            for (K key : keys) {
+                Node<K, V> node = data.get(key);
+                if (node != null) {
+                    removeLocked(node);
+                }
+            }
+            epoch++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            drainReadBuffers();
+            for (Node<K, V> node : data.values()) {
+                removeLocked(node);
+            }
+            epoch++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long estimatedSize() {
+        return data.size();
+    }
+
+    public long maximumSize() {
+        return maximumSize;
+    }
+
+    public CacheStats stats() {
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), data.size());
+    }
+
+    private void afterRead(Node<K, V> node) {
+        ReadBuffer<K, V> buffer = readBuffers[stripe()];
+        long writes = buffer.writes.get();
+        long pending = writes - buffer.reads;
+        if (pending < BUFFER_SIZE && buffer.writes.compareAndSet(writes, writes + 1)) {
+            buffer.slots.lazySet((int) writes & (BUFFER_SIZE - 1), node);
+            pending++;
+        }
+        if (pending >= DRAIN_THRESHOLD && lock.tryLock()) {
+            try {
+                drainReadBuffers();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private int stripe() {
+        int h = System.identityHashCode(Thread.currentThread());
+        return (h ^ (h >>> 16)) & (readBuffers.length - 1);
+    }
+
+    private void drainReadBuffers() {
+        for (ReadBuffer<K, V> buffer : readBuffers) {
+            long reads = buffer.reads;
+            long writes = buffer.writes.get();
+            for (; reads < writes; reads++) {
+                int index = (int) reads & (BUFFER_SIZE - 1);
+                Node<K, V> node = buffer.slots.get(index);
+                if (node == null) {
+                    // Slot claimed but not yet filled; replay it next time
+                    break;
+                }
+                buffer.slots.lazySet(index, null);
+                onAccess(node);
+            }
+            buffer.reads = reads;
+        }
+    }
+
+    private void putLocked(K key, V value) {
+        drainReadBuffers();
+        Node<K, V> node = data.get(key);
+        if (node != null) {
+            node.value = value;
+            onAccess(node);
+            return;
+        }
+        node = new Node<>(key, value);
+        data.put(key, node);
+        count++;
+        sketch.increment(key);
+        window.addLast(node);
+        Node<K, V> candidate = null;
+        if (window.size > windowMaximum) {
+            candidate = window.pollFirst();
+            candidate.queue = PROBATION;
+            probation.addLast(candidate);
+        }
+        evict(candidate);
+    }
+
+    private void onAccess(Node<K, V> node) {
+        switch (node.queue) {
+            case WINDOW -> {
+                sketch.increment(node.key);
+                window.moveToLast(node);
+            }
+            case PROBATION -> {
+                sketch.increment(node.key);
+                probation.remove(node);
+                node.queue = PROTECTED;
+                protectedSegment.addLast(node);
+                if (protectedSegment.size > protectedMaximum) {
+                    Node<K, V> demoted = protectedSegment.pollFirst();
+                    demoted.queue = PROBATION;
+                    probation.addLast(demoted);
+                }
+            }
+            case PROTECTED -> {
+                sketch.increment(node.key);
+                protectedSegment.moveToLast(node);
+            }
+            default -> {
+                // Invalidated or evicted after the access was buffered
+            }
+        }
+    }
+
+    // Evicts until the cache fits, letting the entry just admitted from the
+    // window compete with the probation victim by frequency
+    private void evict(Node<K, V> candidate) {
+        while (count > maximumSize) {
+            Node<K, V> victim = probation.first != null ? probation.first
+                    : protectedSegment.first != null ? protectedSegment.first : window.first;
+            Node<K, V> evicted = victim;
+            if (candidate != null && candidate != victim && candidate.queue == PROBATION
+                    && sketch.frequency(candidate.key) <= sketch.frequency(victim.key)) {
+                evicted = candidate;
+            }
+            if (evicted == candidate) {
+                candidate = null;
+            }
+            removeLocked(evicted);
+            evictions.increment();
+        }
+    }
+
+    private void removeLocked(Node<K, V> node) {
+        data.remove(node.key, node);
+        switch (node.queue) {
+            case WINDOW -> window.remove(node);
+            case PROBATION -> probation.remove(node);
+            case PROTECTED -> protectedSegment.remove(node);
+            default -> {
+                return;
+            }
+        }
+        node.queue = REMOVED;
+        count--;
+    }
+
+    private static final class Node<K, V> {
+        final K key;
+        volatile V value;
+        // Guarded by the cache's lock
+        int queue = WINDOW;
+        Node<K, V> prev;
+        Node<K, V> next;
+
+        Node(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    // Doubly linked LRU list, least recently used first
+    private static final class AccessQueue<K, V> {
+        Node<K, V> first;
+        Node<K, V> last;
+        int size;
+
+        void addLast(Node<K, V> node) {
+            node.prev = last;
+            node.next = null;
+            if (last == null) {
+                first = node;
+            } else {
+                last.next = node;
+            }
+            last = node;
+            size++;
+        }
+
+        void remove(Node<K, V> node) {
+            if (node.prev == null) {
+                first = node.next;
+            } else {
+                node.prev.next = node.next;
+            }
+            if (node.next == null) {
+                last = node.prev;
+            } else {
+                node.next.prev = node.prev;
+            }
+            node.prev = null;
+            node.next = null;
+            size--;
+        }
+
+        Node<K, V> pollFirst() {
+            Node<K, V> node = first;
+            if (node != null) {
+                remove(node);
+            }
+            return node;
+        }
+
+        void moveToLast(Node<K, V> node) {
+            if (node != last) {
+                remove(node);
+                addLast(node);
+            }
+        }
+    }
+
+    private static final class ReadBuffer<K, V> {
+        final AtomicReferenceArray<Node<K, V>> slots = new AtomicReferenceArray<>(BUFFER_SIZE);
+        final AtomicLong writes = new AtomicLong();
+        // Advanced under the cache's lock
+        volatile long reads;
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.pipeline_gerencia.config;
+
+import com.example.pipeline_gerencia.cache.CachingCategoryRepository;
+import com.example.pipeline_gerencia.cache.CachingTaskRepository;
+import com.example.pipeline_gerencia.cache.CachingUserRepository;
+import com.example.pipeline_gerencia.events.ChangeDispatcher;
+import com.example.pipeline_gerencia.events.ChangeEventRing;
+import com.example.pipeline_gerencia.events.ChangeType;
+import com.example.pipeline_gerencia.events.EntityLookupEvictor;
+import com.example.pipeline_gerencia.events.EntityType;
+import com.example.pipeline_gerencia.events.PublishingCategoryRepository;
+import com.example.pipeline_gerencia.events.PublishingTaskRepository;
+import com.example.pipeline_gerencia.events.PublishingUserRepository;
+import com.example.pipeline_gerencia.events.WaitStrategies;
+import com.example.pipeline_gerencia.metrics.CacheMeters;
+import com.example.pipeline_gerencia.metrics.MeteredCategoryRepository;
+import com.example.pipeline_gerencia.metrics.MeteredTaskRepository;
+import com.example.pipeline_gerencia.metrics.MeteredTaskService;
+import com.example.pipeline_gerencia.metrics.MeteredUserRepository;
+import com.example.pipeline_gerencia.metrics.MeteredUserService;
+import com.example.pipeline_gerencia.model.EntityLookup;
+import com.example.pipeline_gerencia.overdue.OverdueTracker;
+import com.example.pipeline_gerencia.overdue.OverdueTrackingTaskRepository;
+import com.example.pipeline_gerencia.persistence.DurabilityOptions;
+import com.example.pipeline_gerencia.persistence.StoredRepositories;
+import com.example.pipeline_gerencia.repository.CategoryRepository;
+import com.example.pipeline_gerencia.repository.TaskRepository;
+import com.example.pipeline_gerencia.repository.UserRepository;
+import com.example.pipeline_gerencia.repository.impl.InMemoryCategoryRepository;
+import com.example.pipeline_gerencia.repository.impl.InMemoryUserRepository;
+import com.example.pipeline_gerencia.repository.impl.MvccTaskRepository;
+import com.example.pipeline_gerencia.repository.impl.SynchronizedCategoryRepository;
+import com.example.pipeline_gerencia.repository.impl.SynchronizedUserRepository;
+import com.example.pipeline_gerencia.service.TaskService;
+import com.example.pipeline_gerencia.service.UserService;
+import com.example.pipeline_gerencia.util.CachedClock;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Wires the repositories and services used by the REST API. Requests are
+ * served concurrently, so every repository handed out here is thread-safe;
+ * tasks are versioned so searches and statistics read one consistent state,
+ * and versions no reader needs are collected every
+ * pipeline.mvcc.collect-millis.
+ * Repositories and services are metered; see /actuator/metrics and
+ * /actuator/prometheus. Every write is published to the change-event ring;
+ * register listeners with the ChangeDispatcher bean. With a positive
+ * pipeline.cache.maximum-size, hot lookups are served from W-TinyLFU caches in
+ * front of the repositories, whose stats are published as pipeline.cache.*.
+ * Overdue tasks are tracked in a timer wheel advanced every
+ * pipeline.overdue.tick-millis; passed due dates are published to the ring
+ * as OVERDUE events. The repositories, the task service and the overdue
+ * tracker read the time from the clock bean, a CachedClock refreshed every
+ * pipeline.clock.resolution-millis. The task service attaches assignees and
+ * categories through the entityLookup bean, which caches up to
+ * pipeline.lookup.maximum-size users and categories loaded from these
+ * repositories and evicts them as their change events come in.
+ * With pipeline.persistence.dir set, the repositories are durable: startup
+ * restores the snapshot in that directory and replays its write-ahead log,
+ * writes are group-committed to the log every
+ * pipeline.persistence.flush-millis, and the log is compacted in the
+ * background once it passes pipeline.persistence.compaction-threshold-mb.
+ * Without it they start empty.
+ */
+@Configuration
+public class ApplicationConfig {
+
+    @Bean
+    public CachedClock clock(@Value("${pipeline.clock.resolution-millis:1}") long resolutionMillis) {
+        return CachedClock.ticking(Clock.systemDefaultZone(), resolutionMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Bean
+    public ChangeEventRing changeEventRing(@Value("${pipeline.events.capacity:65536}") int capacity) {
+        return new ChangeEventRing(capacity, WaitStrategies.blocking());
+    }
+
+    @Bean
+    public ChangeDispatcher changeDispatcher(ChangeEventRing ring) {
+        return new ChangeDispatcher(ring);
+    }
+
+    @Bean
+    public OverdueTracker overdueTracker(CachedClock clock, ChangeEventRing ring,
+            @Value("${pipeline.overdue.tick-millis:1000}") long tickMillis) {
+        OverdueTracker tracker = new OverdueTracker(clock);
+        tracker.addListener((taskId, dueDate) -> ring.publish(EntityType.TASK, ChangeType.OVERDUE, taskId, null));
+        if (tickMillis > 0) {
+            tracker.start(tickMillis, TimeUnit.MILLISECONDS);
+        }
+        return tracker;
+    }
+
+    @Bean
+    public StoredRepositories storedRepositories(CachedClock clock,
+            @Value("${pipeline.persistence.dir:}") String directory,
+            @Value("${pipeline.mvcc.collect-millis:1000}") long collectMillis,
+            @Value("${pipeline.persistence.flush-millis:2}") long flushMillis,
+            @Value("${pipeline.persistence.compaction-threshold-mb:64}") long compactionThresholdMb)
+            throws IOException {
+        MvccTaskRepository versioned = new MvccTaskRepository(clock);
+        if (collectMillis > 0) {
+            versioned.startCollector(collectMillis, TimeUnit.MILLISECONDS);
+        }
+        UserRepository users = new SynchronizedUserRepository(new InMemoryUserRepository());
+        CategoryRepository categories = new SynchronizedCategoryRepository(new InMemoryCategoryRepository());
+        if (directory.isBlank()) {
+            return StoredRepositories.inMemory(versioned, users, categories);
+        }
+        DurabilityOptions options = new DurabilityOptions();
+        options.setFlushInterval(Duration.ofMillis(flushMillis));
+        options.setCompactionThresholdBytes(compactionThresholdMb << 20);
+        return StoredRepositories.open(Path.of(directory), versioned, users, categories, options);
+    }
+
+    @Bean
+    public TaskRepository taskRepository(StoredRepositories stored, ChangeEventRing ring, OverdueTracker tracker,
+            MeterRegistry registry, @Value("${pipeline.cache.maximum-size:0}") int cacheSize) {
+        TaskRepository repository = new OverdueTrackingTaskRepository(
+                new PublishingTaskRepository(stored.getTaskRepository(), ring), tracker);
+        if (cacheSize > 0) {
+            CachingTaskRepository caching = new CachingTaskRepository(repository, cacheSize);
+            CacheMeters.register(registry, "task", caching.getCaches());
+            repository = caching;
+        }
+        return new MeteredTaskRepository(repository, registry);
+    }
+
+    @Bean
+    public UserRepository userRepository(StoredRepositories stored, ChangeEventRing ring, MeterRegistry registry,
+            @Value("${pipeline.cache.maximum-size:0}") int cacheSize) {
+        UserRepository repository = new PublishingUserRepository(stored.getUserRepository(), ring);
+        if (cacheSize > 0) {
+            CachingUserRepository caching = new CachingUserRepository(repository, cacheSize);
+            CacheMeters.register(registry, "user", caching.getCaches());
+            repository = caching;
+        }
+        return new MeteredUserRepository(repository, registry);
+    }
+
+    @Bean
+    public CategoryRepository categoryRepository(StoredRepositories stored, ChangeEventRing ring,
+            MeterRegistry registry, @Value("${pipeline.cache.maximum-size:0}") int cacheSize) {
+        CategoryRepository repository = new PublishingCategoryRepository(stored.getCategoryRepository(), ring);
+        if (cacheSize > 0) {
+            CachingCategoryRepository caching = new CachingCategoryRepository(repository, cacheSize);
+            CacheMeters.register(registry, "category", caching.getCaches());
+            repository = caching;
+        }
+        return new MeteredCategoryRepository(repository, registry);
+    }
+
+    @Bean
+    public EntityLookup entityLookup(UserRepository userRepository, CategoryRepository categoryRepository,
+            ChangeDispatcher dispatcher,
+            @Value("${pipeline.lookup.maximum-size:" + EntityLookup.DEFAULT_MAXIMUM_SIZE + "}") int maximumSize) {
+        EntityLookup lookup = new EntityLookup(userRepository::findAllById, categoryRepository::findAllById,
+                maximumSize);
+        dispatcher.addListener("entity-lookup", new EntityLookupEvictor(lookup), 256);
+        return lookup;
+    }
+
+    @Bean
+    public TaskService taskService(TaskRepository taskRepository, MeterRegistry registry, CachedClock clock,
+            EntityLookup entityLookup) {
+        return new MeteredTaskService(taskRepository, registry, clock, entityLookup);
+    }
+
+    @Bean
+    public UserService userService(UserRepository userRepository, MeterRegistry registry) {
+        return new MeteredUserService(userRepository, registry);
+    }
+}
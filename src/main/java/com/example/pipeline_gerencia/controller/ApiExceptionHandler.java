@@ -0,0 +1,41 @@
+package com.example.pipeline_gerencia.controller;
+
+import com.example.pipeline_gerencia.repository.OptimisticLockException;
+import com.example.pipeline_gerencia.service.BatchValidationException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Maps the services' validation errors to 400 responses and version
+ * conflicts to 409 responses, with a JSON body.
+ */
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    @ExceptionHandler(BatchValidationException.class)
+    public ResponseEntity<Map<String, Object>> handleBatchValidation(BatchValidationException e) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("error", e.getMessage());
+        body.put("errors", e.getErrors());
+        return ResponseEntity.badRequest().body(body);
+    }
+
+    @ExceptionHandler(OptimisticLockException.class)
+    public ResponseEntity<Map<String, Object>> handleConflict(OptimisticLockException e) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("error", e.getMessage());
+        body.put("currentVersion", e.getActualVersion());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(body);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, Object>> handleIllegalArgument(IllegalArgumentException e) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("error", e.getMessage());
+        return ResponseEntity.badRequest().body(body);
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.pipeline_gerencia.controller;
+
+import com.example.pipeline_gerencia.model.Task;
+import com.example.pipeline_gerencia.service.TaskService;
+import com.example.pipeline_gerencia.util.Page;
+import com.example.pipeline_gerencia.util.SearchFilter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+/**
+ * Task search endpoints. Filter criteria are bound from the query string
+ * (keyword, status, priority, assigneeId, categoryId, showOverdueOnly).
+ * The stream endpoint writes every match as one JSON object per line from a
+ * single lazy stream over the repository, so the result is walked once and
+ * the server holds at most one batch of it however large it is.
+ */
+@RestController
+@RequestMapping("/api/search")
+public class SearchController {
+    private static final MediaType NEWLINE_TYPE = MediaType.TEXT_PLAIN;
+
+    private final TaskService taskService;
+    // One thread per open stream; virtual when the server runs on virtual
+    // threads, so a slow reader only parks its own producer
+    private final SimpleAsyncTaskExecutor streamExecutor;
+
+    public SearchController(TaskService taskService,
+                            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.taskService = taskService;
+        this.streamExecutor = new SimpleAsyncTaskExecutor("search-stream-");
+        this.streamExecutor.setVirtualThreads(virtualThreads);
+    }
+
+    @GetMapping
+    public Page<Task> search(@ModelAttribute SearchFilter filter,
+                             @RequestParam(required = false) String cursor,
+                             @RequestParam(defaultValue = "50") int size) {
+        return taskService.searchTasks(filter, cursor, size);
+    }
+
+    @GetMapping("/stream")
+    public ResponseEntity<ResponseBodyEmitter> stream(@ModelAttribute SearchFilter filter) {
+        // Start producing once MVC has taken over the response, so matches
+        // are not queued up in the emitter before it can write them
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter() {
+            @Override
+            protected void extendResponse(ServerHttpResponse outputMessage) {
+                super.extendResponse(outputMessage);
+                streamExecutor.execute(() -> writeMatches(filter, this));
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(emitter);
+    }
+
+    // send() blocks while the client is not reading, which holds back the
+    // rest of the stream instead of buffering it. Matches are sent in batches
+    // so each batch's assignees and categories are loaded at once.
+    private void writeMatches(SearchFilter filter, ResponseBodyEmitter emitter) {
+        try (Stream<Task> matches = taskService.streamTasks(filter)) {
+            List<Task> batch = new ArrayList<>(TaskService.MAX_PAGE_SIZE);
+            Iterator<Task> iterator = matches.iterator();
+            while (iterator.hasNext()) {
+                batch.add(iterator.next());
+                if (batch.size() == TaskService.MAX_PAGE_SIZE || !iterator.hasNext()) {
+                    send(batch, emitter);
+                    batch.clear();
+                }
+            }
+            emitter.complete();
+        } catch (IOException | RuntimeException e) {
+            emitter.completeWithError(e);
+        }
+    }
+
+    private void send(List<Task> batch, ResponseBodyEmitter emitter) throws IOException {
+        taskService.hydrate(batch);
+        for (Task task : batch) {
+            emitter.send(task, MediaType.APPLICATION_JSON);
+            emitter.send("\n", NEWLINE_TYPE);
+        }
+    }
+}
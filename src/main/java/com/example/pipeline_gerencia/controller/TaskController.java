@@ -0,0 +1,135 @@
+package com.example.pipeline_gerencia.controller;
+
+import com.example.pipeline_gerencia.model.Category;
+import com.example.pipeline_gerencia.model.Priority;
+import com.example.pipeline_gerencia.model.Status;
+import com.example.pipeline_gerencia.model.Task;
+import com.example.pipeline_gerencia.model.User;
+import com.example.pipeline_gerencia.repository.CategoryRepository;
+import com.example.pipeline_gerencia.service.TaskService;
+import com.example.pipeline_gerencia.service.UserService;
+import com.example.pipeline_gerencia.util.Page;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * REST endpoints for tasks. Listings are paginated by cursor; use
+ * /api/search/stream to read a large result in one response.
+ */
+@RestController
+@RequestMapping("/api/tasks")
+public class TaskController {
+    private final TaskService taskService;
+    private final UserService userService;
+    private final CategoryRepository categoryRepository;
+
+    public TaskController(TaskService taskService, UserService userService, CategoryRepository categoryRepository) {
+        this.taskService = taskService;
+        this.userService = userService;
+        this.categoryRepository = categoryRepository;
+    }
+
+    @PostMapping
+    public ResponseEntity<Task> createTask(@RequestBody TaskRequest request) {
+        Task task = taskService.createTask(apply(request, new Task()));
+        return ResponseEntity.created(URI.create("/api/tasks/" + task.getId())).body(task);
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<List<Task>> createTasks(@RequestBody List<TaskRequest> requests) {
+        List<Task> tasks = new ArrayList<>(requests.size());
+        for (TaskRequest request : requests) {
+            tasks.add(apply(request, new Task()));
+        }
+        return ResponseEntity.status(HttpStatus.CREATED).body(taskService.createTasks(tasks));
+    }
+
+    @GetMapping("/{id}")
+    public Task getTask(@PathVariable Long id) {
+        return taskService.getTaskById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Task not found: " + id));
+    }
+
+    @GetMapping
+    public Page<Task> getTasks(@RequestParam(required = false) String cursor,
+                               @RequestParam(defaultValue = "50") int size) {
+        return taskService.getTasks(cursor, size);
+    }
+
+    /**
+     * Changes a task. The change is applied to a copy, so a request that
+     * fails validation leaves the stored task untouched.
+     */
+    @PutMapping("/{id}")
+    public Task updateTask(@PathVariable Long id, @RequestBody TaskRequest request) {
+        Task task = apply(request, new Task(getTask(id)));
+        if (request.version() != null) {
+            task.setVersion(request.version());
+        }
+        return taskService.updateTask(task);
+    }
+
+    @PatchMapping("/{id}/status")
+    public Task updateStatus(@PathVariable Long id, @RequestParam Status status) {
+        getTask(id);
+        return taskService.updateStatus(id, status);
+    }
+
+    @PatchMapping("/{id}/priority")
+    public Task updatePriority(@PathVariable Long id, @RequestParam Priority priority) {
+        getTask(id);
+        return taskService.updatePriority(id, priority);
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteTask(@PathVariable Long id) {
+        taskService.deleteTask(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    private Task apply(TaskRequest request, Task task) {
+        if (request.title() != null) {
+            task.setTitle(request.title());
+        }
+        if (request.description() != null) {
+            task.setDescription(request.description());
+        }
+        if (request.status() != null) {
+            task.setStatus(request.status());
+        }
+        if (request.priority() != null) {
+            task.setPriority(request.priority());
+        }
+        if (request.dueDate() != null) {
+            task.setDueDate(request.dueDate());
+        }
+        if (request.completionPercentage() != null) {
+            task.setCompletionPercentage(request.completionPercentage());
+        }
+        if (request.assigneeId() != null) {
+            User assignee = userService.getUserById(request.assigneeId())
+                    .orElseThrow(() -> new IllegalArgumentException("User not found: " + request.assigneeId()));
+            task.setAssignee(assignee);
+        }
+        if (request.categoryId() != null) {
+            Category category = categoryRepository.findById(request.categoryId())
+                    .orElseThrow(() -> new IllegalArgumentException("Category not found: " + request.categoryId()));
+            task.setCategory(category);
+        }
+        return task;
+    }
+}
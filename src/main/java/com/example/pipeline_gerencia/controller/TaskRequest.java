@@ -0,0 +1,16 @@
+package com.example.pipeline_gerencia.controller;
+
+import com.example.pipeline_gerencia.model.Priority;
+import com.example.pipeline_gerencia.model.Status;
+import java.time.LocalDateTime;
+
+/**
+ * Request body for creating or changing a task. Fields left null keep the
+ * task's current value; assignee and category are referenced by id. When
+ * changing a task, {@code version} is the version it was read at; the
+ * change is rejected with 409 if the task was updated since.
+ */
+public record TaskRequest(String title, String description, Status status, Priority priority,
+                          LocalDateTime dueDate, Integer completionPercentage,
+                          Long assigneeId, Long categoryId, Long version) {
+}
@@ -0,0 +1,103 @@
+package com.example.pipeline_gerencia.controller;
+
+import com.example.pipeline_gerencia.model.User;
+import com.example.pipeline_gerencia.service.UserService;
+import java.net.URI;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * REST endpoints for users.
+ */
+@RestController
+@RequestMapping("/api/users")
+public class UserController {
+    private final UserService userService;
+
+    public UserController(UserService userService) {
+        this.userService = userService;
+    }
+
+    @PostMapping
+    public ResponseEntity<User> createUser(@RequestBody UserRequest request) {
+        User user = userService.createUser(request.name(), request.email(), request.department());
+        return ResponseEntity.created(URI.create("/api/users/" + user.getId())).body(user);
+    }
+
+    @GetMapping
+    public List<User> getUsers(@RequestParam(required = false) String department,
+                               @RequestParam(defaultValue = "false") boolean activeOnly) {
+        if (department != null) {
+            return userService.getUsersByDepartment(department);
+        }
+        return activeOnly ? userService.getActiveUsers() : userService.getAllUsers();
+    }
+
+    @GetMapping("/{id}")
+    public User getUser(@PathVariable Long id) {
+        return userService.getUserById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found: " + id));
+    }
+
+    /**
+     * Changes the stored user in place, the instance tasks resolve their
+     * assignee to.
+     * Everything is validated before the user is touched, and a stale
+     * version is rejected before anything changes.
+     */
+    @PutMapping("/{id}")
+    public User updateUser(@PathVariable Long id, @RequestBody UserRequest request) {
+        getUser(id);
+        if (request.name() != null && request.name().trim().isEmpty()) {
+            throw new IllegalArgumentException("User name cannot be empty");
+        }
+        if (request.email() != null) {
+            if (request.email().trim().isEmpty()) {
+                throw new IllegalArgumentException("User email cannot be empty");
+            }
+            Optional<User> owner = userService.getUserByEmail(request.email());
+            if (owner.isPresent() && !owner.get().getId().equals(id)) {
+                throw new IllegalArgumentException("Email already exists: " + request.email());
+            }
+        }
+        return userService.updateUser(id, request.version(), user -> {
+            if (request.name() != null) {
+                user.setName(request.name());
+            }
+            if (request.email() != null) {
+                user.setEmail(request.email());
+            }
+            if (request.department() != null) {
+                user.setDepartment(request.department());
+            }
+            if (request.active() != null) {
+                user.setActive(request.active());
+            }
+        });
+    }
+
+    @PostMapping("/{id}/deactivate")
+    public User deactivateUser(@PathVariable Long id) {
+        getUser(id);
+        userService.deactivateUser(id);
+        return getUser(id);
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteUser(@PathVariable Long id) {
+        userService.deleteUser(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.pipeline_gerencia.controller;
+
+/**
+ * Request body for creating or changing a user. Fields left null keep the
+ * user's current value. When changing a user, {@code version} is the
+ * version it was read at; the change is rejected with 409 if the user was
+ * updated since.
+ */
+public record UserRequest(String name, String email, String department, Boolean active, Long version) {
+}
@@ -0,0 +1,73 @@
+package com.example.pipeline_gerencia.events;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs listeners on their own daemon threads, each draining its own
+ * subscription in batches. A slow listener only falls behind (and
+ * eventually misses events); it never holds back writers or other
+ * listeners. Exceptions thrown by a listener are logged and the listener
+ * keeps receiving events.
+ */
+public class ChangeDispatcher implements Closeable {
+    private static final System.Logger LOGGER = System.getLogger(ChangeDispatcher.class.getName());
+    private static final long POLL_MILLIS = 100;
+
+    private final ChangeEventRing ring;
+    private final List<Thread> threads = new ArrayList<>();
+    private volatile boolean running = true;
+
+    public ChangeDispatcher(ChangeEventRing ring) {
+        this.ring = ring;
+    }
+
+    /**
+     * Starts delivering events published from now on to the listener, at
+     * most {@code batchSize} per drain.
+     */
+    public synchronized ChangeSubscription addListener(String name, ChangeListener listener, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        if (!running) {
+            throw new IllegalStateException("Dispatcher is closed");
+        }
+        ChangeSubscription subscription = ring.subscribe();
+        Thread thread = new Thread(() -> dispatch(subscription, listener, batchSize), "change-" + name);
+        thread.setDaemon(true);
+        threads.add(thread);
+        thread.start();
+        return subscription;
+    }
+
+    private void dispatch(ChangeSubscription subscription, ChangeListener listener, int batchSize) {
+        while (running) {
+            try {
+                subscription.poll(listener, batchSize, POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                LOGGER.log(System.Logger.Level.WARNING, "Change listener failed", e);
+            }
+        }
+    }
+
+    /**
+     * Stops the listener threads after their current batch.
+     */
+    @Override
+    public synchronized void close() {
+        running = false;
+        for (Thread thread : threads) {
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.pipeline_gerencia.events;
+
+/**
+ * One mutation of a task, user or category. Instances are preallocated and
+ * reused: the ring buffer owns one per slot and every subscription owns one
+ * it copies into, so an event is only valid during the listener call that
+ * receives it. The entity is the saved or updated object as the writer
+ * passed it, carrying its id and new version; repositories store their own
+ * copies, so it is not copied again for the event and is only current
+ * until its writer changes it. It is null for deletions and overdue
+ * notices.
+ */
+public final class ChangeEvent {
+    long sequence;
+    EntityType entityType;
+    ChangeType changeType;
+    long id;
+    Object entity;
+
+    ChangeEvent() {
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public EntityType getEntityType() {
+        return entityType;
+    }
+
+    public ChangeType getChangeType() {
+        return changeType;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public Object getEntity() {
+        return entity;
+    }
+
+    void copyFrom(ChangeEvent other) {
+        entityType = other.entityType;
+        changeType = other.changeType;
+        id = other.id;
+        entity = other.entity;
+    }
+
+    @Override
+    public String toString() {
+        return "ChangeEvent{" +
+                "sequence=" + sequence +
+                ", entityType=" + entityType +
+                ", changeType=" + changeType +
+                ", id=" + id +
+                '}';
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.pipeline_gerencia.events;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Preallocated multi-producer, multi-consumer ring buffer of change events.
+ * Publishing claims the next sequence with an atomic increment, fills its
+ * slot in place and never waits for consumers: once the ring is full the
+ * oldest events are overwritten, and a consumer that falls more than a ring
+ * behind is told how many events it missed. Each slot is guarded by a
+ * sequence number used as a seqlock, so a consumer can tell whether the
+ * slot it copied was overwritten meanwhile.
+ * <p>
+ * Producers need no external locking. Concurrent publishes may complete out
+ * of order; consumers stop at a claimed slot that is still being written and
+ * pick it up on their next drain. A producer only waits when the slot it
+ * claimed is still being written by the producer a full ring earlier.
+ */
+public class ChangeEventRing {
+    static final int PUBLISHED = 0;
+    static final int PENDING = 1;
+    static final int OVERWRITTEN = 2;
+
+    private static final VarHandle SLOT_SEQUENCE;
+    private static final VarHandle CURSOR;
+    private static final VarHandle NEXT;
+    // Sequence of a slot while a producer is rewriting it
+    private static final long WRITING = Long.MIN_VALUE;
+
+    static {
+        try {
+            SLOT_SEQUENCE = MethodHandles.lookup().findVarHandle(ChangeEvent.class, "sequence", long.class);
+            CURSOR = MethodHandles.lookup().findVarHandle(ChangeEventRing.class, "cursor", long.class);
+            NEXT = MethodHandles.lookup().findVarHandle(ChangeEventRing.class, "next", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final ChangeEvent[] slots;
+    private final int mask;
+    private final WaitStrategy waitStrategy;
+    // Highest published sequence; lower ones may still be in progress
+    private volatile long cursor = -1;
+    // Next sequence to claim
+    private volatile long next;
+
+    public ChangeEventRing(int capacity, WaitStrategy waitStrategy) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two of at least 2");
+        }
+        if (waitStrategy == null) {
+            throw new IllegalArgumentException("Wait strategy is required");
+        }
+        this.slots = new ChangeEvent[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new ChangeEvent();
+            // As if published a ring before sequence 0, so every claim
+            // expects the sequence one ring below its own
+            slots[i].sequence = i - capacity;
+        }
+        this.mask = capacity - 1;
+        this.waitStrategy = waitStrategy;
+    }
+
+    public void publish(EntityType entityType, ChangeType changeType, long id, Object entity) {
+        long sequence = (long) NEXT.getAndAdd(this, 1L);
+        ChangeEvent slot = slots[(int) sequence & mask];
+        // Takes the slot from the event a ring earlier once that is complete
+        while (!SLOT_SEQUENCE.compareAndSet(slot, sequence - slots.length, WRITING)) {
+            Thread.onSpinWait();
+        }
+        VarHandle.storeStoreFence();
+        slot.entityType = entityType;
+        slot.changeType = changeType;
+        slot.id = id;
+        slot.entity = entity;
+        SLOT_SEQUENCE.setRelease(slot, sequence);
+        long published;
+        while ((published = cursor) < sequence && !CURSOR.compareAndSet(this, published, sequence)) {
+            Thread.onSpinWait();
+        }
+        waitStrategy.signalAll();
+    }
+
+    /**
+     * Sequence of the last published event, -1 before the first one. With
+     * concurrent producers, events just before it may still be in progress.
+     */
+    public long cursor() {
+        return cursor;
+    }
+
+    public int capacity() {
+        return slots.length;
+    }
+
+    /**
+     * Subscribes to the events published from now on.
+     */
+    public ChangeSubscription subscribe() {
+        return new ChangeSubscription(this, cursor + 1);
+    }
+
+    WaitStrategy waitStrategy() {
+        return waitStrategy;
+    }
+
+    // Copies a published event. PENDING if its producer has not finished
+    // writing it, OVERWRITTEN if a later event took its slot before or during
+    // the copy.
+    int read(long sequence, ChangeEvent into) {
+        ChangeEvent slot = slots[(int) sequence & mask];
+        long observed = (long) SLOT_SEQUENCE.getAcquire(slot);
+        if (observed != sequence) {
+            return state(sequence, observed);
+        }
+        into.copyFrom(slot);
+        VarHandle.loadLoadFence();
+        observed = (long) SLOT_SEQUENCE.getOpaque(slot);
+        if (observed != sequence) {
+            return state(sequence, observed);
+        }
+        into.sequence = sequence;
+        return PUBLISHED;
+    }
+
+    // True while the producer that claimed the sequence is writing its slot
+    boolean isPending(long sequence) {
+        long observed = (long) SLOT_SEQUENCE.getAcquire(slots[(int) sequence & mask]);
+        return observed != sequence && state(sequence, observed) == PENDING;
+    }
+
+    // A slot still being written belongs to this sequence unless the event a
+    // ring later has been claimed
+    private int state(long sequence, long observed) {
+        if (observed == WRITING) {
+            return next > sequence + slots.length ? OVERWRITTEN : PENDING;
+        }
+        return observed < sequence ? PENDING : OVERWRITTEN;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.pipeline_gerencia.events;
+
+/**
+ * Receives the events drained by a subscription, in publication order.
+ */
+public interface ChangeListener {
+
+    /**
+     * Called once per event. {@code endOfBatch} is true for the last event
+     * of a drain, so listeners can buffer work and flush it once per batch.
+     */
+    void onEvent(ChangeEvent event, boolean endOfBatch);
+
+    /**
+     * Called when the producer overwrote {@code missed} events before this
+     * subscription read them. Listeners that mirror state should resync.
+     */
+    default void onGap(long missed) {
+    }
+}
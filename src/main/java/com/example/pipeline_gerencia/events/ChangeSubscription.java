@@ -0,0 +1,100 @@
+package com.example.pipeline_gerencia.events;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A consumer's position in a ChangeEventRing. A subscription is read by one
+ * thread at a time; independent subscriptions read the same ring
+ * concurrently without coordinating with each other or the producer.
+ */
+public final class ChangeSubscription {
+    private final ChangeEventRing ring;
+    private final ChangeEvent event = new ChangeEvent();
+    private long next;
+    private long missed;
+
+    ChangeSubscription(ChangeEventRing ring, long next) {
+        this.ring = ring;
+        this.next = next;
+    }
+
+    /**
+     * Delivers up to {@code maxEvents} published events without waiting and
+     * returns how many were delivered.
+     */
+    public int drain(ChangeListener listener, int maxEvents) {
+        int delivered = 0;
+        while (delivered < maxEvents) {
+            long available = ring.cursor();
+            if (available < next) {
+                break;
+            }
+            long oldest = available - ring.capacity() + 1;
+            if (next < oldest) {
+                skipTo(oldest, listener);
+                continue;
+            }
+            long end = Math.min(available, next + (maxEvents - delivered) - 1);
+            // End the batch before an event another producer is still
+            // writing, so the last one delivered is flagged as such
+            for (long sequence = next; sequence <= end; sequence++) {
+                if (ring.isPending(sequence)) {
+                    end = sequence - 1;
+                    break;
+                }
+            }
+            if (end < next) {
+                break;
+            }
+            int state = ChangeEventRing.PUBLISHED;
+            for (long sequence = next; sequence <= end; sequence++) {
+                state = ring.read(sequence, event);
+                if (state != ChangeEventRing.PUBLISHED) {
+                    break;
+                }
+                next = sequence + 1;
+                delivered++;
+                listener.onEvent(event, sequence == end);
+            }
+            if (state != ChangeEventRing.OVERWRITTEN) {
+                break;
+            }
+            // Overwritten while draining: the slot after the newest one may
+            // be mid-write, so resume one past it
+            skipTo(Math.max(next + 1, ring.cursor() - ring.capacity() + 2), listener);
+        }
+        return delivered;
+    }
+
+    /**
+     * Waits up to the timeout for an event using the ring's wait strategy,
+     * then drains like {@link #drain}. Returns 0 if nothing was published.
+     */
+    public int poll(ChangeListener listener, int maxEvents, long timeout, TimeUnit unit) throws InterruptedException {
+        if (ring.cursor() < next) {
+            ring.waitStrategy().waitFor(next, ring, unit.toNanos(timeout));
+        }
+        return drain(listener, maxEvents);
+    }
+
+    /**
+     * Number of published events not yet delivered.
+     */
+    public long lag() {
+        return Math.max(0, ring.cursor() + 1 - next);
+    }
+
+    /**
+     * Total number of events this subscription lost to overwriting.
+     */
+    public long getMissed() {
+        return missed;
+    }
+
+    private void skipTo(long sequence, ChangeListener listener) {
+        long skipped = sequence - next;
+        next = sequence;
+        missed += skipped;
+        listener.onGap(skipped);
+    }
+}
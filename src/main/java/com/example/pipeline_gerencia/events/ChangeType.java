@@ -0,0 +1,12 @@
+package com.example.pipeline_gerencia.events;
+
+/**
+ * Kind of change an event describes. OVERDUE is not a mutation: it reports
+ * that a task's due date passed.
+ */
+public enum ChangeType {
+    SAVED,
+    UPDATED,
+    DELETED,
+    OVERDUE
+}
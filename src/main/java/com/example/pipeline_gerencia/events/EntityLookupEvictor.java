@@ -0,0 +1,40 @@
+package com.example.pipeline_gerencia.events;
+
+import com.example.pipeline_gerencia.model.EntityLookup;
+
+/**
+ * Keeps an EntityLookup consistent with its repositories: every saved,
+ * updated or deleted user or category is evicted, so the next hydration
+ * reloads it, or resolves it to null once deleted. Eviction follows the
+ * write as soon as the listener drains it; after missed events the whole
+ * lookup is dropped.
+ */
+public final class EntityLookupEvictor implements ChangeListener {
+    private final EntityLookup lookup;
+
+    public EntityLookupEvictor(EntityLookup lookup) {
+        if (lookup == null) {
+            throw new IllegalArgumentException("Entity lookup is required");
+        }
+        this.lookup = lookup;
+    }
+
+    @Override
+    public void onEvent(ChangeEvent event, boolean endOfBatch) {
+        if (event.getChangeType() == ChangeType.OVERDUE) {
+            return;
+        }
+        switch (event.getEntityType()) {
+            case USER -> lookup.evictUser(event.getId());
+            case CATEGORY -> lookup.evictCategory(event.getId());
+            default -> {
+                // Tasks are not cached by the lookup
+            }
+        }
+    }
+
+    @Override
+    public void onGap(long missed) {
+        lookup.evictAll();
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.pipeline_gerencia.events;
+
+/**
+ * Kind of entity a change event refers to
+ */
+public enum EntityType {
+    TASK,
+    USER,
+    CATEGORY
+}
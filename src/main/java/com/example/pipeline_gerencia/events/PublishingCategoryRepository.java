@@ -0,0 +1,43 @@
+package com.example.pipeline_gerencia.events;
+
+import com.example.pipeline_gerencia.model.Category;
+import com.example.pipeline_gerencia.repository.CategoryRepository;
+import com.example.pipeline_gerencia.repository.ForwardingCategoryRepository;
+
+/**
+ * Publishes a change event for every category written through it, without
+ * locking, like PublishingTaskRepository.
+ */
+public class PublishingCategoryRepository extends ForwardingCategoryRepository {
+    private final ChangeEventRing ring;
+
+    public PublishingCategoryRepository(CategoryRepository delegate, ChangeEventRing ring) {
+        super(delegate);
+        this.ring = ring;
+    }
+
+    @Override
+    public Category save(Category category) {
+        Category saved = delegate.save(category);
+        ring.publish(EntityType.CATEGORY, ChangeType.SAVED, saved.getId(), saved);
+        return saved;
+    }
+
+    @Override
+    public void update(Category category) {
+        long version = category.getVersion();
+        delegate.update(category);
+        if (category.getId() != null && category.getVersion() != version) {
+            ring.publish(EntityType.CATEGORY, ChangeType.UPDATED, category.getId(), category);
+        }
+    }
+
+    @Override
+    public boolean delete(Long id) {
+        boolean deleted = delegate.delete(id);
+        if (deleted) {
+            ring.publish(EntityType.CATEGORY, ChangeType.DELETED, id, null);
+        }
+        return deleted;
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.pipeline_gerencia.events;
+
+import com.example.pipeline_gerencia.model.Task;
+import com.example.pipeline_gerencia.repository.ForwardingTaskRepository;
+import com.example.pipeline_gerencia.repository.TaskRepository;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Publishes a change event for every task written through it, right after
+ * the write and without a lock around the two: the ring takes concurrent
+ * producers. Writes made by one thread are published in order; concurrent
+ * writes to the same task may be published in either order. What was
+ * written comes from the delegate itself, never from reading it back: an
+ * update was applied if it moved the task's version, and deletes return
+ * what they removed. Updates and deletes of unknown ids, and batches a
+ * conflict left unapplied, publish nothing. Reads are not affected.
+ */
+public class PublishingTaskRepository extends ForwardingTaskRepository {
+    private final ChangeEventRing ring;
+
+    public PublishingTaskRepository(TaskRepository delegate, ChangeEventRing ring) {
+        super(delegate);
+        this.ring = ring;
+    }
+
+    @Override
+    public Task save(Task task) {
+        Task saved = delegate.save(task);
+        ring.publish(EntityType.TASK, ChangeType.SAVED, saved.getId(), saved);
+        return saved;
+    }
+
+    @Override
+    public void update(Task task) {
+        long version = task.getVersion();
+        delegate.update(task);
+        publishIfUpdated(task, version);
+    }
+
+    @Override
+    public boolean delete(Long id) {
+        boolean deleted = delegate.delete(id);
+        if (deleted) {
+            ring.publish(EntityType.TASK, ChangeType.DELETED, id, null);
+        }
+        return deleted;
+    }
+
+    @Override
+    public List<Task> saveAll(Collection<Task> tasks) {
+        List<Task> saved = delegate.saveAll(tasks);
+        for (Task task : saved) {
+            ring.publish(EntityType.TASK, ChangeType.SAVED, task.getId(), task);
+        }
+        return saved;
+    }
+
+    @Override
+    public void updateAll(Collection<Task> tasks) {
+        long[] versions = new long[tasks.size()];
+        int i = 0;
+        for (Task task : tasks) {
+            versions[i++] = task.getVersion();
+        }
+        try {
+            delegate.updateAll(tasks);
+        } finally {
+            // On a conflict, only the part a delegate applied has moved
+            i = 0;
+            for (Task task : tasks) {
+                publishIfUpdated(task, versions[i++]);
+            }
+        }
+    }
+
+    @Override
+    public List<Long> deleteAll(Collection<Long> ids) {
+        List<Long> deleted = delegate.deleteAll(ids);
+        for (Long id : deleted) {
+            ring.publish(EntityType.TASK, ChangeType.DELETED, id, null);
+        }
+        return deleted;
+    }
+
+    private void publishIfUpdated(Task task, long versionBefore) {
+        if (task.getId() != null && task.getVersion() != versionBefore) {
+            ring.publish(EntityType.TASK, ChangeType.UPDATED, task.getId(), task);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.pipeline_gerencia.events;
+
+import com.example.pipeline_gerencia.model.User;
+import com.example.pipeline_gerencia.repository.ForwardingUserRepository;
+import com.example.pipeline_gerencia.repository.UserRepository;
+
+/**
+ * Publishes a change event for every user written through it, without
+ * locking, like PublishingTaskRepository.
+ */
+public class PublishingUserRepository extends ForwardingUserRepository {
+    private final ChangeEventRing ring;
+
+    public PublishingUserRepository(UserRepository delegate, ChangeEventRing ring) {
+        super(delegate);
+        this.ring = ring;
+    }
+
+    @Override
+    public User save(User user) {
+        User saved = delegate.save(user);
+        ring.publish(EntityType.USER, ChangeType.SAVED, saved.getId(), saved);
+        return saved;
+    }
+
+    @Override
+    public void update(User user) {
+        long version = user.getVersion();
+        delegate.update(user);
+        if (user.getId() != null && user.getVersion() != version) {
+            ring.publish(EntityType.USER, ChangeType.UPDATED, user.getId(), user);
+        }
+    }
+
+    @Override
+    public boolean delete(Long id) {
+        boolean deleted = delegate.delete(id);
+        if (deleted) {
+            ring.publish(EntityType.USER, ChangeType.DELETED, id, null);
+        }
+        return deleted;
+    }
+}
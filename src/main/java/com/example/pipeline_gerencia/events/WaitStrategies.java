@@ -0,0 +1,128 @@
+package com.example.pipeline_gerencia.events;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The available wait strategies, from lowest latency to lowest CPU use.
+ */
+public final class WaitStrategies {
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 100;
+    private static final long SLEEP_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private WaitStrategies() {
+    }
+
+    /**
+     * Spins on the cursor; lowest latency, burns a core per waiting consumer.
+     */
+    public static WaitStrategy busySpin() {
+        return (sequence, ring, timeoutNanos) -> {
+            long deadline = System.nanoTime() + timeoutNanos;
+            long cursor;
+            while ((cursor = ring.cursor()) < sequence) {
+                checkInterrupt();
+                if (System.nanoTime() - deadline >= 0) {
+                    break;
+                }
+                Thread.onSpinWait();
+            }
+            return cursor;
+        };
+    }
+
+    /**
+     * Spins briefly, then yields the CPU between checks.
+     */
+    public static WaitStrategy yielding() {
+        return (sequence, ring, timeoutNanos) -> backOff(sequence, ring, timeoutNanos, false);
+    }
+
+    /**
+     * Spins, yields, then parks for short intervals; the producer never has
+     * to wake anyone up.
+     */
+    public static WaitStrategy sleeping() {
+        return (sequence, ring, timeoutNanos) -> backOff(sequence, ring, timeoutNanos, true);
+    }
+
+    /**
+     * Parks consumers on a condition the producer signals. The producer only
+     * takes the lock while some consumer is parked, and then only to signal.
+     */
+    public static WaitStrategy blocking() {
+        return new Blocking();
+    }
+
+    private static long backOff(long sequence, ChangeEventRing ring, long timeoutNanos, boolean sleep)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + timeoutNanos;
+        long cursor;
+        int tries = 0;
+        while ((cursor = ring.cursor()) < sequence) {
+            checkInterrupt();
+            if (System.nanoTime() - deadline >= 0) {
+                break;
+            }
+            if (tries < SPIN_TRIES) {
+                Thread.onSpinWait();
+            } else if (!sleep || tries < SPIN_TRIES + YIELD_TRIES) {
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(SLEEP_NANOS);
+            }
+            tries++;
+        }
+        return cursor;
+    }
+
+    private static void checkInterrupt() throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+    }
+
+    private static final class Blocking implements WaitStrategy {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition published = lock.newCondition();
+        private final AtomicInteger waiters = new AtomicInteger();
+
+        @Override
+        public long waitFor(long sequence, ChangeEventRing ring, long timeoutNanos) throws InterruptedException {
+            long cursor = ring.cursor();
+            if (cursor >= sequence) {
+                return cursor;
+            }
+            long nanos = timeoutNanos;
+            lock.lock();
+            // Registered before re-reading the cursor, so a publish either
+            // is seen here or sees this waiter and signals
+            waiters.incrementAndGet();
+            try {
+                while ((cursor = ring.cursor()) < sequence && nanos > 0) {
+                    nanos = published.awaitNanos(nanos);
+                }
+                return cursor;
+            } finally {
+                waiters.decrementAndGet();
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void signalAll() {
+            if (waiters.get() > 0) {
+                lock.lock();
+                try {
+                    published.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+}
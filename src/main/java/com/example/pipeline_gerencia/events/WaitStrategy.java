@@ -0,0 +1,20 @@
+package com.example.pipeline_gerencia.events;
+
+/**
+ * How a consumer waits for the producer. Implementations trade CPU for
+ * wake-up latency; see {@link WaitStrategies}.
+ */
+public interface WaitStrategy {
+
+    /**
+     * Waits until {@code sequence} is published or the timeout elapses and
+     * returns the ring's cursor, which is below {@code sequence} on timeout.
+     */
+    long waitFor(long sequence, ChangeEventRing ring, long timeoutNanos) throws InterruptedException;
+
+    /**
+     * Called by the producer after every publish; must not block on consumers.
+     */
+    default void signalAll() {
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.pipeline_gerencia.metrics;
+
+import com.example.pipeline_gerencia.cache.TinyLfuCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+
+/**
+ * Publishes the stats of a caching repository's caches as
+ * {@code pipeline.cache.*} meters tagged with the repository and the query
+ * each cache answers.
+ */
+public final class CacheMeters {
+
+    private CacheMeters() {
+    }
+
+    public static void register(MeterRegistry registry, String repository, Map<String, TinyLfuCache<?, ?>> caches) {
+        caches.forEach((query, cache) -> {
+            String[] tags = {"repository", repository, "query", query};
+            FunctionCounter.builder("pipeline.cache.hits", cache, c -> c.stats().hitCount())
+                    .description("Lookups answered from the cache")
+                    .tags(tags)
+                    .register(registry);
+            FunctionCounter.builder("pipeline.cache.misses", cache, c -> c.stats().missCount())
+                    .description("Lookups that went to the repository")
+                    .tags(tags)
+                    .register(registry);
+            FunctionCounter.builder("pipeline.cache.evictions", cache, c -> c.stats().evictionCount())
+                    .description("Entries evicted to stay within the maximum size")
+                    .tags(tags)
+                    .register(registry);
+            Gauge.builder("pipeline.cache.size", cache, TinyLfuCache::estimatedSize)
+                    .description("Entries in the cache")
+                    .tags(tags)
+                    .register(registry);
+            Gauge.builder("pipeline.cache.hit.ratio", cache, c -> c.stats().hitRate())
+                    .description("Share of lookups answered from the cache")
+                    .tags(tags)
+                    .register(registry);
+        });
+    }
+}
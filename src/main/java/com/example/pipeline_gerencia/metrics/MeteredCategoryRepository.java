@@ -0,0 +1,71 @@
+package com.example.pipeline_gerencia.metrics;
+
+import com.example.pipeline_gerencia.model.Category;
+import com.example.pipeline_gerencia.repository.CategoryRepository;
+import com.example.pipeline_gerencia.repository.ForwardingCategoryRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Records latency, result sizes and errors of every CategoryRepository
+ * operation as {@code pipeline.repository.*} meters tagged
+ * {@code repository=category}.
+ */
+public class MeteredCategoryRepository extends ForwardingCategoryRepository {
+    private final OperationMeter save;
+    private final OperationMeter findById;
+    private final OperationMeter findAllById;
+    private final OperationMeter findByName;
+    private final OperationMeter findAll;
+    private final OperationMeter update;
+    private final OperationMeter delete;
+
+    public MeteredCategoryRepository(CategoryRepository delegate, MeterRegistry registry) {
+        super(delegate);
+        OperationMeters meters = new OperationMeters(registry, "pipeline.repository", "repository", "category");
+        save = meters.operation("save");
+        findById = meters.operation("findById");
+        findAllById = meters.sizedOperation("findAllById");
+        findByName = meters.operation("findByName");
+        findAll = meters.sizedOperation("findAll");
+        update = meters.operation("update");
+        delete = meters.operation("delete");
+    }
+
+    @Override
+    public Category save(Category category) {
+        return save.record(() -> delegate.save(category));
+    }
+
+    @Override
+    public Optional<Category> findById(Long id) {
+        return findById.record(() -> delegate.findById(id));
+    }
+
+    @Override
+    public List<Category> findAllById(Collection<Long> ids) {
+        return findAllById.recordSized(() -> delegate.findAllById(ids));
+    }
+
+    @Override
+    public Optional<Category> findByName(String name) {
+        return findByName.record(() -> delegate.findByName(name));
+    }
+
+    @Override
+    public List<Category> findAll() {
+        return findAll.recordSized(delegate::findAll);
+    }
+
+    @Override
+    public void update(Category category) {
+        update.run(() -> delegate.update(category));
+    }
+
+    @Override
+    public boolean delete(Long id) {
+        return delete.record(() -> delegate.delete(id));
+    }
+}
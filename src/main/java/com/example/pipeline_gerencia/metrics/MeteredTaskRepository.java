@@ -0,0 +1,176 @@
+package com.example.pipeline_gerencia.metrics;
+
+import com.example.pipeline_gerencia.model.Priority;
+import com.example.pipeline_gerencia.model.Status;
+import com.example.pipeline_gerencia.model.Task;
+import com.example.pipeline_gerencia.repository.ForwardingTaskRepository;
+import com.example.pipeline_gerencia.repository.TaskRepository;
+import com.example.pipeline_gerencia.util.Page;
+import com.example.pipeline_gerencia.util.SearchFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Records latency, result sizes and errors of every TaskRepository
+ * operation as {@code pipeline.repository.*} meters tagged
+ * {@code repository=task}. The time of stream() covers building the
+ * stream only, not consuming it.
+ */
+public class MeteredTaskRepository extends ForwardingTaskRepository {
+    private final OperationMeter save;
+    private final OperationMeter findById;
+    private final OperationMeter findAll;
+    private final OperationMeter findByStatus;
+    private final OperationMeter findByPriority;
+    private final OperationMeter findByAssigneeId;
+    private final OperationMeter findByCategoryId;
+    private final OperationMeter findOverdueTasks;
+    private final OperationMeter findByDueDateBetween;
+    private final OperationMeter findNextDue;
+    private final OperationMeter search;
+    private final OperationMeter searchPage;
+    private final OperationMeter stream;
+    private final OperationMeter count;
+    private final OperationMeter countByStatus;
+    private final OperationMeter sumCompletionPercentage;
+    private final OperationMeter update;
+    private final OperationMeter delete;
+    private final OperationMeter saveAll;
+    private final OperationMeter updateAll;
+    private final OperationMeter deleteAll;
+
+    public MeteredTaskRepository(TaskRepository delegate, MeterRegistry registry) {
+        super(delegate);
+        OperationMeters meters = new OperationMeters(registry, "pipeline.repository", "repository", "task");
+        save = meters.operation("save");
+        findById = meters.operation("findById");
+        findAll = meters.sizedOperation("findAll");
+        findByStatus = meters.sizedOperation("findByStatus");
+        findByPriority = meters.sizedOperation("findByPriority");
+        findByAssigneeId = meters.sizedOperation("findByAssigneeId");
+        findByCategoryId = meters.sizedOperation("findByCategoryId");
+        findOverdueTasks = meters.sizedOperation("findOverdueTasks");
+        findByDueDateBetween = meters.sizedOperation("findByDueDateBetween");
+        findNextDue = meters.sizedOperation("findNextDue");
+        search = meters.sizedOperation("search");
+        searchPage = meters.operation("searchPage");
+        stream = meters.operation("stream");
+        count = meters.operation("count");
+        countByStatus = meters.operation("countByStatus");
+        sumCompletionPercentage = meters.operation("sumCompletionPercentage");
+        update = meters.operation("update");
+        delete = meters.operation("delete");
+        saveAll = meters.sizedOperation("saveAll");
+        updateAll = meters.operation("updateAll");
+        deleteAll = meters.operation("deleteAll");
+    }
+
+    @Override
+    public Task save(Task task) {
+        return save.record(() -> delegate.save(task));
+    }
+
+    @Override
+    public Optional<Task> findById(Long id) {
+        return findById.record(() -> delegate.findById(id));
+    }
+
+    @Override
+    public List<Task> findAll() {
+        return findAll.recordSized(delegate::findAll);
+    }
+
+    @Override
+    public List<Task> findByStatus(Status status) {
+        return findByStatus.recordSized(() -> delegate.findByStatus(status));
+    }
+
+    @Override
+    public List<Task> findByPriority(Priority priority) {
+        return findByPriority.recordSized(() -> delegate.findByPriority(priority));
+    }
+
+    @Override
+    public List<Task> findByAssigneeId(Long userId) {
+        return findByAssigneeId.recordSized(() -> delegate.findByAssigneeId(userId));
+    }
+
+    @Override
+    public List<Task> findByCategoryId(Long categoryId) {
+        return findByCategoryId.recordSized(() -> delegate.findByCategoryId(categoryId));
+    }
+
+    @Override
+    public List<Task> findOverdueTasks() {
+        return findOverdueTasks.recordSized(delegate::findOverdueTasks);
+    }
+
+    @Override
+    public List<Task> findByDueDateBetween(LocalDateTime start, LocalDateTime end) {
+        return findByDueDateBetween.recordSized(() -> delegate.findByDueDateBetween(start, end));
+    }
+
+    @Override
+    public List<Task> findNextDue(LocalDateTime from, int limit) {
+        return findNextDue.recordSized(() -> delegate.findNextDue(from, limit));
+    }
+
+    @Override
+    public List<Task> search(SearchFilter filter) {
+        return search.recordSized(() -> delegate.search(filter));
+    }
+
+    @Override
+    public Page<Task> search(SearchFilter filter, String cursor, int limit) {
+        return searchPage.record(() -> delegate.search(filter, cursor, limit));
+    }
+
+    @Override
+    public Stream<Task> stream(SearchFilter filter) {
+        return stream.record(() -> delegate.stream(filter));
+    }
+
+    @Override
+    public long count() {
+        return count.record(delegate::count);
+    }
+
+    @Override
+    public long countByStatus(Status status) {
+        return countByStatus.record(() -> delegate.countByStatus(status));
+    }
+
+    @Override
+    public long sumCompletionPercentage() {
+        return sumCompletionPercentage.record(delegate::sumCompletionPercentage);
+    }
+
+    @Override
+    public void update(Task task) {
+        update.run(() -> delegate.update(task));
+    }
+
+    @Override
+    public boolean delete(Long id) {
+        return delete.record(() -> delegate.delete(id));
+    }
+
+    @Override
+    public List<Task> saveAll(Collection<Task> tasks) {
+        return saveAll.recordSized(() -> delegate.saveAll(tasks));
+    }
+
+    @Override
+    public void updateAll(Collection<Task> tasks) {
+        updateAll.run(() -> delegate.updateAll(tasks));
+    }
+
+    @Override
+    public List<Long> deleteAll(Collection<Long> ids) {
+        return deleteAll.record(() -> delegate.deleteAll(ids));
+    }
+}
@@ -0,0 +1,207 @@
+package com.example.pipeline_gerencia.metrics;
+
+import com.example.pipeline_gerencia.model.EntityLookup;
+import com.example.pipeline_gerencia.model.Priority;
+import com.example.pipeline_gerencia.model.Status;
+import com.example.pipeline_gerencia.model.Task;
+import com.example.pipeline_gerencia.repository.TaskRepository;
+import com.example.pipeline_gerencia.service.TaskService;
+import com.example.pipeline_gerencia.util.DateUtils;
+import com.example.pipeline_gerencia.util.Page;
+import com.example.pipeline_gerencia.util.SearchFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * TaskService that records latency, result sizes and errors of every
+ * operation as {@code pipeline.service.*} meters tagged
+ * {@code service=task}. Validation failures count as errors. getTasks is
+ * also recorded as searchTasksPage, which it delegates to.
+ */
+public class MeteredTaskService extends TaskService {
+    private final OperationMeter createTask;
+    private final OperationMeter createTasks;
+    private final OperationMeter getTaskById;
+    private final OperationMeter getAllTasks;
+    private final OperationMeter getTasks;
+    private final OperationMeter searchTasks;
+    private final OperationMeter searchTasksPage;
+    private final OperationMeter streamTasks;
+    private final OperationMeter updateTask;
+    private final OperationMeter updateTasks;
+    private final OperationMeter deleteTask;
+    private final OperationMeter deleteTasks;
+    private final OperationMeter updateStatus;
+    private final OperationMeter updatePriority;
+    private final OperationMeter updateStatusWhere;
+    private final OperationMeter updatePriorityWhere;
+    private final OperationMeter getTasksByStatus;
+    private final OperationMeter getTasksByPriority;
+    private final OperationMeter getOverdueTasks;
+    private final OperationMeter getTasksDueInNextDays;
+    private final OperationMeter getNextDueTasks;
+    private final OperationMeter getCompletionRate;
+    private final OperationMeter getAverageCompletionPercentage;
+
+    public MeteredTaskService(TaskRepository taskRepository, MeterRegistry registry) {
+        this(taskRepository, registry, DateUtils.getClock());
+    }
+
+    public MeteredTaskService(TaskRepository taskRepository, MeterRegistry registry, Clock clock) {
+        this(taskRepository, registry, clock, null);
+    }
+
+    public MeteredTaskService(TaskRepository taskRepository, MeterRegistry registry, Clock clock,
+                              EntityLookup lookup) {
+        super(taskRepository, clock, lookup);
+        OperationMeters meters = new OperationMeters(registry, "pipeline.service", "service", "task");
+        createTask = meters.operation("createTask");
+        createTasks = meters.sizedOperation("createTasks");
+        getTaskById = meters.operation("getTaskById");
+        getAllTasks = meters.sizedOperation("getAllTasks");
+        getTasks = meters.operation("getTasks");
+        searchTasks = meters.sizedOperation("searchTasks");
+        searchTasksPage = meters.operation("searchTasksPage");
+        streamTasks = meters.operation("streamTasks");
+        updateTask = meters.operation("updateTask");
+        updateTasks = meters.sizedOperation("updateTasks");
+        deleteTask = meters.operation("deleteTask");
+        deleteTasks = meters.operation("deleteTasks");
+        updateStatus = meters.operation("updateStatus");
+        updatePriority = meters.operation("updatePriority");
+        updateStatusWhere = meters.operation("updateStatusWhere");
+        updatePriorityWhere = meters.operation("updatePriorityWhere");
+        getTasksByStatus = meters.sizedOperation("getTasksByStatus");
+        getTasksByPriority = meters.sizedOperation("getTasksByPriority");
+        getOverdueTasks = meters.sizedOperation("getOverdueTasks");
+        getTasksDueInNextDays = meters.sizedOperation("getTasksDueInNextDays");
+        getNextDueTasks = meters.sizedOperation("getNextDueTasks");
+        getCompletionRate = meters.operation("getCompletionRate");
+        getAverageCompletionPercentage = meters.operation("getAverageCompletionPercentage");
+    }
+
+    @Override
+    public Task createTask(Task task) {
+        return createTask.record(() -> super.createTask(task));
+    }
+
+    @Override
+    public List<Task> createTasks(List<Task> tasks) {
+        return createTasks.recordSized(() -> super.createTasks(tasks));
+    }
+
+    @Override
+    public Optional<Task> getTaskById(Long id) {
+        return getTaskById.record(() -> super.getTaskById(id));
+    }
+
+    @Override
+    public List<Task> getAllTasks() {
+        return getAllTasks.recordSized(super::getAllTasks);
+    }
+
+    @Override
+    public Page<Task> getTasks(String cursor, int pageSize) {
+        return getTasks.record(() -> super.getTasks(cursor, pageSize));
+    }
+
+    @Override
+    public List<Task> searchTasks(SearchFilter filter) {
+        return searchTasks.recordSized(() -> super.searchTasks(filter));
+    }
+
+    @Override
+    public Page<Task> searchTasks(SearchFilter filter, String cursor, int pageSize) {
+        return searchTasksPage.record(() -> super.searchTasks(filter, cursor, pageSize));
+    }
+
+    @Override
+    public Stream<Task> streamTasks(SearchFilter filter) {
+        return streamTasks.record(() -> super.streamTasks(filter));
+    }
+
+    @Override
+    public Task updateTask(Task task) {
+        return updateTask.record(() -> super.updateTask(task));
+    }
+
+    @Override
+    public Task updateTask(Long taskId, Consumer<Task> change) {
+        return updateTask.record(() -> super.updateTask(taskId, change));
+    }
+
+    @Override
+    public List<Task> updateTasks(List<Task> tasks) {
+        return updateTasks.recordSized(() -> super.updateTasks(tasks));
+    }
+
+    @Override
+    public void deleteTask(Long id) {
+        deleteTask.run(() -> super.deleteTask(id));
+    }
+
+    @Override
+    public void deleteTasks(Collection<Long> ids) {
+        deleteTasks.run(() -> super.deleteTasks(ids));
+    }
+
+    @Override
+    public Task updateStatus(Long taskId, Status newStatus) {
+        return updateStatus.record(() -> super.updateStatus(taskId, newStatus));
+    }
+
+    @Override
+    public Task updatePriority(Long taskId, Priority newPriority) {
+        return updatePriority.record(() -> super.updatePriority(taskId, newPriority));
+    }
+
+    @Override
+    public int updateStatusWhere(SearchFilter filter, Status newStatus) {
+        return updateStatusWhere.record(() -> super.updateStatusWhere(filter, newStatus));
+    }
+
+    @Override
+    public int updatePriorityWhere(SearchFilter filter, Priority newPriority) {
+        return updatePriorityWhere.record(() -> super.updatePriorityWhere(filter, newPriority));
+    }
+
+    @Override
+    public List<Task> getTasksByStatus(Status status) {
+        return getTasksByStatus.recordSized(() -> super.getTasksByStatus(status));
+    }
+
+    @Override
+    public List<Task> getTasksByPriority(Priority priority) {
+        return getTasksByPriority.recordSized(() -> super.getTasksByPriority(priority));
+    }
+
+    @Override
+    public List<Task> getOverdueTasks() {
+        return getOverdueTasks.recordSized(super::getOverdueTasks);
+    }
+
+    @Override
+    public List<Task> getTasksDueInNextDays(int days) {
+        return getTasksDueInNextDays.recordSized(() -> super.getTasksDueInNextDays(days));
+    }
+
+    @Override
+    public List<Task> getNextDueTasks(int limit) {
+        return getNextDueTasks.recordSized(() -> super.getNextDueTasks(limit));
+    }
+
+    @Override
+    public int getCompletionRate() {
+        return getCompletionRate.record(super::getCompletionRate);
+    }
+
+    @Override
+    public int getAverageCompletionPercentage() {
+        return getAverageCompletionPercentage.record(super::getAverageCompletionPercentage);
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.pipeline_gerencia.metrics;
+
+import com.example.pipeline_gerencia.model.User;
+import com.example.pipeline_gerencia.repository.ForwardingUserRepository;
+import com.example.pipeline_gerencia.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Records latency, result sizes and errors of every UserRepository
+ * operation as {@code pipeline.repository.*} meters tagged
+ * {@code repository=user}.
+ */
+public class MeteredUserRepository extends ForwardingUserRepository {
+    private final OperationMeter save;
+    private final OperationMeter findById;
+    private final OperationMeter findAllById;
+    private final OperationMeter findByEmail;
+    private final OperationMeter findAll;
+    private final OperationMeter findByDepartment;
+    private final OperationMeter findActiveUsers;
+    private final OperationMeter update;
+    private final OperationMeter delete;
+
+    public MeteredUserRepository(UserRepository delegate, MeterRegistry registry) {
+        super(delegate);
+        OperationMeters meters = new OperationMeters(registry, "pipeline.repository", "repository", "user");
+        save = meters.operation("save");
+        findById = meters.operation("findById");
+        findAllById = meters.sizedOperation("findAllById");
+        findByEmail = meters.operation("findByEmail");
+        findAll = meters.sizedOperation("findAll");
+        findByDepartment = meters.sizedOperation("findByDepartment");
+        findActiveUsers = meters.sizedOperation("findActiveUsers");
+        update = meters.operation("update");
+        delete = meters.operation("delete");
+    }
+
+    @Override
+    public User save(User user) {
+        return save.record(() -> delegate.save(user));
+    }
+
+    @Override
+    public Optional<User> findById(Long id) {
+        return findById.record(() -> delegate.findById(id));
+    }
+
+    @Override
+    public List<User> findAllById(Collection<Long> ids) {
+        return findAllById.recordSized(() -> delegate.findAllById(ids));
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        return findByEmail.record(() -> delegate.findByEmail(email));
+    }
+
+    @Override
+    public List<User> findAll() {
+        return findAll.recordSized(delegate::findAll);
+    }
+
+    @Override
+    public List<User> findByDepartment(String department) {
+        return findByDepartment.recordSized(() -> delegate.findByDepartment(department));
+    }
+
+    @Override
+    public List<User> findActiveUsers() {
+        return findActiveUsers.recordSized(delegate::findActiveUsers);
+    }
+
+    @Override
+    public void update(User user) {
+        update.run(() -> delegate.update(user));
+    }
+
+    @Override
+    public boolean delete(Long id) {
+        return delete.record(() -> delegate.delete(id));
+    }
+}
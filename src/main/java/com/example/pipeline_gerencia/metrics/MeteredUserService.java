@@ -0,0 +1,90 @@
+package com.example.pipeline_gerencia.metrics;
+
+import com.example.pipeline_gerencia.model.User;
+import com.example.pipeline_gerencia.repository.UserRepository;
+import com.example.pipeline_gerencia.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * UserService that records latency, result sizes and errors of every
+ * operation as {@code pipeline.service.*} meters tagged
+ * {@code service=user}.
+ */
+public class MeteredUserService extends UserService {
+    private final OperationMeter createUser;
+    private final OperationMeter getUserById;
+    private final OperationMeter getUserByEmail;
+    private final OperationMeter getAllUsers;
+    private final OperationMeter getActiveUsers;
+    private final OperationMeter getUsersByDepartment;
+    private final OperationMeter updateUser;
+    private final OperationMeter deactivateUser;
+    private final OperationMeter deleteUser;
+
+    public MeteredUserService(UserRepository userRepository, MeterRegistry registry) {
+        super(userRepository);
+        OperationMeters meters = new OperationMeters(registry, "pipeline.service", "service", "user");
+        createUser = meters.operation("createUser");
+        getUserById = meters.operation("getUserById");
+        getUserByEmail = meters.operation("getUserByEmail");
+        getAllUsers = meters.sizedOperation("getAllUsers");
+        getActiveUsers = meters.sizedOperation("getActiveUsers");
+        getUsersByDepartment = meters.sizedOperation("getUsersByDepartment");
+        updateUser = meters.operation("updateUser");
+        deactivateUser = meters.operation("deactivateUser");
+        deleteUser = meters.operation("deleteUser");
+    }
+
+    @Override
+    public User createUser(String name, String email, String department) {
+        return createUser.record(() -> super.createUser(name, email, department));
+    }
+
+    @Override
+    public Optional<User> getUserById(Long id) {
+        return getUserById.record(() -> super.getUserById(id));
+    }
+
+    @Override
+    public Optional<User> getUserByEmail(String email) {
+        return getUserByEmail.record(() -> super.getUserByEmail(email));
+    }
+
+    @Override
+    public List<User> getAllUsers() {
+        return getAllUsers.recordSized(super::getAllUsers);
+    }
+
+    @Override
+    public List<User> getActiveUsers() {
+        return getActiveUsers.recordSized(super::getActiveUsers);
+    }
+
+    @Override
+    public List<User> getUsersByDepartment(String department) {
+        return getUsersByDepartment.recordSized(() -> super.getUsersByDepartment(department));
+    }
+
+    @Override
+    public User updateUser(User user) {
+        return updateUser.record(() -> super.updateUser(user));
+    }
+
+    @Override
+    public User updateUser(Long userId, Long expectedVersion, Consumer<User> change) {
+        return updateUser.record(() -> super.updateUser(userId, expectedVersion, change));
+    }
+
+    @Override
+    public void deactivateUser(Long userId) {
+        deactivateUser.run(() -> super.deactivateUser(userId));
+    }
+
+    @Override
+    public void deleteUser(Long userId) {
+        deleteUser.run(() -> super.deleteUser(userId));
+    }
+}
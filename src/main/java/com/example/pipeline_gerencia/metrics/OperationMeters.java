@@ -0,0 +1,65 @@
+package com.example.pipeline_gerencia.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+
+/**
+ * Registers the meters of a component's operations under a common prefix:
+ * {@code <prefix>.operations} (timer), {@code <prefix>.results} (result
+ * sizes) and {@code <prefix>.errors}, tagged with the component and the
+ * operation name. Timers and size distributions publish percentile
+ * histograms, so percentiles can be aggregated across instances.
+ */
+public class OperationMeters {
+    // In-memory operations take microseconds; the default timer histogram
+    // starts at 1ms and would put all of them in its first bucket
+    private static final Duration MIN_LATENCY = Duration.ofNanos(500);
+    private static final Duration MAX_LATENCY = Duration.ofSeconds(30);
+    private static final double MAX_RESULT_SIZE = 10_000_000;
+
+    private final MeterRegistry registry;
+    private final String prefix;
+    private final String componentTag;
+    private final String component;
+
+    public OperationMeters(MeterRegistry registry, String prefix, String componentTag, String component) {
+        this.registry = registry;
+        this.prefix = prefix;
+        this.componentTag = componentTag;
+        this.component = component;
+    }
+
+    public OperationMeter operation(String name) {
+        return new OperationMeter(timer(name), errors(name), null);
+    }
+
+    public OperationMeter sizedOperation(String name) {
+        DistributionSummary results = DistributionSummary.builder(prefix + ".results")
+                .description("Number of items returned")
+                .tags(componentTag, component, "operation", name)
+                .publishPercentileHistogram()
+                .maximumExpectedValue(MAX_RESULT_SIZE)
+                .register(registry);
+        return new OperationMeter(timer(name), errors(name), results);
+    }
+
+    private Timer timer(String name) {
+        return Timer.builder(prefix + ".operations")
+                .description("Latency of the operation")
+                .tags(componentTag, component, "operation", name)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(MIN_LATENCY)
+                .maximumExpectedValue(MAX_LATENCY)
+                .register(registry);
+    }
+
+    private Counter errors(String name) {
+        return Counter.builder(prefix + ".errors")
+                .description("Operations that threw an exception")
+                .tags(componentTag, component, "operation", name)
+                .register(registry);
+    }
+}
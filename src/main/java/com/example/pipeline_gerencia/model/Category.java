@@ -8,6 +8,7 @@ public class Category {
     private String name;
     private String description;
     private String color;
+    private long version;
 
     public Category() {}
 
@@ -17,6 +18,17 @@ public class Category {
         this.color = "#000000";
     }
 
+    /**
+     * Copies every field of another category.
+     */
+    public Category(Category other) {
+        this.id = other.id;
+        this.name = other.name;
+        this.description = other.description;
+        this.color = other.color;
+        this.version = other.version;
+    }
+
     public Long getId() {
         return id;
     }
@@ -49,6 +61,18 @@ public class Category {
         this.color = color;
     }
 
+    /**
+     * Number of updates the stored entity has gone through. Repositories
+     * reject an update whose version no longer matches the stored one.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     @Override
     public String toString() {
         return "Category{" +
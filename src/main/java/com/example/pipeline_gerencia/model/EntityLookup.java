@@ -0,0 +1,136 @@
+package com.example.pipeline_gerencia.model;
+
+import com.example.pipeline_gerencia.cache.TinyLfuCache;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Resolves the assignees and categories of tasks read from one set of
+ * repositories. Tasks keep only the ids, so a stored task does not pin its
+ * assignee's object graph; {@link #hydrate} attaches the users and
+ * categories to a page of tasks, loading the ids it has not cached with one
+ * loader call per entity type. Task.getAssignee() and getCategory() only
+ * return what was attached and never load.
+ * <p>
+ * Each lookup belongs to the repositories its loaders read, so ids of
+ * different repository sets never mix, and it caches at most
+ * {@code maximumSize} users and as many categories in W-TinyLFU caches.
+ * Entries must be evicted when the user or category changes or is deleted,
+ * e.g. by subscribing an EntityLookupEvictor to the change events; a
+ * deleted user then resolves to null while its tasks keep the id.
+ */
+public final class EntityLookup {
+    public static final int DEFAULT_MAXIMUM_SIZE = 10_000;
+
+    private final Function<Collection<Long>, List<User>> userLoader;
+    private final Function<Collection<Long>, List<Category>> categoryLoader;
+    private final TinyLfuCache<Long, User> users;
+    private final TinyLfuCache<Long, Category> categories;
+
+    /**
+     * A lookup over the given loaders, typically the findAllById of the
+     * user and category repositories the tasks refer to.
+     */
+    public EntityLookup(Function<Collection<Long>, List<User>> userLoader,
+                        Function<Collection<Long>, List<Category>> categoryLoader, int maximumSize) {
+        if (userLoader == null || categoryLoader == null) {
+            throw new IllegalArgumentException("User and category loaders are required");
+        }
+        this.userLoader = userLoader;
+        this.categoryLoader = categoryLoader;
+        this.users = new TinyLfuCache<>(maximumSize);
+        this.categories = new TinyLfuCache<>(maximumSize);
+    }
+
+    /**
+     * Attaches the assignee and category of every task, from the cache or
+     * with one loader call per entity type for the ids it misses. Tasks
+     * sharing an assignee share one copy of it, so changing an attached
+     * user never changes the cache.
+     */
+    public void hydrate(Collection<Task> tasks) {
+        Map<Long, User> foundUsers = users.getAll(assigneeIds(tasks), ids -> byId(userLoader.apply(ids), User::getId));
+        Map<Long, Category> foundCategories = categories.getAll(categoryIds(tasks),
+                ids -> byId(categoryLoader.apply(ids), Category::getId));
+        foundUsers.replaceAll((id, user) -> new User(user));
+        foundCategories.replaceAll((id, category) -> new Category(category));
+        attach(tasks, foundUsers, foundCategories);
+    }
+
+    public void evictUser(long id) {
+        users.invalidate(id);
+    }
+
+    public void evictCategory(long id) {
+        categories.invalidate(id);
+    }
+
+    /**
+     * Drops every cached entry, e.g. after missing change events.
+     */
+    public void evictAll() {
+        users.invalidateAll();
+        categories.invalidateAll();
+    }
+
+    /**
+     * Attaches the assignees and categories of the tasks without caching,
+     * reading them with one call per entity type. For repositories whose
+     * reads always go to the store.
+     */
+    public static void hydrate(Collection<Task> tasks, Function<Collection<Long>, List<User>> users,
+                               Function<Collection<Long>, List<Category>> categories) {
+        Set<Long> assigneeIds = assigneeIds(tasks);
+        Set<Long> categoryIds = categoryIds(tasks);
+        attach(tasks, assigneeIds.isEmpty() ? Map.of() : byId(users.apply(assigneeIds), User::getId),
+                categoryIds.isEmpty() ? Map.of() : byId(categories.apply(categoryIds), Category::getId));
+    }
+
+    private static void attach(Collection<Task> tasks, Map<Long, User> users, Map<Long, Category> categories) {
+        for (Task task : tasks) {
+            Long assigneeId = task.getAssigneeId();
+            if (assigneeId != null) {
+                task.attachAssignee(users.get(assigneeId));
+            }
+            Long categoryId = task.getCategoryId();
+            if (categoryId != null) {
+                task.attachCategory(categories.get(categoryId));
+            }
+        }
+    }
+
+    private static Set<Long> assigneeIds(Collection<Task> tasks) {
+        Set<Long> ids = new HashSet<>();
+        for (Task task : tasks) {
+            if (task.getAssigneeId() != null) {
+                ids.add(task.getAssigneeId());
+            }
+        }
+        return ids;
+    }
+
+    private static Set<Long> categoryIds(Collection<Task> tasks) {
+        Set<Long> ids = new HashSet<>();
+        for (Task task : tasks) {
+            if (task.getCategoryId() != null) {
+                ids.add(task.getCategoryId());
+            }
+        }
+        return ids;
+    }
+
+    private static <T> Map<Long, T> byId(List<T> entities, Function<T, Long> id) {
+        Map<Long, T> map = new HashMap<>();
+        for (T entity : entities) {
+            if (id.apply(entity) != null) {
+                map.put(id.apply(entity), entity);
+            }
+        }
+        return map;
+    }
+}
@@ -1,27 +1,37 @@
 package com.example.pipeline_gerencia.model;
 
+import com.example.pipeline_gerencia.util.DateUtils;
 import java.time.LocalDateTime;
+import java.util.Objects;
 
 /**
- * Task entity class
+ * Task entity class. The assignee and category are kept as ids; the user
+ * and category objects are only attached, by setAssignee()/setCategory()
+ * or by EntityLookup.hydrate(), and are not copied with the task. The
+ * creation time is unset until a repository first stores the task and
+ * stamps it from its clock.
  */
 public class Task {
+    private static final long NONE = Long.MIN_VALUE;
+
     private Long id;
     private String title;
     private String description;
     private Status status;
     private Priority priority;
+    private long assigneeId = NONE;
+    private long categoryId = NONE;
     private User assignee;
     private Category category;
     private LocalDateTime createdAt;
     private LocalDateTime dueDate;
     private LocalDateTime updatedAt;
     private int completionPercentage;
+    private long version;
 
     public Task() {
         this.status = Status.PENDING;
         this.priority = Priority.MEDIUM;
-        this.createdAt = LocalDateTime.now();
         this.completionPercentage = 0;
     }
 
@@ -31,6 +41,26 @@ public class Task {
         this.description = description;
     }
 
+    /**
+     * Copies every field of another task. The copy keeps the assignee and
+     * category ids but not the attached objects, so a stored copy does not
+     * pin them.
+     */
+    public Task(Task other) {
+        this.id = other.id;
+        this.title = other.title;
+        this.description = other.description;
+        this.status = other.status;
+        this.priority = other.priority;
+        setAssigneeId(other.getAssigneeId());
+        setCategoryId(other.getCategoryId());
+        this.createdAt = other.createdAt;
+        this.dueDate = other.dueDate;
+        this.updatedAt = other.updatedAt;
+        this.completionPercentage = other.completionPercentage;
+        this.version = other.version;
+    }
+
     public Long getId() {
         return id;
     }
@@ -71,20 +101,92 @@ public class Task {
         this.priority = priority;
     }
 
+    /**
+     * The attached assignee, or null if none was attached. Never loads it;
+     * tasks read from a repository carry only the id until hydrated.
+     */
     public User getAssignee() {
         return assignee;
     }
 
+    /**
+     * Assigns the task to the user and attaches it; null unassigns it. A user
+     * not saved yet is attached as is and the task takes its id once it has
+     * one; repositories index the id the task has when it is stored.
+     */
     public void setAssignee(User assignee) {
         this.assignee = assignee;
+        assigneeId = assignee == null || assignee.getId() == null ? NONE : assignee.getId();
+    }
+
+    public Long getAssigneeId() {
+        if (assigneeId != NONE) {
+            return assigneeId;
+        }
+        return assignee == null ? null : assignee.getId();
+    }
+
+    /**
+     * Assigns the task to the id, detaching an attached user with another id.
+     */
+    public void setAssigneeId(Long assigneeId) {
+        this.assigneeId = assigneeId == null ? NONE : assigneeId;
+        if (assignee != null && !Objects.equals(assignee.getId(), assigneeId)) {
+            assignee = null;
+        }
+    }
+
+    public boolean isAssignedTo(long userId) {
+        if (assigneeId != NONE) {
+            return assigneeId == userId;
+        }
+        return assignee != null && assignee.getId() != null && assignee.getId() == userId;
     }
 
+    // The user resolved for the current assignee id, or null if it is gone
+    void attachAssignee(User user) {
+        assignee = user;
+    }
+
+    /**
+     * The attached category, or null; like getAssignee(), never loads it.
+     */
     public Category getCategory() {
         return category;
     }
 
+    /**
+     * Files the task under the category and attaches it; null removes it
+     * from its category. Unsaved categories work as in setAssignee().
+     */
     public void setCategory(Category category) {
         this.category = category;
+        categoryId = category == null || category.getId() == null ? NONE : category.getId();
+    }
+
+    public Long getCategoryId() {
+        if (categoryId != NONE) {
+            return categoryId;
+        }
+        return category == null ? null : category.getId();
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId == null ? NONE : categoryId;
+        if (category != null && !Objects.equals(category.getId(), categoryId)) {
+            category = null;
+        }
+    }
+
+    public boolean isInCategory(long categoryId) {
+        if (this.categoryId != NONE) {
+            return this.categoryId == categoryId;
+        }
+        return category != null && category.getId() != null && category.getId() == categoryId;
+    }
+
+    void attachCategory(Category category) {
+        this.category = category;
     }
 
     public LocalDateTime getCreatedAt() {
@@ -119,11 +221,35 @@ public class Task {
         this.completionPercentage = Math.max(0, Math.min(100, completionPercentage));
     }
 
+    /**
+     * Number of updates the stored entity has gone through. Repositories
+     * reject an update whose version no longer matches the stored one.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    /**
+     * Whether the task is overdue now, by the system clock. Code given a
+     * clock checks {@code isOverdue(DateUtils.now(clock))} instead.
+     */
     public boolean isOverdue() {
+        return isOverdue(DateUtils.now());
+    }
+
+    /**
+     * Whether the task is overdue at {@code now}; lets a query check every
+     * task against the same instant.
+     */
+    public boolean isOverdue(LocalDateTime now) {
         if (dueDate == null || status == Status.COMPLETED) {
             return false;
         }
-        return LocalDateTime.now().isAfter(dueDate);
+        return now.isAfter(dueDate);
     }
 
     @Override
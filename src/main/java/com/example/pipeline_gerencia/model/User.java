@@ -9,6 +9,7 @@ public class User {
     private String email;
     private String department;
     private boolean active;
+    private long version;
 
     public User() {}
 
@@ -19,6 +20,18 @@ public class User {
         this.active = true;
     }
 
+    /**
+     * Copies every field of another user.
+     */
+    public User(User other) {
+        this.id = other.id;
+        this.name = other.name;
+        this.email = other.email;
+        this.department = other.department;
+        this.active = other.active;
+        this.version = other.version;
+    }
+
     public Long getId() {
         return id;
     }
@@ -59,6 +72,18 @@ public class User {
         this.active = active;
     }
 
+    /**
+     * Number of updates the stored entity has gone through. Repositories
+     * reject an update whose version no longer matches the stored one.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     @Override
     public String toString() {
         return "User{" +
@@ -0,0 +1,18 @@
+package com.example.pipeline_gerencia.overdue;
+
+import java.time.LocalDateTime;
+
+/**
+ * Told when a tracked task becomes overdue: its due date passed, or it was
+ * saved with a due date already in the past.
+ */
+@FunctionalInterface
+public interface OverdueListener {
+
+    /**
+     * Called on the thread that advanced the tracker, with the tracker
+     * locked, so it must return quickly; hand slow work to another thread,
+     * e.g. by publishing to a ChangeEventRing.
+     */
+    void onOverdue(long taskId, LocalDateTime dueDate);
+}
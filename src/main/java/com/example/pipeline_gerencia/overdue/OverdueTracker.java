@@ -0,0 +1,233 @@
+package com.example.pipeline_gerencia.overdue;
+
+import com.example.pipeline_gerencia.model.Status;
+import com.example.pipeline_gerencia.model.Task;
+import com.example.pipeline_gerencia.util.DateUtils;
+import java.io.Closeable;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Tracks which tasks are overdue without reading the clock per task. Every
+ * open task with a due date sits in a timer wheel keyed by that date; when
+ * the tracker is advanced past the date, the task moves to the overdue set
+ * and listeners are told. Tracking a change of due date or status is O(1).
+ * The tracker only knows what it is told through {@link #track} and
+ * {@link #untrack}, which OverdueTrackingTaskRepository does for every
+ * write. Due dates are compared to the millisecond, so the overdue set may
+ * hold a task up to a millisecond before Task.isOverdue() agrees.
+ */
+public class OverdueTracker implements Closeable {
+    private static final System.Logger LOGGER = System.getLogger(OverdueTracker.class.getName());
+    private static final Comparator<Entry> BY_DUE_DATE =
+            Comparator.comparingLong((Entry entry) -> entry.deadline).thenComparingLong(entry -> entry.id);
+
+    private final Supplier<LocalDateTime> clock;
+    private final TimerWheel wheel;
+    private final Map<Long, Entry> tracked = new HashMap<>();
+    // Id-ordered, so paged overdue searches resume from a cursor
+    private final TreeMap<Long, Entry> overdue = new TreeMap<>();
+    // The same entries by due date, then id
+    private final TreeSet<Entry> overdueByDueDate = new TreeSet<>(BY_DUE_DATE);
+    private final List<OverdueListener> listeners = new CopyOnWriteArrayList<>();
+    private ScheduledExecutorService ticker;
+
+    /**
+     * A tracker on the system clock, DateUtils.now().
+     */
+    public OverdueTracker() {
+        this(DateUtils.getClock());
+    }
+
+    public OverdueTracker(Clock clock) {
+        this(() -> DateUtils.now(clock));
+    }
+
+    private OverdueTracker(Supplier<LocalDateTime> clock) {
+        this.clock = clock;
+        this.wheel = new TimerWheel(toMillis(now()));
+    }
+
+    public void addListener(OverdueListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * The tracker's current time. Queries read it once and compare every
+     * task against it.
+     */
+    public LocalDateTime now() {
+        return clock.get();
+    }
+
+    /**
+     * Records the task's current due date and status: open tasks with a due
+     * date are scheduled, or marked overdue if the date already passed;
+     * completed tasks and tasks without a due date stop being tracked.
+     */
+    public synchronized void track(Task task) {
+        if (task.getId() == null) {
+            return;
+        }
+        if (task.getDueDate() == null || task.getStatus() == Status.COMPLETED) {
+            untrack(task.getId());
+            return;
+        }
+        Entry entry = tracked.get(task.getId());
+        if (entry == null) {
+            entry = new Entry(task.getId());
+            tracked.put(entry.id, entry);
+        } else if (entry.dueDate.equals(task.getDueDate())) {
+            return;
+        } else {
+            wheel.remove(entry);
+            removeOverdue(entry.id);
+        }
+        entry.dueDate = task.getDueDate();
+        entry.deadline = toMillis(entry.dueDate);
+        if (entry.deadline <= wheel.time()) {
+            markOverdue(entry);
+        } else {
+            wheel.schedule(entry);
+        }
+    }
+
+    public synchronized void untrack(Long id) {
+        Entry entry = tracked.remove(id);
+        if (entry != null) {
+            wheel.remove(entry);
+            removeOverdue(id);
+        }
+    }
+
+    /**
+     * Moves every task whose due date passed by now to the overdue set.
+     */
+    public void advance() {
+        advance(now());
+    }
+
+    public synchronized void advance(LocalDateTime now) {
+        wheel.advance(toMillis(now), node -> markOverdue((Entry) node));
+    }
+
+    /**
+     * Advances to {@code now} and returns the ids of the overdue tasks,
+     * ordered by due date and then id, as an unmodifiable list.
+     */
+    public synchronized List<Long> overdueIds(LocalDateTime now) {
+        advance(now);
+        List<Long> ids = new ArrayList<>(overdueByDueDate.size());
+        for (Entry entry : overdueByDueDate) {
+            ids.add(entry.id);
+        }
+        return Collections.unmodifiableList(ids);
+    }
+
+    /**
+     * Advances to {@code now} and returns up to {@code max} ids of overdue
+     * tasks greater than {@code after} (null for the first), in id order.
+     */
+    public synchronized List<Long> overdueIdsAfter(LocalDateTime now, Long after, int max) {
+        advance(now);
+        List<Long> ids = new ArrayList<>(Math.min(max, overdue.size()));
+        for (Long id : after == null ? overdue.keySet() : overdue.tailMap(after, false).keySet()) {
+            if (ids.size() == max) {
+                break;
+            }
+            ids.add(id);
+        }
+        return ids;
+    }
+
+    /**
+     * Number of tasks in the overdue set as of the last advance.
+     */
+    public synchronized int getOverdueCount() {
+        return overdue.size();
+    }
+
+    /**
+     * Number of open tasks with a due date, overdue or not.
+     */
+    public synchronized int getTrackedCount() {
+        return tracked.size();
+    }
+
+    /**
+     * Advances the tracker periodically on a daemon thread, so listeners are
+     * told about passed due dates even when nobody queries.
+     */
+    public synchronized void start(long period, TimeUnit unit) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("Period must be positive");
+        }
+        if (ticker != null) {
+            throw new IllegalStateException("Tracker is already started");
+        }
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "overdue-tracker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::advance, period, period, unit);
+    }
+
+    /**
+     * Stops the periodic advance, if started.
+     */
+    @Override
+    public synchronized void close() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+            ticker = null;
+        }
+    }
+
+    // Runs before the entry's deadline changes, which orders it in the set
+    private void removeOverdue(Long id) {
+        Entry entry = overdue.remove(id);
+        if (entry != null) {
+            overdueByDueDate.remove(entry);
+        }
+    }
+
+    private void markOverdue(Entry entry) {
+        overdue.put(entry.id, entry);
+        overdueByDueDate.add(entry);
+        for (OverdueListener listener : listeners) {
+            // A failing listener must not abort an advance halfway through
+            try {
+                listener.onOverdue(entry.id, entry.dueDate);
+            } catch (RuntimeException e) {
+                LOGGER.log(System.Logger.Level.WARNING, "Overdue listener failed", e);
+            }
+        }
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1000 + dateTime.getNano() / 1_000_000;
+    }
+
+    private static final class Entry extends TimerWheel.Node {
+        LocalDateTime dueDate;
+
+        Entry(long id) {
+            super(id);
+        }
+    }
+}
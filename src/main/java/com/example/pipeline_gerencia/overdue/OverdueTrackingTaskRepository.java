@@ -0,0 +1,248 @@
+package com.example.pipeline_gerencia.overdue;
+
+import com.example.pipeline_gerencia.model.Task;
+import com.example.pipeline_gerencia.repository.ForwardingTaskRepository;
+import com.example.pipeline_gerencia.repository.TaskRepository;
+import com.example.pipeline_gerencia.util.Page;
+import com.example.pipeline_gerencia.util.SearchFilter;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Serves overdue queries from an OverdueTracker instead of comparing every
+ * task's due date with the clock. findOverdueTasks() and showOverdueOnly
+ * searches read the tracker's overdue set, look those tasks up by id and
+ * apply the rest of the filter to them, so they cost O(overdue tasks)
+ * whatever the repository size; paged searches walk the overdue ids from the
+ * cursor and stop once the page is full. A write is applied and tracked
+ * holding a lock striped by task id, so the tracker sees the writes to one
+ * task in the order they were applied while writes to other tasks proceed.
+ * Tasks already in the delegate are tracked on construction.
+ * <p>
+ * Queries run through readConsistent() go to the delegate and scan as
+ * before.
+ */
+public class OverdueTrackingTaskRepository extends ForwardingTaskRepository {
+    private static final int STRIPES = 64;
+    // Overdue ids read from the tracker per round of a paged search
+    private static final int ID_BATCH = 256;
+
+    private final OverdueTracker tracker;
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+
+    public OverdueTrackingTaskRepository(TaskRepository delegate, OverdueTracker tracker) {
+        super(delegate);
+        this.tracker = tracker;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        for (Task task : delegate.findAll()) {
+            tracker.track(task);
+        }
+    }
+
+    @Override
+    public Task save(Task task) {
+        // A task without an id cannot be written by anyone else yet
+        boolean[] held = lock(task.getId() == null ? List.of() : List.of(task.getId()));
+        try {
+            Task saved = delegate.save(task);
+            tracker.track(saved);
+            return saved;
+        } finally {
+            unlock(held);
+        }
+    }
+
+    @Override
+    public void update(Task task) {
+        boolean[] held = lock(task.getId() == null ? List.of() : List.of(task.getId()));
+        try {
+            delegate.update(task);
+            retrack(task.getId());
+        } finally {
+            unlock(held);
+        }
+    }
+
+    @Override
+    public boolean delete(Long id) {
+        boolean[] held = lock(id == null ? List.of() : List.of(id));
+        try {
+            boolean deleted = delegate.delete(id);
+            tracker.untrack(id);
+            return deleted;
+        } finally {
+            unlock(held);
+        }
+    }
+
+    @Override
+    public List<Task> saveAll(Collection<Task> tasks) {
+        boolean[] held = lock(ids(tasks));
+        try {
+            List<Task> saved = delegate.saveAll(tasks);
+            for (Task task : saved) {
+                tracker.track(task);
+            }
+            return saved;
+        } finally {
+            unlock(held);
+        }
+    }
+
+    @Override
+    public void updateAll(Collection<Task> tasks) {
+        boolean[] held = lock(ids(tasks));
+        try {
+            delegate.updateAll(tasks);
+        } finally {
+            // On a conflict the delegate may have applied part of the batch
+            try {
+                for (Task task : tasks) {
+                    retrack(task.getId());
+                }
+            } finally {
+                unlock(held);
+            }
+        }
+    }
+
+    @Override
+    public List<Long> deleteAll(Collection<Long> ids) {
+        boolean[] held = lock(ids);
+        try {
+            List<Long> deleted = delegate.deleteAll(ids);
+            for (Long id : ids) {
+                tracker.untrack(id);
+            }
+            return deleted;
+        } finally {
+            unlock(held);
+        }
+    }
+
+    @Override
+    public List<Task> findOverdueTasks() {
+        return overdue(task -> true);
+    }
+
+    @Override
+    public List<Task> search(SearchFilter filter) {
+        if (!filter.isShowOverdueOnly()) {
+            return delegate.search(filter);
+        }
+        return overdue(withoutOverdue(filter).asPredicate());
+    }
+
+    @Override
+    public Page<Task> search(SearchFilter filter, String cursor, int limit) {
+        if (!filter.isShowOverdueOnly()) {
+            return delegate.search(filter, cursor, limit);
+        }
+        LocalDateTime now = tracker.now();
+        Predicate<Task> predicate = withoutOverdue(filter).asPredicate();
+        List<Task> items = new ArrayList<>(Math.min(limit, 256));
+        Long after = Page.decodeCursor(cursor);
+        List<Long> ids;
+        do {
+            ids = tracker.overdueIdsAfter(now, after, ID_BATCH);
+            for (Long id : ids) {
+                after = id;
+                Optional<Task> task = delegate.findById(id);
+                if (task.isEmpty() || !task.get().isOverdue(now) || !predicate.test(task.get())) {
+                    continue;
+                }
+                if (items.size() == limit) {
+                    return new Page<>(items, Page.encodeCursor(items.get(limit - 1).getId()));
+                }
+                items.add(task.get());
+            }
+        } while (ids.size() == ID_BATCH);
+        return new Page<>(items, null);
+    }
+
+    @Override
+    public Stream<Task> stream(SearchFilter filter) {
+        if (!filter.isShowOverdueOnly()) {
+            return delegate.stream(filter);
+        }
+        return search(filter).stream();
+    }
+
+    /**
+     * Overdue tasks matching the predicate, ordered by due date. Each task
+     * is checked against the same instant the tracker advanced to, since it
+     * may have changed after the tracker listed it.
+     */
+    private List<Task> overdue(Predicate<Task> predicate) {
+        LocalDateTime now = tracker.now();
+        List<Task> overdue = new ArrayList<>();
+        for (Long id : tracker.overdueIds(now)) {
+            Optional<Task> task = delegate.findById(id);
+            if (task.isPresent() && task.get().isOverdue(now) && predicate.test(task.get())) {
+                overdue.add(task.get());
+            }
+        }
+        return overdue;
+    }
+
+    private void retrack(Long id) {
+        if (id == null) {
+            return;
+        }
+        Optional<Task> stored = delegate.findById(id);
+        if (stored.isPresent()) {
+            tracker.track(stored.get());
+        } else {
+            tracker.untrack(id);
+        }
+    }
+
+    // Locks the stripes of the ids in index order, so batches cannot deadlock
+    private boolean[] lock(Collection<Long> ids) {
+        boolean[] held = new boolean[STRIPES];
+        for (Long id : ids) {
+            if (id != null) {
+                held[(Long.hashCode(id) * 0x9E3779B9) >>> 26] = true;
+            }
+        }
+        for (int i = 0; i < STRIPES; i++) {
+            if (held[i]) {
+                stripes[i].lock();
+            }
+        }
+        return held;
+    }
+
+    private void unlock(boolean[] held) {
+        for (int i = STRIPES - 1; i >= 0; i--) {
+            if (held[i]) {
+                stripes[i].unlock();
+            }
+        }
+    }
+
+    private static List<Long> ids(Collection<Task> tasks) {
+        List<Long> ids = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            ids.add(task.getId());
+        }
+        return ids;
+    }
+
+    private static SearchFilter withoutOverdue(SearchFilter filter) {
+        SearchFilter rest = new SearchFilter(filter.getKeyword());
+        rest.setStatus(filter.getStatus());
+        rest.setPriority(filter.getPriority());
+        rest.setAssigneeId(filter.getAssigneeId());
+        rest.setCategoryId(filter.getCategoryId());
+        return rest;
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.pipeline_gerencia.overdue;
+
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel over millisecond deadlines. Each level is an
+ * array of buckets holding doubly linked lists of nodes; a node sits in the
+ * finest level whose range covers its deadline, so scheduling and removing
+ * a node are O(1). Advancing the clock visits only the buckets whose time
+ * slot has passed: due nodes expire, and the others cascade down to a finer
+ * level. Deadlines beyond the coarsest level wait in a single overflow
+ * bucket that is revisited every ~12 days. Not thread-safe.
+ */
+final class TimerWheel {
+    /** Buckets per level; powers of two so a tick maps to a bucket by masking. */
+    private static final int[] BUCKETS = {64, 64, 32, 8, 1};
+    /**
+     * Log2 of the milliseconds one bucket spans: ~1s, ~1m, ~1.2h, ~1.6d,
+     * ~12.4d. Each level covers exactly one bucket of the next.
+     */
+    private static final int[] SHIFTS = {10, 16, 22, 27, 30};
+
+    private final Node[][] wheel = new Node[BUCKETS.length][];
+    private long time;
+
+    TimerWheel(long time) {
+        this.time = time;
+        for (int i = 0; i < BUCKETS.length; i++) {
+            wheel[i] = new Node[BUCKETS[i]];
+            for (int j = 0; j < BUCKETS[i]; j++) {
+                Node sentinel = new Node(0);
+                sentinel.prev = sentinel;
+                sentinel.next = sentinel;
+                wheel[i][j] = sentinel;
+            }
+        }
+    }
+
+    /**
+     * The time the wheel was last advanced to.
+     */
+    long time() {
+        return time;
+    }
+
+    /**
+     * Links a node whose deadline is after {@link #time()}.
+     */
+    void schedule(Node node) {
+        Node sentinel = findBucket(node.deadline);
+        node.prev = sentinel.prev;
+        node.next = sentinel;
+        sentinel.prev.next = node;
+        sentinel.prev = node;
+    }
+
+    /**
+     * Unlinks a node if it is scheduled.
+     */
+    void remove(Node node) {
+        if (node.next != null) {
+            node.prev.next = node.next;
+            node.next.prev = node.prev;
+            node.prev = null;
+            node.next = null;
+        }
+    }
+
+    /**
+     * Moves the clock to {@code now} and hands every node whose deadline is
+     * at or before it to {@code expired}, already unlinked. Moving the clock
+     * backwards does nothing.
+     */
+    void advance(long now, Consumer<Node> expired) {
+        long previous = time;
+        if (now <= previous) {
+            return;
+        }
+        time = now;
+        for (int i = 0; i < BUCKETS.length; i++) {
+            long previousTicks = previous >> SHIFTS[i];
+            long delta = (now >> SHIFTS[i]) - previousTicks;
+            // The current finest bucket may hold deadlines within this tick,
+            // so it is visited even when the tick did not change
+            if (delta <= 0 && i > 0) {
+                break;
+            }
+            expire(i, previousTicks, delta, expired);
+        }
+    }
+
+    private void expire(int level, long previousTicks, long delta, Consumer<Node> expired) {
+        Node[] buckets = wheel[level];
+        int mask = buckets.length - 1;
+        int steps = (int) Math.min(delta + 1, buckets.length);
+        int start = (int) (previousTicks & mask);
+        for (int i = start; i < start + steps; i++) {
+            Node sentinel = buckets[i & mask];
+            Node node = sentinel.next;
+            sentinel.prev = sentinel;
+            sentinel.next = sentinel;
+            while (node != sentinel) {
+                Node next = node.next;
+                node.prev = null;
+                node.next = null;
+                if (node.deadline <= time) {
+                    expired.accept(node);
+                } else {
+                    schedule(node);
+                }
+                node = next;
+            }
+        }
+    }
+
+    private Node findBucket(long deadline) {
+        long duration = deadline - time;
+        int last = BUCKETS.length - 1;
+        for (int i = 0; i < last; i++) {
+            if (duration < 1L << SHIFTS[i + 1]) {
+                return wheel[i][(int) ((deadline >> SHIFTS[i]) & (BUCKETS[i] - 1))];
+            }
+        }
+        return wheel[last][0];
+    }
+
+    /**
+     * An entry of the wheel. Bucket heads are sentinels linked to
+     * themselves; entries are unlinked (null links) while not scheduled.
+     */
+    static class Node {
+        final long id;
+        long deadline;
+        Node prev;
+        Node next;
+
+        Node(long id) {
+            this.id = id;
+        }
+    }
+}
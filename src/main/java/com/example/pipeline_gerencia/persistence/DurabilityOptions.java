@@ -0,0 +1,50 @@
+package com.example.pipeline_gerencia.persistence;
+
+import java.time.Duration;
+
+/**
+ * Tuning knobs for {@link DurableStore}.
+ * A group commit is flushed when the flush interval has passed since its
+ * first record or when it reaches the batch size, whichever comes first; a
+ * zero interval flushes whatever queued up during the previous fsync. The
+ * log is folded into a new snapshot once it grows past the compaction
+ * threshold.
+ */
+public class DurabilityOptions {
+    private Duration flushInterval = Duration.ofMillis(2);
+    private int maxBatchBytes = 1 << 20;
+    private long compactionThresholdBytes = 64L << 20;
+
+    public Duration getFlushInterval() {
+        return flushInterval;
+    }
+
+    public void setFlushInterval(Duration flushInterval) {
+        if (flushInterval == null || flushInterval.isNegative()) {
+            throw new IllegalArgumentException("Flush interval must not be negative");
+        }
+        this.flushInterval = flushInterval;
+    }
+
+    public int getMaxBatchBytes() {
+        return maxBatchBytes;
+    }
+
+    public void setMaxBatchBytes(int maxBatchBytes) {
+        if (maxBatchBytes <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.maxBatchBytes = maxBatchBytes;
+    }
+
+    public long getCompactionThresholdBytes() {
+        return compactionThresholdBytes;
+    }
+
+    public void setCompactionThresholdBytes(long compactionThresholdBytes) {
+        if (compactionThresholdBytes <= 0) {
+            throw new IllegalArgumentException("Compaction threshold must be positive");
+        }
+        this.compactionThresholdBytes = compactionThresholdBytes;
+    }
+}
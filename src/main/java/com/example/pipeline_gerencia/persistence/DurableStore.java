@@ -0,0 +1,400 @@
+package com.example.pipeline_gerencia.persistence;
+
+import com.example.pipeline_gerencia.model.Category;
+import com.example.pipeline_gerencia.model.Task;
+import com.example.pipeline_gerencia.model.User;
+import com.example.pipeline_gerencia.repository.CategoryRepository;
+import com.example.pipeline_gerencia.repository.ForwardingCategoryRepository;
+import com.example.pipeline_gerencia.repository.ForwardingTaskRepository;
+import com.example.pipeline_gerencia.repository.ForwardingUserRepository;
+import com.example.pipeline_gerencia.repository.OptimisticLockException;
+import com.example.pipeline_gerencia.repository.TaskRepository;
+import com.example.pipeline_gerencia.repository.UserRepository;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Makes the task, user and category repositories durable.
+ * Opening a store restores the latest snapshot and replays the write-ahead
+ * log into the given repositories; the repositories it hands out then log
+ * every save, update and delete before returning. A write is applied and
+ * its record queued under one lock, so the log order matches the order of
+ * the in-memory changes, and the caller waits for the group commit outside
+ * that lock so concurrent writers share an fsync. Once the log grows past
+ * the compaction threshold it is folded into a new snapshot in the
+ * background. Reads are not logged and go straight to the repositories.
+ */
+public class DurableStore implements Closeable {
+    private static final System.Logger LOGGER = System.getLogger(DurableStore.class.getName());
+    private static final byte TASK_SAVED = 1;
+    private static final byte TASK_DELETED = 2;
+    private static final byte USER_SAVED = 3;
+    private static final byte USER_DELETED = 4;
+    private static final byte CATEGORY_SAVED = 5;
+    private static final byte CATEGORY_DELETED = 6;
+
+    private final TaskRepository tasks;
+    private final UserRepository users;
+    private final CategoryRepository categories;
+    private final DurabilityOptions options;
+    private final SnapshotStore snapshots;
+    private final WriteAheadLog log;
+    private final Object lock = new Object();
+    private final Object compactionLock = new Object();
+    private final AtomicBoolean compacting = new AtomicBoolean();
+    private final ExecutorService compactor;
+    private final TaskRepository durableTasks;
+    private final UserRepository durableUsers;
+    private final CategoryRepository durableCategories;
+
+    public DurableStore(Path directory, TaskRepository tasks, UserRepository users,
+                        CategoryRepository categories) throws IOException {
+        this(directory, tasks, users, categories, new DurabilityOptions());
+    }
+
+    public DurableStore(Path directory, TaskRepository tasks, UserRepository users,
+                        CategoryRepository categories, DurabilityOptions options) throws IOException {
+        this.tasks = tasks;
+        this.users = users;
+        this.categories = categories;
+        this.options = options;
+        Files.createDirectories(directory);
+        this.snapshots = new SnapshotStore(directory.resolve(StoredRepositories.SNAPSHOT_FILE));
+        snapshots.restore(tasks, users, categories);
+        this.log = new WriteAheadLog(directory.resolve("wal"), options.getFlushInterval(), options.getMaxBatchBytes());
+        try {
+            log.replay(this::apply);
+        } catch (UncheckedIOException e) {
+            log.close();
+            throw e.getCause();
+        }
+        this.compactor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "wal-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.durableTasks = new DurableTaskRepository(tasks);
+        this.durableUsers = new DurableUserRepository(users);
+        this.durableCategories = new DurableCategoryRepository(categories);
+    }
+
+    public TaskRepository getTaskRepository() {
+        return durableTasks;
+    }
+
+    public UserRepository getUserRepository() {
+        return durableUsers;
+    }
+
+    public CategoryRepository getCategoryRepository() {
+        return durableCategories;
+    }
+
+    /**
+     * Writes a snapshot of the current state and drops the log segments it
+     * covers. Writes are only paused while the repository contents are
+     * captured, not while the snapshot is written.
+     */
+    public void compact() throws IOException {
+        synchronized (compactionLock) {
+            CompletableFuture<Long> rolled;
+            List<Task> taskList;
+            List<User> userList;
+            List<Category> categoryList;
+            synchronized (lock) {
+                rolled = log.roll();
+                taskList = tasks.findAll();
+                userList = users.findAll();
+                categoryList = categories.findAll();
+            }
+            long covered = await(rolled);
+            snapshots.write(taskList, userList, categoryList);
+            log.deleteSegmentsUpTo(covered);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        compactor.shutdown();
+        try {
+            compactor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.close();
+    }
+
+    private void apply(WriteAheadLog.Record record) {
+        try {
+            switch (record.type()) {
+                case TASK_SAVED -> tasks.save(EntityCodec.decodeTask(record.payload()));
+                case TASK_DELETED -> tasks.delete(EntityCodec.decodeId(record.payload()));
+                // Tasks refer to users and categories by id, so the logged
+                // state simply replaces the stored one; save() takes the
+                // logged version as is
+                case USER_SAVED -> users.save(EntityCodec.decodeUser(record.payload()));
+                case USER_DELETED -> users.delete(EntityCodec.decodeId(record.payload()));
+                case CATEGORY_SAVED -> categories.save(EntityCodec.decodeCategory(record.payload()));
+                case CATEGORY_DELETED -> categories.delete(EntityCodec.decodeId(record.payload()));
+                default -> throw new IOException("Unknown log record type " + record.type());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Compacts on the background thread if the log has grown past the
+     * compaction threshold, e.g. after replaying a long log on open. Does
+     * nothing while a compaction is already running.
+     */
+    public void compactIfNeeded() {
+        if (log.size() >= options.getCompactionThresholdBytes() && compacting.compareAndSet(false, true)) {
+            try {
+                compactor.execute(() -> {
+                    try {
+                        compact();
+                    } catch (IOException | RuntimeException e) {
+                        LOGGER.log(System.Logger.Level.WARNING, "Background compaction failed", e);
+                    } finally {
+                        compacting.set(false);
+                    }
+                });
+            } catch (RuntimeException e) {
+                // closing
+                compacting.set(false);
+            }
+        }
+    }
+
+    // Waits for the group commit carrying a write, then checks whether the
+    // log has grown enough to be compacted.
+    private void commit(CompletableFuture<?> logged) {
+        await(logged);
+        compactIfNeeded();
+    }
+
+    private void commitAll(List<CompletableFuture<Void>> logged) {
+        if (logged.isEmpty()) {
+            return;
+        }
+        for (int i = 0; i < logged.size() - 1; i++) {
+            await(logged.get(i));
+        }
+        commit(logged.get(logged.size() - 1));
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException io) {
+                throw new UncheckedIOException("Write-ahead log failed", io);
+            }
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw e;
+        }
+    }
+
+    private final class DurableTaskRepository extends ForwardingTaskRepository {
+        DurableTaskRepository(TaskRepository delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public Task save(Task task) {
+            CompletableFuture<Void> logged;
+            synchronized (lock) {
+                delegate.save(task);
+                logged = log.append(TASK_SAVED, EntityCodec.encode(task));
+            }
+            commit(logged);
+            return task;
+        }
+
+        @Override
+        public void update(Task task) {
+            CompletableFuture<Void> logged;
+            synchronized (lock) {
+                delegate.update(task);
+                // Log the stored state, which may differ from a detached copy
+                Optional<Task> stored = task.getId() == null ? Optional.empty() : delegate.findById(task.getId());
+                if (stored.isEmpty()) {
+                    return;
+                }
+                logged = log.append(TASK_SAVED, EntityCodec.encode(stored.get()));
+            }
+            commit(logged);
+        }
+
+        @Override
+        public boolean delete(Long id) {
+            CompletableFuture<Void> logged;
+            synchronized (lock) {
+                if (!delegate.delete(id)) {
+                    return false;
+                }
+                logged = log.append(TASK_DELETED, EntityCodec.encodeId(id));
+            }
+            commit(logged);
+            return true;
+        }
+
+        // Batches take the lock once and wait for their group commits once
+        @Override
+        public List<Task> saveAll(Collection<Task> batch) {
+            List<Task> saved;
+            List<CompletableFuture<Void>> logged = new ArrayList<>(batch.size());
+            synchronized (lock) {
+                saved = delegate.saveAll(batch);
+                for (Task task : saved) {
+                    logged.add(log.append(TASK_SAVED, EntityCodec.encode(task)));
+                }
+            }
+            commitAll(logged);
+            return saved;
+        }
+
+        @Override
+        public void updateAll(Collection<Task> batch) {
+            List<CompletableFuture<Void>> logged = new ArrayList<>(batch.size());
+            OptimisticLockException conflict = null;
+            synchronized (lock) {
+                try {
+                    delegate.updateAll(batch);
+                } catch (OptimisticLockException e) {
+                    // Part of the batch may have been applied; logging the
+                    // stored state of every task covers that part
+                    conflict = e;
+                }
+                for (Task task : batch) {
+                    Optional<Task> stored = task.getId() == null ? Optional.empty() : delegate.findById(task.getId());
+                    stored.ifPresent(t -> logged.add(log.append(TASK_SAVED, EntityCodec.encode(t))));
+                }
+            }
+            commitAll(logged);
+            if (conflict != null) {
+                throw conflict;
+            }
+        }
+
+        @Override
+        public List<Long> deleteAll(Collection<Long> ids) {
+            List<Long> deleted;
+            List<CompletableFuture<Void>> logged = new ArrayList<>(ids.size());
+            synchronized (lock) {
+                deleted = delegate.deleteAll(ids);
+                for (Long id : deleted) {
+                    logged.add(log.append(TASK_DELETED, EntityCodec.encodeId(id)));
+                }
+            }
+            commitAll(logged);
+            return deleted;
+        }
+    }
+
+    private final class DurableUserRepository extends ForwardingUserRepository {
+        DurableUserRepository(UserRepository delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public User save(User user) {
+            CompletableFuture<Void> logged;
+            synchronized (lock) {
+                delegate.save(user);
+                logged = log.append(USER_SAVED, EntityCodec.encode(user));
+            }
+            commit(logged);
+            return user;
+        }
+
+        @Override
+        public void update(User user) {
+            CompletableFuture<Void> logged;
+            synchronized (lock) {
+                delegate.update(user);
+                Optional<User> stored = user.getId() == null ? Optional.empty() : delegate.findById(user.getId());
+                if (stored.isEmpty()) {
+                    return;
+                }
+                logged = log.append(USER_SAVED, EntityCodec.encode(stored.get()));
+            }
+            commit(logged);
+        }
+
+        @Override
+        public boolean delete(Long id) {
+            CompletableFuture<Void> logged;
+            synchronized (lock) {
+                if (!delegate.delete(id)) {
+                    return false;
+                }
+                logged = log.append(USER_DELETED, EntityCodec.encodeId(id));
+            }
+            commit(logged);
+            return true;
+        }
+    }
+
+    private final class DurableCategoryRepository extends ForwardingCategoryRepository {
+        DurableCategoryRepository(CategoryRepository delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public Category save(Category category) {
+            CompletableFuture<Void> logged;
+            synchronized (lock) {
+                delegate.save(category);
+                logged = log.append(CATEGORY_SAVED, EntityCodec.encode(category));
+            }
+            commit(logged);
+            return category;
+        }
+
+        @Override
+        public void update(Category category) {
+            CompletableFuture<Void> logged;
+            synchronized (lock) {
+                delegate.update(category);
+                Optional<Category> stored = category.getId() == null
+                        ? Optional.empty() : delegate.findById(category.getId());
+                if (stored.isEmpty()) {
+                    return;
+                }
+                logged = log.append(CATEGORY_SAVED, EntityCodec.encode(stored.get()));
+            }
+            commit(logged);
+        }
+
+        @Override
+        public boolean delete(Long id) {
+            CompletableFuture<Void> logged;
+            synchronized (lock) {
+                if (!delegate.delete(id)) {
+                    return false;
+                }
+                logged = log.append(CATEGORY_DELETED, EntityCodec.encodeId(id));
+            }
+            commit(logged);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.pipeline_gerencia.persistence;
+
+import com.example.pipeline_gerencia.model.Category;
+import com.example.pipeline_gerencia.model.Priority;
+import com.example.pipeline_gerencia.model.Status;
+import com.example.pipeline_gerencia.model.Task;
+import com.example.pipeline_gerencia.model.User;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Row encoding of single entities for write-ahead log records.
+ * Each record carries the full state of the entity, so replaying a log is
+ * idempotent. Task records hold the ids of their assignee and category,
+ * as the task does.
+ * The entity's version comes last.
+ */
+final class EntityCodec {
+    private static final long NO_ID = Long.MIN_VALUE;
+    private static final int NO_DATE = -1;
+
+    private EntityCodec() {}
+
+    static byte[] encode(Task task) {
+        return encode(out -> writeTask(out, task));
+    }
+
+    static byte[] encode(User user) {
+        return encode(out -> {
+            writeUser(out, user);
+            out.writeLong(user.getVersion());
+        });
+    }
+
+    static byte[] encode(Category category) {
+        return encode(out -> {
+            writeCategory(out, category);
+            out.writeLong(category.getVersion());
+        });
+    }
+
+    static byte[] encodeId(long id) {
+        return encode(out -> out.writeLong(id));
+    }
+
+    static Task decodeTask(byte[] payload) throws IOException {
+        DataInputStream in = input(payload);
+        Task task = new Task(readString(in), readString(in));
+        task.setId(in.readLong());
+        task.setStatus(readEnum(in, Status.values()));
+        task.setPriority(readEnum(in, Priority.values()));
+        task.setCompletionPercentage(in.readByte());
+        task.setCreatedAt(readDate(in));
+        task.setDueDate(readDate(in));
+        task.setUpdatedAt(readDate(in));
+        task.setAssigneeId(readId(in));
+        task.setCategoryId(readId(in));
+        task.setVersion(in.readLong());
+        return task;
+    }
+
+    static User decodeUser(byte[] payload) throws IOException {
+        DataInputStream in = input(payload);
+        User user = readUser(in);
+        user.setVersion(in.readLong());
+        return user;
+    }
+
+    static Category decodeCategory(byte[] payload) throws IOException {
+        DataInputStream in = input(payload);
+        Category category = readCategory(in);
+        category.setVersion(in.readLong());
+        return category;
+    }
+
+    static long decodeId(byte[] payload) throws IOException {
+        return input(payload).readLong();
+    }
+
+    private static void writeTask(DataOutputStream out, Task task) throws IOException {
+        writeString(out, task.getTitle());
+        writeString(out, task.getDescription());
+        out.writeLong(task.getId());
+        writeEnum(out, task.getStatus());
+        writeEnum(out, task.getPriority());
+        out.writeByte(task.getCompletionPercentage());
+        writeDate(out, task.getCreatedAt());
+        writeDate(out, task.getDueDate());
+        writeDate(out, task.getUpdatedAt());
+        out.writeLong(task.getAssigneeId() == null ? NO_ID : task.getAssigneeId());
+        out.writeLong(task.getCategoryId() == null ? NO_ID : task.getCategoryId());
+        out.writeLong(task.getVersion());
+    }
+
+    private static Long readId(DataInputStream in) throws IOException {
+        long id = in.readLong();
+        return id == NO_ID ? null : id;
+    }
+
+    private static void writeUser(DataOutputStream out, User user) throws IOException {
+        out.writeLong(user.getId());
+        writeString(out, user.getName());
+        writeString(out, user.getEmail());
+        writeString(out, user.getDepartment());
+        out.writeBoolean(user.isActive());
+    }
+
+    private static User readUser(DataInputStream in) throws IOException {
+        long id = in.readLong();
+        User user = new User(readString(in), readString(in), readString(in));
+        user.setId(id);
+        user.setActive(in.readBoolean());
+        return user;
+    }
+
+    private static void writeCategory(DataOutputStream out, Category category) throws IOException {
+        out.writeLong(category.getId());
+        writeString(out, category.getName());
+        writeString(out, category.getDescription());
+        writeString(out, category.getColor());
+    }
+
+    private static Category readCategory(DataInputStream in) throws IOException {
+        long id = in.readLong();
+        Category category = new Category(readString(in), readString(in));
+        category.setId(id);
+        category.setColor(readString(in));
+        return category;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        return new String(in.readNBytes(length), StandardCharsets.UTF_8);
+    }
+
+    private static void writeEnum(DataOutputStream out, Enum<?> value) throws IOException {
+        out.writeByte(value == null ? -1 : value.ordinal());
+    }
+
+    private static <E extends Enum<E>> E readEnum(DataInputStream in, E[] values) throws IOException {
+        byte code = in.readByte();
+        if (code == -1) {
+            return null;
+        }
+        if (code < 0 || code >= values.length) {
+            throw new IOException("Unknown " + values[0].getDeclaringClass().getSimpleName() + " code " + code);
+        }
+        return values[code];
+    }
+
+    private static void writeDate(DataOutputStream out, LocalDateTime date) throws IOException {
+        if (date == null) {
+            out.writeLong(0);
+            out.writeInt(NO_DATE);
+        } else {
+            out.writeLong(date.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(date.getNano());
+        }
+    }
+
+    private static LocalDateTime readDate(DataInputStream in) throws IOException {
+        long seconds = in.readLong();
+        int nanos = in.readInt();
+        return nanos == NO_DATE ? null : LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+    }
+
+    private static DataInputStream input(byte[] payload) {
+        return new DataInputStream(new ByteArrayInputStream(payload));
+    }
+
+    private static byte[] encode(Writer writer) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writer.write(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    @FunctionalInterface
+    private interface Writer {
+        void write(DataOutputStream out) throws IOException;
+    }
+}
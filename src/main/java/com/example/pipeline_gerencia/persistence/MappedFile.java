@@ -0,0 +1,277 @@
+package com.example.pipeline_gerencia.persistence;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Sequential reader/writer of primitive arrays over a memory-mapped file.
+ * The file is mapped in windows of at most {@link #WINDOW} bytes so data
+ * sets larger than 2 GB work; arrays are copied with the bulk
+ * LongBuffer/IntBuffer/CharBuffer views and padded to 8 bytes so every
+ * column starts aligned. Values are little-endian.
+ */
+final class MappedFile implements Closeable {
+    static final int WINDOW = 64 << 20;
+    private static final int CHUNK = 64 << 10;
+
+    private final FileChannel channel;
+    private final boolean writable;
+    private final long size;
+    private MappedByteBuffer window;
+    private long windowStart;
+
+    private MappedFile(FileChannel channel, boolean writable) throws IOException {
+        this.channel = channel;
+        this.writable = writable;
+        this.size = writable ? Long.MAX_VALUE : channel.size();
+    }
+
+    static MappedFile create(Path file) throws IOException {
+        return new MappedFile(FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE), true);
+    }
+
+    static MappedFile open(Path file) throws IOException {
+        return new MappedFile(FileChannel.open(file, StandardOpenOption.READ), false);
+    }
+
+    long position() {
+        return window == null ? windowStart : windowStart + window.position();
+    }
+
+    void putInt(int value) throws IOException {
+        ensure(Integer.BYTES).putInt(value);
+    }
+
+    int getInt() throws IOException {
+        return ensure(Integer.BYTES).getInt();
+    }
+
+    void putLong(long value) throws IOException {
+        ensure(Long.BYTES).putLong(value);
+    }
+
+    long getLong() throws IOException {
+        return ensure(Long.BYTES).getLong();
+    }
+
+    void putLongs(long[] values, int length) throws IOException {
+        for (int off = 0; off < length; ) {
+            int count = Math.min(length - off, ensure(Long.BYTES).remaining() / Long.BYTES);
+            window.asLongBuffer().put(values, off, count);
+            window.position(window.position() + count * Long.BYTES);
+            off += count;
+        }
+        pad();
+    }
+
+    long[] getLongs(int length) throws IOException {
+        long[] values = new long[length];
+        for (int off = 0; off < length; ) {
+            int count = Math.min(length - off, ensure(Long.BYTES).remaining() / Long.BYTES);
+            window.asLongBuffer().get(values, off, count);
+            window.position(window.position() + count * Long.BYTES);
+            off += count;
+        }
+        pad();
+        return values;
+    }
+
+    void putInts(int[] values, int length) throws IOException {
+        for (int off = 0; off < length; ) {
+            int count = Math.min(length - off, ensure(Integer.BYTES).remaining() / Integer.BYTES);
+            window.asIntBuffer().put(values, off, count);
+            window.position(window.position() + count * Integer.BYTES);
+            off += count;
+        }
+        pad();
+    }
+
+    int[] getInts(int length) throws IOException {
+        int[] values = new int[length];
+        for (int off = 0; off < length; ) {
+            int count = Math.min(length - off, ensure(Integer.BYTES).remaining() / Integer.BYTES);
+            window.asIntBuffer().get(values, off, count);
+            window.position(window.position() + count * Integer.BYTES);
+            off += count;
+        }
+        pad();
+        return values;
+    }
+
+    void putBytes(byte[] values, int length) throws IOException {
+        for (int off = 0; off < length; ) {
+            int count = Math.min(length - off, ensure(1).remaining());
+            window.put(values, off, count);
+            off += count;
+        }
+        pad();
+    }
+
+    byte[] getBytes(int length) throws IOException {
+        byte[] values = new byte[length];
+        for (int off = 0; off < length; ) {
+            int count = Math.min(length - off, ensure(1).remaining());
+            window.get(values, off, count);
+            off += count;
+        }
+        pad();
+        return values;
+    }
+
+    /**
+     * Writes a string column as its lengths (-1 for null) followed by all
+     * characters back to back.
+     */
+    void putStrings(String[] values, int length) throws IOException {
+        int[] lengths = new int[length];
+        long total = 0;
+        for (int i = 0; i < length; i++) {
+            lengths[i] = values[i] == null ? -1 : values[i].length();
+            total += Math.max(0, lengths[i]);
+        }
+        putLong(total);
+        putInts(lengths, length);
+        char[] chunk = new char[CHUNK];
+        int used = 0;
+        for (int i = 0; i < length; i++) {
+            String value = values[i];
+            for (int from = 0; value != null && from < value.length(); ) {
+                int count = Math.min(value.length() - from, chunk.length - used);
+                value.getChars(from, from + count, chunk, used);
+                used += count;
+                from += count;
+                if (used == chunk.length) {
+                    putChars(chunk, used);
+                    used = 0;
+                }
+            }
+        }
+        putChars(chunk, used);
+        pad();
+    }
+
+    String[] getStrings(int length) throws IOException {
+        long total = getLong();
+        int[] lengths = getInts(length);
+        long expected = 0;
+        for (int i = 0; i < length; i++) {
+            if (lengths[i] < -1) {
+                throw new IOException("Corrupt string column at " + position());
+            }
+            expected += Math.max(0, lengths[i]);
+        }
+        if (expected != total) {
+            throw new IOException("Corrupt string column at " + position());
+        }
+        String[] values = new String[length];
+        char[] chunk = new char[CHUNK];
+        int start = 0;
+        int end = 0;
+        long remaining = total;
+        for (int i = 0; i < length; i++) {
+            int len = lengths[i];
+            if (len < 0) {
+                continue;
+            }
+            if (end - start < len) {
+                if (len > chunk.length) {
+                    char[] larger = new char[len];
+                    System.arraycopy(chunk, start, larger, 0, end - start);
+                    chunk = larger;
+                } else {
+                    System.arraycopy(chunk, start, chunk, 0, end - start);
+                }
+                end -= start;
+                start = 0;
+                int fill = (int) Math.min(chunk.length - end, remaining);
+                getChars(chunk, end, fill);
+                end += fill;
+                remaining -= fill;
+            }
+            values[i] = new String(chunk, start, len);
+            start += len;
+        }
+        pad();
+        return values;
+    }
+
+    private void putChars(char[] values, int length) throws IOException {
+        for (int off = 0; off < length; ) {
+            int count = Math.min(length - off, ensure(Character.BYTES).remaining() / Character.BYTES);
+            window.asCharBuffer().put(values, off, count);
+            window.position(window.position() + count * Character.BYTES);
+            off += count;
+        }
+    }
+
+    private void getChars(char[] values, int offset, int length) throws IOException {
+        for (int off = offset; off < offset + length; ) {
+            int count = Math.min(offset + length - off, ensure(Character.BYTES).remaining() / Character.BYTES);
+            window.asCharBuffer().get(values, off, count);
+            window.position(window.position() + count * Character.BYTES);
+            off += count;
+        }
+    }
+
+    private void pad() throws IOException {
+        int misalignment = (int) (position() & (Long.BYTES - 1));
+        if (misalignment != 0) {
+            int padding = Long.BYTES - misalignment;
+            if (window.remaining() < padding) {
+                remap(padding);
+            }
+            window.position(window.position() + padding);
+        }
+    }
+
+    // Returns the current window with at least {@code bytes} remaining,
+    // mapping the next region of the file when the current one runs out.
+    private MappedByteBuffer ensure(int bytes) throws IOException {
+        if (window == null || window.remaining() < bytes) {
+            remap(bytes);
+        }
+        return window;
+    }
+
+    private void remap(int bytes) throws IOException {
+        long start = position();
+        if (window != null && writable) {
+            window.force();
+        }
+        long length = Math.min(WINDOW, size - start);
+        if (length < bytes) {
+            throw new EOFException("Unexpected end of file at " + start);
+        }
+        window = channel.map(writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY, start, length);
+        window.order(ByteOrder.LITTLE_ENDIAN);
+        windowStart = start;
+    }
+
+    /**
+     * Flushes the written bytes and truncates the file to the current
+     * position.
+     */
+    void finish() throws IOException {
+        long end = position();
+        if (window != null) {
+            window.force();
+            window = null;
+        }
+        windowStart = end;
+        channel.truncate(end);
+        channel.force(true);
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+    }
+}
@@ -0,0 +1,292 @@
+package com.example.pipeline_gerencia.persistence;
+
+import com.example.pipeline_gerencia.model.Category;
+import com.example.pipeline_gerencia.model.Priority;
+import com.example.pipeline_gerencia.model.Status;
+import com.example.pipeline_gerencia.model.Task;
+import com.example.pipeline_gerencia.model.User;
+import com.example.pipeline_gerencia.repository.CategoryRepository;
+import com.example.pipeline_gerencia.repository.TaskRepository;
+import com.example.pipeline_gerencia.repository.UserRepository;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Memory-mapped snapshot of the task, user and category repositories.
+ * Entities are stored column by column (ids, flags, enum ordinals,
+ * timestamps, then string lengths and characters), so restoring is a
+ * handful of bulk copies per column followed by object construction, with
+ * no per-record parsing. Snapshots are written to a temporary file and
+ * atomically moved into place, so a crash never leaves a partial snapshot
+ * behind. The repositories must not be modified while a snapshot is being
+ * written, unless they are thread-safe.
+ */
+public class SnapshotStore {
+    static final int MAGIC = 0x50475348;
+    static final int VERSION = 1;
+    private static final long NO_ID = Long.MIN_VALUE;
+    private static final byte NO_ENUM = -1;
+    private static final int NO_DATE = -1;
+    private static final byte ACTIVE = 1;
+
+    private final Path file;
+
+    public SnapshotStore(Path file) {
+        this.file = file;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public boolean exists() {
+        return Files.exists(file);
+    }
+
+    public void write(TaskRepository taskRepository, UserRepository userRepository,
+                      CategoryRepository categoryRepository) throws IOException {
+        write(taskRepository.findAll(), userRepository.findAll(), categoryRepository.findAll());
+    }
+
+    /**
+     * Writes the given repository contents, e.g. lists captured at a
+     * consistent point while writes were paused.
+     */
+    public void write(List<Task> tasks, List<User> users, List<Category> categories) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (MappedFile out = MappedFile.create(temp)) {
+            out.putInt(MAGIC);
+            out.putInt(VERSION);
+            out.putInt(users.size());
+            out.putInt(categories.size());
+            out.putInt(tasks.size());
+            writeUsers(out, users);
+            writeCategories(out, categories);
+            writeTasks(out, tasks);
+            out.putInt(MAGIC);
+            out.finish();
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Loads the snapshot into the given repositories, keeping the stored ids.
+     * Returns false when there is no snapshot yet.
+     */
+    public boolean restore(TaskRepository taskRepository, UserRepository userRepository,
+                           CategoryRepository categoryRepository) throws IOException {
+        if (!exists()) {
+            return false;
+        }
+        try (MappedFile in = MappedFile.open(file)) {
+            if (in.getInt() != MAGIC) {
+                throw new IOException("Not a snapshot file: " + file);
+            }
+            int version = in.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported snapshot version " + version + ": " + file);
+            }
+            int userCount = in.getInt();
+            int categoryCount = in.getInt();
+            int taskCount = in.getInt();
+            readUsers(in, userCount, userRepository);
+            readCategories(in, categoryCount, categoryRepository);
+            readTasks(in, taskCount, taskRepository);
+            if (in.getInt() != MAGIC) {
+                throw new IOException("Truncated snapshot: " + file);
+            }
+        }
+        return true;
+    }
+
+    private static void writeUsers(MappedFile out, List<User> users) throws IOException {
+        int n = users.size();
+        long[] ids = new long[n];
+        long[] versions = new long[n];
+        byte[] flags = new byte[n];
+        for (int i = 0; i < n; i++) {
+            User user = users.get(i);
+            ids[i] = user.getId();
+            versions[i] = user.getVersion();
+            flags[i] = user.isActive() ? ACTIVE : 0;
+        }
+        out.putLongs(ids, n);
+        out.putLongs(versions, n);
+        out.putBytes(flags, n);
+        out.putStrings(column(users, User::getName), n);
+        out.putStrings(column(users, User::getEmail), n);
+        out.putStrings(column(users, User::getDepartment), n);
+    }
+
+    private static void readUsers(MappedFile in, int n, UserRepository repository) throws IOException {
+        long[] ids = in.getLongs(n);
+        long[] versions = in.getLongs(n);
+        byte[] flags = in.getBytes(n);
+        String[] names = in.getStrings(n);
+        String[] emails = in.getStrings(n);
+        String[] departments = in.getStrings(n);
+        for (int i = 0; i < n; i++) {
+            User user = new User(names[i], emails[i], departments[i]);
+            user.setId(ids[i]);
+            user.setActive((flags[i] & ACTIVE) != 0);
+            user.setVersion(versions[i]);
+            repository.save(user);
+        }
+    }
+
+    private static void writeCategories(MappedFile out, List<Category> categories) throws IOException {
+        int n = categories.size();
+        long[] ids = new long[n];
+        long[] versions = new long[n];
+        for (int i = 0; i < n; i++) {
+            ids[i] = categories.get(i).getId();
+            versions[i] = categories.get(i).getVersion();
+        }
+        out.putLongs(ids, n);
+        out.putLongs(versions, n);
+        out.putStrings(column(categories, Category::getName), n);
+        out.putStrings(column(categories, Category::getDescription), n);
+        out.putStrings(column(categories, Category::getColor), n);
+    }
+
+    private static void readCategories(MappedFile in, int n, CategoryRepository repository) throws IOException {
+        long[] ids = in.getLongs(n);
+        long[] versions = in.getLongs(n);
+        String[] names = in.getStrings(n);
+        String[] descriptions = in.getStrings(n);
+        String[] colors = in.getStrings(n);
+        for (int i = 0; i < n; i++) {
+            Category category = new Category(names[i], descriptions[i]);
+            category.setId(ids[i]);
+            category.setColor(colors[i]);
+            category.setVersion(versions[i]);
+            repository.save(category);
+        }
+    }
+
+    private static void writeTasks(MappedFile out, List<Task> tasks) throws IOException {
+        int n = tasks.size();
+        long[] ids = new long[n];
+        long[] versions = new long[n];
+        long[] assigneeIds = new long[n];
+        long[] categoryIds = new long[n];
+        byte[] statuses = new byte[n];
+        byte[] priorities = new byte[n];
+        byte[] completions = new byte[n];
+        for (int i = 0; i < n; i++) {
+            Task task = tasks.get(i);
+            ids[i] = task.getId();
+            versions[i] = task.getVersion();
+            assigneeIds[i] = task.getAssigneeId() == null ? NO_ID : task.getAssigneeId();
+            categoryIds[i] = task.getCategoryId() == null ? NO_ID : task.getCategoryId();
+            statuses[i] = task.getStatus() == null ? NO_ENUM : (byte) task.getStatus().ordinal();
+            priorities[i] = task.getPriority() == null ? NO_ENUM : (byte) task.getPriority().ordinal();
+            completions[i] = (byte) task.getCompletionPercentage();
+        }
+        out.putLongs(ids, n);
+        out.putLongs(versions, n);
+        out.putLongs(assigneeIds, n);
+        out.putLongs(categoryIds, n);
+        out.putBytes(statuses, n);
+        out.putBytes(priorities, n);
+        out.putBytes(completions, n);
+        writeDates(out, tasks, Task::getCreatedAt);
+        writeDates(out, tasks, Task::getDueDate);
+        writeDates(out, tasks, Task::getUpdatedAt);
+        out.putStrings(column(tasks, Task::getTitle), n);
+        out.putStrings(column(tasks, Task::getDescription), n);
+    }
+
+    private static void readTasks(MappedFile in, int n, TaskRepository repository) throws IOException {
+        long[] ids = in.getLongs(n);
+        long[] versions = in.getLongs(n);
+        long[] assigneeIds = in.getLongs(n);
+        long[] categoryIds = in.getLongs(n);
+        Status[] statuses = decode(in.getBytes(n), Status.values());
+        Priority[] priorities = decode(in.getBytes(n), Priority.values());
+        byte[] completions = in.getBytes(n);
+        LocalDateTime[] createdAt = readDates(in, n);
+        LocalDateTime[] dueDates = readDates(in, n);
+        LocalDateTime[] updatedAt = readDates(in, n);
+        String[] titles = in.getStrings(n);
+        String[] descriptions = in.getStrings(n);
+        List<Task> tasks = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            Task task = new Task(titles[i], descriptions[i]);
+            task.setId(ids[i]);
+            task.setStatus(statuses[i]);
+            task.setPriority(priorities[i]);
+            task.setCompletionPercentage(completions[i]);
+            task.setCreatedAt(createdAt[i]);
+            task.setDueDate(dueDates[i]);
+            task.setUpdatedAt(updatedAt[i]);
+            task.setVersion(versions[i]);
+            task.setAssigneeId(assigneeIds[i] == NO_ID ? null : assigneeIds[i]);
+            task.setCategoryId(categoryIds[i] == NO_ID ? null : categoryIds[i]);
+            tasks.add(task);
+        }
+        // One batch, so the repository indexes the tasks once rather than
+        // task by task
+        repository.saveAll(tasks);
+    }
+
+    // Dates are stored as UTC epoch seconds plus a nanosecond column, which
+    // covers the whole LocalDateTime range; a nanosecond of -1 marks null.
+    private static void writeDates(MappedFile out, List<Task> tasks, Function<Task, LocalDateTime> field) throws IOException {
+        int n = tasks.size();
+        long[] seconds = new long[n];
+        int[] nanos = new int[n];
+        for (int i = 0; i < n; i++) {
+            LocalDateTime date = field.apply(tasks.get(i));
+            if (date == null) {
+                nanos[i] = NO_DATE;
+            } else {
+                seconds[i] = date.toEpochSecond(ZoneOffset.UTC);
+                nanos[i] = date.getNano();
+            }
+        }
+        out.putLongs(seconds, n);
+        out.putInts(nanos, n);
+    }
+
+    private static LocalDateTime[] readDates(MappedFile in, int n) throws IOException {
+        long[] seconds = in.getLongs(n);
+        int[] nanos = in.getInts(n);
+        LocalDateTime[] dates = new LocalDateTime[n];
+        for (int i = 0; i < n; i++) {
+            if (nanos[i] != NO_DATE) {
+                dates[i] = LocalDateTime.ofEpochSecond(seconds[i], nanos[i], ZoneOffset.UTC);
+            }
+        }
+        return dates;
+    }
+
+    private static <E extends Enum<E>> E[] decode(byte[] codes, E[] values) throws IOException {
+        E[] decoded = Arrays.copyOf(values, codes.length);
+        for (int i = 0; i < codes.length; i++) {
+            if (codes[i] == NO_ENUM) {
+                decoded[i] = null;
+            } else if (codes[i] >= 0 && codes[i] < values.length) {
+                decoded[i] = values[codes[i]];
+            } else {
+                throw new IOException("Corrupt snapshot: unknown " + values[0].getDeclaringClass().getSimpleName()
+                        + " code " + codes[i]);
+            }
+        }
+        return decoded;
+    }
+
+    private static <T> String[] column(List<T> rows, Function<T, String> field) {
+        String[] values = new String[rows.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = field.apply(rows.get(i));
+        }
+        return values;
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.pipeline_gerencia.persistence;
+
+import com.example.pipeline_gerencia.repository.CategoryRepository;
+import com.example.pipeline_gerencia.repository.TaskRepository;
+import com.example.pipeline_gerencia.repository.UserRepository;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * The task, user and category repositories the application keeps its data
+ * in, before any decorators are added. In-memory ones start empty and lose
+ * their contents on shutdown. Persistent ones go through a DurableStore:
+ * opening them restores the snapshot, replays the write-ahead log and, if
+ * the replayed log is past the compaction threshold, folds it into a new
+ * snapshot in the background; every write is logged before it returns, and
+ * closing compacts the log so the next start has nothing to replay.
+ */
+public final class StoredRepositories implements Closeable {
+    static final String SNAPSHOT_FILE = "repositories.snapshot";
+
+    private final TaskRepository tasks;
+    private final UserRepository users;
+    private final CategoryRepository categories;
+    private final DurableStore store;
+
+    private StoredRepositories(TaskRepository tasks, UserRepository users, CategoryRepository categories,
+                               DurableStore store) {
+        this.tasks = tasks;
+        this.users = users;
+        this.categories = categories;
+        this.store = store;
+    }
+
+    public static StoredRepositories inMemory(TaskRepository tasks, UserRepository users,
+                                              CategoryRepository categories) {
+        return new StoredRepositories(tasks, users, categories, null);
+    }
+
+    /**
+     * Restores the snapshot and replays the log in the directory, if any,
+     * into the given empty repositories, which must be thread-safe.
+     */
+    public static StoredRepositories open(Path directory, TaskRepository tasks, UserRepository users,
+                                          CategoryRepository categories, DurabilityOptions options)
+            throws IOException {
+        if (directory == null) {
+            throw new IllegalArgumentException("Persistence directory is required");
+        }
+        DurableStore store = new DurableStore(directory, tasks, users, categories, options);
+        store.compactIfNeeded();
+        return new StoredRepositories(store.getTaskRepository(), store.getUserRepository(),
+                store.getCategoryRepository(), store);
+    }
+
+    public TaskRepository getTaskRepository() {
+        return tasks;
+    }
+
+    public UserRepository getUserRepository() {
+        return users;
+    }
+
+    public CategoryRepository getCategoryRepository() {
+        return categories;
+    }
+
+    public boolean isPersistent() {
+        return store != null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (store != null) {
+            try {
+                store.compact();
+            } finally {
+                store.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,365 @@
+package com.example.pipeline_gerencia.persistence;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only, segmented write-ahead log with group commit.
+ * Appends are queued and return a future; a single flusher thread drains
+ * the queue, writes everything that arrived within the flush interval (or
+ * up to the batch size) with one write and one fsync, then completes the
+ * futures of the whole batch. Each record is framed as payload length,
+ * CRC32, type and payload, so a record torn by a crash is detected and
+ * cut off on replay. {@link #roll()} starts a new segment, which lets
+ * older segments be dropped once they are covered by a snapshot.
+ */
+public class WriteAheadLog implements Closeable {
+    private static final int HEADER_BYTES = Integer.BYTES + Integer.BYTES + 1;
+    private static final String PREFIX = "wal-";
+    private static final String SUFFIX = ".log";
+
+    /**
+     * A replayed log record.
+     */
+    public record Record(byte type, byte[] payload) {}
+
+    private final Path directory;
+    private final long flushIntervalNanos;
+    private final int maxBatchBytes;
+    private final BlockingQueue<Entry> queue = new LinkedBlockingQueue<>();
+    private final AtomicLong liveBytes = new AtomicLong();
+    private final Thread flusher;
+    private final long firstSegment;
+    // Owned by the flusher thread
+    private FileChannel channel;
+    private long segment;
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(64 << 10);
+    private volatile IOException failure;
+    private volatile boolean closed;
+
+    public WriteAheadLog(Path directory, Duration flushInterval, int maxBatchBytes) throws IOException {
+        if (flushInterval.isNegative()) {
+            throw new IllegalArgumentException("Flush interval must not be negative");
+        }
+        if (maxBatchBytes <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.directory = Files.createDirectories(directory);
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.maxBatchBytes = maxBatchBytes;
+        long last = 0;
+        for (long existing : segments()) {
+            last = existing;
+            liveBytes.addAndGet(Files.size(segmentPath(existing)));
+        }
+        // New records go to a fresh segment so the existing ones can be replayed untouched
+        this.firstSegment = last + 1;
+        this.segment = firstSegment;
+        this.channel = openSegment(segment);
+        this.flusher = new Thread(this::flushLoop, "wal-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * Replays the records written before this log was opened, oldest first.
+     * A torn or corrupt record ends its segment, which is truncated there.
+     */
+    public void replay(Consumer<Record> consumer) throws IOException {
+        for (long number : segments()) {
+            if (number >= firstSegment) {
+                break;
+            }
+            Path path = segmentPath(number);
+            long valid = 0;
+            try (InputStream stream = Files.newInputStream(path);
+                 DataInputStream in = new DataInputStream(new BufferedInputStream(stream, 1 << 16))) {
+                while (true) {
+                    Record record = readRecord(in);
+                    if (record == null) {
+                        break;
+                    }
+                    consumer.accept(record);
+                    valid += HEADER_BYTES + record.payload().length;
+                }
+            }
+            long size = Files.size(path);
+            if (valid < size) {
+                try (FileChannel torn = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                    torn.truncate(valid);
+                    torn.force(true);
+                }
+                liveBytes.addAndGet(valid - size);
+            }
+        }
+    }
+
+    /**
+     * Queues a record; the future completes once it is on disk.
+     */
+    public CompletableFuture<Void> append(byte type, byte[] payload) {
+        Entry entry = new Entry(Entry.RECORD, type, payload);
+        enqueue(entry);
+        return entry.done.thenApply(ignored -> null);
+    }
+
+    /**
+     * Closes the current segment after every record queued so far and
+     * continues in a new one. Completes with the number of the closed segment.
+     */
+    public CompletableFuture<Long> roll() {
+        Entry entry = new Entry(Entry.ROLL, (byte) 0, null);
+        enqueue(entry);
+        return entry.done;
+    }
+
+    /**
+     * Deletes the segments up to and including {@code number}.
+     */
+    public void deleteSegmentsUpTo(long number) throws IOException {
+        for (long existing : segments()) {
+            if (existing > number) {
+                break;
+            }
+            Path path = segmentPath(existing);
+            long size = Files.size(path);
+            Files.delete(path);
+            liveBytes.addAndGet(-size);
+        }
+    }
+
+    /**
+     * Bytes held by all segments on disk.
+     */
+    public long size() {
+        return liveBytes.get();
+    }
+
+    public List<Long> segments() throws IOException {
+        List<Long> numbers = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                try {
+                    numbers.add(Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length())));
+                } catch (NumberFormatException e) {
+                    // not one of ours
+                }
+            }
+        }
+        numbers.sort(null);
+        return numbers;
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        Entry entry = new Entry(Entry.CLOSE, (byte) 0, null);
+        queue.add(entry);
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void enqueue(Entry entry) {
+        if (failure != null) {
+            entry.done.completeExceptionally(failure);
+            return;
+        }
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("Write-ahead log is closed");
+            }
+            queue.add(entry);
+        }
+    }
+
+    private void flushLoop() {
+        List<Entry> batch = new ArrayList<>();
+        while (true) {
+            try {
+                Entry first = queue.take();
+                batch.add(first);
+                long bytes = first.size();
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (bytes < maxBatchBytes && batch.get(batch.size() - 1).kind == Entry.RECORD) {
+                    long wait = deadline - System.nanoTime();
+                    Entry next = wait > 0 ? queue.poll(wait, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                    bytes += next.size();
+                }
+            } catch (InterruptedException e) {
+                // only close() stops the flusher
+                continue;
+            }
+            if (commit(batch)) {
+                return;
+            }
+            batch.clear();
+        }
+    }
+
+    // Writes and syncs the records of the batch, then handles a trailing
+    // roll or close. Returns true when the log was closed.
+    private boolean commit(List<Entry> batch) {
+        Entry last = batch.get(batch.size() - 1);
+        List<Entry> records = last.kind == Entry.RECORD ? batch : batch.subList(0, batch.size() - 1);
+        try {
+            if (failure != null) {
+                throw failure;
+            }
+            if (!records.isEmpty()) {
+                write(records);
+            }
+            for (Entry record : records) {
+                record.done.complete(null);
+            }
+            if (last.kind == Entry.ROLL) {
+                long closedSegment = segment;
+                channel.close();
+                segment++;
+                channel = openSegment(segment);
+                last.done.complete(closedSegment);
+            }
+        } catch (IOException e) {
+            if (failure == null) {
+                failure = e;
+            }
+            for (Entry entry : batch) {
+                entry.done.completeExceptionally(failure);
+            }
+        }
+        if (last.kind != Entry.CLOSE) {
+            return false;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            if (failure == null) {
+                failure = e;
+            }
+        }
+        last.done.complete(segment);
+        // Fail anything that slipped in between close() and the flusher stopping
+        for (Entry entry; (entry = queue.poll()) != null; ) {
+            entry.done.completeExceptionally(new IllegalStateException("Write-ahead log is closed"));
+        }
+        return true;
+    }
+
+    private void write(List<Entry> records) throws IOException {
+        int total = 0;
+        for (Entry record : records) {
+            total += record.size();
+        }
+        if (buffer.capacity() < total) {
+            buffer = ByteBuffer.allocateDirect(Math.max(total, buffer.capacity() * 2));
+        }
+        buffer.clear();
+        CRC32 crc = new CRC32();
+        for (Entry record : records) {
+            crc.reset();
+            crc.update(record.type);
+            crc.update(record.payload);
+            buffer.putInt(record.payload.length);
+            buffer.putInt((int) crc.getValue());
+            buffer.put(record.type);
+            buffer.put(record.payload);
+        }
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        channel.force(false);
+        liveBytes.addAndGet(total);
+    }
+
+    private static Record readRecord(DataInputStream in) throws IOException {
+        int length;
+        try {
+            length = in.readInt();
+        } catch (EOFException e) {
+            return null;
+        }
+        try {
+            int checksum = in.readInt();
+            byte type = in.readByte();
+            if (length < 0) {
+                return null;
+            }
+            byte[] payload = in.readNBytes(length);
+            if (payload.length < length) {
+                return null;
+            }
+            CRC32 crc = new CRC32();
+            crc.update(type);
+            crc.update(payload);
+            return (int) crc.getValue() == checksum ? new Record(type, payload) : null;
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+
+    private FileChannel openSegment(long number) throws IOException {
+        return FileChannel.open(segmentPath(number), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private Path segmentPath(long number) {
+        return directory.resolve(String.format("%s%016d%s", PREFIX, number, SUFFIX));
+    }
+
+    private static final class Entry {
+        static final int RECORD = 0;
+        static final int ROLL = 1;
+        static final int CLOSE = 2;
+
+        final int kind;
+        final byte type;
+        final byte[] payload;
+        final CompletableFuture<Long> done = new CompletableFuture<>();
+
+        Entry(int kind, byte type, byte[] payload) {
+            this.kind = kind;
+            this.type = type;
+            this.payload = payload;
+        }
+
+        int size() {
+            return payload == null ? 0 : HEADER_BYTES + payload.length;
+        }
+    }
+}
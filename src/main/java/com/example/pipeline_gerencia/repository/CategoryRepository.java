@@ -1,6 +1,8 @@
 package com.example.pipeline_gerencia.repository;
 
 import com.example.pipeline_gerencia.model.Category;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -10,8 +12,31 @@ import java.util.Optional;
 public interface CategoryRepository {
     Category save(Category category);
     Optional<Category> findById(Long id);
+
+    /**
+     * The stored categories among the given ids, in no particular order;
+     * unknown ids are skipped.
+     */
+    default List<Category> findAllById(Collection<Long> ids) {
+        List<Category> categories = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            findById(id).ifPresent(categories::add);
+        }
+        return categories;
+    }
+
     Optional<Category> findByName(String name);
     List<Category> findAll();
+    /**
+     * Stores the category if the stored one still has its version, and bumps the
+     * version. Unknown ids are ignored and keep their version.
+     *
+     * @throws OptimisticLockException if the category was updated since it was read
+     */
     void update(Category category);
-    void delete(Long id);
+
+    /**
+     * Deletes the category, returning whether one with the id was stored.
+     */
+    boolean delete(Long id);
 }
@@ -0,0 +1,52 @@
+package com.example.pipeline_gerencia.repository;
+
+import com.example.pipeline_gerencia.model.Category;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Base class for CategoryRepository decorators
+ */
+public abstract class ForwardingCategoryRepository implements CategoryRepository {
+    protected final CategoryRepository delegate;
+
+    protected ForwardingCategoryRepository(CategoryRepository delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Category save(Category category) {
+        return delegate.save(category);
+    }
+
+    @Override
+    public Optional<Category> findById(Long id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public List<Category> findAllById(Collection<Long> ids) {
+        return delegate.findAllById(ids);
+    }
+
+    @Override
+    public Optional<Category> findByName(String name) {
+        return delegate.findByName(name);
+    }
+
+    @Override
+    public List<Category> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public void update(Category category) {
+        delegate.update(category);
+    }
+
+    @Override
+    public boolean delete(Long id) {
+        return delegate.delete(id);
+    }
+}
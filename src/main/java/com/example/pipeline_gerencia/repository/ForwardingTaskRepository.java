@@ -0,0 +1,140 @@
+package com.example.pipeline_gerencia.repository;
+
+import com.example.pipeline_gerencia.model.Task;
+import com.example.pipeline_gerencia.model.Status;
+import com.example.pipeline_gerencia.model.Priority;
+import com.example.pipeline_gerencia.util.Page;
+import com.example.pipeline_gerencia.util.SearchFilter;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Base class for TaskRepository decorators.
+ * Forwards every method, including the default ones, to the delegate so
+ * subclasses only override what they change and keep the delegate's
+ * optimized queries.
+ */
+public abstract class ForwardingTaskRepository implements TaskRepository {
+    protected final TaskRepository delegate;
+
+    protected ForwardingTaskRepository(TaskRepository delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Task save(Task task) {
+        return delegate.save(task);
+    }
+
+    @Override
+    public Optional<Task> findById(Long id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public List<Task> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<Task> findByStatus(Status status) {
+        return delegate.findByStatus(status);
+    }
+
+    @Override
+    public List<Task> findByPriority(Priority priority) {
+        return delegate.findByPriority(priority);
+    }
+
+    @Override
+    public List<Task> findByAssigneeId(Long userId) {
+        return delegate.findByAssigneeId(userId);
+    }
+
+    @Override
+    public List<Task> findByCategoryId(Long categoryId) {
+        return delegate.findByCategoryId(categoryId);
+    }
+
+    @Override
+    public List<Task> findOverdueTasks() {
+        return delegate.findOverdueTasks();
+    }
+
+    @Override
+    public List<Task> findByDueDateBetween(LocalDateTime start, LocalDateTime end) {
+        return delegate.findByDueDateBetween(start, end);
+    }
+
+    @Override
+    public List<Task> findNextDue(LocalDateTime from, int limit) {
+        return delegate.findNextDue(from, limit);
+    }
+
+    @Override
+    public List<Task> search(SearchFilter filter) {
+        return delegate.search(filter);
+    }
+
+    @Override
+    public Page<Task> search(SearchFilter filter, String cursor, int limit) {
+        return delegate.search(filter, cursor, limit);
+    }
+
+    @Override
+    public Stream<Task> stream(SearchFilter filter) {
+        return delegate.stream(filter);
+    }
+
+    /**
+     * Forwards the whole query, so its reads bypass this decorator.
+     */
+    @Override
+    public <R> R readConsistent(Function<TaskRepository, R> query) {
+        return delegate.readConsistent(query);
+    }
+
+    @Override
+    public long count() {
+        return delegate.count();
+    }
+
+    @Override
+    public long countByStatus(Status status) {
+        return delegate.countByStatus(status);
+    }
+
+    @Override
+    public long sumCompletionPercentage() {
+        return delegate.sumCompletionPercentage();
+    }
+
+    @Override
+    public void update(Task task) {
+        delegate.update(task);
+    }
+
+    @Override
+    public boolean delete(Long id) {
+        return delegate.delete(id);
+    }
+
+    @Override
+    public List<Task> saveAll(Collection<Task> tasks) {
+        return delegate.saveAll(tasks);
+    }
+
+    @Override
+    public void updateAll(Collection<Task> tasks) {
+        delegate.updateAll(tasks);
+    }
+
+    @Override
+    public List<Long> deleteAll(Collection<Long> ids) {
+        return delegate.deleteAll(ids);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.pipeline_gerencia.repository;
+
+import com.example.pipeline_gerencia.model.User;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Base class for UserRepository decorators
+ */
+public abstract class ForwardingUserRepository implements UserRepository {
+    protected final UserRepository delegate;
+
+    protected ForwardingUserRepository(UserRepository delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public User save(User user) {
+        return delegate.save(user);
+    }
+
+    @Override
+    public Optional<User> findById(Long id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public List<User> findAllById(Collection<Long> ids) {
+        return delegate.findAllById(ids);
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        return delegate.findByEmail(email);
+    }
+
+    @Override
+    public List<User> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<User> findByDepartment(String department) {
+        return delegate.findByDepartment(department);
+    }
+
+    @Override
+    public List<User> findActiveUsers() {
+        return delegate.findActiveUsers();
+    }
+
+    @Override
+    public void update(User user) {
+        delegate.update(user);
+    }
+
+    @Override
+    public boolean delete(Long id) {
+        return delegate.delete(id);
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.pipeline_gerencia.repository;
+
+/**
+ * Thrown by a repository update when the entity changed since the caller
+ * read it: the version the caller holds no longer matches the stored one.
+ * Nothing is written; re-read the entity and apply the change again.
+ */
+public class OptimisticLockException extends IllegalStateException {
+    private final String entityType;
+    private final Long id;
+    private final long expectedVersion;
+    private final long actualVersion;
+
+    public OptimisticLockException(String entityType, Long id, long expectedVersion, long actualVersion) {
+        super(entityType + " " + id + " was modified concurrently: expected version "
+                + expectedVersion + " but found " + actualVersion);
+        this.entityType = entityType;
+        this.id = id;
+        this.expectedVersion = expectedVersion;
+        this.actualVersion = actualVersion;
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public long getExpectedVersion() {
+        return expectedVersion;
+    }
+
+    public long getActualVersion() {
+        return actualVersion;
+    }
+}
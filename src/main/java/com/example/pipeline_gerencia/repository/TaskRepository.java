@@ -3,9 +3,17 @@ package com.example.pipeline_gerencia.repository;
 import com.example.pipeline_gerencia.model.Task;
 import com.example.pipeline_gerencia.model.Status;
 import com.example.pipeline_gerencia.model.Priority;
+import com.example.pipeline_gerencia.util.Page;
+import com.example.pipeline_gerencia.util.SearchFilter;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Task entity
@@ -20,6 +28,130 @@ public interface TaskRepository {
     List<Task> findByCategoryId(Long categoryId);
     List<Task> findOverdueTasks();
     List<Task> findByDueDateBetween(LocalDateTime start, LocalDateTime end);
+
+    /**
+     * Returns up to {@code limit} tasks due at or after {@code from}, ordered by due date.
+     */
+    default List<Task> findNextDue(LocalDateTime from, int limit) {
+        return findAll().stream()
+                .filter(t -> t.getDueDate() != null && !t.getDueDate().isBefore(from))
+                .sorted(Comparator.comparing(Task::getDueDate).thenComparing(Task::getId))
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the tasks matching every criterion of the filter, evaluated in a single pass.
+     */
+    default List<Task> search(SearchFilter filter) {
+        return findAll().stream()
+                .filter(filter.asPredicate())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns at most {@code limit} matching tasks with an id greater than the
+     * cursor, in id order, plus the cursor for the next page.
+     * <p>
+     * The default sorts every remaining match to find the page, so its time
+     * and memory grow with the result, not the page. Repositories with
+     * id-ordered indexes override it to resume from the cursor.
+     */
+    default Page<Task> search(SearchFilter filter, String cursor, int limit) {
+        Long after = Page.decodeCursor(cursor);
+        List<Task> matches = stream(filter)
+                .filter(t -> after == null || t.getId() > after)
+                .sorted(Comparator.comparing(Task::getId))
+                .limit(limit + 1L)
+                .collect(Collectors.toList());
+        if (matches.size() <= limit) {
+            return new Page<>(matches, null);
+        }
+        List<Task> items = matches.subList(0, limit);
+        return new Page<>(items, Page.encodeCursor(items.get(limit - 1).getId()));
+    }
+
+    /**
+     * Lazily streams the tasks matching the filter. Implementations backed by
+     * live collections expect the stream to be consumed before the next write;
+     * MvccTaskRepository holds a snapshot open until the stream is closed.
+     */
+    default Stream<Task> stream(SearchFilter filter) {
+        return search(filter).stream();
+    }
+
+    /**
+     * Runs the reads made by {@code query} against one consistent state of the
+     * repository. The default runs them directly on this repository and
+     * isolates nothing; MvccTaskRepository runs them on a snapshot.
+     */
+    default <R> R readConsistent(Function<TaskRepository, R> query) {
+        return query.apply(this);
+    }
+
+    default long count() {
+        return findAll().size();
+    }
+
+    default long countByStatus(Status status) {
+        return findByStatus(status).size();
+    }
+
+    default long sumCompletionPercentage() {
+        return findAll().stream()
+                .mapToLong(Task::getCompletionPercentage)
+                .sum();
+    }
+
+    /**
+     * Replaces the stored task if it still has the task's version, and bumps
+     * the version of both. Unknown ids are ignored and leave the version as
+     * it was, so a moved version tells the caller the task was written.
+     *
+     * @throws OptimisticLockException if the task was updated since it was read
+     */
     void update(Task task);
-    void delete(Long id);
+
+    /**
+     * Deletes the task, returning whether one with the id was stored.
+     */
+    boolean delete(Long id);
+
+    /**
+     * Saves every task of the batch, assigning ids to new ones. Implementations
+     * amortize index maintenance over the whole batch.
+     */
+    default List<Task> saveAll(Collection<Task> tasks) {
+        List<Task> saved = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            saved.add(save(task));
+        }
+        return saved;
+    }
+
+    /**
+     * Updates every task of the batch that exists; unknown ids are ignored, as in update().
+     * Implementations that write the batch under one lock check every version
+     * before applying any; others may have applied part of the batch when a
+     * conflict is thrown. Either way the tasks written are the ones whose
+     * version moved.
+     */
+    default void updateAll(Collection<Task> tasks) {
+        for (Task task : tasks) {
+            update(task);
+        }
+    }
+
+    /**
+     * Deletes every task of the batch that exists and returns their ids.
+     */
+    default List<Long> deleteAll(Collection<Long> ids) {
+        List<Long> deleted = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            if (delete(id)) {
+                deleted.add(id);
+            }
+        }
+        return deleted;
+    }
 }
@@ -1,6 +1,8 @@
 package com.example.pipeline_gerencia.repository;
 
 import com.example.pipeline_gerencia.model.User;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -10,10 +12,34 @@ import java.util.Optional;
 public interface UserRepository {
     User save(User user);
     Optional<User> findById(Long id);
+
+    /**
+     * The stored users among the given ids, in no particular order; unknown
+     * ids are skipped. Used to resolve the assignees of a page of tasks at
+     * once, so repositories that can read them in one go should.
+     */
+    default List<User> findAllById(Collection<Long> ids) {
+        List<User> users = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            findById(id).ifPresent(users::add);
+        }
+        return users;
+    }
+
     Optional<User> findByEmail(String email);
     List<User> findAll();
     List<User> findByDepartment(String department);
     List<User> findActiveUsers();
+    /**
+     * Stores the user if the stored one still has its version, and bumps the
+     * version. Unknown ids are ignored and keep their version.
+     *
+     * @throws OptimisticLockException if the user was updated since it was read
+     */
     void update(User user);
-    void delete(Long id);
+
+    /**
+     * Deletes the user, returning whether one with the id was stored.
+     */
+    boolean delete(Long id);
 }
@@ -0,0 +1,487 @@
+package com.example.pipeline_gerencia.repository.impl;
+
+import com.example.pipeline_gerencia.model.Task;
+import com.example.pipeline_gerencia.model.Status;
+import com.example.pipeline_gerencia.model.Priority;
+import com.example.pipeline_gerencia.repository.TaskRepository;
+import com.example.pipeline_gerencia.util.DateUtils;
+import com.example.pipeline_gerencia.util.SearchFilter;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Struct-of-arrays implementation of TaskRepository for large data sets.
+ * Each task is a row slot across primitive columns: ids, versions and
+ * timestamps in long[], status, priority and completion in byte[],
+ * assignee and category ids in long[] and title/description as references
+ * into a shared {@link StringArena}. Task objects are only materialized on
+ * read, so the returned instances are detached copies: changes must go
+ * through update().
+ * Timestamps are stored as UTC epoch nanoseconds (years 1678 to 2261).
+ */
+public class ColumnarTaskRepository implements TaskRepository {
+    static final long NO_VALUE = Long.MIN_VALUE;
+    static final byte NO_ENUM = -1;
+    private static final byte FREE = -2;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final Status[] STATUSES = Status.values();
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    private long[] ids;
+    private long[] createdAt;
+    private long[] dueDates;
+    private long[] updatedAt;
+    private long[] versions;
+    private byte[] statuses;
+    private byte[] priorities;
+    private byte[] completions;
+    private long[] assigneeIds;
+    private long[] categoryIds;
+    private long[] titles;
+    private long[] descriptions;
+    private StringArena strings = new StringArena();
+
+    private final LongIntHashMap slotsById = new LongIntHashMap();
+    private final int[] statusCounts = new int[STATUSES.length];
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+    private int highWater;
+    private long completionSum;
+    private long nextId = 1;
+    private final Clock clock;
+
+    public ColumnarTaskRepository() {
+        this(1024);
+    }
+
+    public ColumnarTaskRepository(int initialCapacity) {
+        this(initialCapacity, DateUtils.getClock());
+    }
+
+    public ColumnarTaskRepository(int initialCapacity, Clock clock) {
+        this.clock = clock;
+        allocate(Math.max(16, initialCapacity));
+    }
+
+    @Override
+    public Task save(Task task) {
+        if (task.getCreatedAt() == null) {
+            task.setCreatedAt(DateUtils.now(clock));
+        }
+        checkDates(task, task.getUpdatedAt());
+        if (task.getId() == null) {
+            task.setId(nextId++);
+        } else {
+            nextId = Math.max(nextId, task.getId() + 1);
+        }
+        int slot = slotsById.get(task.getId());
+        if (slot == LongIntHashMap.MISSING) {
+            slot = claimSlot();
+            slotsById.put(task.getId(), slot);
+        } else {
+            release(slot);
+        }
+        write(slot, task);
+        return task;
+    }
+
+    @Override
+    public List<Task> saveAll(Collection<Task> batch) {
+        // Grow the columns once for the whole batch
+        long needed = (long) highWater + Math.max(0, batch.size() - freeCount);
+        if (needed > ids.length) {
+            grow((int) Math.min(Integer.MAX_VALUE - 8, Math.max(needed, ids.length * 2L)));
+        }
+        // Reject the whole batch before storing any of it
+        LocalDateTime now = DateUtils.now(clock);
+        for (Task task : batch) {
+            if (task.getCreatedAt() == null) {
+                task.setCreatedAt(now);
+            }
+            checkDates(task, task.getUpdatedAt());
+        }
+        List<Task> saved = new ArrayList<>(batch.size());
+        for (Task task : batch) {
+            saved.add(save(task));
+        }
+        return saved;
+    }
+
+    @Override
+    public Optional<Task> findById(Long id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        int slot = slotsById.get(id);
+        return slot == LongIntHashMap.MISSING ? Optional.empty() : Optional.of(materialize(slot));
+    }
+
+    @Override
+    public List<Task> findAll() {
+        List<Task> all = new ArrayList<>(slotsById.size());
+        for (int slot = 0; slot < highWater; slot++) {
+            if (statuses[slot] != FREE) {
+                all.add(materialize(slot));
+            }
+        }
+        return all;
+    }
+
+    @Override
+    public List<Task> findByStatus(Status status) {
+        List<Task> result = new ArrayList<>();
+        byte code = code(status);
+        for (int slot = 0; slot < highWater; slot++) {
+            if (statuses[slot] == code) {
+                result.add(materialize(slot));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<Task> findByPriority(Priority priority) {
+        List<Task> result = new ArrayList<>();
+        byte code = code(priority);
+        for (int slot = 0; slot < highWater; slot++) {
+            if (priorities[slot] == code && statuses[slot] != FREE) {
+                result.add(materialize(slot));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<Task> findByAssigneeId(Long userId) {
+        return findByReference(assigneeIds, userId);
+    }
+
+    @Override
+    public List<Task> findByCategoryId(Long categoryId) {
+        return findByReference(categoryIds, categoryId);
+    }
+
+    @Override
+    public List<Task> findOverdueTasks() {
+        long now = toNanos(DateUtils.now(clock));
+        byte completed = code(Status.COMPLETED);
+        List<Task> result = new ArrayList<>();
+        for (int slot = 0; slot < highWater; slot++) {
+            long due = dueDates[slot];
+            if (due != NO_VALUE && due < now && statuses[slot] != completed && statuses[slot] != FREE) {
+                result.add(materialize(slot));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<Task> findByDueDateBetween(LocalDateTime start, LocalDateTime end) {
+        long from = toNanos(start);
+        long to = toNanos(end);
+        List<Task> result = new ArrayList<>();
+        for (int slot = 0; slot < highWater; slot++) {
+            long due = dueDates[slot];
+            if (due != NO_VALUE && due >= from && due <= to && statuses[slot] != FREE) {
+                result.add(materialize(slot));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<Task> findNextDue(LocalDateTime from, int limit) {
+        long start = toNanos(from);
+        // Max-heap holding the earliest 'limit' slots by (due date, id)
+        PriorityQueue<Integer> best = new PriorityQueue<>(Math.max(1, limit), (a, b) -> compareDue(b, a));
+        for (int slot = 0; slot < highWater && limit > 0; slot++) {
+            long due = dueDates[slot];
+            if (due == NO_VALUE || due < start || statuses[slot] == FREE) {
+                continue;
+            }
+            if (best.size() < limit) {
+                best.add(slot);
+            } else if (compareDue(slot, best.peek()) < 0) {
+                best.poll();
+                best.add(slot);
+            }
+        }
+        List<Integer> slots = new ArrayList<>(best);
+        slots.sort(this::compareDue);
+        List<Task> result = new ArrayList<>(slots.size());
+        for (int slot : slots) {
+            result.add(materialize(slot));
+        }
+        return result;
+    }
+
+    @Override
+    public List<Task> search(SearchFilter filter) {
+        boolean byStatus = filter.getStatus() != null;
+        boolean byPriority = filter.getPriority() != null;
+        boolean byAssignee = filter.getAssigneeId() != null;
+        boolean byCategory = filter.getCategoryId() != null;
+        boolean overdueOnly = filter.isShowOverdueOnly();
+        byte status = code(filter.getStatus());
+        byte priority = code(filter.getPriority());
+        long assignee = byAssignee ? filter.getAssigneeId() : NO_VALUE;
+        long category = byCategory ? filter.getCategoryId() : NO_VALUE;
+        long now = overdueOnly ? toNanos(DateUtils.now(clock)) : NO_VALUE;
+        byte completed = code(Status.COMPLETED);
+        Predicate<Task> predicate = filter.asPredicate(clock);
+        List<Task> result = new ArrayList<>();
+        for (int slot = 0; slot < highWater; slot++) {
+            if (statuses[slot] == FREE
+                    || byStatus && statuses[slot] != status
+                    || byPriority && priorities[slot] != priority
+                    || byAssignee && assigneeIds[slot] != assignee
+                    || byCategory && categoryIds[slot] != category
+                    || overdueOnly && (dueDates[slot] == NO_VALUE || dueDates[slot] >= now
+                                       || statuses[slot] == completed)) {
+                continue;
+            }
+            // Primitive columns narrowed the rows; the keyword needs the text
+            Task task = materialize(slot);
+            if (!filter.hasKeyword() || predicate.test(task)) {
+                result.add(task);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public long count() {
+        return slotsById.size();
+    }
+
+    @Override
+    public long countByStatus(Status status) {
+        return status == null ? 0 : statusCounts[status.ordinal()];
+    }
+
+    @Override
+    public long sumCompletionPercentage() {
+        return completionSum;
+    }
+
+    @Override
+    public void update(Task task) {
+        if (overwrite(task, DateUtils.now(clock))) {
+            compactStringsIfNeeded();
+        }
+    }
+
+    @Override
+    public void updateAll(Collection<Task> batch) {
+        // Check every version and date first so a conflict leaves the batch unapplied
+        LocalDateTime now = DateUtils.now(clock);
+        for (Task task : batch) {
+            int slot = task.getId() == null ? LongIntHashMap.MISSING : slotsById.get(task.getId());
+            if (slot != LongIntHashMap.MISSING) {
+                Versions.check("Task", task.getId(), task.getVersion(), versions[slot]);
+                checkDates(task, now);
+            }
+        }
+        for (Task task : batch) {
+            overwrite(task, now);
+        }
+        compactStringsIfNeeded();
+    }
+
+    private boolean overwrite(Task task, LocalDateTime now) {
+        if (task.getId() == null) {
+            return false;
+        }
+        int slot = slotsById.get(task.getId());
+        if (slot == LongIntHashMap.MISSING) {
+            return false;
+        }
+        Versions.check("Task", task.getId(), task.getVersion(), versions[slot]);
+        checkDates(task, now);
+        task.setVersion(task.getVersion() + 1);
+        task.setUpdatedAt(now);
+        release(slot);
+        write(slot, task);
+        return true;
+    }
+
+    @Override
+    public boolean delete(Long id) {
+        if (id == null) {
+            return false;
+        }
+        int slot = slotsById.remove(id);
+        if (slot == LongIntHashMap.MISSING) {
+            return false;
+        }
+        release(slot);
+        statuses[slot] = FREE;
+        assigneeIds[slot] = NO_VALUE;
+        categoryIds[slot] = NO_VALUE;
+        dueDates[slot] = NO_VALUE;
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        }
+        freeSlots[freeCount++] = slot;
+        compactStringsIfNeeded();
+        return true;
+    }
+
+    // write() runs after the slot, counters and version have been touched, so
+    // a date it cannot encode has to be rejected before any of that
+    private static void checkDates(Task task, LocalDateTime updatedAt) {
+        toNanos(task.getCreatedAt());
+        toNanos(task.getDueDate());
+        toNanos(updatedAt);
+    }
+
+    private void write(int slot, Task task) {
+        ids[slot] = task.getId();
+        createdAt[slot] = toNanos(task.getCreatedAt());
+        dueDates[slot] = toNanos(task.getDueDate());
+        updatedAt[slot] = toNanos(task.getUpdatedAt());
+        versions[slot] = task.getVersion();
+        statuses[slot] = code(task.getStatus());
+        priorities[slot] = code(task.getPriority());
+        completions[slot] = (byte) task.getCompletionPercentage();
+        assigneeIds[slot] = task.getAssigneeId() == null ? NO_VALUE : task.getAssigneeId();
+        categoryIds[slot] = task.getCategoryId() == null ? NO_VALUE : task.getCategoryId();
+        titles[slot] = strings.append(task.getTitle());
+        descriptions[slot] = strings.append(task.getDescription());
+        if (task.getStatus() != null) {
+            statusCounts[task.getStatus().ordinal()]++;
+        }
+        completionSum += task.getCompletionPercentage();
+    }
+
+    // Undoes the counters and string usage of the row currently in the slot
+    private void release(int slot) {
+        if (statuses[slot] >= 0) {
+            statusCounts[statuses[slot]]--;
+        }
+        completionSum -= completions[slot];
+        strings.release(titles[slot]);
+        strings.release(descriptions[slot]);
+        titles[slot] = StringArena.NULL;
+        descriptions[slot] = StringArena.NULL;
+    }
+
+    private Task materialize(int slot) {
+        Task task = new Task();
+        task.setId(ids[slot]);
+        task.setTitle(strings.get(titles[slot]));
+        task.setDescription(strings.get(descriptions[slot]));
+        task.setStatus(statuses[slot] == NO_ENUM ? null : STATUSES[statuses[slot]]);
+        task.setPriority(priorities[slot] == NO_ENUM ? null : PRIORITIES[priorities[slot]]);
+        task.setCompletionPercentage(completions[slot]);
+        task.setCreatedAt(fromNanos(createdAt[slot]));
+        task.setDueDate(fromNanos(dueDates[slot]));
+        task.setUpdatedAt(fromNanos(updatedAt[slot]));
+        task.setVersion(versions[slot]);
+        task.setAssigneeId(assigneeIds[slot] == NO_VALUE ? null : assigneeIds[slot]);
+        task.setCategoryId(categoryIds[slot] == NO_VALUE ? null : categoryIds[slot]);
+        return task;
+    }
+
+    private List<Task> findByReference(long[] column, Long id) {
+        List<Task> result = new ArrayList<>();
+        if (id == null) {
+            return result;
+        }
+        long target = id;
+        for (int slot = 0; slot < highWater; slot++) {
+            if (column[slot] == target && statuses[slot] != FREE) {
+                result.add(materialize(slot));
+            }
+        }
+        return result;
+    }
+
+    private int compareDue(int a, int b) {
+        int byDate = Long.compare(dueDates[a], dueDates[b]);
+        return byDate != 0 ? byDate : Long.compare(ids[a], ids[b]);
+    }
+
+    private int claimSlot() {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        if (highWater == ids.length) {
+            grow(ids.length * 2);
+        }
+        return highWater++;
+    }
+
+    private void compactStringsIfNeeded() {
+        if (strings.garbage() > 1 << 20 && strings.garbage() * 2 > strings.used()) {
+            StringArena compacted = new StringArena((int) (strings.used() - strings.garbage()));
+            for (int slot = 0; slot < highWater; slot++) {
+                if (statuses[slot] != FREE) {
+                    titles[slot] = strings.compactInto(compacted, titles[slot]);
+                    descriptions[slot] = strings.compactInto(compacted, descriptions[slot]);
+                }
+            }
+            strings = compacted;
+        }
+    }
+
+    private void allocate(int capacity) {
+        ids = new long[capacity];
+        createdAt = new long[capacity];
+        dueDates = new long[capacity];
+        updatedAt = new long[capacity];
+        versions = new long[capacity];
+        statuses = new byte[capacity];
+        priorities = new byte[capacity];
+        completions = new byte[capacity];
+        assigneeIds = new long[capacity];
+        categoryIds = new long[capacity];
+        titles = new long[capacity];
+        descriptions = new long[capacity];
+        Arrays.fill(statuses, FREE);
+    }
+
+    private void grow(int capacity) {
+        int previous = ids.length;
+        ids = Arrays.copyOf(ids, capacity);
+        createdAt = Arrays.copyOf(createdAt, capacity);
+        dueDates = Arrays.copyOf(dueDates, capacity);
+        updatedAt = Arrays.copyOf(updatedAt, capacity);
+        versions = Arrays.copyOf(versions, capacity);
+        statuses = Arrays.copyOf(statuses, capacity);
+        priorities = Arrays.copyOf(priorities, capacity);
+        completions = Arrays.copyOf(completions, capacity);
+        assigneeIds = Arrays.copyOf(assigneeIds, capacity);
+        categoryIds = Arrays.copyOf(categoryIds, capacity);
+        titles = Arrays.copyOf(titles, capacity);
+        descriptions = Arrays.copyOf(descriptions, capacity);
+        Arrays.fill(statuses, previous, capacity, FREE);
+    }
+
+    static byte code(Enum<?> value) {
+        return value == null ? NO_ENUM : (byte) value.ordinal();
+    }
+
+    static long toNanos(LocalDateTime dateTime) {
+        if (dateTime == null) {
+            return NO_VALUE;
+        }
+        try {
+            return Math.addExact(Math.multiplyExact(dateTime.toEpochSecond(ZoneOffset.UTC), NANOS_PER_SECOND),
+                    dateTime.getNano());
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Date outside the supported range: " + dateTime);
+        }
+    }
+
+    static LocalDateTime fromNanos(long nanos) {
+        if (nanos == NO_VALUE) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(nanos, NANOS_PER_SECOND),
+                (int) Math.floorMod(nanos, NANOS_PER_SECOND), ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,328 @@
+package com.example.pipeline_gerencia.repository.impl;
+
+import com.example.pipeline_gerencia.model.Task;
+import com.example.pipeline_gerencia.model.Status;
+import com.example.pipeline_gerencia.model.Priority;
+import com.example.pipeline_gerencia.repository.TaskRepository;
+import com.example.pipeline_gerencia.util.DateUtils;
+import com.example.pipeline_gerencia.util.Page;
+import com.example.pipeline_gerencia.util.SearchFilter;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Thread-safe implementation of TaskRepository.
+ * Ids are allocated atomically, reads never take a lock and writes only
+ * serialize on the bin of the task being written, so unrelated writes
+ * proceed in parallel. Index buckets are weakly consistent: a reader racing
+ * with an update may briefly miss the task being moved between buckets.
+ * Tasks and buckets are also kept ordered by id, so pages resume from a
+ * cursor without collecting the rest of the result. Like
+ * InMemoryTaskRepository, writes store a copy and reads return copies.
+ */
+public class ConcurrentTaskRepository implements TaskRepository {
+    private final ConcurrentHashMap<Long, Task> tasks = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Long, Task> ordered = new ConcurrentSkipListMap<>();
+    private final Map<Status, Bucket> byStatus = new EnumMap<>(Status.class);
+    private final Map<Priority, Bucket> byPriority = new EnumMap<>(Priority.class);
+    private final ConcurrentSkipListMap<DueDateKey, Task> byDueDate = new ConcurrentSkipListMap<>();
+    private final Map<Long, IndexedFields> indexed = new ConcurrentHashMap<>();
+    private final LongAdder completionSum = new LongAdder();
+    private final AtomicLong nextId = new AtomicLong(1);
+    private final Clock clock;
+
+    public ConcurrentTaskRepository() {
+        this(DateUtils.getClock());
+    }
+
+    public ConcurrentTaskRepository(Clock clock) {
+        this.clock = clock;
+        for (Status status : Status.values()) {
+            byStatus.put(status, new Bucket());
+        }
+        for (Priority priority : Priority.values()) {
+            byPriority.put(priority, new Bucket());
+        }
+    }
+
+    @Override
+    public Task save(Task task) {
+        if (task.getCreatedAt() == null) {
+            task.setCreatedAt(DateUtils.now(clock));
+        }
+        if (task.getId() == null) {
+            task.setId(nextId.getAndIncrement());
+        } else {
+            nextId.accumulateAndGet(task.getId() + 1, Math::max);
+        }
+        Task stored = new Task(task);
+        tasks.compute(stored.getId(), (id, previous) -> {
+            unindex(id);
+            index(stored);
+            return stored;
+        });
+        return task;
+    }
+
+    @Override
+    public Optional<Task> findById(Long id) {
+        return Optional.ofNullable(tasks.get(id)).map(Task::new);
+    }
+
+    @Override
+    public List<Task> findAll() {
+        return copies(tasks.values());
+    }
+
+    @Override
+    public List<Task> findByStatus(Status status) {
+        Bucket bucket = byStatus.get(status);
+        return bucket == null ? new ArrayList<>() : copies(bucket.tasks.values());
+    }
+
+    @Override
+    public List<Task> findByPriority(Priority priority) {
+        Bucket bucket = byPriority.get(priority);
+        return bucket == null ? new ArrayList<>() : copies(bucket.tasks.values());
+    }
+
+    @Override
+    public List<Task> findByAssigneeId(Long userId) {
+        if (userId == null) {
+            return new ArrayList<>();
+        }
+        long id = userId;
+        return tasks.values().stream()
+                .filter(t -> t.isAssignedTo(id))
+                .map(Task::new)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Task> findByCategoryId(Long categoryId) {
+        if (categoryId == null) {
+            return new ArrayList<>();
+        }
+        long id = categoryId;
+        return tasks.values().stream()
+                .filter(t -> t.isInCategory(id))
+                .map(Task::new)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Task> findOverdueTasks() {
+        LocalDateTime now = DateUtils.now(clock);
+        List<Task> overdue = new ArrayList<>();
+        for (Task task : byDueDate.headMap(DueDateKey.lowerBound(now), false).values()) {
+            if (task.getStatus() != Status.COMPLETED) {
+                overdue.add(new Task(task));
+            }
+        }
+        return overdue;
+    }
+
+    @Override
+    public List<Task> findByDueDateBetween(LocalDateTime start, LocalDateTime end) {
+        if (start.isAfter(end)) {
+            return new ArrayList<>();
+        }
+        return copies(byDueDate.subMap(
+                DueDateKey.lowerBound(start), true,
+                DueDateKey.upperBound(end), true).values());
+    }
+
+    @Override
+    public List<Task> findNextDue(LocalDateTime from, int limit) {
+        List<Task> next = new ArrayList<>();
+        for (Task task : byDueDate.tailMap(DueDateKey.lowerBound(from), true).values()) {
+            if (next.size() >= limit) {
+                break;
+            }
+            next.add(new Task(task));
+        }
+        return next;
+    }
+
+    @Override
+    public List<Task> search(SearchFilter filter) {
+        Predicate<Task> predicate = filter.asPredicate(clock);
+        List<Task> results = new ArrayList<>();
+        for (Task task : plan(filter)) {
+            if (predicate.test(task)) {
+                results.add(new Task(task));
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public Page<Task> search(SearchFilter filter, String cursor, int limit) {
+        Predicate<Task> predicate = filter.asPredicate(clock);
+        List<Task> items = new ArrayList<>(Math.min(limit, 256));
+        for (Task task : planOrdered(filter, Page.decodeCursor(cursor))) {
+            if (!predicate.test(task)) {
+                continue;
+            }
+            if (items.size() == limit) {
+                return new Page<>(items, Page.encodeCursor(items.get(limit - 1).getId()));
+            }
+            items.add(new Task(task));
+        }
+        return new Page<>(items, null);
+    }
+
+    @Override
+    public Stream<Task> stream(SearchFilter filter) {
+        return plan(filter).stream().filter(filter.asPredicate(clock)).map(Task::new);
+    }
+
+    // Picks the smallest indexed candidate set; the remaining criteria are
+    // checked by the fused predicate. The overdue range has no O(1) size, so
+    // it only drives the search when no status or priority bucket is usable.
+    private Collection<Task> plan(SearchFilter filter) {
+        Bucket driving = smallestBucket(filter);
+        if (driving != null) {
+            return driving.tasks.values();
+        }
+        if (filter.isShowOverdueOnly()) {
+            return byDueDate.headMap(DueDateKey.lowerBound(DateUtils.now(clock)), false).values();
+        }
+        return tasks.values();
+    }
+
+    // Like plan(), restricted to drivers that iterate in id order from the cursor
+    private Collection<Task> planOrdered(SearchFilter filter, Long after) {
+        Bucket bucket = smallestBucket(filter);
+        NavigableMap<Long, Task> driving = bucket == null ? ordered : bucket.tasks;
+        return after == null ? driving.values() : driving.tailMap(after, false).values();
+    }
+
+    private Bucket smallestBucket(SearchFilter filter) {
+        Bucket driving = null;
+        if (filter.getStatus() != null) {
+            driving = byStatus.get(filter.getStatus());
+        }
+        if (filter.getPriority() != null) {
+            Bucket bucket = byPriority.get(filter.getPriority());
+            if (driving == null || bucket.size.sum() < driving.size.sum()) {
+                driving = bucket;
+            }
+        }
+        return driving;
+    }
+
+    @Override
+    public long count() {
+        return tasks.size();
+    }
+
+    @Override
+    public long countByStatus(Status status) {
+        Bucket bucket = byStatus.get(status);
+        return bucket == null ? 0 : bucket.size.sum();
+    }
+
+    @Override
+    public long sumCompletionPercentage() {
+        return completionSum.sum();
+    }
+
+    @Override
+    public void update(Task task) {
+        if (task.getId() == null) {
+            return;
+        }
+        // The version check and swap are atomic per bin, so concurrent
+        // updates of one task conflict instead of overwriting each other
+        tasks.computeIfPresent(task.getId(), (id, previous) -> {
+            Versions.check(previous, task);
+            task.setVersion(task.getVersion() + 1);
+            task.setUpdatedAt(DateUtils.now(clock));
+            Task stored = new Task(task);
+            unindex(id);
+            index(stored);
+            return stored;
+        });
+    }
+
+    @Override
+    public boolean delete(Long id) {
+        boolean[] deleted = new boolean[1];
+        tasks.computeIfPresent(id, (key, previous) -> {
+            unindex(key);
+            deleted[0] = true;
+            return null;
+        });
+        return deleted[0];
+    }
+
+    private static List<Task> copies(Collection<Task> stored) {
+        List<Task> copies = new ArrayList<>(stored.size());
+        for (Task task : stored) {
+            copies.add(new Task(task));
+        }
+        return copies;
+    }
+
+    private void index(Task task) {
+        IndexedFields fields = IndexedFields.of(task);
+        indexed.put(task.getId(), fields);
+        ordered.put(task.getId(), task);
+        if (fields.status() != null) {
+            byStatus.get(fields.status()).add(task);
+        }
+        if (fields.priority() != null) {
+            byPriority.get(fields.priority()).add(task);
+        }
+        if (fields.dueDate() != null) {
+            byDueDate.put(new DueDateKey(fields.dueDate(), task.getId()), task);
+        }
+        completionSum.add(fields.completionPercentage());
+    }
+
+    private void unindex(Long id) {
+        IndexedFields previous = indexed.remove(id);
+        if (previous == null) {
+            return;
+        }
+        ordered.remove(id);
+        if (previous.status() != null) {
+            byStatus.get(previous.status()).remove(id);
+        }
+        if (previous.priority() != null) {
+            byPriority.get(previous.priority()).remove(id);
+        }
+        if (previous.dueDate() != null) {
+            byDueDate.remove(new DueDateKey(previous.dueDate(), id));
+        }
+        completionSum.add(-previous.completionPercentage());
+    }
+
+    // Id-ordered bucket; the skip list's size() is a traversal, so its size
+    // is counted alongside
+    private static final class Bucket {
+        final ConcurrentSkipListMap<Long, Task> tasks = new ConcurrentSkipListMap<>();
+        final LongAdder size = new LongAdder();
+
+        void add(Task task) {
+            if (tasks.put(task.getId(), task) == null) {
+                size.increment();
+            }
+        }
+
+        void remove(Long id) {
+            if (tasks.remove(id) != null) {
+                size.decrement();
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.pipeline_gerencia.repository.impl;
+
+import java.time.LocalDateTime;
+
+/**
+ * Sort key for due-date indexes: orders by due date, then by task id
+ */
+record DueDateKey(LocalDateTime dueDate, long id) implements Comparable<DueDateKey> {
+
+    static DueDateKey lowerBound(LocalDateTime dueDate) {
+        return new DueDateKey(dueDate, Long.MIN_VALUE);
+    }
+
+    static DueDateKey upperBound(LocalDateTime dueDate) {
+        return new DueDateKey(dueDate, Long.MAX_VALUE);
+    }
+
+    @Override
+    public int compareTo(DueDateKey other) {
+        int byDate = dueDate.compareTo(other.dueDate);
+        return byDate != 0 ? byDate : Long.compare(id, other.id);
+    }
+}
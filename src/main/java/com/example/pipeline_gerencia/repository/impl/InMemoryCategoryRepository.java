@@ -2,50 +2,72 @@ package com.example.pipeline_gerencia.repository.impl;
 
 import com.example.pipeline_gerencia.model.Category;
 import com.example.pipeline_gerencia.repository.CategoryRepository;
+import com.example.pipeline_gerencia.util.StringPool;
 import java.util.*;
 
 /**
- * In-memory implementation of CategoryRepository
+ * In-memory implementation of CategoryRepository. Writes store a copy and
+ * reads return copies, like InMemoryUserRepository. Stored names and colors
+ * are shared through the repository's string pool.
  */
 public class InMemoryCategoryRepository implements CategoryRepository {
     private final Map<Long, Category> categories = new HashMap<>();
+    private final StringPool strings = new StringPool();
     private long nextId = 1;
 
     @Override
     public Category save(Category category) {
         if (category.getId() == null) {
             category.setId(nextId++);
+        } else {
+            nextId = Math.max(nextId, category.getId() + 1);
         }
-        categories.put(category.getId(), category);
+        Category stored = pooled(new Category(category));
+        categories.put(stored.getId(), stored);
         return category;
     }
 
     @Override
     public Optional<Category> findById(Long id) {
-        return Optional.ofNullable(categories.get(id));
+        return Optional.ofNullable(categories.get(id)).map(Category::new);
     }
 
     @Override
     public Optional<Category> findByName(String name) {
         return categories.values().stream()
                 .filter(c -> c.getName().equalsIgnoreCase(name))
-                .findFirst();
+                .findFirst()
+                .map(Category::new);
     }
 
     @Override
     public List<Category> findAll() {
-        return new ArrayList<>(categories.values());
+        List<Category> all = new ArrayList<>(categories.size());
+        for (Category category : categories.values()) {
+            all.add(new Category(category));
+        }
+        return all;
     }
 
     @Override
     public void update(Category category) {
-        if (category.getId() != null && categories.containsKey(category.getId())) {
-            categories.put(category.getId(), category);
+        Category stored = category.getId() == null ? null : categories.get(category.getId());
+        if (stored != null) {
+            Versions.check(stored, category);
+            category.setVersion(category.getVersion() + 1);
+            Category copy = pooled(new Category(category));
+            categories.put(copy.getId(), copy);
         }
     }
 
     @Override
-    public void delete(Long id) {
-        categories.remove(id);
+    public boolean delete(Long id) {
+        return categories.remove(id) != null;
+    }
+
+    private Category pooled(Category category) {
+        category.setName(strings.canonical(category.getName()));
+        category.setColor(strings.canonical(category.getColor()));
+        return category;
     }
 }
@@ -4,90 +4,388 @@ import com.example.pipeline_gerencia.model.Task;
 import com.example.pipeline_gerencia.model.Status;
 import com.example.pipeline_gerencia.model.Priority;
 import com.example.pipeline_gerencia.repository.TaskRepository;
+import com.example.pipeline_gerencia.util.DateUtils;
+import com.example.pipeline_gerencia.util.Page;
+import com.example.pipeline_gerencia.util.SearchFilter;
+import java.time.Clock;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
- * In-memory implementation of TaskRepository
+ * In-memory implementation of TaskRepository.
+ * Keeps per-status and per-priority index buckets so lookups by
+ * status or priority cost O(result size) instead of a full scan, and a
+ * due-date ordered index for range, overdue and "next due" queries, and a
+ * trigram index over title and description for keyword search. Tasks and
+ * buckets are ordered by id so pages can resume from a cursor without
+ * materializing the full result.
+ * <p>
+ * Stored tasks are never handed out: writes store a copy and reads return
+ * copies, so an update's version check compares against what was stored,
+ * not against the caller's own instance.
  */
 public class InMemoryTaskRepository implements TaskRepository {
-    private final Map<Long, Task> tasks = new HashMap<>();
+    private final NavigableMap<Long, Task> tasks = new TreeMap<>();
+    private final Map<Status, NavigableMap<Long, Task>> byStatus = new EnumMap<>(Status.class);
+    private final Map<Priority, NavigableMap<Long, Task>> byPriority = new EnumMap<>(Priority.class);
+    private final NavigableMap<DueDateKey, Task> byDueDate = new TreeMap<>();
+    private final Map<Long, IndexedFields> indexed = new HashMap<>();
+    private final TrigramIndex keywords = new TrigramIndex();
+    private long completionSum;
     private long nextId = 1;
+    private final Clock clock;
+
+    public InMemoryTaskRepository() {
+        this(DateUtils.getClock());
+    }
+
+    /**
+     * A repository that stamps updates and evaluates overdue queries with
+     * the given clock.
+     */
+    public InMemoryTaskRepository(Clock clock) {
+        this.clock = clock;
+        for (Status status : Status.values()) {
+            byStatus.put(status, new TreeMap<>());
+        }
+        for (Priority priority : Priority.values()) {
+            byPriority.put(priority, new TreeMap<>());
+        }
+    }
 
     @Override
     public Task save(Task task) {
-        if (task.getId() == null) {
-            task.setId(nextId++);
-        }
-        tasks.put(task.getId(), task);
+        assignId(task);
+        Task stored = new Task(task);
+        unindex(stored.getId());
+        tasks.put(stored.getId(), stored);
+        index(stored);
         return task;
     }
 
+    @Override
+    public List<Task> saveAll(Collection<Task> batch) {
+        List<Task> saved = new ArrayList<>(batch.size());
+        List<Task> stored = new ArrayList<>(batch.size());
+        for (Task task : batch) {
+            assignId(task);
+            Task copy = new Task(task);
+            unindex(copy.getId());
+            tasks.put(copy.getId(), copy);
+            indexFields(copy);
+            saved.add(task);
+            stored.add(copy);
+        }
+        indexKeywords(stored);
+        return saved;
+    }
+
     @Override
     public Optional<Task> findById(Long id) {
-        return Optional.ofNullable(tasks.get(id));
+        return Optional.ofNullable(tasks.get(id)).map(Task::new);
     }
 
     @Override
     public List<Task> findAll() {
-        return new ArrayList<>(tasks.values());
+        return copies(tasks.values());
     }
 
     @Override
     public List<Task> findByStatus(Status status) {
-        return tasks.values().stream()
-                .filter(t -> t.getStatus() == status)
-                .collect(Collectors.toList());
+        Map<Long, Task> bucket = byStatus.get(status);
+        return bucket == null ? new ArrayList<>() : copies(bucket.values());
     }
 
     @Override
     public List<Task> findByPriority(Priority priority) {
-        return tasks.values().stream()
-                .filter(t -> t.getPriority() == priority)
-                .collect(Collectors.toList());
+        Map<Long, Task> bucket = byPriority.get(priority);
+        return bucket == null ? new ArrayList<>() : copies(bucket.values());
     }
 
     @Override
     public List<Task> findByAssigneeId(Long userId) {
+        if (userId == null) {
+            return new ArrayList<>();
+        }
+        long id = userId;
         return tasks.values().stream()
-                .filter(t -> t.getAssignee() != null && t.getAssignee().getId().equals(userId))
+                .filter(t -> t.isAssignedTo(id))
+                .map(Task::new)
                 .collect(Collectors.toList());
     }
 
     @Override
     public List<Task> findByCategoryId(Long categoryId) {
+        if (categoryId == null) {
+            return new ArrayList<>();
+        }
+        long id = categoryId;
         return tasks.values().stream()
-                .filter(t -> t.getCategory() != null && t.getCategory().getId().equals(categoryId))
+                .filter(t -> t.isInCategory(id))
+                .map(Task::new)
                 .collect(Collectors.toList());
     }
 
     @Override
     public List<Task> findOverdueTasks() {
-        return tasks.values().stream()
-                .filter(Task::isOverdue)
-                .collect(Collectors.toList());
+        LocalDateTime now = DateUtils.now(clock);
+        List<Task> overdue = new ArrayList<>();
+        for (Task task : byDueDate.headMap(DueDateKey.lowerBound(now), false).values()) {
+            if (task.getStatus() != Status.COMPLETED) {
+                overdue.add(new Task(task));
+            }
+        }
+        return overdue;
     }
 
     @Override
     public List<Task> findByDueDateBetween(LocalDateTime start, LocalDateTime end) {
-        return tasks.values().stream()
-                .filter(t -> t.getDueDate() != null && 
-                            !t.getDueDate().isBefore(start) && 
-                            !t.getDueDate().isAfter(end))
-                .collect(Collectors.toList());
+        if (start.isAfter(end)) {
+            return new ArrayList<>();
+        }
+        return copies(byDueDate.subMap(
+                DueDateKey.lowerBound(start), true,
+                DueDateKey.upperBound(end), true).values());
+    }
+
+    @Override
+    public List<Task> findNextDue(LocalDateTime from, int limit) {
+        List<Task> next = new ArrayList<>();
+        for (Task task : byDueDate.tailMap(DueDateKey.lowerBound(from), true).values()) {
+            if (next.size() >= limit) {
+                break;
+            }
+            next.add(new Task(task));
+        }
+        return next;
+    }
+
+    @Override
+    public List<Task> search(SearchFilter filter) {
+        Predicate<Task> predicate = filter.asPredicate(clock);
+        List<Task> results = new ArrayList<>();
+        for (Task task : plan(filter)) {
+            if (predicate.test(task)) {
+                results.add(new Task(task));
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public Page<Task> search(SearchFilter filter, String cursor, int limit) {
+        Predicate<Task> predicate = filter.asPredicate(clock);
+        List<Task> items = new ArrayList<>(Math.min(limit, 256));
+        for (Task task : planOrdered(filter, Page.decodeCursor(cursor))) {
+            if (!predicate.test(task)) {
+                continue;
+            }
+            if (items.size() == limit) {
+                return new Page<>(items, Page.encodeCursor(items.get(limit - 1).getId()));
+            }
+            items.add(new Task(task));
+        }
+        return new Page<>(items, null);
+    }
+
+    @Override
+    public Stream<Task> stream(SearchFilter filter) {
+        return plan(filter).stream().filter(filter.asPredicate(clock)).map(Task::new);
+    }
+
+    // Picks the smallest indexed candidate set; the remaining criteria are
+    // checked by the fused predicate. The overdue range has no O(1) size, so
+    // it only drives the search when no other index is usable.
+    private Collection<Task> plan(SearchFilter filter) {
+        Collection<Task> driving = null;
+        if (filter.getStatus() != null) {
+            driving = byStatus.get(filter.getStatus()).values();
+        }
+        if (filter.getPriority() != null) {
+            Collection<Task> bucket = byPriority.get(filter.getPriority()).values();
+            if (driving == null || bucket.size() < driving.size()) {
+                driving = bucket;
+            }
+        }
+        String keyword = filter.hasKeyword() ? filter.getKeyword().toLowerCase() : null;
+        if (TrigramIndex.supports(keyword)
+                && (driving == null || keywords.estimate(keyword) < driving.size())) {
+            List<Task> candidates = new ArrayList<>();
+            keywords.candidates(keyword).forEach(id -> candidates.add(tasks.get(id)));
+            driving = candidates;
+        }
+        if (driving == null && filter.isShowOverdueOnly()) {
+            driving = byDueDate.headMap(DueDateKey.lowerBound(DateUtils.now(clock)), false).values();
+        }
+        return driving != null ? driving : tasks.values();
+    }
+
+    // Like plan(), restricted to drivers that iterate in id order from the
+    // cursor; keyword candidates are sorted by id before being resolved.
+    private Iterable<Task> planOrdered(SearchFilter filter, Long after) {
+        NavigableMap<Long, Task> driving = tasks;
+        if (filter.getStatus() != null) {
+            driving = smaller(driving, byStatus.get(filter.getStatus()));
+        }
+        if (filter.getPriority() != null) {
+            driving = smaller(driving, byPriority.get(filter.getPriority()));
+        }
+        String keyword = filter.hasKeyword() ? filter.getKeyword().toLowerCase() : null;
+        if (TrigramIndex.supports(keyword) && keywords.estimate(keyword) < driving.size()) {
+            long[] ids = keywords.candidates(keyword).toSortedArray();
+            int start = 0;
+            if (after != null) {
+                int pos = Arrays.binarySearch(ids, after);
+                start = pos >= 0 ? pos + 1 : -pos - 1;
+            }
+            List<Task> candidates = new ArrayList<>(ids.length - start);
+            for (int i = start; i < ids.length; i++) {
+                candidates.add(tasks.get(ids[i]));
+            }
+            return candidates;
+        }
+        return after == null ? driving.values() : driving.tailMap(after, false).values();
+    }
+
+    private static NavigableMap<Long, Task> smaller(NavigableMap<Long, Task> a, NavigableMap<Long, Task> b) {
+        return b.size() < a.size() ? b : a;
+    }
+
+    @Override
+    public long count() {
+        return tasks.size();
+    }
+
+    @Override
+    public long countByStatus(Status status) {
+        Map<Long, Task> bucket = byStatus.get(status);
+        return bucket == null ? 0 : bucket.size();
+    }
+
+    @Override
+    public long sumCompletionPercentage() {
+        return completionSum;
     }
 
     @Override
     public void update(Task task) {
-        if (task.getId() != null && tasks.containsKey(task.getId())) {
-            task.setUpdatedAt(LocalDateTime.now());
-            tasks.put(task.getId(), task);
+        Task stored = task.getId() == null ? null : tasks.get(task.getId());
+        if (stored != null) {
+            Versions.check(stored, task);
+            task.setVersion(task.getVersion() + 1);
+            task.setUpdatedAt(DateUtils.now(clock));
+            Task copy = new Task(task);
+            unindex(copy.getId());
+            tasks.put(copy.getId(), copy);
+            index(copy);
         }
     }
 
     @Override
-    public void delete(Long id) {
-        tasks.remove(id);
+    public void updateAll(Collection<Task> batch) {
+        // Check every version first so a conflict leaves the batch unapplied
+        for (Task task : batch) {
+            Task stored = task.getId() == null ? null : tasks.get(task.getId());
+            if (stored != null) {
+                Versions.check(stored, task);
+            }
+        }
+        LocalDateTime now = DateUtils.now(clock);
+        List<Task> updated = new ArrayList<>(batch.size());
+        for (Task task : batch) {
+            if (task.getId() != null && tasks.containsKey(task.getId())) {
+                task.setVersion(task.getVersion() + 1);
+                task.setUpdatedAt(now);
+                Task copy = new Task(task);
+                unindex(copy.getId());
+                tasks.put(copy.getId(), copy);
+                indexFields(copy);
+                updated.add(copy);
+            }
+        }
+        indexKeywords(updated);
+    }
+
+    @Override
+    public boolean delete(Long id) {
+        if (tasks.remove(id) == null) {
+            return false;
+        }
+        unindex(id);
+        keywords.remove(id);
+        return true;
+    }
+
+    private static List<Task> copies(Collection<Task> stored) {
+        List<Task> copies = new ArrayList<>(stored.size());
+        for (Task task : stored) {
+            copies.add(new Task(task));
+        }
+        return copies;
+    }
+
+    // New tasks are also stamped with their creation time
+    private void assignId(Task task) {
+        if (task.getCreatedAt() == null) {
+            task.setCreatedAt(DateUtils.now(clock));
+        }
+        if (task.getId() == null) {
+            task.setId(nextId++);
+        } else {
+            nextId = Math.max(nextId, task.getId() + 1);
+        }
+    }
+
+    // The keyword index replaces a document's texts itself and skips
+    // unchanged ones, so updates that keep title and description are cheap
+    private void index(Task task) {
+        indexFields(task);
+        keywords.add(task.getId(), task.getTitle(), task.getDescription());
+    }
+
+    private void indexFields(Task task) {
+        IndexedFields fields = IndexedFields.of(task);
+        indexed.put(task.getId(), fields);
+        if (fields.status() != null) {
+            byStatus.get(fields.status()).put(task.getId(), task);
+        }
+        if (fields.priority() != null) {
+            byPriority.get(fields.priority()).put(task.getId(), task);
+        }
+        if (fields.dueDate() != null) {
+            byDueDate.put(new DueDateKey(fields.dueDate(), task.getId()), task);
+        }
+        completionSum += fields.completionPercentage();
+    }
+
+    private void indexKeywords(List<Task> batch) {
+        long[] ids = new long[batch.size()];
+        String[][] texts = new String[batch.size()][];
+        for (int i = 0; i < ids.length; i++) {
+            Task task = batch.get(i);
+            ids[i] = task.getId();
+            texts[i] = new String[]{task.getTitle(), task.getDescription()};
+        }
+        keywords.addAll(ids, texts);
+    }
+
+    private void unindex(Long id) {
+        IndexedFields previous = indexed.remove(id);
+        if (previous == null) {
+            return;
+        }
+        if (previous.status() != null) {
+            byStatus.get(previous.status()).remove(id);
+        }
+        if (previous.priority() != null) {
+            byPriority.get(previous.priority()).remove(id);
+        }
+        if (previous.dueDate() != null) {
+            byDueDate.remove(new DueDateKey(previous.dueDate(), id));
+        }
+        completionSum -= previous.completionPercentage();
     }
 }
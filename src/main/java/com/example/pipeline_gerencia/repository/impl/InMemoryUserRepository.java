@@ -2,65 +2,151 @@ package com.example.pipeline_gerencia.repository.impl;
 
 import com.example.pipeline_gerencia.model.User;
 import com.example.pipeline_gerencia.repository.UserRepository;
+import com.example.pipeline_gerencia.util.StringPool;
 import java.util.*;
 import java.util.stream.Collectors;
 
 /**
- * In-memory implementation of UserRepository
+ * In-memory implementation of UserRepository.
+ * Keeps a case-folded email index so findByEmail is O(1); emails are
+ * unique, so saving or updating a user with another user's email is
+ * rejected with an IllegalArgumentException. A case-folded
+ * department index makes findByDepartment O(result). Stored users are
+ * never handed out: writes store a copy and reads return copies, so the
+ * indexes only change through save() and update() and an update's version
+ * check compares against what was stored. Departments are few, so the
+ * stored users' department strings and index keys come from a bounded
+ * pool owned by the repository.
  */
 public class InMemoryUserRepository implements UserRepository {
     private final Map<Long, User> users = new HashMap<>();
+    private final Map<String, User> byEmail = new HashMap<>();
+    private final Map<String, Map<Long, User>> byDepartment = new HashMap<>();
+    // Keys each user was indexed under, so unindex() needs no stored user
+    private final Map<Long, String> indexedEmails = new HashMap<>();
+    private final Map<Long, String> indexedDepartments = new HashMap<>();
+    private final StringPool departments = new StringPool();
     private long nextId = 1;
 
     @Override
     public User save(User user) {
+        checkEmailFree(user);
         if (user.getId() == null) {
             user.setId(nextId++);
+        } else {
+            nextId = Math.max(nextId, user.getId() + 1);
         }
-        users.put(user.getId(), user);
+        User stored = new User(user);
+        stored.setDepartment(departments.canonical(stored.getDepartment()));
+        unindex(stored.getId());
+        users.put(stored.getId(), stored);
+        index(stored);
         return user;
     }
 
     @Override
     public Optional<User> findById(Long id) {
-        return Optional.ofNullable(users.get(id));
+        return Optional.ofNullable(users.get(id)).map(User::new);
     }
 
     @Override
     public Optional<User> findByEmail(String email) {
-        return users.values().stream()
-                .filter(u -> u.getEmail().equalsIgnoreCase(email))
-                .findFirst();
+        if (email == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(byEmail.get(key(email))).map(User::new);
     }
 
     @Override
     public List<User> findAll() {
-        return new ArrayList<>(users.values());
+        return copies(users.values());
     }
 
     @Override
     public List<User> findByDepartment(String department) {
-        return users.values().stream()
-                .filter(u -> u.getDepartment().equalsIgnoreCase(department))
-                .collect(Collectors.toList());
+        Map<Long, User> members = department == null ? null : byDepartment.get(key(department));
+        return members == null ? new ArrayList<>() : copies(members.values());
     }
 
     @Override
     public List<User> findActiveUsers() {
         return users.values().stream()
                 .filter(User::isActive)
+                .map(User::new)
                 .collect(Collectors.toList());
     }
 
     @Override
     public void update(User user) {
-        if (user.getId() != null && users.containsKey(user.getId())) {
-            users.put(user.getId(), user);
+        User stored = user.getId() == null ? null : users.get(user.getId());
+        if (stored != null) {
+            Versions.check(stored, user);
+            checkEmailFree(user);
+            user.setVersion(user.getVersion() + 1);
+            User copy = new User(user);
+            copy.setDepartment(departments.canonical(copy.getDepartment()));
+            unindex(copy.getId());
+            users.put(copy.getId(), copy);
+            index(copy);
         }
     }
 
     @Override
-    public void delete(Long id) {
-        users.remove(id);
+    public boolean delete(Long id) {
+        if (users.remove(id) == null) {
+            return false;
+        }
+        unindex(id);
+        return true;
+    }
+
+    private static List<User> copies(Collection<User> stored) {
+        List<User> copies = new ArrayList<>(stored.size());
+        for (User user : stored) {
+            copies.add(new User(user));
+        }
+        return copies;
+    }
+
+    private void checkEmailFree(User user) {
+        User owner = user.getEmail() == null ? null : byEmail.get(key(user.getEmail()));
+        if (owner != null && !owner.getId().equals(user.getId())) {
+            throw new IllegalArgumentException("Email already exists: " + user.getEmail());
+        }
+    }
+
+    private void index(User user) {
+        if (user.getEmail() != null) {
+            String key = key(user.getEmail());
+            byEmail.put(key, user);
+            indexedEmails.put(user.getId(), key);
+        }
+        if (user.getDepartment() != null) {
+            String key = departments.canonical(key(user.getDepartment()));
+            byDepartment.computeIfAbsent(key, k -> new HashMap<>()).put(user.getId(), user);
+            indexedDepartments.put(user.getId(), key);
+        }
+    }
+
+    private void unindex(Long id) {
+        String key = indexedEmails.remove(id);
+        if (key != null) {
+            User indexed = byEmail.get(key);
+            if (indexed != null && id.equals(indexed.getId())) {
+                byEmail.remove(key);
+            }
+        }
+        key = indexedDepartments.remove(id);
+        if (key != null) {
+            Map<Long, User> members = byDepartment.get(key);
+            members.remove(id);
+            if (members.isEmpty()) {
+                byDepartment.remove(key);
+            }
+        }
+    }
+
+    private static String key(String text) {
+        return text.toLowerCase(Locale.ROOT);
     }
 }
@@ -0,0 +1,18 @@
+package com.example.pipeline_gerencia.repository.impl;
+
+import com.example.pipeline_gerencia.model.Priority;
+import com.example.pipeline_gerencia.model.Status;
+import com.example.pipeline_gerencia.model.Task;
+import java.time.LocalDateTime;
+
+/**
+ * Values a task was last indexed under. Callers mutate tasks in place before
+ * calling update(), so the old index keys cannot be read back from the task.
+ */
+record IndexedFields(Status status, Priority priority, LocalDateTime dueDate, int completionPercentage) {
+
+    static IndexedFields of(Task task) {
+        return new IndexedFields(task.getStatus(), task.getPriority(), task.getDueDate(),
+                task.getCompletionPercentage());
+    }
+}
@@ -0,0 +1,884 @@
+package com.example.pipeline_gerencia.repository.impl;
+
+import com.example.pipeline_gerencia.model.Task;
+import com.example.pipeline_gerencia.model.Status;
+import com.example.pipeline_gerencia.model.Priority;
+import com.example.pipeline_gerencia.repository.TaskRepository;
+import com.example.pipeline_gerencia.util.DateUtils;
+import com.example.pipeline_gerencia.util.Page;
+import com.example.pipeline_gerencia.util.SearchFilter;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Multi-version implementation of TaskRepository with snapshot-isolated reads.
+ * Every write commits a new version of the task at the head of the task's
+ * version chain, stamped with a commit timestamp; a batch commits under a
+ * single timestamp. A reader fixes a timestamp when it starts and sees, for
+ * every task, the newest version committed at or before it, so a search or
+ * statistics call observes one point in time while writers keep committing.
+ * Writers serialize on a lock that readers never take.
+ * <p>
+ * Stored versions are never handed out: writes store a copy of the task and
+ * reads return copies, so callers may keep mutating what they get back.
+ * Updates are compare-and-swap on the task's version field, which is
+ * distinct from the commit timestamps.
+ * Superseded versions are collected by the next commit once no open snapshot
+ * can see them; closing a snapshot only unregisters it, so readers never
+ * take the writers' lock. {@link #startCollector} also collects
+ * periodically, for versions released while no writes come in.
+ * <p>
+ * Ids and the status and priority indexes are kept in id order, so a page
+ * resumes from its cursor, and title and description are indexed by
+ * trigrams for keyword search.
+ */
+public class MvccTaskRepository implements TaskRepository, AutoCloseable {
+    private final ConcurrentHashMap<Long, Version> chains = new ConcurrentHashMap<>();
+    // Indexes hold the keys of every retained version, so they are a superset
+    // for any snapshot; readers confirm candidates against the visible version
+    private final ConcurrentSkipListSet<Long> ids = new ConcurrentSkipListSet<>();
+    private final Map<Status, ConcurrentSkipListSet<Long>> byStatus = new EnumMap<>(Status.class);
+    private final Map<Priority, ConcurrentSkipListSet<Long>> byPriority = new EnumMap<>(Priority.class);
+    private final ConcurrentSkipListSet<DueDateKey> byDueDate = new ConcurrentSkipListSet<>();
+    // Indexes the texts of every retained version of a task. TrigramIndex is
+    // not thread-safe, so readers share its read lock; writers hold it only
+    // while re-indexing one task.
+    private final TrigramIndex keywords = new TrigramIndex();
+    private final ReentrantReadWriteLock keywordLock = new ReentrantReadWriteLock();
+    private final Set<Snapshot> openSnapshots = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private ScheduledExecutorService collector;
+    private volatile long committed;
+    private volatile Totals totals;
+
+    // Guarded by writeLock
+    private final ArrayDeque<Superseded> superseded = new ArrayDeque<>();
+    private final long[] statusCounts = new long[Status.values().length];
+    private final long[] priorityCounts = new long[Priority.values().length];
+    private long count;
+    private long completionSum;
+    private long nextId = 1;
+    private final Clock clock;
+
+    public MvccTaskRepository() {
+        this(DateUtils.getClock());
+    }
+
+    public MvccTaskRepository(Clock clock) {
+        this.clock = clock;
+        for (Status status : Status.values()) {
+            byStatus.put(status, new ConcurrentSkipListSet<>());
+        }
+        for (Priority priority : Priority.values()) {
+            byPriority.put(priority, new ConcurrentSkipListSet<>());
+        }
+        totals = new Totals(0, 0, statusCounts.clone(), priorityCounts.clone(), 0, null);
+    }
+
+    /**
+     * Opens a read-only view of the repository as of the latest commit. The
+     * versions it sees are retained until it is closed, so close it promptly.
+     */
+    public Snapshot openSnapshot() {
+        Snapshot snapshot = new Snapshot(committed);
+        openSnapshots.add(snapshot);
+        // A collection that missed the registration only pruned versions
+        // invisible as of its own commit, so the snapshot is safe once its
+        // timestamp is still the latest after registering
+        long latest;
+        while ((latest = committed) != snapshot.timestamp) {
+            snapshot.timestamp = latest;
+        }
+        return snapshot;
+    }
+
+    /**
+     * Runs the query against one snapshot.
+     */
+    @Override
+    public <R> R readConsistent(Function<TaskRepository, R> query) {
+        try (Snapshot snapshot = openSnapshot()) {
+            return query.apply(snapshot);
+        }
+    }
+
+    @Override
+    public Optional<Task> findById(Long id) {
+        return readConsistent(s -> s.findById(id));
+    }
+
+    @Override
+    public List<Task> findAll() {
+        return readConsistent(TaskRepository::findAll);
+    }
+
+    @Override
+    public List<Task> findByStatus(Status status) {
+        return readConsistent(s -> s.findByStatus(status));
+    }
+
+    @Override
+    public List<Task> findByPriority(Priority priority) {
+        return readConsistent(s -> s.findByPriority(priority));
+    }
+
+    @Override
+    public List<Task> findByAssigneeId(Long userId) {
+        return readConsistent(s -> s.findByAssigneeId(userId));
+    }
+
+    @Override
+    public List<Task> findByCategoryId(Long categoryId) {
+        return readConsistent(s -> s.findByCategoryId(categoryId));
+    }
+
+    @Override
+    public List<Task> findOverdueTasks() {
+        return readConsistent(TaskRepository::findOverdueTasks);
+    }
+
+    @Override
+    public List<Task> findByDueDateBetween(LocalDateTime start, LocalDateTime end) {
+        return readConsistent(s -> s.findByDueDateBetween(start, end));
+    }
+
+    @Override
+    public List<Task> findNextDue(LocalDateTime from, int limit) {
+        return readConsistent(s -> s.findNextDue(from, limit));
+    }
+
+    @Override
+    public List<Task> search(SearchFilter filter) {
+        return readConsistent(s -> s.search(filter));
+    }
+
+    @Override
+    public Page<Task> search(SearchFilter filter, String cursor, int limit) {
+        return readConsistent(s -> s.search(filter, cursor, limit));
+    }
+
+    /**
+     * Lazily streams the matches of one snapshot in id order. The snapshot
+     * stays open, retaining the versions it sees, until the stream is closed.
+     */
+    @Override
+    public Stream<Task> stream(SearchFilter filter) {
+        Snapshot snapshot = openSnapshot();
+        try {
+            return snapshot.stream(filter).onClose(snapshot::close);
+        } catch (RuntimeException e) {
+            snapshot.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public long count() {
+        return readConsistent(TaskRepository::count);
+    }
+
+    @Override
+    public long countByStatus(Status status) {
+        return readConsistent(s -> s.countByStatus(status));
+    }
+
+    @Override
+    public long sumCompletionPercentage() {
+        return readConsistent(TaskRepository::sumCompletionPercentage);
+    }
+
+    @Override
+    public Task save(Task task) {
+        writeLock.lock();
+        try {
+            assignId(task);
+            long timestamp = committed + 1;
+            put(task.getId(), new Task(task), timestamp);
+            commit(timestamp);
+            return task;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public List<Task> saveAll(Collection<Task> tasks) {
+        List<Task> saved = new ArrayList<>(tasks.size());
+        writeLock.lock();
+        try {
+            long timestamp = committed + 1;
+            for (Task task : tasks) {
+                assignId(task);
+                put(task.getId(), new Task(task), timestamp);
+                saved.add(task);
+            }
+            commit(timestamp);
+            return saved;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void update(Task task) {
+        updateAll(List.of(task));
+    }
+
+    @Override
+    public void updateAll(Collection<Task> tasks) {
+        writeLock.lock();
+        try {
+            // Check every version first so a conflict leaves the batch unapplied
+            for (Task task : tasks) {
+                Task stored = task.getId() == null ? null : latest(task.getId());
+                if (stored != null) {
+                    Versions.check(stored, task);
+                }
+            }
+            long timestamp = committed + 1;
+            boolean changed = false;
+            for (Task task : tasks) {
+                if (task.getId() == null || latest(task.getId()) == null) {
+                    continue;
+                }
+                task.setVersion(task.getVersion() + 1);
+                task.setUpdatedAt(DateUtils.now(clock));
+                put(task.getId(), new Task(task), timestamp);
+                changed = true;
+            }
+            if (changed) {
+                commit(timestamp);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean delete(Long id) {
+        return !deleteAll(List.of(id)).isEmpty();
+    }
+
+    @Override
+    public List<Long> deleteAll(Collection<Long> ids) {
+        writeLock.lock();
+        try {
+            long timestamp = committed + 1;
+            List<Long> deleted = new ArrayList<>(ids.size());
+            for (Long id : ids) {
+                if (latest(id) != null) {
+                    put(id, null, timestamp);
+                    deleted.add(id);
+                }
+            }
+            if (!deleted.isEmpty()) {
+                commit(timestamp);
+            }
+            return deleted;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Number of versions kept for the task, including the current one and
+     * its deletion marker. Intended for monitoring and tests.
+     */
+    public int versionCount(Long id) {
+        int versions = 0;
+        for (Version version = chains.get(id); version != null; version = version.older) {
+            versions++;
+        }
+        return versions;
+    }
+
+    /**
+     * Prunes the versions no open snapshot can see any more.
+     */
+    public void collectGarbage() {
+        writeLock.lock();
+        try {
+            collect();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Collects garbage periodically on a daemon thread, so versions released
+     * by closed snapshots do not wait for the next write.
+     */
+    public synchronized void startCollector(long period, TimeUnit unit) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("Period must be positive");
+        }
+        if (collector != null) {
+            throw new IllegalStateException("Collector is already started");
+        }
+        collector = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "mvcc-collector");
+            thread.setDaemon(true);
+            return thread;
+        });
+        collector.scheduleWithFixedDelay(this::collectGarbage, period, period, unit);
+    }
+
+    /**
+     * Stops the periodic collection, if started.
+     */
+    @Override
+    public synchronized void close() {
+        if (collector != null) {
+            collector.shutdownNow();
+            collector = null;
+        }
+    }
+
+    // New tasks are also stamped with their creation time
+    private void assignId(Task task) {
+        if (task.getCreatedAt() == null) {
+            task.setCreatedAt(DateUtils.now(clock));
+        }
+        if (task.getId() == null) {
+            task.setId(nextId++);
+        } else {
+            nextId = Math.max(nextId, task.getId() + 1);
+        }
+    }
+
+    private Task latest(Long id) {
+        Version head = chains.get(id);
+        return head == null ? null : head.task;
+    }
+
+    // Links a new version, or a deletion marker when task is null. Indexes
+    // are updated before the version becomes reachable.
+    private void put(long id, Task task, long timestamp) {
+        Version head = chains.get(id);
+        if (task != null) {
+            index(id, task, head);
+            account(task, 1);
+        }
+        if (head != null) {
+            account(head.task, -1);
+            superseded.add(new Superseded(id, timestamp));
+        }
+        chains.put(id, new Version(timestamp, task, head));
+    }
+
+    private void account(Task task, int sign) {
+        if (task == null) {
+            return;
+        }
+        count += sign;
+        if (task.getStatus() != null) {
+            statusCounts[task.getStatus().ordinal()] += sign;
+        }
+        if (task.getPriority() != null) {
+            priorityCounts[task.getPriority().ordinal()] += sign;
+        }
+        completionSum += sign * (long) task.getCompletionPercentage();
+    }
+
+    // Publishes everything written under the timestamp to new readers
+    private void commit(long timestamp) {
+        totals = new Totals(timestamp, count, statusCounts.clone(), priorityCounts.clone(), completionSum, totals);
+        committed = timestamp;
+        collect();
+    }
+
+    // Prunes the versions no open snapshot can see. Caller holds writeLock.
+    private void collect() {
+        long horizon = committed;
+        for (Snapshot snapshot : openSnapshots) {
+            horizon = Math.min(horizon, snapshot.timestamp);
+        }
+        Superseded next;
+        while ((next = superseded.peek()) != null && next.timestamp() <= horizon) {
+            superseded.poll();
+            prune(next.id(), horizon);
+        }
+        Totals visible = totals;
+        while (visible.timestamp > horizon) {
+            visible = visible.older;
+        }
+        visible.older = null;
+    }
+
+    private void prune(long id, long horizon) {
+        Version head = chains.get(id);
+        Version keep = head;
+        while (keep != null && keep.timestamp > horizon) {
+            keep = keep.older;
+        }
+        if (keep == null) {
+            return;
+        }
+        Version dropped = keep.older;
+        keep.older = null;
+        for (Version version = dropped; version != null; version = version.older) {
+            unindex(id, version.task, head);
+        }
+        if (keep == head && head.task == null) {
+            chains.remove(id);
+            ids.remove(id);
+            indexKeywords(id, null, null);
+        } else {
+            indexKeywords(id, null, head);
+        }
+    }
+
+    private void index(long id, Task task, Version retained) {
+        ids.add(id);
+        indexKeywords(id, task, retained);
+        if (task.getStatus() != null) {
+            byStatus.get(task.getStatus()).add(id);
+        }
+        if (task.getPriority() != null) {
+            byPriority.get(task.getPriority()).add(id);
+        }
+        if (task.getDueDate() != null) {
+            byDueDate.add(new DueDateKey(task.getDueDate(), id));
+        }
+    }
+
+    // Indexes the distinct texts of the new version and the retained ones;
+    // TrigramIndex skips the work when they did not change
+    private void indexKeywords(long id, Task task, Version retained) {
+        Set<String> texts = new LinkedHashSet<>();
+        if (task != null) {
+            addTexts(texts, task);
+        }
+        for (Version version = retained; version != null; version = version.older) {
+            if (version.task != null) {
+                addTexts(texts, version.task);
+            }
+        }
+        keywordLock.writeLock().lock();
+        try {
+            if (texts.isEmpty()) {
+                keywords.remove(id);
+            } else {
+                keywords.add(id, texts.toArray(new String[0]));
+            }
+        } finally {
+            keywordLock.writeLock().unlock();
+        }
+    }
+
+    private static void addTexts(Set<String> texts, Task task) {
+        if (task.getTitle() != null) {
+            texts.add(task.getTitle());
+        }
+        if (task.getDescription() != null) {
+            texts.add(task.getDescription());
+        }
+    }
+
+    // Removes the index keys of a dropped version that no retained version shares
+    private void unindex(long id, Task dropped, Version retained) {
+        if (dropped == null) {
+            return;
+        }
+        boolean status = dropped.getStatus() != null;
+        boolean priority = dropped.getPriority() != null;
+        boolean dueDate = dropped.getDueDate() != null;
+        for (Version version = retained; version != null; version = version.older) {
+            Task task = version.task;
+            if (task != null) {
+                status &= task.getStatus() != dropped.getStatus();
+                priority &= task.getPriority() != dropped.getPriority();
+                dueDate &= !Objects.equals(dropped.getDueDate(), task.getDueDate());
+            }
+        }
+        if (status) {
+            byStatus.get(dropped.getStatus()).remove(id);
+        }
+        if (priority) {
+            byPriority.get(dropped.getPriority()).remove(id);
+        }
+        if (dueDate) {
+            byDueDate.remove(new DueDateKey(dropped.getDueDate(), id));
+        }
+    }
+
+    private static final class Version {
+        final long timestamp;
+        // Null for a deletion marker; never mutated once linked
+        final Task task;
+        volatile Version older;
+
+        Version(long timestamp, Task task, Version older) {
+            this.timestamp = timestamp;
+            this.task = task;
+            this.older = older;
+        }
+    }
+
+    private static final class Totals {
+        final long timestamp;
+        final long count;
+        final long[] statusCounts;
+        final long[] priorityCounts;
+        final long completionSum;
+        volatile Totals older;
+
+        Totals(long timestamp, long count, long[] statusCounts, long[] priorityCounts, long completionSum,
+               Totals older) {
+            this.timestamp = timestamp;
+            this.count = count;
+            this.statusCounts = statusCounts;
+            this.priorityCounts = priorityCounts;
+            this.completionSum = completionSum;
+            this.older = older;
+        }
+    }
+
+    private record Superseded(long id, long timestamp) {
+    }
+
+    private record Driver(NavigableSet<Long> ids, long size) {
+    }
+
+    /**
+     * Read-only view of the repository as of one commit. Reads are answered
+     * without locking and return copies; writes are rejected.
+     */
+    public final class Snapshot implements TaskRepository, AutoCloseable {
+        private volatile long timestamp;
+
+        private Snapshot(long timestamp) {
+            this.timestamp = timestamp;
+        }
+
+        /**
+         * Commit timestamp this snapshot reads at.
+         */
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        @Override
+        public <R> R readConsistent(Function<TaskRepository, R> query) {
+            return query.apply(this);
+        }
+
+        @Override
+        public Optional<Task> findById(Long id) {
+            Task task = visible(chains.get(id));
+            return task == null ? Optional.empty() : Optional.of(new Task(task));
+        }
+
+        @Override
+        public List<Task> findAll() {
+            List<Task> all = new ArrayList<>();
+            for (Version chain : chains.values()) {
+                Task task = visible(chain);
+                if (task != null) {
+                    all.add(new Task(task));
+                }
+            }
+            return all;
+        }
+
+        @Override
+        public List<Task> findByStatus(Status status) {
+            return matching(byStatus.get(status), t -> t.getStatus() == status);
+        }
+
+        @Override
+        public List<Task> findByPriority(Priority priority) {
+            return matching(byPriority.get(priority), t -> t.getPriority() == priority);
+        }
+
+        @Override
+        public List<Task> findByAssigneeId(Long userId) {
+            if (userId == null) {
+                return new ArrayList<>();
+            }
+            long id = userId;
+            return matching(chains.keySet(), t -> t.isAssignedTo(id));
+        }
+
+        @Override
+        public List<Task> findByCategoryId(Long categoryId) {
+            if (categoryId == null) {
+                return new ArrayList<>();
+            }
+            long id = categoryId;
+            return matching(chains.keySet(), t -> t.isInCategory(id));
+        }
+
+        @Override
+        public List<Task> findOverdueTasks() {
+            List<Task> overdue = new ArrayList<>();
+            forEachDue(byDueDate.headSet(DueDateKey.lowerBound(DateUtils.now(clock)), false), task -> {
+                if (task.getStatus() != Status.COMPLETED) {
+                    overdue.add(new Task(task));
+                }
+            });
+            return overdue;
+        }
+
+        @Override
+        public List<Task> findByDueDateBetween(LocalDateTime start, LocalDateTime end) {
+            List<Task> due = new ArrayList<>();
+            if (start.isAfter(end)) {
+                return due;
+            }
+            forEachDue(byDueDate.subSet(DueDateKey.lowerBound(start), true, DueDateKey.upperBound(end), true),
+                    task -> due.add(new Task(task)));
+            return due;
+        }
+
+        @Override
+        public List<Task> findNextDue(LocalDateTime from, int limit) {
+            List<Task> next = new ArrayList<>();
+            for (DueDateKey key : byDueDate.tailSet(DueDateKey.lowerBound(from), true)) {
+                if (next.size() >= limit) {
+                    break;
+                }
+                Task task = visible(chains.get(key.id()));
+                if (task != null && key.dueDate().equals(task.getDueDate())) {
+                    next.add(new Task(task));
+                }
+            }
+            return next;
+        }
+
+        @Override
+        public List<Task> search(SearchFilter filter) {
+            List<Task> results = new ArrayList<>();
+            forEachMatch(filter, task -> results.add(new Task(task)));
+            return results;
+        }
+
+        /**
+         * Walks the id-ordered candidates from the cursor and stops after
+         * the first match past the page.
+         */
+        @Override
+        public Page<Task> search(SearchFilter filter, String cursor, int limit) {
+            Iterator<Task> matches = ordered(filter, Page.decodeCursor(cursor));
+            List<Task> items = new ArrayList<>(Math.min(limit, 256));
+            while (matches.hasNext()) {
+                Task task = matches.next();
+                if (items.size() == limit) {
+                    return new Page<>(items, Page.encodeCursor(items.get(limit - 1).getId()));
+                }
+                items.add(new Task(task));
+            }
+            return new Page<>(items, null);
+        }
+
+        /**
+         * Lazily streams copies of the matches in id order. The stream reads
+         * this snapshot, so it must be consumed before the snapshot closes.
+         */
+        @Override
+        public Stream<Task> stream(SearchFilter filter) {
+            Spliterator<Task> matches = Spliterators.spliteratorUnknownSize(ordered(filter, null),
+                    Spliterator.ORDERED | Spliterator.NONNULL);
+            return StreamSupport.stream(matches, false).map(Task::new);
+        }
+
+        @Override
+        public long count() {
+            return totals().count;
+        }
+
+        @Override
+        public long countByStatus(Status status) {
+            return totals().statusCounts[status.ordinal()];
+        }
+
+        @Override
+        public long sumCompletionPercentage() {
+            return totals().completionSum;
+        }
+
+        @Override
+        public Task save(Task task) {
+            throw new UnsupportedOperationException("Snapshots are read-only");
+        }
+
+        @Override
+        public void update(Task task) {
+            throw new UnsupportedOperationException("Snapshots are read-only");
+        }
+
+        @Override
+        public boolean delete(Long id) {
+            throw new UnsupportedOperationException("Snapshots are read-only");
+        }
+
+        @Override
+        public void close() {
+            openSnapshots.remove(this);
+        }
+
+        private Task visible(Version version) {
+            long at = timestamp;
+            while (version != null && version.timestamp > at) {
+                version = version.older;
+            }
+            return version == null ? null : version.task;
+        }
+
+        private Totals totals() {
+            long at = timestamp;
+            Totals visible = MvccTaskRepository.this.totals;
+            while (visible.timestamp > at) {
+                visible = visible.older;
+            }
+            return visible;
+        }
+
+        private List<Task> matching(Collection<Long> candidates, Predicate<Task> predicate) {
+            List<Task> results = new ArrayList<>();
+            for (Long id : candidates) {
+                Task task = visible(chains.get(id));
+                if (task != null && predicate.test(task)) {
+                    results.add(new Task(task));
+                }
+            }
+            return results;
+        }
+
+        // Visits the visible versions whose due date is the one they are keyed
+        // under, so a task indexed under several dates is seen once
+        private void forEachDue(Set<DueDateKey> keys, Consumer<Task> action) {
+            for (DueDateKey key : keys) {
+                Task task = visible(chains.get(key.id()));
+                if (task != null && key.dueDate().equals(task.getDueDate())) {
+                    action.accept(task);
+                }
+            }
+        }
+
+        // Same plan as InMemoryTaskRepository: drive from the smallest
+        // indexed candidate set, then check the fused predicate
+        private void forEachMatch(SearchFilter filter, Consumer<Task> action) {
+            Predicate<Task> predicate = filter.asPredicate(clock);
+            Driver driving = smallestBucket(filter);
+            long[] candidates = keywordCandidates(filter, driving == null ? Long.MAX_VALUE : driving.size());
+            if (candidates != null) {
+                for (long id : candidates) {
+                    Task task = visible(chains.get(id));
+                    if (task != null && predicate.test(task)) {
+                        action.accept(task);
+                    }
+                }
+                return;
+            }
+            if (driving == null && filter.isShowOverdueOnly()) {
+                forEachDue(byDueDate.headSet(DueDateKey.lowerBound(DateUtils.now(clock)), false), task -> {
+                    if (predicate.test(task)) {
+                        action.accept(task);
+                    }
+                });
+                return;
+            }
+            for (Long id : driving != null ? driving.ids() : chains.keySet()) {
+                Task task = visible(chains.get(id));
+                if (task != null && predicate.test(task)) {
+                    action.accept(task);
+                }
+            }
+        }
+
+        // Visible matches in id order after the given id. Overdue-only
+        // searches scan every id here, since the due date index is not in id
+        // order.
+        private Iterator<Task> ordered(SearchFilter filter, Long after) {
+            Predicate<Task> predicate = filter.asPredicate(clock);
+            Driver bucket = smallestBucket(filter);
+            NavigableSet<Long> driving = bucket == null ? ids : bucket.ids();
+            long[] candidates = keywordCandidates(filter, bucket == null ? totals().count : bucket.size());
+            Iterator<Long> keys;
+            if (candidates != null) {
+                int start = 0;
+                if (after != null) {
+                    int pos = Arrays.binarySearch(candidates, after);
+                    start = pos >= 0 ? pos + 1 : -pos - 1;
+                }
+                keys = Arrays.stream(candidates, start, candidates.length).iterator();
+            } else {
+                keys = (after == null ? driving : driving.tailSet(after, false)).iterator();
+            }
+            return new Iterator<>() {
+                private Task next;
+
+                @Override
+                public boolean hasNext() {
+                    while (next == null && keys.hasNext()) {
+                        Task task = visible(chains.get(keys.next()));
+                        if (task != null && predicate.test(task)) {
+                            next = task;
+                        }
+                    }
+                    return next != null;
+                }
+
+                @Override
+                public Task next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    Task task = next;
+                    next = null;
+                    return task;
+                }
+            };
+        }
+
+        // The smaller of the status and priority buckets, sized by this
+        // snapshot's counts since skip list sizes are traversals
+        private Driver smallestBucket(SearchFilter filter) {
+            Totals visible = totals();
+            Driver driving = null;
+            if (filter.getStatus() != null) {
+                driving = new Driver(byStatus.get(filter.getStatus()),
+                        visible.statusCounts[filter.getStatus().ordinal()]);
+            }
+            if (filter.getPriority() != null) {
+                long size = visible.priorityCounts[filter.getPriority().ordinal()];
+                if (driving == null || size < driving.size()) {
+                    driving = new Driver(byPriority.get(filter.getPriority()), size);
+                }
+            }
+            return driving;
+        }
+
+        // Sorted keyword candidates when the trigram index narrows the search
+        // below the given number of candidates, null otherwise
+        private long[] keywordCandidates(SearchFilter filter, long driving) {
+            String keyword = filter.hasKeyword() ? filter.getKeyword().toLowerCase() : null;
+            if (!TrigramIndex.supports(keyword)) {
+                return null;
+            }
+            keywordLock.readLock().lock();
+            try {
+                if (keywords.estimate(keyword) >= driving) {
+                    return null;
+                }
+                return keywords.candidates(keyword).toSortedArray();
+            } finally {
+                keywordLock.readLock().unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.pipeline_gerencia.repository.impl;
+
+import java.util.Arrays;
+
+/**
+ * Append-only character arena shared by all strings of a column store.
+ * A string is addressed by a long reference packing its offset (high 32
+ * bits) and length (low 32 bits), so rows hold one primitive per string
+ * instead of a String object. Replaced strings become garbage until the
+ * owner rebuilds the arena with {@link #compactInto}.
+ */
+class StringArena {
+    static final long NULL = -1L;
+
+    private char[] data;
+    private int used;
+    private long garbage;
+
+    StringArena() {
+        this(1024);
+    }
+
+    StringArena(int initialCapacity) {
+        data = new char[Math.max(16, initialCapacity)];
+    }
+
+    long append(String value) {
+        if (value == null) {
+            return NULL;
+        }
+        int length = value.length();
+        ensureCapacity(length);
+        value.getChars(0, length, data, used);
+        long ref = ((long) used << 32) | length;
+        used += length;
+        return ref;
+    }
+
+    String get(long ref) {
+        if (ref == NULL) {
+            return null;
+        }
+        return new String(data, offset(ref), length(ref));
+    }
+
+    void release(long ref) {
+        if (ref != NULL) {
+            garbage += length(ref);
+        }
+    }
+
+    int used() {
+        return used;
+    }
+
+    long garbage() {
+        return garbage;
+    }
+
+    /**
+     * Copies a live string into another arena and returns its new reference.
+     */
+    long compactInto(StringArena target, long ref) {
+        if (ref == NULL) {
+            return NULL;
+        }
+        int length = length(ref);
+        target.ensureCapacity(length);
+        System.arraycopy(data, offset(ref), target.data, target.used, length);
+        long moved = ((long) target.used << 32) | length;
+        target.used += length;
+        return moved;
+    }
+
+    private void ensureCapacity(int extra) {
+        long required = (long) used + extra;
+        if (required > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("String arena is full");
+        }
+        if (required > data.length) {
+            long grown = Math.max(required, (long) data.length * 2);
+            data = Arrays.copyOf(data, (int) Math.min(grown, Integer.MAX_VALUE - 8));
+        }
+    }
+
+    private static int offset(long ref) {
+        return (int) (ref >>> 32);
+    }
+
+    private static int length(long ref) {
+        return (int) ref;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.pipeline_gerencia.repository.impl;
+
+import com.example.pipeline_gerencia.model.Category;
+import com.example.pipeline_gerencia.repository.CategoryRepository;
+import com.example.pipeline_gerencia.repository.ForwardingCategoryRepository;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Serializes every call to a CategoryRepository that is not thread-safe,
+ * such as InMemoryCategoryRepository.
+ */
+public class SynchronizedCategoryRepository extends ForwardingCategoryRepository {
+
+    public SynchronizedCategoryRepository(CategoryRepository delegate) {
+        super(delegate);
+    }
+
+    @Override
+    public synchronized Category save(Category category) {
+        return super.save(category);
+    }
+
+    @Override
+    public synchronized Optional<Category> findById(Long id) {
+        return super.findById(id);
+    }
+
+    @Override
+    public synchronized List<Category> findAllById(Collection<Long> ids) {
+        return super.findAllById(ids);
+    }
+
+    @Override
+    public synchronized Optional<Category> findByName(String name) {
+        return super.findByName(name);
+    }
+
+    @Override
+    public synchronized List<Category> findAll() {
+        return super.findAll();
+    }
+
+    @Override
+    public synchronized void update(Category category) {
+        super.update(category);
+    }
+
+    @Override
+    public synchronized boolean delete(Long id) {
+        return super.delete(id);
+    }
+}
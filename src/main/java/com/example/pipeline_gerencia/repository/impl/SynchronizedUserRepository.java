@@ -0,0 +1,65 @@
+package com.example.pipeline_gerencia.repository.impl;
+
+import com.example.pipeline_gerencia.model.User;
+import com.example.pipeline_gerencia.repository.ForwardingUserRepository;
+import com.example.pipeline_gerencia.repository.UserRepository;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Serializes every call to a UserRepository that is not thread-safe, such
+ * as InMemoryUserRepository. Users are few and rarely written, so a single
+ * lock is enough to share one repository between request threads.
+ */
+public class SynchronizedUserRepository extends ForwardingUserRepository {
+
+    public SynchronizedUserRepository(UserRepository delegate) {
+        super(delegate);
+    }
+
+    @Override
+    public synchronized User save(User user) {
+        return super.save(user);
+    }
+
+    @Override
+    public synchronized Optional<User> findById(Long id) {
+        return super.findById(id);
+    }
+
+    @Override
+    public synchronized List<User> findAllById(Collection<Long> ids) {
+        return super.findAllById(ids);
+    }
+
+    @Override
+    public synchronized Optional<User> findByEmail(String email) {
+        return super.findByEmail(email);
+    }
+
+    @Override
+    public synchronized List<User> findAll() {
+        return super.findAll();
+    }
+
+    @Override
+    public synchronized List<User> findByDepartment(String department) {
+        return super.findByDepartment(department);
+    }
+
+    @Override
+    public synchronized List<User> findActiveUsers() {
+        return super.findActiveUsers();
+    }
+
+    @Override
+    public synchronized void update(User user) {
+        super.update(user);
+    }
+
+    @Override
+    public synchronized boolean delete(Long id) {
+        return super.delete(id);
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.pipeline_gerencia.repository.impl;
+
+import java.util.*;
+
+/**
+ * Inverted index of lower-cased character trigrams for case-insensitive
+ * substring search. Every substring of length three or more of a document
+ * shares all of its trigrams with the document, so intersecting the postings
+ * of a keyword's trigrams yields a superset of the matches, which callers
+ * confirm with a plain contains check. Keywords shorter than three characters
+ * cannot be answered from the index.
+ */
+class TrigramIndex {
+    static final int GRAM = 3;
+
+    private final Map<Long, LongHashSet> postings = new HashMap<>();
+    // Indexed texts per document, kept so their trigrams can be removed later
+    private final Map<Long, String[]> documents = new HashMap<>();
+
+    /**
+     * Indexes the texts of a document, replacing its previous texts. Nothing
+     * is done when the texts did not change.
+     */
+    void add(long id, String... texts) {
+        if (Arrays.equals(documents.get(id), texts)) {
+            return;
+        }
+        remove(id);
+        documents.put(id, texts.clone());
+        for (long gram : trigrams(texts)) {
+            postings.computeIfAbsent(gram, g -> new LongHashSet()).add(id);
+        }
+    }
+
+    /**
+     * Indexes a batch of documents. Postings are grouped by trigram first, so
+     * each posting list is looked up and resized once per batch and filled in
+     * one go instead of being touched once per document. Documents whose
+     * texts did not change are skipped. The text arrays are kept as is; if an
+     * id repeats, its last texts win.
+     */
+    void addAll(long[] ids, String[][] texts) {
+        for (int i = 0; i < ids.length; i++) {
+            if (Arrays.equals(documents.get(ids[i]), texts[i])) {
+                continue;
+            }
+            remove(ids[i]);
+            documents.put(ids[i], texts[i]);
+        }
+        LongIntHashMap groupOf = new LongIntHashMap();
+        List<LongList> groups = new ArrayList<>();
+        for (int i = 0; i < ids.length; i++) {
+            if (documents.get(ids[i]) != texts[i]) {
+                continue;
+            }
+            for (long gram : trigrams(texts[i])) {
+                int group = groupOf.get(gram);
+                if (group == LongIntHashMap.MISSING) {
+                    group = groups.size();
+                    groupOf.put(gram, group);
+                    groups.add(new LongList(gram));
+                }
+                groups.get(group).add(ids[i]);
+            }
+        }
+        for (LongList group : groups) {
+            LongHashSet posting = postings.computeIfAbsent(group.gram, g -> new LongHashSet(group.size));
+            posting.ensureCapacity(posting.size() + group.size);
+            for (int i = 0; i < group.size; i++) {
+                posting.add(group.values[i]);
+            }
+        }
+    }
+
+    void remove(long id) {
+        String[] texts = documents.remove(id);
+        if (texts == null) {
+            return;
+        }
+        for (long gram : trigrams(texts)) {
+            LongHashSet ids = postings.get(gram);
+            if (ids != null && ids.remove(id) && ids.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    static boolean supports(String lowerKeyword) {
+        return lowerKeyword != null && lowerKeyword.length() >= GRAM;
+    }
+
+    /**
+     * Size of the smallest posting list for the keyword, an upper bound on the
+     * number of candidates a lookup would return.
+     */
+    int estimate(String lowerKeyword) {
+        int smallest = Integer.MAX_VALUE;
+        for (long gram : trigrams(lowerKeyword)) {
+            LongHashSet ids = postings.get(gram);
+            if (ids == null) {
+                return 0;
+            }
+            smallest = Math.min(smallest, ids.size());
+        }
+        return smallest;
+    }
+
+    /**
+     * Ids of the documents containing every trigram of the keyword.
+     */
+    LongHashSet candidates(String lowerKeyword) {
+        List<LongHashSet> lists = new ArrayList<>();
+        for (long gram : trigrams(lowerKeyword)) {
+            LongHashSet ids = postings.get(gram);
+            if (ids == null) {
+                return new LongHashSet();
+            }
+            lists.add(ids);
+        }
+        lists.sort(Comparator.comparingInt(LongHashSet::size));
+        LongHashSet smallest = lists.get(0);
+        LongHashSet result = new LongHashSet(smallest.size());
+        smallest.forEach(id -> {
+            for (int i = 1; i < lists.size(); i++) {
+                if (!lists.get(i).contains(id)) {
+                    return;
+                }
+            }
+            result.add(id);
+        });
+        return result;
+    }
+
+    private static final class LongList {
+        final long gram;
+        long[] values = new long[8];
+        int size;
+
+        LongList(long gram) {
+            this.gram = gram;
+        }
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+
+    // Distinct trigram codes of the texts, three UTF-16 units packed per long
+    private static long[] trigrams(String... texts) {
+        String[] lower = new String[texts.length];
+        int count = 0;
+        for (int t = 0; t < texts.length; t++) {
+            if (texts[t] != null) {
+                // Same folding as SearchFilter so index and verification agree
+                lower[t] = texts[t].toLowerCase();
+                count += Math.max(0, lower[t].length() - GRAM + 1);
+            }
+        }
+        long[] grams = new long[count];
+        int n = 0;
+        for (String text : lower) {
+            for (int i = 0; text != null && i + GRAM <= text.length(); i++) {
+                grams[n++] = ((long) text.charAt(i) << 32)
+                        | ((long) text.charAt(i + 1) << 16)
+                        | text.charAt(i + 2);
+            }
+        }
+        Arrays.sort(grams);
+        int distinct = 0;
+        for (int i = 0; i < n; i++) {
+            if (distinct == 0 || grams[i] != grams[distinct - 1]) {
+                grams[distinct++] = grams[i];
+            }
+        }
+        return distinct == n ? grams : Arrays.copyOf(grams, distinct);
+    }
+}
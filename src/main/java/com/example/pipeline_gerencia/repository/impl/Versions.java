@@ -0,0 +1,35 @@
+package com.example.pipeline_gerencia.repository.impl;
+
+import com.example.pipeline_gerencia.model.Category;
+import com.example.pipeline_gerencia.model.Task;
+import com.example.pipeline_gerencia.model.User;
+import com.example.pipeline_gerencia.repository.OptimisticLockException;
+
+/**
+ * Version checks shared by the repositories' compare-and-swap updates. An
+ * update is accepted when it carries the stored version; the repository
+ * then bumps the version of the entity it stores.
+ */
+final class Versions {
+
+    private Versions() {
+    }
+
+    static void check(Task stored, Task update) {
+        check("Task", update.getId(), update.getVersion(), stored.getVersion());
+    }
+
+    static void check(User stored, User update) {
+        check("User", update.getId(), update.getVersion(), stored.getVersion());
+    }
+
+    static void check(Category stored, Category update) {
+        check("Category", update.getId(), update.getVersion(), stored.getVersion());
+    }
+
+    static void check(String entityType, Long id, long expected, long actual) {
+        if (expected != actual) {
+            throw new OptimisticLockException(entityType, id, expected, actual);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.pipeline_gerencia.repository.jdbc;
+
+import com.example.pipeline_gerencia.model.Category;
+import com.example.pipeline_gerencia.repository.CategoryRepository;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * CategoryRepository stored in the {@code categories} table. Name lookups
+ * ignore case through an indexed lower-cased column.
+ */
+public class JdbcCategoryRepository implements CategoryRepository {
+    private static final String COLUMNS = "id, name, description, color, version, name_key";
+    private static final String SELECT = "SELECT " + COLUMNS + " FROM categories";
+    private static final String MERGE = "MERGE INTO categories (" + COLUMNS + ") KEY (id) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE = "UPDATE categories SET name = ?, description = ?, color = ?, version = ?, "
+            + "name_key = ? WHERE id = ? AND version = ?";
+
+    private final JdbcConnections connections;
+    private final AtomicLong nextId;
+
+    public JdbcCategoryRepository(JdbcConnections connections) {
+        this.connections = connections;
+        nextId = JdbcSupport.nextId(connections, "categories");
+    }
+
+    @Override
+    public Category save(Category category) {
+        category.setId(JdbcSupport.assignId(nextId, category.getId()));
+        connections.execute(connection -> {
+            PreparedStatement merge = connection.prepare(MERGE);
+            merge.setLong(1, category.getId());
+            merge.setString(2, category.getName());
+            merge.setString(3, category.getDescription());
+            merge.setString(4, category.getColor());
+            merge.setLong(5, category.getVersion());
+            merge.setString(6, JdbcSupport.key(category.getName()));
+            return merge.executeUpdate();
+        });
+        return category;
+    }
+
+    @Override
+    public Optional<Category> findById(Long id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        return first(SELECT + " WHERE id = ?", id);
+    }
+
+    // One statement whatever the number of ids, so it is prepared once per connection
+    @Override
+    public List<Category> findAllById(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return query(SELECT + " WHERE id = ANY(?)", (Object) ids.toArray(new Long[0]));
+    }
+
+    @Override
+    public Optional<Category> findByName(String name) {
+        if (name == null) {
+            return Optional.empty();
+        }
+        return first(SELECT + " WHERE name_key = ? ORDER BY id FETCH FIRST ROW ONLY", JdbcSupport.key(name));
+    }
+
+    @Override
+    public List<Category> findAll() {
+        return query(SELECT + " ORDER BY id");
+    }
+
+    @Override
+    public void update(Category category) {
+        if (category.getId() == null) {
+            return;
+        }
+        connections.execute(connection -> {
+            PreparedStatement update = connection.prepare(UPDATE);
+            update.setString(1, category.getName());
+            update.setString(2, category.getDescription());
+            update.setString(3, category.getColor());
+            update.setLong(4, category.getVersion() + 1);
+            update.setString(5, JdbcSupport.key(category.getName()));
+            update.setLong(6, category.getId());
+            update.setLong(7, category.getVersion());
+            if (update.executeUpdate() == 0) {
+                JdbcSupport.checkVersion(connection, "categories", "Category", category.getId(),
+                        category.getVersion());
+                return null;
+            }
+            category.setVersion(category.getVersion() + 1);
+            return null;
+        });
+    }
+
+    @Override
+    public boolean delete(Long id) {
+        if (id == null) {
+            return false;
+        }
+        return connections.execute(connection -> {
+            PreparedStatement delete = connection.prepare("DELETE FROM categories WHERE id = ?");
+            delete.setLong(1, id);
+            return delete.executeUpdate() > 0;
+        });
+    }
+
+    private Optional<Category> first(String sql, Object parameter) {
+        List<Category> categories = query(sql, parameter);
+        return categories.isEmpty() ? Optional.empty() : Optional.of(categories.get(0));
+    }
+
+    private List<Category> query(String sql, Object... parameters) {
+        return connections.execute(connection -> {
+            PreparedStatement select = connection.prepare(sql);
+            for (int i = 0; i < parameters.length; i++) {
+                select.setObject(i + 1, parameters[i]);
+            }
+            List<Category> categories = new ArrayList<>();
+            try (ResultSet rows = select.executeQuery()) {
+                while (rows.next()) {
+                    categories.add(map(rows));
+                }
+            }
+            return categories;
+        });
+    }
+
+    private static Category map(ResultSet rows) throws SQLException {
+        Category category = new Category();
+        category.setId(rows.getLong("id"));
+        category.setName(rows.getString("name"));
+        category.setDescription(rows.getString("description"));
+        category.setColor(rows.getString("color"));
+        category.setVersion(rows.getLong("version"));
+        return category;
+    }
+}
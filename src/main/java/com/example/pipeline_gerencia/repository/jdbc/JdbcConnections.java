@@ -0,0 +1,184 @@
+package com.example.pipeline_gerencia.repository.jdbc;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Fixed pool of connections to one database shared by the JDBC
+ * repositories. Each connection keeps the statements prepared on it, so a
+ * query's SQL is parsed and planned once per connection instead of once per
+ * call. Callers borrow a connection for one unit of work and wait when all
+ * of them are in use.
+ */
+public class JdbcConnections implements AutoCloseable {
+    static final String SCHEMA = "/db/schema.sql";
+
+    private final List<PooledConnection> connections = new ArrayList<>();
+    private final BlockingQueue<PooledConnection> idle;
+
+    public JdbcConnections(String url, int poolSize) {
+        if (poolSize <= 0) {
+            throw new IllegalArgumentException("Pool size must be positive");
+        }
+        idle = new ArrayBlockingQueue<>(poolSize);
+        try {
+            for (int i = 0; i < poolSize; i++) {
+                PooledConnection connection = new PooledConnection(DriverManager.getConnection(url));
+                connections.add(connection);
+                idle.add(connection);
+            }
+        } catch (SQLException e) {
+            close();
+            throw new UncheckedSqlException("Cannot connect to " + url, e);
+        }
+    }
+
+    /**
+     * Creates the tables and indexes of {@code db/schema.sql} that do not
+     * exist yet.
+     */
+    public void createSchema() {
+        String script;
+        try (InputStream in = JdbcConnections.class.getResourceAsStream(SCHEMA)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing " + SCHEMA);
+            }
+            script = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        transaction(connection -> {
+            try (Statement statement = connection.connection.createStatement()) {
+                for (String sql : statements(script)) {
+                    statement.execute(sql);
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Runs the work on a borrowed connection in auto-commit mode.
+     */
+    public <R> R execute(SqlWork<R> work) {
+        PooledConnection connection = borrow();
+        try {
+            return work.run(connection);
+        } catch (SQLException e) {
+            throw new UncheckedSqlException(e.getMessage(), e);
+        } finally {
+            idle.add(connection);
+        }
+    }
+
+    /**
+     * Runs the work in one transaction, committed if it returns and rolled
+     * back if it throws.
+     */
+    public <R> R transaction(SqlWork<R> work) {
+        PooledConnection connection = borrow();
+        Connection jdbc = connection.connection;
+        try {
+            jdbc.setAutoCommit(false);
+            try {
+                R result = work.run(connection);
+                jdbc.commit();
+                return result;
+            } catch (SQLException | RuntimeException e) {
+                jdbc.rollback();
+                throw e;
+            } finally {
+                jdbc.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw new UncheckedSqlException(e.getMessage(), e);
+        } finally {
+            idle.add(connection);
+        }
+    }
+
+    @Override
+    public void close() {
+        for (PooledConnection connection : connections) {
+            try {
+                connection.connection.close();
+            } catch (SQLException e) {
+                // Closing anyway
+            }
+        }
+        connections.clear();
+    }
+
+    private PooledConnection borrow() {
+        try {
+            return idle.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a connection", e);
+        }
+    }
+
+    // Statements of a script, without comment lines
+    private static List<String> statements(String script) {
+        StringBuilder sql = new StringBuilder();
+        for (String line : script.split("\n")) {
+            if (!line.trim().startsWith("--")) {
+                sql.append(line).append('\n');
+            }
+        }
+        List<String> statements = new ArrayList<>();
+        for (String statement : sql.toString().split(";")) {
+            if (!statement.isBlank()) {
+                statements.add(statement.trim());
+            }
+        }
+        return statements;
+    }
+
+    /**
+     * Unit of work run on a borrowed connection.
+     */
+    @FunctionalInterface
+    public interface SqlWork<R> {
+        R run(PooledConnection connection) throws SQLException;
+    }
+
+    /**
+     * A connection with the statements prepared on it.
+     */
+    public static final class PooledConnection {
+        private final Connection connection;
+        private final Map<String, PreparedStatement> statements = new HashMap<>();
+
+        PooledConnection(Connection connection) {
+            this.connection = connection;
+        }
+
+        /**
+         * Returns the statement prepared for the SQL on this connection,
+         * preparing it on first use. Statements stay open; callers set every
+         * parameter and close only their result sets.
+         */
+        public PreparedStatement prepare(String sql) throws SQLException {
+            PreparedStatement statement = statements.get(sql);
+            if (statement == null) {
+                statement = connection.prepareStatement(sql);
+                statements.put(sql, statement);
+            }
+            return statement;
+        }
+    }
+}
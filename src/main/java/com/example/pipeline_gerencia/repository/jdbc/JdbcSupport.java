@@ -0,0 +1,87 @@
+package com.example.pipeline_gerencia.repository.jdbc;
+
+import com.example.pipeline_gerencia.repository.OptimisticLockException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Helpers shared by the JDBC repositories.
+ */
+final class JdbcSupport {
+
+    private JdbcSupport() {
+    }
+
+    /**
+     * Next free id of the table, for repositories that allocate ids
+     * themselves so batches can be inserted without reading keys back.
+     */
+    static AtomicLong nextId(JdbcConnections connections, String table) {
+        return new AtomicLong(connections.execute(connection -> {
+            try (ResultSet rows = connection.prepare("SELECT MAX(id) FROM " + table).executeQuery()) {
+                return rows.next() ? rows.getLong(1) + 1 : 1;
+            }
+        }));
+    }
+
+    /**
+     * Assigns the next id to a new entity, or makes sure later ids skip the
+     * given one, as the in-memory repositories do.
+     */
+    static long assignId(AtomicLong nextId, Long id) {
+        if (id == null) {
+            return nextId.getAndIncrement();
+        }
+        nextId.accumulateAndGet(id + 1, Math::max);
+        return id;
+    }
+
+    /**
+     * Called when an update matched no row: throws if the row exists with
+     * another version, and otherwise lets the update of an unknown id pass.
+     */
+    static void checkVersion(JdbcConnections.PooledConnection connection, String table, String entityType,
+                             Long id, long expected) throws SQLException {
+        PreparedStatement select = connection.prepare("SELECT version FROM " + table + " WHERE id = ?");
+        select.setLong(1, id);
+        try (ResultSet rows = select.executeQuery()) {
+            if (rows.next()) {
+                throw new OptimisticLockException(entityType, id, expected, rows.getLong(1));
+            }
+        }
+    }
+
+    static String key(String text) {
+        return text == null ? null : text.toLowerCase(Locale.ROOT);
+    }
+
+    static void setLong(PreparedStatement statement, int index, Long value) throws SQLException {
+        if (value == null) {
+            statement.setNull(index, Types.BIGINT);
+        } else {
+            statement.setLong(index, value);
+        }
+    }
+
+    static void setTimestamp(PreparedStatement statement, int index, LocalDateTime value) throws SQLException {
+        if (value == null) {
+            statement.setNull(index, Types.TIMESTAMP);
+        } else {
+            statement.setObject(index, value);
+        }
+    }
+
+    static Long getLong(ResultSet rows, String column) throws SQLException {
+        long value = rows.getLong(column);
+        return rows.wasNull() ? null : value;
+    }
+
+    static LocalDateTime getTimestamp(ResultSet rows, String column) throws SQLException {
+        return rows.getObject(column, LocalDateTime.class);
+    }
+}
@@ -0,0 +1,427 @@
+package com.example.pipeline_gerencia.repository.jdbc;
+
+import com.example.pipeline_gerencia.model.EntityLookup;
+import com.example.pipeline_gerencia.model.Priority;
+import com.example.pipeline_gerencia.model.Status;
+import com.example.pipeline_gerencia.model.Task;
+import com.example.pipeline_gerencia.repository.CategoryRepository;
+import com.example.pipeline_gerencia.repository.TaskRepository;
+import com.example.pipeline_gerencia.repository.UserRepository;
+import com.example.pipeline_gerencia.util.DateUtils;
+import com.example.pipeline_gerencia.util.Page;
+import com.example.pipeline_gerencia.util.SearchFilter;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * TaskRepository stored in the {@code tasks} table. Every query, including
+ * searches, runs as one SQL statement served by the indexes of
+ * {@code db/schema.sql}; only keyword matching cannot use an index. Rows keep
+ * the ids of the assignee and category, as tasks do; the assignees and
+ * categories of a query's tasks are attached with one findAllById per
+ * entity type, never one per task.
+ * <p>
+ * Batches are written in one transaction with JDBC batching: new tasks as
+ * inserts, tasks with an id as merges. updateAll checks every version before
+ * any change becomes visible.
+ */
+public class JdbcTaskRepository implements TaskRepository {
+    private static final String COLUMNS = "id, title, description, status, priority, assignee_id, category_id, "
+            + "created_at, due_date, updated_at, completion_percentage, version";
+    private static final String SELECT = "SELECT " + COLUMNS + " FROM tasks";
+    private static final String VALUES = " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT = "INSERT INTO tasks (" + COLUMNS + ")" + VALUES;
+    private static final String MERGE = "MERGE INTO tasks (" + COLUMNS + ") KEY (id)" + VALUES;
+    private static final String UPDATE = "UPDATE tasks SET title = ?, description = ?, status = ?, priority = ?, "
+            + "assignee_id = ?, category_id = ?, created_at = ?, due_date = ?, updated_at = ?, "
+            + "completion_percentage = ?, version = ? WHERE id = ? AND version = ?";
+    private static final String DELETE = "DELETE FROM tasks WHERE id = ?";
+    private static final String NOT_COMPLETED = "status <> '" + Status.COMPLETED.name() + "'";
+
+    private final JdbcConnections connections;
+    private final UserRepository users;
+    private final CategoryRepository categories;
+    private final AtomicLong nextId;
+    private final Clock clock;
+
+    public JdbcTaskRepository(JdbcConnections connections, UserRepository users, CategoryRepository categories) {
+        this(connections, users, categories, DateUtils.getClock());
+    }
+
+    public JdbcTaskRepository(JdbcConnections connections, UserRepository users, CategoryRepository categories,
+                              Clock clock) {
+        this.connections = connections;
+        this.clock = clock;
+        this.users = users;
+        this.categories = categories;
+        nextId = JdbcSupport.nextId(connections, "tasks");
+    }
+
+    @Override
+    public Task save(Task task) {
+        boolean isNew = task.getId() == null;
+        task.setId(JdbcSupport.assignId(nextId, task.getId()));
+        if (task.getCreatedAt() == null) {
+            task.setCreatedAt(DateUtils.now(clock));
+        }
+        connections.execute(connection -> {
+            PreparedStatement statement = connection.prepare(isNew ? INSERT : MERGE);
+            bindRow(statement, task);
+            return statement.executeUpdate();
+        });
+        return task;
+    }
+
+    @Override
+    public List<Task> saveAll(Collection<Task> tasks) {
+        List<Task> saved = new ArrayList<>(tasks);
+        LocalDateTime now = DateUtils.now(clock);
+        for (Task task : saved) {
+            if (task.getCreatedAt() == null) {
+                task.setCreatedAt(now);
+            }
+        }
+        connections.transaction(connection -> {
+            PreparedStatement insert = connection.prepare(INSERT);
+            PreparedStatement merge = connection.prepare(MERGE);
+            insert.clearBatch();
+            merge.clearBatch();
+            for (Task task : saved) {
+                PreparedStatement statement = task.getId() == null ? insert : merge;
+                task.setId(JdbcSupport.assignId(nextId, task.getId()));
+                bindRow(statement, task);
+                statement.addBatch();
+            }
+            insert.executeBatch();
+            merge.executeBatch();
+            return null;
+        });
+        return saved;
+    }
+
+    @Override
+    public Optional<Task> findById(Long id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        List<Task> tasks = query(SELECT + " WHERE id = ?", id);
+        return tasks.isEmpty() ? Optional.empty() : Optional.of(tasks.get(0));
+    }
+
+    @Override
+    public List<Task> findAll() {
+        return query(SELECT + " ORDER BY id");
+    }
+
+    @Override
+    public List<Task> findByStatus(Status status) {
+        return query(SELECT + " WHERE status = ? ORDER BY id", name(status));
+    }
+
+    @Override
+    public List<Task> findByPriority(Priority priority) {
+        return query(SELECT + " WHERE priority = ? ORDER BY id", name(priority));
+    }
+
+    @Override
+    public List<Task> findByAssigneeId(Long userId) {
+        if (userId == null) {
+            return new ArrayList<>();
+        }
+        return query(SELECT + " WHERE assignee_id = ? ORDER BY id", userId);
+    }
+
+    @Override
+    public List<Task> findByCategoryId(Long categoryId) {
+        if (categoryId == null) {
+            return new ArrayList<>();
+        }
+        return query(SELECT + " WHERE category_id = ? ORDER BY id", categoryId);
+    }
+
+    @Override
+    public List<Task> findOverdueTasks() {
+        return query(SELECT + " WHERE due_date < ? AND " + NOT_COMPLETED + " ORDER BY due_date, id",
+                DateUtils.now(clock));
+    }
+
+    @Override
+    public List<Task> findByDueDateBetween(LocalDateTime start, LocalDateTime end) {
+        if (start.isAfter(end)) {
+            return new ArrayList<>();
+        }
+        return query(SELECT + " WHERE due_date BETWEEN ? AND ? ORDER BY due_date, id", start, end);
+    }
+
+    @Override
+    public List<Task> findNextDue(LocalDateTime from, int limit) {
+        return query(SELECT + " WHERE due_date >= ? ORDER BY due_date, id FETCH FIRST ? ROWS ONLY", from, limit);
+    }
+
+    @Override
+    public List<Task> search(SearchFilter filter) {
+        Where where = where(filter);
+        return query(SELECT + where.sql + " ORDER BY id", where.parameters.toArray());
+    }
+
+    @Override
+    public Page<Task> search(SearchFilter filter, String cursor, int limit) {
+        Where where = where(filter);
+        Long after = Page.decodeCursor(cursor);
+        if (after != null) {
+            where.and("id > ?", after);
+        }
+        where.parameters.add(limit + 1);
+        List<Task> matches = query(SELECT + where.sql + " ORDER BY id FETCH FIRST ? ROWS ONLY",
+                where.parameters.toArray());
+        if (matches.size() <= limit) {
+            return new Page<>(matches, null);
+        }
+        List<Task> items = matches.subList(0, limit);
+        return new Page<>(items, Page.encodeCursor(items.get(limit - 1).getId()));
+    }
+
+    @Override
+    public long count() {
+        return scalar("SELECT COUNT(*) FROM tasks");
+    }
+
+    @Override
+    public long countByStatus(Status status) {
+        return scalar("SELECT COUNT(*) FROM tasks WHERE status = ?", name(status));
+    }
+
+    @Override
+    public long sumCompletionPercentage() {
+        return scalar("SELECT COALESCE(SUM(completion_percentage), 0) FROM tasks");
+    }
+
+    @Override
+    public void update(Task task) {
+        if (task.getId() == null) {
+            return;
+        }
+        task.setUpdatedAt(DateUtils.now(clock));
+        boolean updated = connections.execute(connection -> {
+            PreparedStatement update = connection.prepare(UPDATE);
+            bindUpdate(update, task);
+            if (update.executeUpdate() == 0) {
+                JdbcSupport.checkVersion(connection, "tasks", "Task", task.getId(), task.getVersion());
+                return false;
+            }
+            return true;
+        });
+        if (updated) {
+            task.setVersion(task.getVersion() + 1);
+        }
+    }
+
+    @Override
+    public void updateAll(Collection<Task> tasks) {
+        List<Task> batch = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            if (task.getId() != null) {
+                batch.add(task);
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = DateUtils.now(clock);
+        for (Task task : batch) {
+            task.setUpdatedAt(now);
+        }
+        int[] counts = connections.transaction(connection -> {
+            PreparedStatement update = connection.prepare(UPDATE);
+            update.clearBatch();
+            for (Task task : batch) {
+                bindUpdate(update, task);
+                update.addBatch();
+            }
+            int[] updated = update.executeBatch();
+            for (int i = 0; i < updated.length; i++) {
+                if (updated[i] == 0) {
+                    // Rolls the whole batch back if the task exists
+                    Task task = batch.get(i);
+                    JdbcSupport.checkVersion(connection, "tasks", "Task", task.getId(), task.getVersion());
+                }
+            }
+            return updated;
+        });
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                batch.get(i).setVersion(batch.get(i).getVersion() + 1);
+            }
+        }
+    }
+
+    @Override
+    public boolean delete(Long id) {
+        if (id == null) {
+            return false;
+        }
+        return connections.execute(connection -> {
+            PreparedStatement delete = connection.prepare(DELETE);
+            delete.setLong(1, id);
+            return delete.executeUpdate() > 0;
+        });
+    }
+
+    @Override
+    public List<Long> deleteAll(Collection<Long> ids) {
+        List<Long> batch = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            if (id != null) {
+                batch.add(id);
+            }
+        }
+        if (batch.isEmpty()) {
+            return batch;
+        }
+        int[] counts = connections.transaction(connection -> {
+            PreparedStatement delete = connection.prepare(DELETE);
+            delete.clearBatch();
+            for (Long id : batch) {
+                delete.setLong(1, id);
+                delete.addBatch();
+            }
+            return delete.executeBatch();
+        });
+        List<Long> deleted = new ArrayList<>(batch.size());
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                deleted.add(batch.get(i));
+            }
+        }
+        return deleted;
+    }
+
+    // Columns in COLUMNS order
+    private static void bindRow(PreparedStatement statement, Task task) throws SQLException {
+        statement.setLong(1, task.getId());
+        bindFields(statement, 2, task);
+        statement.setLong(12, task.getVersion());
+    }
+
+    private static void bindUpdate(PreparedStatement statement, Task task) throws SQLException {
+        bindFields(statement, 1, task);
+        statement.setLong(11, task.getVersion() + 1);
+        statement.setLong(12, task.getId());
+        statement.setLong(13, task.getVersion());
+    }
+
+    // Every column between id and version, starting at the given index
+    private static void bindFields(PreparedStatement statement, int index, Task task) throws SQLException {
+        statement.setString(index, task.getTitle());
+        statement.setString(index + 1, task.getDescription());
+        statement.setString(index + 2, name(task.getStatus()));
+        statement.setString(index + 3, name(task.getPriority()));
+        JdbcSupport.setLong(statement, index + 4, task.getAssigneeId());
+        JdbcSupport.setLong(statement, index + 5, task.getCategoryId());
+        JdbcSupport.setTimestamp(statement, index + 6, task.getCreatedAt());
+        JdbcSupport.setTimestamp(statement, index + 7, task.getDueDate());
+        JdbcSupport.setTimestamp(statement, index + 8, task.getUpdatedAt());
+        statement.setInt(index + 9, task.getCompletionPercentage());
+    }
+
+    private static String name(Enum<?> value) {
+        return value == null ? null : value.name();
+    }
+
+    private Where where(SearchFilter filter) {
+        Where where = new Where();
+        if (filter.getStatus() != null) {
+            where.and("status = ?", filter.getStatus().name());
+        }
+        if (filter.getPriority() != null) {
+            where.and("priority = ?", filter.getPriority().name());
+        }
+        if (filter.getAssigneeId() != null) {
+            where.and("assignee_id = ?", filter.getAssigneeId());
+        }
+        if (filter.getCategoryId() != null) {
+            where.and("category_id = ?", filter.getCategoryId());
+        }
+        if (filter.isShowOverdueOnly()) {
+            where.and("due_date < ? AND " + NOT_COMPLETED, DateUtils.now(clock));
+        }
+        if (filter.hasKeyword()) {
+            String pattern = "%" + escapeLike(filter.getKeyword().toLowerCase()) + "%";
+            where.and("(LOWER(title) LIKE ? ESCAPE '\\' OR LOWER(description) LIKE ? ESCAPE '\\')", pattern, pattern);
+        }
+        return where;
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private long scalar(String sql, Object... parameters) {
+        return connections.execute(connection -> {
+            PreparedStatement select = connection.prepare(sql);
+            for (int i = 0; i < parameters.length; i++) {
+                select.setObject(i + 1, parameters[i]);
+            }
+            try (ResultSet rows = select.executeQuery()) {
+                rows.next();
+                return rows.getLong(1);
+            }
+        });
+    }
+
+    private List<Task> query(String sql, Object... parameters) {
+        List<Task> tasks = connections.execute(connection -> {
+            PreparedStatement select = connection.prepare(sql);
+            for (int i = 0; i < parameters.length; i++) {
+                select.setObject(i + 1, parameters[i]);
+            }
+            List<Task> result = new ArrayList<>();
+            try (ResultSet resultSet = select.executeQuery()) {
+                while (resultSet.next()) {
+                    result.add(map(resultSet));
+                }
+            }
+            return result;
+        });
+        // Hydrated after the connection is returned, since the user and
+        // category repositories may need one from the same pool
+        EntityLookup.hydrate(tasks, users::findAllById, categories::findAllById);
+        return tasks;
+    }
+
+    private static Task map(ResultSet rows) throws SQLException {
+        Task task = new Task();
+        task.setId(rows.getLong("id"));
+        task.setTitle(rows.getString("title"));
+        task.setDescription(rows.getString("description"));
+        task.setStatus(Status.valueOf(rows.getString("status")));
+        task.setPriority(Priority.valueOf(rows.getString("priority")));
+        task.setCreatedAt(JdbcSupport.getTimestamp(rows, "created_at"));
+        task.setDueDate(JdbcSupport.getTimestamp(rows, "due_date"));
+        task.setUpdatedAt(JdbcSupport.getTimestamp(rows, "updated_at"));
+        task.setCompletionPercentage(rows.getInt("completion_percentage"));
+        task.setAssigneeId(JdbcSupport.getLong(rows, "assignee_id"));
+        task.setCategoryId(JdbcSupport.getLong(rows, "category_id"));
+        task.setVersion(rows.getLong("version"));
+        return task;
+    }
+
+    // WHERE clause built from a filter, with its parameters in order
+    private static final class Where {
+        final StringBuilder sql = new StringBuilder();
+        final List<Object> parameters = new ArrayList<>();
+
+        void and(String condition, Object... values) {
+            sql.append(sql.length() == 0 ? " WHERE " : " AND ").append(condition);
+            parameters.addAll(List.of(values));
+        }
+    }
+}
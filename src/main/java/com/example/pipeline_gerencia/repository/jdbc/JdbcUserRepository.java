@@ -0,0 +1,161 @@
+package com.example.pipeline_gerencia.repository.jdbc;
+
+import com.example.pipeline_gerencia.model.User;
+import com.example.pipeline_gerencia.repository.UserRepository;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * UserRepository stored in the {@code users} table. Email and department
+ * lookups ignore case through indexed lower-cased columns. Every read
+ * returns new instances, so unlike the in-memory repository, changing a
+ * user only takes effect through update().
+ */
+public class JdbcUserRepository implements UserRepository {
+    private static final String COLUMNS = "id, name, email, department, active, version, email_key, department_key";
+    private static final String SELECT = "SELECT " + COLUMNS + " FROM users";
+    private static final String MERGE = "MERGE INTO users (" + COLUMNS + ") KEY (id) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE = "UPDATE users SET name = ?, email = ?, department = ?, active = ?, "
+            + "version = ?, email_key = ?, department_key = ? WHERE id = ? AND version = ?";
+
+    private final JdbcConnections connections;
+    private final AtomicLong nextId;
+
+    public JdbcUserRepository(JdbcConnections connections) {
+        this.connections = connections;
+        nextId = JdbcSupport.nextId(connections, "users");
+    }
+
+    @Override
+    public User save(User user) {
+        user.setId(JdbcSupport.assignId(nextId, user.getId()));
+        connections.execute(connection -> {
+            PreparedStatement merge = connection.prepare(MERGE);
+            merge.setLong(1, user.getId());
+            merge.setString(2, user.getName());
+            merge.setString(3, user.getEmail());
+            merge.setString(4, user.getDepartment());
+            merge.setBoolean(5, user.isActive());
+            merge.setLong(6, user.getVersion());
+            merge.setString(7, JdbcSupport.key(user.getEmail()));
+            merge.setString(8, JdbcSupport.key(user.getDepartment()));
+            return merge.executeUpdate();
+        });
+        return user;
+    }
+
+    @Override
+    public Optional<User> findById(Long id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        return first(SELECT + " WHERE id = ?", id);
+    }
+
+    // One statement whatever the number of ids, so it is prepared once per connection
+    @Override
+    public List<User> findAllById(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return query(SELECT + " WHERE id = ANY(?)", (Object) ids.toArray(new Long[0]));
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        return first(SELECT + " WHERE email_key = ? ORDER BY id FETCH FIRST ROW ONLY", JdbcSupport.key(email));
+    }
+
+    @Override
+    public List<User> findAll() {
+        return query(SELECT + " ORDER BY id");
+    }
+
+    @Override
+    public List<User> findByDepartment(String department) {
+        return query(SELECT + " WHERE department_key = ? ORDER BY id", JdbcSupport.key(department));
+    }
+
+    @Override
+    public List<User> findActiveUsers() {
+        return query(SELECT + " WHERE active = TRUE ORDER BY id");
+    }
+
+    @Override
+    public void update(User user) {
+        if (user.getId() == null) {
+            return;
+        }
+        connections.execute(connection -> {
+            PreparedStatement update = connection.prepare(UPDATE);
+            update.setString(1, user.getName());
+            update.setString(2, user.getEmail());
+            update.setString(3, user.getDepartment());
+            update.setBoolean(4, user.isActive());
+            update.setLong(5, user.getVersion() + 1);
+            update.setString(6, JdbcSupport.key(user.getEmail()));
+            update.setString(7, JdbcSupport.key(user.getDepartment()));
+            update.setLong(8, user.getId());
+            update.setLong(9, user.getVersion());
+            if (update.executeUpdate() == 0) {
+                JdbcSupport.checkVersion(connection, "users", "User", user.getId(), user.getVersion());
+                return null;
+            }
+            user.setVersion(user.getVersion() + 1);
+            return null;
+        });
+    }
+
+    @Override
+    public boolean delete(Long id) {
+        if (id == null) {
+            return false;
+        }
+        return connections.execute(connection -> {
+            PreparedStatement delete = connection.prepare("DELETE FROM users WHERE id = ?");
+            delete.setLong(1, id);
+            return delete.executeUpdate() > 0;
+        });
+    }
+
+    private Optional<User> first(String sql, Object parameter) {
+        List<User> users = query(sql, parameter);
+        return users.isEmpty() ? Optional.empty() : Optional.of(users.get(0));
+    }
+
+    private List<User> query(String sql, Object... parameters) {
+        return connections.execute(connection -> {
+            PreparedStatement select = connection.prepare(sql);
+            for (int i = 0; i < parameters.length; i++) {
+                select.setObject(i + 1, parameters[i]);
+            }
+            List<User> users = new ArrayList<>();
+            try (ResultSet rows = select.executeQuery()) {
+                while (rows.next()) {
+                    users.add(map(rows));
+                }
+            }
+            return users;
+        });
+    }
+
+    private static User map(ResultSet rows) throws SQLException {
+        User user = new User();
+        user.setId(rows.getLong("id"));
+        user.setName(rows.getString("name"));
+        user.setEmail(rows.getString("email"));
+        user.setDepartment(rows.getString("department"));
+        user.setActive(rows.getBoolean("active"));
+        user.setVersion(rows.getLong("version"));
+        return user;
+    }
+}
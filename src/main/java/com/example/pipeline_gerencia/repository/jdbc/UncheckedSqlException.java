@@ -0,0 +1,19 @@
+package com.example.pipeline_gerencia.repository.jdbc;
+
+import java.sql.SQLException;
+
+/**
+ * Wraps a SQLException thrown behind the repository interfaces, like
+ * UncheckedIOException does for I/O errors.
+ */
+public class UncheckedSqlException extends RuntimeException {
+
+    public UncheckedSqlException(String message, SQLException cause) {
+        super(message, cause);
+    }
+
+    @Override
+    public synchronized SQLException getCause() {
+        return (SQLException) super.getCause();
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.pipeline_gerencia.service;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Thrown when one or more items of a batch fail validation. Nothing from
+ * the batch is written; {@link #getErrors()} maps each failing position in
+ * the batch to its validation message.
+ */
+public class BatchValidationException extends IllegalArgumentException {
+    private static final int MAX_LISTED = 10;
+
+    private final SortedMap<Integer, String> errors;
+
+    public BatchValidationException(Map<Integer, String> errors) {
+        super(describe(errors));
+        this.errors = Collections.unmodifiableSortedMap(new TreeMap<>(errors));
+    }
+
+    public SortedMap<Integer, String> getErrors() {
+        return errors;
+    }
+
+    private static String describe(Map<Integer, String> errors) {
+        StringBuilder message = new StringBuilder()
+                .append(errors.size()).append(errors.size() == 1 ? " item is invalid" : " items are invalid");
+        int listed = 0;
+        for (Map.Entry<Integer, String> error : new TreeMap<>(errors).entrySet()) {
+            if (listed++ == MAX_LISTED) {
+                message.append("; ...");
+                break;
+            }
+            message.append(listed == 1 ? ": " : "; ").append('[').append(error.getKey()).append("] ").append(error.getValue());
+        }
+        return message.toString();
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.pipeline_gerencia.service;
+
+import com.example.pipeline_gerencia.repository.OptimisticLockException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Re-runs a read-modify-write that lost a race with another writer. Each
+ * attempt must re-read what it changes, so it starts from the stored
+ * versions. Between attempts the thread backs off for a random,
+ * exponentially growing delay, so contending writers spread out instead of
+ * colliding again.
+ */
+public final class OptimisticRetry {
+    public static final int DEFAULT_ATTEMPTS = 10;
+    private static final long BASE_BACKOFF_NANOS = 1_000;
+    private static final long MAX_BACKOFF_NANOS = 1_000_000;
+
+    private OptimisticRetry() {
+    }
+
+    public static <T> T run(Supplier<T> attempt) {
+        return run(DEFAULT_ATTEMPTS, attempt);
+    }
+
+    /**
+     * Runs the attempt until it completes without a version conflict, at most
+     * {@code maxAttempts} times; the last conflict is rethrown. Other
+     * exceptions are not retried.
+     */
+    public static <T> T run(int maxAttempts, Supplier<T> attempt) {
+        if (maxAttempts <= 0) {
+            throw new IllegalArgumentException("Attempts must be positive");
+        }
+        for (int i = 1; ; i++) {
+            try {
+                return attempt.get();
+            } catch (OptimisticLockException e) {
+                if (i == maxAttempts) {
+                    throw e;
+                }
+                backOff(i);
+            }
+        }
+    }
+
+    private static void backOff(int attempt) {
+        long ceiling = Math.min(MAX_BACKOFF_NANOS, BASE_BACKOFF_NANOS << Math.min(attempt, 20));
+        LockSupport.parkNanos(1 + ThreadLocalRandom.current().nextLong(ceiling));
+    }
+}
@@ -1,122 +1,211 @@
 package com.example.pipeline_gerencia.service;
 
+import com.example.pipeline_gerencia.model.EntityLookup;
 import com.example.pipeline_gerencia.model.Task;
 import com.example.pipeline_gerencia.model.Status;
 import com.example.pipeline_gerencia.model.Priority;
+import com.example.pipeline_gerencia.repository.OptimisticLockException;
 import com.example.pipeline_gerencia.repository.TaskRepository;
+import com.example.pipeline_gerencia.util.DateUtils;
+import com.example.pipeline_gerencia.util.Page;
 import com.example.pipeline_gerencia.util.SearchFilter;
 import com.example.pipeline_gerencia.util.TaskValidator;
+import java.time.Clock;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
- * Service class for task management business logic
+ * Service class for task management business logic.
+ * With an EntityLookup, the single tasks and pages it returns have their
+ * assignee and category attached, one batch load per call at most; lists
+ * and streams carry the ids, and callers attach them with hydrate().
  */
 public class TaskService {
+    public static final int MAX_PAGE_SIZE = 500;
+
     private final TaskRepository taskRepository;
+    private final Clock clock;
+    private final EntityLookup lookup;
 
     public TaskService(TaskRepository taskRepository) {
+        this(taskRepository, DateUtils.getClock());
+    }
+
+    /**
+     * A service that reads the time for due-date queries from the given
+     * clock, normally the one its repository was given.
+     */
+    public TaskService(TaskRepository taskRepository, Clock clock) {
+        this(taskRepository, clock, null);
+    }
+
+    /**
+     * Like {@link #TaskService(TaskRepository, Clock)}, attaching assignees
+     * and categories through the lookup over the same repositories, if any.
+     */
+    public TaskService(TaskRepository taskRepository, Clock clock, EntityLookup lookup) {
         this.taskRepository = taskRepository;
+        this.clock = clock;
+        this.lookup = lookup;
     }
 
-    public Task createTask(Task task) {
-        String validationError = TaskValidator.getValidationError(task);
-        if (validationError != null) {
-            throw new IllegalArgumentException(validationError);
+    /**
+     * Attaches the assignees and categories of the tasks in one batch, if
+     * the service has a lookup. Returns the same collection.
+     */
+    public <C extends Collection<Task>> C hydrate(C tasks) {
+        if (lookup != null && !tasks.isEmpty()) {
+            lookup.hydrate(tasks);
         }
-        return taskRepository.save(task);
+        return tasks;
+    }
+
+    public Task createTask(Task task) {
+        validate(task);
+        return hydrated(taskRepository.save(task));
+    }
+
+    /**
+     * Validates the whole batch before saving any of it; if some tasks are
+     * invalid nothing is saved and the errors are reported per position.
+     */
+    public List<Task> createTasks(List<Task> tasks) {
+        validateAll(tasks);
+        return hydrate(taskRepository.saveAll(tasks));
     }
 
     public Optional<Task> getTaskById(Long id) {
-        return taskRepository.findById(id);
+        return taskRepository.findById(id).map(this::hydrated);
     }
 
     public List<Task> getAllTasks() {
         return taskRepository.findAll();
     }
 
-    public List<Task> searchTasks(SearchFilter filter) {
-        List<Task> results = taskRepository.findAll();
-
-        if (filter.getKeyword() != null && !filter.getKeyword().isEmpty()) {
-            String keyword = filter.getKeyword().toLowerCase();
-            results = results.stream()
-                    .filter(t -> t.getTitle().toLowerCase().contains(keyword) ||
-                               t.getDescription() != null && t.getDescription().toLowerCase().contains(keyword))
-                    .collect(Collectors.toList());
-        }
-
-        if (filter.getStatus() != null) {
-            results = results.stream()
-                    .filter(t -> t.getStatus() == filter.getStatus())
-                    .collect(Collectors.toList());
-        }
-
-        if (filter.getPriority() != null) {
-            results = results.stream()
-                    .filter(t -> t.getPriority() == filter.getPriority())
-                    .collect(Collectors.toList());
-        }
-
-        if (filter.getAssigneeId() != null) {
-            results = results.stream()
-                    .filter(t -> t.getAssignee() != null && t.getAssignee().getId().equals(filter.getAssigneeId()))
-                    .collect(Collectors.toList());
-        }
+    public Page<Task> getTasks(String cursor, int pageSize) {
+        return searchTasks(new SearchFilter(), cursor, pageSize);
+    }
 
-        if (filter.getCategoryId() != null) {
-            results = results.stream()
-                    .filter(t -> t.getCategory() != null && t.getCategory().getId().equals(filter.getCategoryId()))
-                    .collect(Collectors.toList());
-        }
+    public List<Task> searchTasks(SearchFilter filter) {
+        return taskRepository.search(filter);
+    }
 
-        if (filter.isShowOverdueOnly()) {
-            results = results.stream()
-                    .filter(Task::isOverdue)
-                    .collect(Collectors.toList());
+    /**
+     * One page of matching tasks, with the page's assignees and categories
+     * attached in one batch, ready for serialization.
+     */
+    public Page<Task> searchTasks(SearchFilter filter, String cursor, int pageSize) {
+        if (pageSize <= 0 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
         }
+        Page<Task> page = taskRepository.search(filter, cursor, pageSize);
+        hydrate(page.getItems());
+        return page;
+    }
 
-        return results;
+    public Stream<Task> streamTasks(SearchFilter filter) {
+        return taskRepository.stream(filter);
     }
 
+    /**
+     * Stores a changed task. The task must carry the version it was read at.
+     *
+     * @throws OptimisticLockException if the task was updated since then
+     */
     public Task updateTask(Task task) {
-        String validationError = TaskValidator.getValidationError(task);
-        if (validationError != null) {
-            throw new IllegalArgumentException(validationError);
-        }
+        validate(task);
         taskRepository.update(task);
-        return task;
+        return hydrated(task);
+    }
+
+    /**
+     * Applies the change to a copy of the current task and stores it. When
+     * another writer updated the task first, the task is re-read and the
+     * change applied again, so the change must not depend on earlier reads.
+     */
+    public Task updateTask(Long taskId, Consumer<Task> change) {
+        return modify(taskId, task -> {
+            change.accept(task);
+            validate(task);
+        });
+    }
+
+    public List<Task> updateTasks(List<Task> tasks) {
+        validateAll(tasks);
+        taskRepository.updateAll(tasks);
+        return tasks;
     }
 
     public void deleteTask(Long id) {
         taskRepository.delete(id);
     }
 
+    public void deleteTasks(Collection<Long> ids) {
+        taskRepository.deleteAll(ids);
+    }
+
     public Task updateStatus(Long taskId, Status newStatus) {
-        Optional<Task> optTask = taskRepository.findById(taskId);
-        if (optTask.isPresent()) {
-            Task task = optTask.get();
+        return modify(taskId, task -> {
             task.setStatus(newStatus);
             if (newStatus == Status.COMPLETED) {
                 task.setCompletionPercentage(100);
             }
-            taskRepository.update(task);
-            return task;
-        }
-        throw new IllegalArgumentException("Task not found: " + taskId);
+        });
     }
 
     public Task updatePriority(Long taskId, Priority newPriority) {
-        Optional<Task> optTask = taskRepository.findById(taskId);
-        if (optTask.isPresent()) {
-            Task task = optTask.get();
-            task.setPriority(newPriority);
-            taskRepository.update(task);
-            return task;
-        }
-        throw new IllegalArgumentException("Task not found: " + taskId);
+        return modify(taskId, task -> task.setPriority(newPriority));
+    }
+
+    /**
+     * Moves every task matching the filter to the given status in one batch
+     * and returns the number of tasks changed. Tasks already in that state
+     * are left untouched. A version conflict re-runs the search and the batch.
+     */
+    public int updateStatusWhere(SearchFilter filter, Status newStatus) {
+        return OptimisticRetry.run(() -> {
+            List<Task> changed = new ArrayList<>();
+            for (Task task : taskRepository.search(filter)) {
+                boolean completes = newStatus == Status.COMPLETED;
+                if (task.getStatus() == newStatus && (!completes || task.getCompletionPercentage() == 100)) {
+                    continue;
+                }
+                Task copy = new Task(task);
+                copy.setStatus(newStatus);
+                if (completes) {
+                    copy.setCompletionPercentage(100);
+                }
+                changed.add(copy);
+            }
+            taskRepository.updateAll(changed);
+            return changed.size();
+        });
+    }
+
+    /**
+     * Sets the priority of every task matching the filter in one batch and
+     * returns the number of tasks changed.
+     */
+    public int updatePriorityWhere(SearchFilter filter, Priority newPriority) {
+        return OptimisticRetry.run(() -> {
+            List<Task> changed = new ArrayList<>();
+            for (Task task : taskRepository.search(filter)) {
+                if (task.getPriority() != newPriority) {
+                    Task copy = new Task(task);
+                    copy.setPriority(newPriority);
+                    changed.add(copy);
+                }
+            }
+            taskRepository.updateAll(changed);
+            return changed.size();
+        });
     }
 
     public List<Task> getTasksByStatus(Status status) {
@@ -132,30 +221,75 @@ public class TaskService {
     }
 
     public List<Task> getTasksDueInNextDays(int days) {
-        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime now = DateUtils.now(clock);
         LocalDateTime endDate = now.plusDays(days);
         return taskRepository.findByDueDateBetween(now, endDate);
     }
 
-    public int getCompletionRate() {
-        List<Task> allTasks = taskRepository.findAll();
-        if (allTasks.isEmpty()) {
-            return 0;
+    public List<Task> getNextDueTasks(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive");
         }
-        long completedCount = allTasks.stream()
-                .filter(t -> t.getStatus() == Status.COMPLETED)
-                .count();
-        return (int) ((completedCount * 100) / allTasks.size());
+        return taskRepository.findNextDue(DateUtils.now(clock), limit);
+    }
+
+    /**
+     * Counts are read from one consistent state, so the rate stays within
+     * 0-100 while tasks are being written.
+     */
+    public int getCompletionRate() {
+        return taskRepository.readConsistent(repository -> {
+            long total = repository.count();
+            if (total == 0) {
+                return 0;
+            }
+            return (int) ((repository.countByStatus(Status.COMPLETED) * 100) / total);
+        });
     }
 
     public int getAverageCompletionPercentage() {
-        List<Task> allTasks = taskRepository.findAll();
-        if (allTasks.isEmpty()) {
-            return 0;
+        return taskRepository.readConsistent(repository -> {
+            long total = repository.count();
+            if (total == 0) {
+                return 0;
+            }
+            return (int) (repository.sumCompletionPercentage() / total);
+        });
+    }
+
+    // Read-modify-write on a copy, retried on version conflicts
+    private Task modify(Long taskId, Consumer<Task> change) {
+        return OptimisticRetry.run(() -> {
+            Task task = new Task(taskRepository.findById(taskId)
+                    .orElseThrow(() -> new IllegalArgumentException("Task not found: " + taskId)));
+            change.accept(task);
+            taskRepository.update(task);
+            return hydrated(task);
+        });
+    }
+
+    private Task hydrated(Task task) {
+        hydrate(List.of(task));
+        return task;
+    }
+
+    private static void validate(Task task) {
+        String validationError = TaskValidator.getValidationError(task);
+        if (validationError != null) {
+            throw new IllegalArgumentException(validationError);
+        }
+    }
+
+    private static void validateAll(List<Task> tasks) {
+        Map<Integer, String> errors = new HashMap<>();
+        for (int i = 0; i < tasks.size(); i++) {
+            String validationError = TaskValidator.getValidationError(tasks.get(i));
+            if (validationError != null) {
+                errors.put(i, validationError);
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw new BatchValidationException(errors);
         }
-        return (int) allTasks.stream()
-                .mapToInt(Task::getCompletionPercentage)
-                .average()
-                .orElse(0);
     }
 }
@@ -1,9 +1,11 @@
 package com.example.pipeline_gerencia.service;
 
 import com.example.pipeline_gerencia.model.User;
+import com.example.pipeline_gerencia.repository.OptimisticLockException;
 import com.example.pipeline_gerencia.repository.UserRepository;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Service class for user management
@@ -49,24 +51,80 @@ public class UserService {
         return userRepository.findByDepartment(department);
     }
 
+    /**
+     * Stores a changed user. The user must carry the version it was read at.
+     *
+     * @throws OptimisticLockException if the user was updated since then
+     * @throws IllegalArgumentException if another user has the new email
+     */
     public User updateUser(User user) {
         if (user.getId() == null) {
             throw new IllegalArgumentException("User ID cannot be null");
         }
+        checkEmailFree(user);
         userRepository.update(user);
         return user;
     }
 
-    public void deactivateUser(Long userId) {
-        Optional<User> optUser = userRepository.findById(userId);
-        if (optUser.isPresent()) {
-            User user = optUser.get();
-            user.setActive(false);
+    /**
+     * Applies the change to a copy of the current user and stores it. When
+     * {@code expectedVersion} is given and the user has moved past it,
+     * nothing is changed. Otherwise a conflict with another writer re-reads
+     * the user and applies the change again, so the change must not depend
+     * on earlier reads.
+     *
+     * @throws OptimisticLockException if the user is not at the expected version
+     * @throws IllegalArgumentException if the change gives the user another user's email
+     */
+    public User updateUser(Long userId, Long expectedVersion, Consumer<User> change) {
+        if (expectedVersion != null) {
+            // The caller's read is the one being checked, so it is not retried
+            User user = copyOf(userId);
+            if (expectedVersion != user.getVersion()) {
+                throw new OptimisticLockException("User", userId, expectedVersion, user.getVersion());
+            }
+            change.accept(user);
+            checkEmailFree(user);
             userRepository.update(user);
+            return user;
+        }
+        return modify(userId, change);
+    }
+
+    public void deactivateUser(Long userId) {
+        if (userRepository.findById(userId).isPresent()) {
+            modify(userId, user -> user.setActive(false));
         }
     }
 
     public void deleteUser(Long userId) {
         userRepository.delete(userId);
     }
+
+    // Read-modify-write on a copy, retried on version conflicts
+    private User modify(Long userId, Consumer<User> change) {
+        return OptimisticRetry.run(() -> {
+            User user = copyOf(userId);
+            change.accept(user);
+            checkEmailFree(user);
+            userRepository.update(user);
+            return user;
+        });
+    }
+
+    // Emails are unique; the repository's email index resolves to one user
+    private void checkEmailFree(User user) {
+        if (user.getEmail() != null) {
+            userRepository.findByEmail(user.getEmail())
+                    .filter(owner -> !owner.getId().equals(user.getId()))
+                    .ifPresent(owner -> {
+                        throw new IllegalArgumentException("Email already exists: " + user.getEmail());
+                    });
+        }
+    }
+
+    private User copyOf(Long userId) {
+        return new User(userRepository.findById(userId)
+                .orElseThrow(() -> new IllegalArgumentException("User not found: " + userId)));
+    }
 }
@@ -0,0 +1,102 @@
+package com.example.pipeline_gerencia.util;
+
+import java.io.Closeable;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Clock that reads its source only on {@link #refresh()} and serves the
+ * cached reading in between, so hot loops get the time as one volatile read
+ * with no time-zone lookup or allocation. {@link #ticking} refreshes it from
+ * a daemon thread at a fixed resolution; a clock nobody refreshes stays put,
+ * which makes timing-dependent tests deterministic. After close() the clock
+ * stops caching and reads the source on every call.
+ */
+public final class CachedClock extends Clock implements Closeable {
+    private final Clock source;
+    private volatile Reading reading;
+    private volatile boolean closed;
+    private ScheduledExecutorService ticker;
+
+    public CachedClock(Clock source) {
+        if (source == null) {
+            throw new IllegalArgumentException("Source clock is required");
+        }
+        this.source = source;
+        refresh();
+    }
+
+    /**
+     * A cached clock refreshed from {@code source} every {@code resolution}.
+     */
+    public static CachedClock ticking(Clock source, long resolution, TimeUnit unit) {
+        if (resolution <= 0) {
+            throw new IllegalArgumentException("Resolution must be positive");
+        }
+        CachedClock clock = new CachedClock(source);
+        clock.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cached-clock");
+            thread.setDaemon(true);
+            return thread;
+        });
+        clock.ticker.scheduleAtFixedRate(clock::refresh, resolution, resolution, unit);
+        return clock;
+    }
+
+    /**
+     * Reads the source clock and caches the reading.
+     */
+    public void refresh() {
+        Instant instant = source.instant();
+        reading = new Reading(instant, LocalDateTime.ofInstant(instant, source.getZone()));
+    }
+
+    /**
+     * The cached local date-time, in the source's zone.
+     */
+    public LocalDateTime now() {
+        return closed ? LocalDateTime.now(source) : reading.dateTime();
+    }
+
+    @Override
+    public Instant instant() {
+        return closed ? source.instant() : reading.instant();
+    }
+
+    @Override
+    public long millis() {
+        return instant().toEpochMilli();
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return source.getZone();
+    }
+
+    /**
+     * The source in another zone; the returned clock does not cache.
+     */
+    @Override
+    public Clock withZone(ZoneId zone) {
+        return source.withZone(zone);
+    }
+
+    /**
+     * Stops the refresh thread, if any, and switches to reading the source.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+    }
+
+    private record Reading(Instant instant, LocalDateTime dateTime) {
+    }
+}
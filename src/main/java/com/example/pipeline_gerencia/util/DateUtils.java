@@ -1,15 +1,47 @@
 package com.example.pipeline_gerencia.util;
 
+import java.time.Clock;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
 /**
- * Utility class for date and time operations
+ * Utility class for date and time operations.
+ * Repositories, services and the overdue tracker are given the Clock they
+ * read the time from, and read it through {@link #now(Clock)}, so a
+ * CachedClock makes those reads cheap and a fixed clock makes them
+ * deterministic. Tasks get their creation time from the repository that
+ * first stores them. {@link #now()} reads the system clock, for code that
+ * is not given one; the helpers that compare against the current time have
+ * overloads taking it, so a caller with a clock reads it once.
  */
 public class DateUtils {
     
     private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
     private static final DateTimeFormatter DATE_ONLY = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final Clock SYSTEM = Clock.systemDefaultZone();
+
+    /**
+     * The current local date-time of the system clock. Code that checks
+     * many tasks against the time should read it once and pass it along.
+     */
+    public static LocalDateTime now() {
+        return now(SYSTEM);
+    }
+
+    /**
+     * The current local date-time of the given clock, without converting an
+     * instant when it is a CachedClock.
+     */
+    public static LocalDateTime now(Clock clock) {
+        return clock instanceof CachedClock cached ? cached.now() : LocalDateTime.now(clock);
+    }
+
+    /**
+     * The clock {@link #now()} reads, for components constructed without one.
+     */
+    public static Clock getClock() {
+        return SYSTEM;
+    }
 
     public static String formatDateTime(LocalDateTime dateTime) {
         if (dateTime == null) {
@@ -26,17 +58,25 @@ public class DateUtils {
     }
 
     public static long getDaysUntilDue(LocalDateTime dueDate) {
+        return getDaysUntilDue(dueDate, now());
+    }
+
+    public static long getDaysUntilDue(LocalDateTime dueDate, LocalDateTime now) {
         if (dueDate == null) {
             return -1;
         }
-        return java.time.temporal.ChronoUnit.DAYS.between(LocalDateTime.now(), dueDate);
+        return java.time.temporal.ChronoUnit.DAYS.between(now, dueDate);
     }
 
     public static boolean isOverdue(LocalDateTime dueDate) {
+        return isOverdue(dueDate, now());
+    }
+
+    public static boolean isOverdue(LocalDateTime dueDate, LocalDateTime now) {
         if (dueDate == null) {
             return false;
         }
-        return LocalDateTime.now().isAfter(dueDate);
+        return now.isAfter(dueDate);
     }
 
     public static LocalDateTime addDays(LocalDateTime dateTime, int days) {
@@ -2,6 +2,10 @@ package com.example.pipeline_gerencia.util;
 
 import com.example.pipeline_gerencia.model.Priority;
 import com.example.pipeline_gerencia.model.Status;
+import com.example.pipeline_gerencia.model.Task;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.function.Predicate;
 
 /**
  * Filter criteria for searching tasks
@@ -73,6 +77,62 @@ public class SearchFilter {
                assigneeId != null || categoryId != null || showOverdueOnly;
     }
 
+    public boolean hasKeyword() {
+        return keyword != null && !keyword.isEmpty();
+    }
+
+    /**
+     * Builds a single predicate combining every criterion of this filter,
+     * so a search can be evaluated in one pass without intermediate lists.
+     * The keyword is lower-cased once here rather than once per task, and
+     * the overdue criterion compares every task with one reading of
+     * the given clock.
+     */
+    public Predicate<Task> asPredicate(Clock clock) {
+        final String lowerKeyword = hasKeyword() ? keyword.toLowerCase() : null;
+        final Status status = this.status;
+        final Priority priority = this.priority;
+        final Long assigneeId = this.assigneeId;
+        final Long categoryId = this.categoryId;
+        final boolean overdueOnly = this.showOverdueOnly;
+        // One instant for the whole query
+        final LocalDateTime now = overdueOnly ? DateUtils.now(clock) : null;
+        return task -> {
+            if (status != null && task.getStatus() != status) {
+                return false;
+            }
+            if (priority != null && task.getPriority() != priority) {
+                return false;
+            }
+            if (assigneeId != null && !task.isAssignedTo(assigneeId)) {
+                return false;
+            }
+            if (categoryId != null && !task.isInCategory(categoryId)) {
+                return false;
+            }
+            if (lowerKeyword != null && !containsKeyword(task, lowerKeyword)) {
+                return false;
+            }
+            return !overdueOnly || task.isOverdue(now);
+        };
+    }
+
+    /**
+     * Like {@link #asPredicate(Clock)}, on the system clock.
+     */
+    public Predicate<Task> asPredicate() {
+        return asPredicate(DateUtils.getClock());
+    }
+
+    public boolean matches(Task task) {
+        return asPredicate().test(task);
+    }
+
+    private static boolean containsKeyword(Task task, String lowerKeyword) {
+        return task.getTitle() != null && task.getTitle().toLowerCase().contains(lowerKeyword) ||
+               task.getDescription() != null && task.getDescription().toLowerCase().contains(lowerKeyword);
+    }
+
     @Override
     public String toString() {
         return "SearchFilter{" +
@@ -0,0 +1,41 @@
+package com.example.pipeline_gerencia.util;
+
+import com.example.pipeline_gerencia.cache.TinyLfuCache;
+import java.util.function.Function;
+
+/**
+ * Canonical instances of low-cardinality strings such as departments and
+ * category names and colors.
+ * Values read from requests, rows or log records are new String objects
+ * every time; passing them through a pool lets a million users share a
+ * handful of department strings. Unlike String.intern() a pool belongs to
+ * its owner, normally one repository, and holds at most
+ * {@code maximumSize} strings in a W-TinyLFU cache: rare values are evicted
+ * again instead of filling it, and a flood of one-off values cannot push
+ * out the frequent ones. Not for free text such as user names.
+ */
+public final class StringPool {
+    public static final int DEFAULT_MAXIMUM_SIZE = 4096;
+
+    private final TinyLfuCache<String, String> pool;
+
+    public StringPool() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    public StringPool(int maximumSize) {
+        this.pool = new TinyLfuCache<>(maximumSize);
+    }
+
+    /**
+     * The pooled instance equal to {@code value}, pooling it if it is not
+     * there yet. Null stays null.
+     */
+    public String canonical(String value) {
+        return value == null ? null : pool.get(value, Function.identity());
+    }
+
+    public long size() {
+        return pool.estimatedSize();
+    }
+}
@@ -0,0 +1,58 @@
+-- Schema of the JDBC repositories (H2). Ids are allocated by the repositories.
+-- Tasks keep the ids of their assignee and category without foreign keys,
+-- since deleting a user or category leaves its tasks in place, as in the
+-- in-memory repositories.
+
+CREATE TABLE IF NOT EXISTS users (
+    id             BIGINT PRIMARY KEY,
+    name           VARCHAR(255),
+    email          VARCHAR(255),
+    department     VARCHAR(255),
+    active         BOOLEAN NOT NULL,
+    version        BIGINT NOT NULL,
+    -- Lower-cased copies of the columns looked up ignoring case, so those
+    -- lookups can still use an index
+    email_key      VARCHAR(255),
+    department_key VARCHAR(255)
+);
+
+CREATE INDEX IF NOT EXISTS users_email_key ON users (email_key);
+CREATE INDEX IF NOT EXISTS users_department_key ON users (department_key);
+CREATE INDEX IF NOT EXISTS users_active ON users (active);
+
+CREATE TABLE IF NOT EXISTS categories (
+    id          BIGINT PRIMARY KEY,
+    name        VARCHAR(255),
+    description VARCHAR(2000),
+    color       VARCHAR(32),
+    version     BIGINT NOT NULL,
+    name_key    VARCHAR(255)
+);
+
+CREATE INDEX IF NOT EXISTS categories_name_key ON categories (name_key);
+
+CREATE TABLE IF NOT EXISTS tasks (
+    id                    BIGINT PRIMARY KEY,
+    title                 VARCHAR(255),
+    description           VARCHAR(2000),
+    status                VARCHAR(16) NOT NULL,
+    priority              VARCHAR(16) NOT NULL,
+    assignee_id           BIGINT,
+    category_id           BIGINT,
+    created_at            TIMESTAMP,
+    due_date              TIMESTAMP,
+    updated_at            TIMESTAMP,
+    completion_percentage INT NOT NULL,
+    version               BIGINT NOT NULL
+);
+
+-- findByStatus, countByStatus, and searches by status, or status and priority
+CREATE INDEX IF NOT EXISTS tasks_status_priority ON tasks (status, priority, id);
+-- findByPriority, and searches by priority alone or with overdue only
+CREATE INDEX IF NOT EXISTS tasks_priority_due_date ON tasks (priority, due_date);
+-- findByAssigneeId, and searches by assignee, optionally with status
+CREATE INDEX IF NOT EXISTS tasks_assignee_status ON tasks (assignee_id, status, id);
+-- findByCategoryId, and searches by category, optionally with status
+CREATE INDEX IF NOT EXISTS tasks_category_status ON tasks (category_id, status, id);
+-- findOverdueTasks, findByDueDateBetween, findNextDue and overdue-only searches
+CREATE INDEX IF NOT EXISTS tasks_due_date ON tasks (due_date, id);
@@ -0,0 +1,188 @@
+package com.example.pipeline_gerencia.integration;
+
+import com.example.pipeline_gerencia.cache.*;
+import com.example.pipeline_gerencia.model.*;
+import com.example.pipeline_gerencia.repository.ForwardingTaskRepository;
+import com.example.pipeline_gerencia.repository.impl.InMemoryUserRepository;
+import com.example.pipeline_gerencia.repository.impl.MvccTaskRepository;
+import com.example.pipeline_gerencia.service.TaskService;
+import com.example.pipeline_gerencia.service.UserService;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes de integração dos repositórios com cache W-TinyLFU
+ */
+class CachingRepositoryTest {
+
+    @Test
+    void testTaskLookupsAreCachedAndInvalidatedOnWrite() {
+        CachingTaskRepository repository = new CachingTaskRepository(new MvccTaskRepository(), 100);
+        TaskService taskService = new TaskService(repository);
+        Task task = taskService.createTask(new Task("Implementar API", "Criar endpoints REST"));
+
+        repository.findById(task.getId()).orElseThrow().setTitle("Alterado sem update");
+        assertEquals("Implementar API", repository.findById(task.getId()).orElseThrow().getTitle(),
+                "Cache deve entregar cópias");
+        CacheStats stats = repository.getCaches().get("findById").stats();
+        assertEquals(1, stats.hitCount());
+        assertEquals(1, stats.missCount());
+
+        taskService.updateStatus(task.getId(), Status.COMPLETED);
+        assertEquals(Status.COMPLETED, repository.findById(task.getId()).orElseThrow().getStatus());
+        taskService.deleteTask(task.getId());
+        assertFalse(repository.findById(task.getId()).isPresent());
+    }
+
+    @Test
+    void testAssigneeListsFollowReassignment() {
+        CachingTaskRepository repository = new CachingTaskRepository(new MvccTaskRepository(), 100);
+        TaskService taskService = new TaskService(repository);
+        UserService userService = new UserService(new InMemoryUserRepository());
+        User joao = userService.createUser("João", "joao@example.com", "Desenvolvimento");
+        User maria = userService.createUser("Maria", "maria@example.com", "Gerência");
+
+        Task task = new Task("Implementar API", "Criar endpoints REST");
+        task.setAssignee(joao);
+        Long taskId = taskService.createTask(task).getId();
+        assertEquals(1, repository.findByAssigneeId(joao.getId()).size());
+        assertTrue(repository.findByAssigneeId(maria.getId()).isEmpty());
+
+        taskService.updateTask(taskId, t -> t.setAssignee(maria));
+        assertTrue(repository.findByAssigneeId(joao.getId()).isEmpty(), "Lista antiga deve ser invalidada");
+        assertEquals(1, repository.findByAssigneeId(maria.getId()).size());
+
+        taskService.updateStatus(taskId, Status.IN_PROGRESS);
+        assertEquals(Status.IN_PROGRESS, repository.findByAssigneeId(maria.getId()).get(0).getStatus());
+    }
+
+    @Test
+    void testWritesDoNotReadDelegate() {
+        MvccTaskRepository store = new MvccTaskRepository();
+        int[] lookups = new int[1];
+        CachingTaskRepository repository = new CachingTaskRepository(new ForwardingTaskRepository(store) {
+            @Override
+            public Optional<Task> findById(Long id) {
+                lookups[0]++;
+                return super.findById(id);
+            }
+        }, 100);
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Task task = new Task("Tarefa " + i, "Descrição");
+            task.setAssigneeId(1L);
+            tasks.add(task);
+        }
+        repository.saveAll(tasks);
+        assertEquals(3, repository.findByAssigneeId(1L).size());
+        assertTrue(repository.findByAssigneeId(2L).isEmpty());
+
+        List<Task> moved = new ArrayList<>();
+        for (Task task : tasks) {
+            Task copy = store.findById(task.getId()).orElseThrow();
+            copy.setAssigneeId(2L);
+            moved.add(copy);
+        }
+        repository.updateAll(moved);
+        repository.deleteAll(List.of(tasks.get(0).getId()));
+        assertEquals(0, lookups[0], "Escritas não devem consultar o repositório de origem");
+        assertTrue(repository.findByAssigneeId(1L).isEmpty(), "Lista antiga deve ser invalidada sem cópia em cache");
+        assertEquals(2, repository.findByAssigneeId(2L).size());
+    }
+
+    @Test
+    void testEmailLookupFollowsInPlaceChanges() {
+        CachingUserRepository repository = new CachingUserRepository(new InMemoryUserRepository(), 100);
+        UserService userService = new UserService(repository);
+        User user = userService.createUser("João", "joao@example.com", "Desenvolvimento");
+
+        assertEquals(user.getId(), repository.findByEmail("JOAO@example.com").orElseThrow().getId());
+        User cached = repository.findById(user.getId()).orElseThrow();
+        assertNotSame(cached, repository.findById(user.getId()).orElseThrow(), "Cache deve devolver cópias");
+        cached.setEmail("alterado@example.com");
+        assertEquals("joao@example.com", repository.findById(user.getId()).orElseThrow().getEmail(),
+                "Alterar a cópia não deve mudar o cache");
+
+        userService.updateUser(user.getId(), null, u -> u.setEmail("joao.silva@example.com"));
+        assertFalse(repository.findByEmail("joao@example.com").isPresent());
+        assertEquals(user.getId(), repository.findByEmail("joao.silva@example.com").orElseThrow().getId());
+
+        userService.deleteUser(user.getId());
+        assertFalse(repository.findById(user.getId()).isPresent());
+        assertFalse(repository.findByEmail("joao.silva@example.com").isPresent());
+    }
+
+    @Test
+    void testFrequentEntriesSurviveScan() {
+        TinyLfuCache<Integer, String> cache = new TinyLfuCache<>(100);
+        for (int round = 0; round < 20; round++) {
+            for (int key = 0; key < 50; key++) {
+                cache.get(key, String::valueOf);
+            }
+        }
+        for (int key = 1_000; key < 11_000; key++) {
+            cache.get(key, String::valueOf);
+        }
+
+        int survivors = 0;
+        for (int key = 0; key < 50; key++) {
+            if (cache.peek(key) != null) {
+                survivors++;
+            }
+        }
+        assertTrue(survivors >= 45, "Chaves frequentes devem resistir a uma varredura: " + survivors);
+        CacheStats stats = cache.stats();
+        assertTrue(stats.size() <= 100);
+        assertEquals(stats.missCount() - stats.size(), stats.evictionCount());
+        assertEquals(950.0 / 11_000, stats.hitRate(), 1e-9);
+    }
+
+    @Test
+    void testConcurrentReadsSeeEveryWrite() throws Exception {
+        MvccTaskRepository store = new MvccTaskRepository();
+        CachingTaskRepository repository = new CachingTaskRepository(store, 64);
+        TaskService taskService = new TaskService(repository);
+        int tasks = 200;
+        for (int i = 0; i < tasks; i++) {
+            taskService.createTask(new Task("Tarefa " + i, "Descrição"));
+        }
+
+        int threads = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                final int thread = t;
+                futures.add(executor.submit(() -> {
+                    SplittableRandom random = new SplittableRandom(thread);
+                    for (int i = 0; i < 5_000; i++) {
+                        long id = 1 + random.nextInt(tasks);
+                        if (thread == 0 && i % 10 == 0) {
+                            taskService.updateTask(id,
+                                    task -> task.setCompletionPercentage(task.getCompletionPercentage() + 1));
+                        } else {
+                            assertTrue(repository.findById(id).isPresent());
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (long id = 1; id <= tasks; id++) {
+            assertEquals(store.findById(id).orElseThrow().getCompletionPercentage(),
+                    repository.findById(id).orElseThrow().getCompletionPercentage(),
+                    "Cache não deve guardar valores antigos");
+        }
+        assertTrue(repository.getCaches().get("findById").estimatedSize() <= 64);
+    }
+}
@@ -0,0 +1,208 @@
+package com.example.pipeline_gerencia.integration;
+
+import com.example.pipeline_gerencia.events.*;
+import com.example.pipeline_gerencia.model.*;
+import com.example.pipeline_gerencia.repository.OptimisticLockException;
+import com.example.pipeline_gerencia.repository.impl.InMemoryTaskRepository;
+import com.example.pipeline_gerencia.repository.impl.InMemoryUserRepository;
+import com.example.pipeline_gerencia.service.TaskService;
+import com.example.pipeline_gerencia.service.UserService;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes de integração do fluxo de eventos de alteração dos repositórios
+ */
+class ChangeEventIntegrationTest {
+
+    @Test
+    void testRepositoryWritesArePublishedInOrder() {
+        ChangeEventRing ring = new ChangeEventRing(64, WaitStrategies.busySpin());
+        ChangeSubscription subscription = ring.subscribe();
+        TaskService taskService = new TaskService(new PublishingTaskRepository(new InMemoryTaskRepository(), ring));
+        UserService userService = new UserService(new PublishingUserRepository(new InMemoryUserRepository(), ring));
+
+        User user = userService.createUser("João", "joao@example.com", "Desenvolvimento");
+        Task task = taskService.createTask(new Task("Implementar API", "Criar endpoints REST"));
+        taskService.updateStatus(task.getId(), Status.IN_PROGRESS);
+        taskService.deleteTask(task.getId());
+        taskService.deleteTask(999L);
+
+        List<String> received = new ArrayList<>();
+        List<Boolean> endOfBatch = new ArrayList<>();
+        int delivered = subscription.drain((event, end) -> {
+            received.add(event.getEntityType() + " " + event.getChangeType() + " " + event.getId());
+            endOfBatch.add(end);
+        }, 10);
+
+        assertEquals(4, delivered);
+        assertEquals(List.of("USER SAVED " + user.getId(), "TASK SAVED " + task.getId(),
+                "TASK UPDATED " + task.getId(), "TASK DELETED " + task.getId()), received,
+                "Exclusão de tarefa inexistente não deve gerar evento");
+        assertEquals(List.of(false, false, false, true), endOfBatch);
+        assertEquals(0, subscription.lag());
+    }
+
+    @Test
+    void testRejectedBatchPublishesNothing() {
+        ChangeEventRing ring = new ChangeEventRing(64, WaitStrategies.busySpin());
+        PublishingTaskRepository repository = new PublishingTaskRepository(new InMemoryTaskRepository(), ring);
+        Task first = repository.save(new Task("Tarefa 1", "Descrição"));
+        Task second = repository.save(new Task("Tarefa 2", "Descrição"));
+        Task stale = new Task(second);
+        repository.update(second);
+        ChangeSubscription subscription = ring.subscribe();
+
+        first.setTitle("Tarefa 1 alterada");
+        stale.setTitle("Tarefa 2 desatualizada");
+        assertThrows(OptimisticLockException.class, () -> repository.updateAll(List.of(first, stale)));
+        Task unknown = new Task("Tarefa inexistente", "Descrição");
+        unknown.setId(999L);
+        repository.update(unknown);
+        assertEquals(List.of(first.getId()), repository.deleteAll(List.of(first.getId(), 999L)));
+
+        List<String> received = new ArrayList<>();
+        subscription.drain((event, end) -> received.add(event.getChangeType() + " " + event.getId()), 10);
+        assertEquals(List.of("DELETED " + first.getId()), received,
+                "Lote rejeitado e ids inexistentes não devem gerar eventos");
+    }
+
+    @Test
+    void testDrainRespectsBatchSize() {
+        ChangeEventRing ring = new ChangeEventRing(16, WaitStrategies.yielding());
+        ChangeSubscription subscription = ring.subscribe();
+        for (int i = 0; i < 10; i++) {
+            ring.publish(EntityType.TASK, ChangeType.SAVED, i, null);
+        }
+
+        List<Long> ids = new ArrayList<>();
+        assertEquals(4, subscription.drain((event, end) -> ids.add(event.getId()), 4));
+        assertEquals(6, subscription.lag());
+        assertEquals(6, subscription.drain((event, end) -> ids.add(event.getId()), 100));
+        assertEquals(List.of(0L, 1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L), ids);
+    }
+
+    @Test
+    void testLappedSubscriptionReportsGap() {
+        ChangeEventRing ring = new ChangeEventRing(8, WaitStrategies.sleeping());
+        ChangeSubscription subscription = ring.subscribe();
+        for (int i = 0; i < 20; i++) {
+            ring.publish(EntityType.CATEGORY, ChangeType.UPDATED, i, null);
+        }
+
+        long[] gap = new long[1];
+        List<Long> ids = new ArrayList<>();
+        subscription.drain(new ChangeListener() {
+            @Override
+            public void onEvent(ChangeEvent event, boolean endOfBatch) {
+                ids.add(event.getId());
+            }
+
+            @Override
+            public void onGap(long missed) {
+                gap[0] += missed;
+            }
+        }, 100);
+
+        assertEquals(12, gap[0], "Eventos sobrescritos devem ser informados");
+        assertEquals(12, subscription.getMissed());
+        assertEquals(List.of(12L, 13L, 14L, 15L, 16L, 17L, 18L, 19L), ids,
+                "Os eventos ainda no buffer devem ser entregues");
+    }
+
+    @Test
+    void testDispatcherDeliversToEveryListener() throws Exception {
+        ChangeEventRing ring = new ChangeEventRing(1024, WaitStrategies.blocking());
+        int events = 5000;
+        CountDownLatch done = new CountDownLatch(2);
+        long[] sums = new long[2];
+        try (ChangeDispatcher dispatcher = new ChangeDispatcher(ring)) {
+            for (int l = 0; l < 2; l++) {
+                final int listener = l;
+                dispatcher.addListener("test-" + l, new ChangeListener() {
+                    long expected;
+
+                    @Override
+                    public void onEvent(ChangeEvent event, boolean endOfBatch) {
+                        assertEquals(expected++, event.getId(), "Eventos devem chegar em ordem");
+                        sums[listener] += event.getId();
+                        if (expected == events) {
+                            done.countDown();
+                        }
+                    }
+
+                    @Override
+                    public void onGap(long missed) {
+                        expected += missed;
+                    }
+                }, 64);
+            }
+            for (int i = 0; i < events; i++) {
+                ring.publish(EntityType.TASK, ChangeType.SAVED, i, null);
+                if (i % 512 == 0) {
+                    // Dá tempo aos consumidores para não serem ultrapassados
+                    Thread.sleep(1);
+                }
+            }
+            assertTrue(done.await(10, TimeUnit.SECONDS), "Todos os consumidores devem receber os eventos");
+        }
+        assertTrue(sums[0] > 0 && sums[1] > 0);
+    }
+
+    @Test
+    void testConcurrentProducersPublishWithoutLocking() throws Exception {
+        int producers = 4;
+        int perProducer = 5_000;
+        ChangeEventRing ring = new ChangeEventRing(1 << 15, WaitStrategies.yielding());
+        ChangeSubscription subscription = ring.subscribe();
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                final long base = (long) p * perProducer;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perProducer; i++) {
+                        ring.publish(EntityType.TASK, ChangeType.SAVED, base + i, null);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+
+            long[] lastByProducer = new long[producers];
+            Arrays.fill(lastByProducer, -1);
+            int received = 0;
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (received < producers * perProducer && System.nanoTime() < deadline) {
+                received += subscription.poll(new ChangeListener() {
+                    @Override
+                    public void onEvent(ChangeEvent event, boolean endOfBatch) {
+                        int producer = (int) (event.getId() / perProducer);
+                        assertTrue(event.getId() > lastByProducer[producer],
+                                "Eventos de um mesmo produtor devem chegar em ordem");
+                        lastByProducer[producer] = event.getId();
+                    }
+
+                    @Override
+                    public void onGap(long missed) {
+                        throw new AssertionError("Anel com capacidade suficiente não deve perder eventos");
+                    }
+                }, 1024, 10, TimeUnit.MILLISECONDS);
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+            assertEquals(producers * perProducer, received);
+            assertEquals(producers * perProducer - 1, ring.cursor());
+            assertEquals(0, subscription.lag());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
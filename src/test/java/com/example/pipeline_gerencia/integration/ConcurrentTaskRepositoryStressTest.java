@@ -0,0 +1,141 @@
+package com.example.pipeline_gerencia.integration;
+
+import com.example.pipeline_gerencia.model.*;
+import com.example.pipeline_gerencia.repository.TaskRepository;
+import com.example.pipeline_gerencia.repository.impl.ConcurrentTaskRepository;
+import com.example.pipeline_gerencia.service.TaskService;
+import com.example.pipeline_gerencia.util.Page;
+import com.example.pipeline_gerencia.util.SearchFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes de estresse de concorrência para ConcurrentTaskRepository
+ */
+class ConcurrentTaskRepositoryStressTest {
+
+    private static final int THREADS = 8;
+    private static final int TASKS_PER_THREAD = 2_000;
+
+    private TaskRepository taskRepository;
+    private TaskService taskService;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository = new ConcurrentTaskRepository();
+        taskService = new TaskService(taskRepository);
+    }
+
+    @Test
+    void testConcurrentCreateAllocatesUniqueIds() throws Exception {
+        List<Long> ids = runConcurrently(thread -> {
+            List<Long> created = new ArrayList<>();
+            for (int i = 0; i < TASKS_PER_THREAD; i++) {
+                Task task = taskService.createTask(new Task("Tarefa " + thread + "-" + i, "Descrição"));
+                created.add(task.getId());
+            }
+            return created;
+        });
+
+        int expected = THREADS * TASKS_PER_THREAD;
+        assertEquals(expected, ids.size());
+        assertEquals(expected, new HashSet<>(ids).size(), "Ids não devem colidir");
+        assertEquals(expected, taskRepository.findAll().size());
+        assertEquals(expected, taskRepository.findByStatus(Status.PENDING).size());
+        for (Long id : ids) {
+            assertTrue(taskRepository.findById(id).isPresent());
+        }
+    }
+
+    @Test
+    void testConcurrentStatusUpdatesKeepIndexesConsistent() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < THREADS * TASKS_PER_THREAD; i++) {
+            ids.add(taskService.createTask(new Task("Tarefa " + i, "Descrição")).getId());
+        }
+
+        runConcurrently(thread -> {
+            for (int i = thread; i < ids.size(); i += THREADS) {
+                taskService.updateStatus(ids.get(i), Status.IN_PROGRESS);
+                taskService.updatePriority(ids.get(i), Priority.HIGH);
+                if (i % 2 == 0) {
+                    taskService.updateStatus(ids.get(i), Status.COMPLETED);
+                }
+                if (i % 10 == 0) {
+                    taskService.deleteTask(ids.get(i));
+                }
+            }
+            return Collections.<Long>emptyList();
+        });
+
+        int total = ids.size();
+        int deleted = (total + 9) / 10;
+        int completed = total / 2 - deleted;
+        assertEquals(total - deleted, taskRepository.findAll().size());
+        assertEquals(completed, taskRepository.findByStatus(Status.COMPLETED).size());
+        assertEquals(total - deleted - completed, taskRepository.findByStatus(Status.IN_PROGRESS).size());
+        assertTrue(taskRepository.findByStatus(Status.PENDING).isEmpty());
+        assertEquals(total - deleted, taskRepository.findByPriority(Priority.HIGH).size());
+        assertTrue(taskRepository.findByPriority(Priority.MEDIUM).isEmpty());
+    }
+
+    @Test
+    void testPagedSearchResumesFromCursor() {
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            Task task = new Task("Tarefa " + i, "Descrição");
+            task.setPriority(i % 3 == 0 ? Priority.HIGH : Priority.LOW);
+            Long id = taskRepository.save(task).getId();
+            if (i % 3 == 0) {
+                expected.add(id);
+            }
+        }
+        SearchFilter filter = new SearchFilter();
+        filter.setPriority(Priority.HIGH);
+
+        List<Long> paged = new ArrayList<>();
+        String cursor = null;
+        do {
+            Page<Task> page = taskRepository.search(filter, cursor, 4);
+            assertTrue(page.getItems().size() <= 4, "Página não deve passar do limite");
+            for (Task task : page.getItems()) {
+                paged.add(task.getId());
+            }
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        assertEquals(expected, paged, "Páginas devem seguir a ordem dos ids sem repetir tarefas");
+    }
+
+    private List<Long> runConcurrently(ThreadBody body) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<List<Long>>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                final int thread = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return body.run(thread);
+                }));
+            }
+            start.countDown();
+            List<Long> results = new ArrayList<>();
+            for (Future<List<Long>> future : futures) {
+                results.addAll(future.get(60, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    private interface ThreadBody {
+        List<Long> run(int thread) throws Exception;
+    }
+}
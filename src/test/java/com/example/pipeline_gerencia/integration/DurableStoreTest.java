@@ -0,0 +1,203 @@
+package com.example.pipeline_gerencia.integration;
+
+import com.example.pipeline_gerencia.model.*;
+import com.example.pipeline_gerencia.persistence.DurabilityOptions;
+import com.example.pipeline_gerencia.persistence.DurableStore;
+import com.example.pipeline_gerencia.persistence.StoredRepositories;
+import com.example.pipeline_gerencia.repository.impl.ConcurrentTaskRepository;
+import com.example.pipeline_gerencia.repository.impl.InMemoryCategoryRepository;
+import com.example.pipeline_gerencia.repository.impl.InMemoryTaskRepository;
+import com.example.pipeline_gerencia.repository.impl.InMemoryUserRepository;
+import com.example.pipeline_gerencia.service.TaskService;
+import com.example.pipeline_gerencia.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes de integração para o write-ahead log com group commit
+ */
+class DurableStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    private DurableStore open() throws IOException {
+        return new DurableStore(tempDir, new InMemoryTaskRepository(),
+                new InMemoryUserRepository(), new InMemoryCategoryRepository());
+    }
+
+    @Test
+    void testReplaysMutationsAfterRestart() throws IOException {
+        Long taskId;
+        Long userId;
+        try (DurableStore store = open()) {
+            UserService userService = new UserService(store.getUserRepository());
+            TaskService taskService = new TaskService(store.getTaskRepository());
+            User user = userService.createUser("João", "joao@example.com", "Desenvolvimento");
+            userId = user.getId();
+
+            Task task = new Task("Implementar API", "Criar endpoints REST");
+            task.setAssignee(user);
+            taskId = taskService.createTask(task).getId();
+            taskService.updateStatus(taskId, Status.COMPLETED);
+            Task removed = taskService.createTask(new Task("Tarefa removida", "Descrição"));
+            taskService.deleteTask(removed.getId());
+
+            userService.updateUser(userId, null, u -> u.setName("João Silva"));
+        }
+
+        try (DurableStore store = open()) {
+            Task task = store.getTaskRepository().findById(taskId).orElseThrow();
+            assertEquals(Status.COMPLETED, task.getStatus());
+            assertEquals(100, task.getCompletionPercentage());
+            assertEquals(1, store.getTaskRepository().count(), "Tarefa removida não deve voltar");
+            User user = store.getUserRepository().findById(userId).orElseThrow();
+            assertEquals("João Silva", user.getName());
+            new EntityLookup(store.getUserRepository()::findAllById, store.getCategoryRepository()::findAllById, 100)
+                    .hydrate(List.of(task));
+            assertEquals("João Silva", task.getAssignee().getName(), "Tarefa deve referenciar o usuário atualizado");
+            assertTrue(store.getUserRepository().findByEmail("joao@example.com").isPresent());
+        }
+    }
+
+    @Test
+    void testTornRecordIsDiscarded() throws IOException {
+        try (DurableStore store = open()) {
+            store.getTaskRepository().save(new Task("Tarefa", "Descrição"));
+        }
+        Path segment;
+        try (Stream<Path> files = Files.list(tempDir.resolve("wal"))) {
+            segment = files.max(Comparator.naturalOrder()).orElseThrow();
+        }
+        // Simula uma queda no meio da gravação de um registro
+        Files.write(segment, new byte[]{0, 0, 0, 40, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        try (DurableStore store = open()) {
+            assertEquals(1, store.getTaskRepository().count());
+            assertEquals("Tarefa", store.getTaskRepository().findById(1L).orElseThrow().getTitle());
+        }
+    }
+
+    @Test
+    void testCompactionFoldsLogIntoSnapshot() throws IOException {
+        try (DurableStore store = open()) {
+            for (int i = 0; i < 50; i++) {
+                store.getTaskRepository().save(new Task("Tarefa " + i, "Descrição"));
+            }
+            store.compact();
+            store.getTaskRepository().delete(1L);
+        }
+        assertTrue(Files.exists(tempDir.resolve("repositories.snapshot")));
+
+        try (DurableStore store = open()) {
+            assertEquals(49, store.getTaskRepository().count());
+            assertFalse(store.getTaskRepository().findById(1L).isPresent());
+            assertEquals(51L, store.getTaskRepository().save(new Task("Nova", "Descrição")).getId());
+        }
+    }
+
+    @Test
+    void testStoredRepositoriesReplayLogAndCompactAtStartup() throws Exception {
+        Path directory = tempDir.resolve("dados");
+        Long taskId;
+        // Fechar o DurableStore sem compactar deixa o log para o próximo início
+        try (DurableStore store = new DurableStore(directory, new InMemoryTaskRepository(),
+                new InMemoryUserRepository(), new InMemoryCategoryRepository())) {
+            User user = store.getUserRepository().save(new User("João", "joao@example.com", "Desenvolvimento"));
+            Task task = new Task("Implementar API", "Criar endpoints REST");
+            task.setAssignee(user);
+            taskId = store.getTaskRepository().save(task).getId();
+        }
+        assertFalse(Files.exists(directory.resolve("repositories.snapshot")));
+
+        DurabilityOptions options = new DurabilityOptions();
+        options.setCompactionThresholdBytes(1);
+        try (StoredRepositories stored = StoredRepositories.open(directory, new ConcurrentTaskRepository(),
+                new InMemoryUserRepository(), new InMemoryCategoryRepository(), options)) {
+            assertTrue(stored.isPersistent());
+            assertEquals("Implementar API", stored.getTaskRepository().findById(taskId).orElseThrow().getTitle());
+            assertTrue(stored.getUserRepository().findByEmail("joao@example.com").isPresent());
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (!Files.exists(directory.resolve("repositories.snapshot")) && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertTrue(Files.exists(directory.resolve("repositories.snapshot")),
+                    "Log reaplicado acima do limite deve ser compactado em segundo plano");
+            stored.getTaskRepository().delete(taskId);
+        }
+
+        try (StoredRepositories stored = StoredRepositories.open(directory, new ConcurrentTaskRepository(),
+                new InMemoryUserRepository(), new InMemoryCategoryRepository(), new DurabilityOptions())) {
+            assertFalse(stored.getTaskRepository().findById(taskId).isPresent(), "Remoção deve sobreviver ao reinício");
+            assertEquals(1, stored.getUserRepository().findAll().size());
+        }
+        assertFalse(StoredRepositories.inMemory(new InMemoryTaskRepository(), new InMemoryUserRepository(),
+                new InMemoryCategoryRepository()).isPersistent());
+    }
+
+    @Test
+    void testBatchWritesAreReplayed() throws IOException {
+        try (DurableStore store = open()) {
+            TaskService taskService = new TaskService(store.getTaskRepository());
+            List<Task> batch = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                batch.add(new Task("Tarefa " + i, "Descrição"));
+            }
+            List<Task> created = taskService.createTasks(batch);
+            created.forEach(t -> t.setStatus(Status.IN_PROGRESS));
+            taskService.updateTasks(created.subList(0, 10));
+            taskService.deleteTasks(List.of(19L, 20L));
+        }
+
+        try (DurableStore store = open()) {
+            assertEquals(18, store.getTaskRepository().count());
+            assertEquals(10, store.getTaskRepository().countByStatus(Status.IN_PROGRESS));
+            assertFalse(store.getTaskRepository().findById(20L).isPresent());
+        }
+    }
+
+    @Test
+    void testConcurrentWritersShareGroupCommits() throws Exception {
+        DurabilityOptions options = new DurabilityOptions();
+        options.setCompactionThresholdBytes(64 * 1024);
+        int threads = 8;
+        int tasksPerThread = 200;
+        try (DurableStore store = new DurableStore(tempDir, new ConcurrentTaskRepository(),
+                new InMemoryUserRepository(), new InMemoryCategoryRepository(), options)) {
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int t = 0; t < threads; t++) {
+                    final int thread = t;
+                    futures.add(executor.submit(() -> {
+                        for (int i = 0; i < tasksPerThread; i++) {
+                            store.getTaskRepository().save(new Task("Tarefa " + thread + "-" + i, "Descrição"));
+                        }
+                        return null;
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get(60, TimeUnit.SECONDS);
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        try (DurableStore store = new DurableStore(tempDir, new ConcurrentTaskRepository(),
+                new InMemoryUserRepository(), new InMemoryCategoryRepository(), options)) {
+            assertEquals(threads * tasksPerThread, store.getTaskRepository().count());
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.pipeline_gerencia.integration;
+
+import com.example.pipeline_gerencia.events.ChangeEventRing;
+import com.example.pipeline_gerencia.events.ChangeSubscription;
+import com.example.pipeline_gerencia.events.EntityLookupEvictor;
+import com.example.pipeline_gerencia.events.PublishingUserRepository;
+import com.example.pipeline_gerencia.events.WaitStrategies;
+import com.example.pipeline_gerencia.model.*;
+import com.example.pipeline_gerencia.repository.CategoryRepository;
+import com.example.pipeline_gerencia.repository.TaskRepository;
+import com.example.pipeline_gerencia.repository.UserRepository;
+import com.example.pipeline_gerencia.repository.impl.ColumnarTaskRepository;
+import com.example.pipeline_gerencia.repository.impl.InMemoryCategoryRepository;
+import com.example.pipeline_gerencia.repository.impl.InMemoryUserRepository;
+import com.example.pipeline_gerencia.repository.impl.MvccTaskRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes de integração das associações de tarefas por id, resolvidas pelo EntityLookup
+ */
+class EntityLookupTest {
+
+    @Test
+    void testChangedAndDeletedUsersAreEvicted() {
+        ChangeEventRing ring = new ChangeEventRing(64, WaitStrategies.blocking());
+        ChangeSubscription subscription = ring.subscribe();
+        UserRepository userRepository = new PublishingUserRepository(new InMemoryUserRepository(), ring);
+        CategoryRepository categoryRepository = new InMemoryCategoryRepository();
+        EntityLookup lookup = new EntityLookup(userRepository::findAllById, categoryRepository::findAllById, 100);
+        EntityLookupEvictor evictor = new EntityLookupEvictor(lookup);
+        TaskRepository taskRepository = new MvccTaskRepository();
+
+        User user = userRepository.save(new User("João", "joao@example.com", "Desenvolvimento"));
+        Task task = new Task("Implementar API", "Criar endpoints REST");
+        task.setAssignee(user);
+        Long taskId = taskRepository.save(task).getId();
+
+        Task stored = taskRepository.findById(taskId).orElseThrow();
+        assertEquals(user.getId(), stored.getAssigneeId());
+        assertNull(stored.getAssignee(), "Leitura não deve carregar o responsável");
+        lookup.hydrate(List.of(stored));
+        assertEquals("João", stored.getAssignee().getName());
+
+        User replacement = new User("João Silva", "joao@example.com", "Desenvolvimento");
+        replacement.setId(user.getId());
+        replacement.setVersion(user.getVersion());
+        userRepository.update(replacement);
+        subscription.drain(evictor, 64);
+        Task updated = taskRepository.findById(taskId).orElseThrow();
+        lookup.hydrate(List.of(updated));
+        assertEquals("João Silva", updated.getAssignee().getName(), "Tarefa deve ver o usuário substituído");
+
+        userRepository.delete(user.getId());
+        subscription.drain(evictor, 64);
+        Task orphan = taskRepository.findById(taskId).orElseThrow();
+        lookup.hydrate(List.of(orphan));
+        assertEquals(user.getId(), orphan.getAssigneeId(), "Tarefa deve manter o id do responsável removido");
+        assertNull(orphan.getAssignee(), "Usuário removido não deve ser resolvido");
+    }
+
+    @Test
+    void testUnsavedAssigneeIsKeptWithoutId() {
+        Task task = new Task("Implementar API", "Criar endpoints REST");
+        User draft = new User("Maria", "maria@example.com", "Gerência");
+        task.setAssignee(draft);
+
+        assertSame(draft, task.getAssignee());
+        assertNull(task.getAssigneeId(), "Responsável sem id não tem id a guardar");
+        draft.setId(42L);
+        assertEquals(42L, task.getAssigneeId(), "Id atribuído depois deve ser visto pela tarefa");
+        assertTrue(task.isAssignedTo(42L));
+
+        task.setAssigneeId(7L);
+        assertNull(task.getAssignee(), "Trocar o id deve desligar o responsável anterior");
+    }
+
+    @Test
+    void testLookupsDoNotShareIds() {
+        UserRepository first = new InMemoryUserRepository();
+        UserRepository second = new InMemoryUserRepository();
+        CategoryRepository categories = new InMemoryCategoryRepository();
+        User joao = first.save(new User("João", "joao@example.com", "Desenvolvimento"));
+        User maria = second.save(new User("Maria", "maria@example.com", "Gerência"));
+        assertEquals(joao.getId(), maria.getId(), "Repositórios distintos começam pelo mesmo id");
+
+        Task firstTask = new Task("Tarefa A", "Descrição");
+        firstTask.setAssigneeId(joao.getId());
+        Task secondTask = new Task("Tarefa B", "Descrição");
+        secondTask.setAssigneeId(maria.getId());
+        new EntityLookup(first::findAllById, categories::findAllById, 100).hydrate(List.of(firstTask));
+        new EntityLookup(second::findAllById, categories::findAllById, 100).hydrate(List.of(secondTask));
+
+        assertEquals("João", firstTask.getAssignee().getName());
+        assertEquals("Maria", secondTask.getAssignee().getName());
+    }
+
+    @Test
+    void testPageIsHydratedInOneBatch() {
+        long firstUser = 100L;
+        long category = 200L;
+        ColumnarTaskRepository repository = new ColumnarTaskRepository();
+        for (int i = 0; i < 30; i++) {
+            Task task = new Task("Tarefa " + i, "Descrição");
+            task.setAssigneeId(firstUser + i % 5);
+            task.setCategoryId(category);
+            repository.save(task);
+        }
+
+        List<Collection<Long>> userLoads = new ArrayList<>();
+        List<Collection<Long>> categoryLoads = new ArrayList<>();
+        EntityLookup lookup = new EntityLookup(ids -> {
+            userLoads.add(new HashSet<>(ids));
+            List<User> users = new ArrayList<>();
+            for (Long id : ids) {
+                User user = new User("Usuário " + id, id + "@example.com", "Desenvolvimento");
+                user.setId(id);
+                users.add(user);
+            }
+            return users;
+        }, ids -> {
+            categoryLoads.add(new HashSet<>(ids));
+            Category loaded = new Category("Backend", "Serviços");
+            loaded.setId(category);
+            return List.of(loaded);
+        }, 100);
+        List<Task> page = repository.findAll();
+        lookup.hydrate(page);
+
+        assertEquals(1, userLoads.size(), "Responsáveis da página devem ser carregados de uma vez");
+        assertEquals(Set.of(firstUser, firstUser + 1, firstUser + 2, firstUser + 3, firstUser + 4), userLoads.get(0));
+        assertEquals(List.of(Set.of(category)), categoryLoads);
+        for (Task task : page) {
+            assertEquals("Usuário " + task.getAssigneeId(), task.getAssignee().getName());
+            assertEquals("Backend", task.getCategory().getName());
+        }
+
+        lookup.hydrate(repository.findAll());
+        assertEquals(1, userLoads.size(), "Ids em cache não devem consultar o carregador");
+        assertEquals(1, categoryLoads.size());
+
+        lookup.evictCategory(category);
+        lookup.hydrate(repository.findAll());
+        assertEquals(1, userLoads.size());
+        assertEquals(2, categoryLoads.size(), "Categoria removida do cache deve ser recarregada");
+    }
+
+    @Test
+    void testLookupIsBounded() {
+        Set<Long> loaded = new HashSet<>();
+        EntityLookup lookup = new EntityLookup(ids -> {
+            List<User> users = new ArrayList<>();
+            for (Long id : ids) {
+                loaded.add(id);
+                User user = new User("Usuário " + id, id + "@example.com", "Desenvolvimento");
+                user.setId(id);
+                users.add(user);
+            }
+            return users;
+        }, ids -> List.of(), 10);
+
+        for (long id = 1; id <= 1_000; id++) {
+            Task task = new Task("Tarefa " + id, "Descrição");
+            task.setAssigneeId(id);
+            lookup.hydrate(List.of(task));
+        }
+        assertEquals(1_000, loaded.size());
+
+        loaded.clear();
+        for (long id = 1; id <= 1_000; id++) {
+            Task task = new Task("Tarefa " + id, "Descrição");
+            task.setAssigneeId(id);
+            lookup.hydrate(List.of(task));
+        }
+        assertTrue(loaded.size() >= 990, "Cache limitado não deve guardar todos os usuários: " + loaded.size());
+        assertThrows(IllegalArgumentException.class, () -> new EntityLookup(null, ids -> List.of(), 10));
+    }
+}
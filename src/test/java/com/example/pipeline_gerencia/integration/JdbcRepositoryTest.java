@@ -0,0 +1,220 @@
+package com.example.pipeline_gerencia.integration;
+
+import com.example.pipeline_gerencia.model.*;
+import com.example.pipeline_gerencia.repository.OptimisticLockException;
+import com.example.pipeline_gerencia.repository.TaskRepository;
+import com.example.pipeline_gerencia.repository.impl.InMemoryTaskRepository;
+import com.example.pipeline_gerencia.repository.jdbc.*;
+import com.example.pipeline_gerencia.service.TaskService;
+import com.example.pipeline_gerencia.service.UserService;
+import com.example.pipeline_gerencia.util.Page;
+import com.example.pipeline_gerencia.util.SearchFilter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes de integração dos repositórios JDBC sobre um banco H2 em arquivo
+ */
+class JdbcRepositoryTest {
+
+    @TempDir
+    Path tempDir;
+
+    private JdbcConnections connections;
+    private JdbcUserRepository userRepository;
+    private JdbcCategoryRepository categoryRepository;
+    private JdbcTaskRepository taskRepository;
+
+    @BeforeEach
+    void setUp() {
+        open();
+    }
+
+    @AfterEach
+    void tearDown() {
+        connections.close();
+    }
+
+    private void open() {
+        connections = new JdbcConnections("jdbc:h2:" + tempDir.resolve("pipeline"), 4);
+        connections.createSchema();
+        userRepository = new JdbcUserRepository(connections);
+        categoryRepository = new JdbcCategoryRepository(connections);
+        taskRepository = new JdbcTaskRepository(connections, userRepository, categoryRepository);
+    }
+
+    @Test
+    void testLookupsAndRestart() {
+        UserService userService = new UserService(userRepository);
+        TaskService taskService = new TaskService(taskRepository);
+        User user = userService.createUser("João", "Joao@Example.com", "Desenvolvimento");
+        Category category = categoryRepository.save(new Category("Backend", "Serviços"));
+
+        Task task = new Task("Implementar API", "Criar endpoints REST");
+        task.setAssignee(user);
+        task.setCategory(category);
+        task.setDueDate(LocalDateTime.of(2030, 1, 15, 10, 30));
+        Long taskId = taskService.createTask(task).getId();
+
+        assertEquals(user.getId(), userRepository.findByEmail("joao@example.com").orElseThrow().getId());
+        assertEquals(1, userRepository.findByDepartment("desenvolvimento").size());
+        assertEquals(category.getId(), categoryRepository.findByName("BACKEND").orElseThrow().getId());
+
+        connections.close();
+        open();
+
+        Task stored = taskRepository.findById(taskId).orElseThrow();
+        assertEquals("Implementar API", stored.getTitle());
+        assertEquals(LocalDateTime.of(2030, 1, 15, 10, 30), stored.getDueDate());
+        assertEquals("João", stored.getAssignee().getName(), "Responsável deve ser resolvido pelo id");
+        assertEquals("Backend", stored.getCategory().getName());
+        assertEquals(taskId + 1, taskRepository.save(new Task("Nova", "Descrição")).getId(),
+                "Ids devem continuar após reabrir o banco");
+    }
+
+    @Test
+    void testQueriesMatchInMemoryRepository() {
+        User user = userRepository.save(new User("João", "joao@example.com", "Desenvolvimento"));
+        TaskRepository reference = new InMemoryTaskRepository();
+        LocalDateTime now = LocalDateTime.now();
+        Random random = new Random(42);
+        List<Task> batch = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            Task task = new Task((i % 7 == 0 ? "Corrigir 100% do_bug " : "Tarefa ") + i, "Descrição " + i);
+            task.setStatus(Status.values()[random.nextInt(Status.values().length)]);
+            task.setPriority(Priority.values()[random.nextInt(Priority.values().length)]);
+            task.setCompletionPercentage(random.nextInt(101));
+            if (i % 3 == 0) {
+                task.setAssignee(user);
+            }
+            if (i % 2 == 0) {
+                task.setDueDate(now.plusDays(random.nextInt(20) - 10).withNano(0));
+            }
+            batch.add(task);
+        }
+        taskRepository.saveAll(batch);
+        batch.forEach(task -> reference.save(new Task(task)));
+
+        List<SearchFilter> filters = new ArrayList<>();
+        for (Status status : new Status[]{null, Status.IN_PROGRESS}) {
+            for (Priority priority : new Priority[]{null, Priority.HIGH}) {
+                for (Long assignee : new Long[]{null, user.getId()}) {
+                    for (boolean overdue : new boolean[]{false, true}) {
+                        SearchFilter filter = new SearchFilter();
+                        filter.setStatus(status);
+                        filter.setPriority(priority);
+                        filter.setAssigneeId(assignee);
+                        filter.setShowOverdueOnly(overdue);
+                        filters.add(filter);
+                    }
+                }
+            }
+        }
+        filters.add(new SearchFilter("100% do_"));
+        filters.add(new SearchFilter("DESCRIÇÃO 1"));
+        for (SearchFilter filter : filters) {
+            assertEquals(ids(reference.search(filter)), ids(taskRepository.search(filter)), filter.toString());
+        }
+
+        assertEquals(ids(reference.findByAssigneeId(user.getId())), ids(taskRepository.findByAssigneeId(user.getId())));
+        assertEquals(ids(reference.findOverdueTasks()), ids(taskRepository.findOverdueTasks()));
+        assertEquals(ids(reference.findByDueDateBetween(now, now.plusDays(5))),
+                ids(taskRepository.findByDueDateBetween(now, now.plusDays(5))));
+        assertEquals(ids(reference.findNextDue(now, 10)), ids(taskRepository.findNextDue(now, 10)));
+        assertEquals(reference.countByStatus(Status.COMPLETED), taskRepository.countByStatus(Status.COMPLETED));
+        assertEquals(reference.sumCompletionPercentage(), taskRepository.sumCompletionPercentage());
+
+        SearchFilter pending = new SearchFilter();
+        pending.setStatus(Status.PENDING);
+        List<Long> paged = new ArrayList<>();
+        String cursor = null;
+        do {
+            Page<Task> page = taskRepository.search(pending, cursor, 7);
+            paged.addAll(ids(page.getItems()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        assertEquals(ids(reference.search(pending)), paged);
+    }
+
+    @Test
+    void testBatchUpdateWithConflictAppliesNothing() {
+        List<Task> batch = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            batch.add(new Task("Tarefa " + i, "Descrição"));
+        }
+        List<Task> saved = taskRepository.saveAll(batch);
+        assertEquals(100, taskRepository.count());
+
+        Task fresh = taskRepository.findById(saved.get(50).getId()).orElseThrow();
+        fresh.setPriority(Priority.LOW);
+        taskRepository.update(fresh);
+        assertEquals(1, fresh.getVersion());
+
+        saved.forEach(task -> task.setStatus(Status.COMPLETED));
+        assertThrows(OptimisticLockException.class, () -> taskRepository.updateAll(saved));
+        assertEquals(0, taskRepository.countByStatus(Status.COMPLETED), "Nenhuma tarefa do lote deve mudar");
+        assertEquals(0, saved.get(0).getVersion());
+
+        saved.set(50, fresh);
+        saved.forEach(task -> task.setStatus(Status.COMPLETED));
+        taskRepository.updateAll(saved);
+        assertEquals(100, taskRepository.countByStatus(Status.COMPLETED));
+        assertEquals(2, taskRepository.findById(fresh.getId()).orElseThrow().getVersion());
+
+        taskRepository.deleteAll(saved.subList(0, 40).stream().map(Task::getId).collect(Collectors.toList()));
+        assertEquals(60, taskRepository.count());
+    }
+
+    @Test
+    void testUpdatesStampUpdatedAt() {
+        LocalDateTime old = LocalDateTime.of(2020, 1, 1, 0, 0);
+        Task single = new Task("Implementar API", "Criar endpoints REST");
+        single.setUpdatedAt(old);
+        Task batched = new Task("Escrever testes", "Cobrir o serviço");
+        batched.setUpdatedAt(old);
+        taskRepository.saveAll(List.of(single, batched));
+
+        single.setPriority(Priority.LOW);
+        taskRepository.update(single);
+        assertTrue(taskRepository.findById(single.getId()).orElseThrow().getUpdatedAt().isAfter(old),
+                "update deve registrar a data de alteração");
+
+        batched.setPriority(Priority.LOW);
+        taskRepository.updateAll(List.of(batched));
+        assertTrue(taskRepository.findById(batched.getId()).orElseThrow().getUpdatedAt().isAfter(old),
+                "updateAll deve registrar a data de alteração");
+    }
+
+    @Test
+    void testSearchesUseCompositeIndexes() {
+        assertTrue(plan("SELECT id FROM tasks WHERE assignee_id = 1 AND status = 'PENDING'")
+                .contains("TASKS_ASSIGNEE_STATUS"));
+        assertTrue(plan("SELECT id FROM tasks WHERE status = 'PENDING' AND priority = 'HIGH'")
+                .contains("TASKS_STATUS_PRIORITY"));
+        assertTrue(plan("SELECT id FROM tasks WHERE category_id = 1").contains("TASKS_CATEGORY_STATUS"));
+        assertTrue(plan("SELECT id FROM users WHERE email_key = 'joao@example.com'").contains("USERS_EMAIL_KEY"));
+    }
+
+    private String plan(String sql) {
+        return connections.execute(connection -> {
+            try (ResultSet rows = connection.prepare("EXPLAIN " + sql).executeQuery()) {
+                rows.next();
+                return rows.getString(1).toUpperCase(Locale.ROOT);
+            }
+        });
+    }
+
+    private static List<Long> ids(List<Task> tasks) {
+        return tasks.stream().map(Task::getId).sorted().collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.pipeline_gerencia.integration;
+
+import com.example.pipeline_gerencia.metrics.MeteredTaskRepository;
+import com.example.pipeline_gerencia.metrics.MeteredTaskService;
+import com.example.pipeline_gerencia.metrics.MeteredUserRepository;
+import com.example.pipeline_gerencia.metrics.MeteredUserService;
+import com.example.pipeline_gerencia.model.*;
+import com.example.pipeline_gerencia.repository.TaskRepository;
+import com.example.pipeline_gerencia.repository.impl.InMemoryTaskRepository;
+import com.example.pipeline_gerencia.repository.impl.InMemoryUserRepository;
+import com.example.pipeline_gerencia.service.TaskService;
+import com.example.pipeline_gerencia.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes de integração das métricas de serviços e repositórios
+ */
+class MetricsIntegrationTest {
+
+    private MeterRegistry registry;
+    private TaskService taskService;
+    private UserService userService;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        TaskRepository taskRepository = new MeteredTaskRepository(new InMemoryTaskRepository(), registry);
+        taskService = new MeteredTaskService(taskRepository, registry);
+        userService = new MeteredUserService(new MeteredUserRepository(new InMemoryUserRepository(), registry), registry);
+    }
+
+    @Test
+    void testOperationsRecordLatencyAndResultSizes() {
+        User user = userService.createUser("João", "joao@example.com", "Desenvolvimento");
+        for (int i = 0; i < 3; i++) {
+            Task task = new Task("Tarefa " + i, "Descrição");
+            task.setAssignee(user);
+            taskService.createTask(task);
+        }
+        taskService.getTasksByStatus(Status.PENDING);
+        taskService.getTasksByStatus(Status.COMPLETED);
+
+        assertEquals(3, registry.get("pipeline.service.operations")
+                .tag("service", "task").tag("operation", "createTask").timer().count());
+        assertEquals(3, registry.get("pipeline.repository.operations")
+                .tag("repository", "task").tag("operation", "save").timer().count());
+        assertTrue(registry.get("pipeline.repository.operations")
+                .tag("repository", "task").tag("operation", "save").timer().totalTime(TimeUnit.NANOSECONDS) > 0);
+        assertEquals(2, registry.get("pipeline.service.results")
+                .tag("service", "task").tag("operation", "getTasksByStatus").summary().count());
+        assertEquals(3.0, registry.get("pipeline.service.results")
+                .tag("service", "task").tag("operation", "getTasksByStatus").summary().totalAmount(),
+                "Tamanho dos resultados deve ser registrado");
+        assertEquals(1, registry.get("pipeline.repository.operations")
+                .tag("repository", "user").tag("operation", "findByEmail").timer().count());
+    }
+
+    @Test
+    void testFailedOperationsAreCounted() {
+        assertThrows(IllegalArgumentException.class, () -> taskService.createTask(new Task("ab", "Título curto")));
+        assertThrows(IllegalArgumentException.class, () -> taskService.updateStatus(99L, Status.COMPLETED));
+
+        assertEquals(1.0, registry.get("pipeline.service.errors")
+                .tag("service", "task").tag("operation", "createTask").counter().count());
+        assertEquals(1.0, registry.get("pipeline.service.errors")
+                .tag("service", "task").tag("operation", "updateStatus").counter().count());
+        assertEquals(1, registry.get("pipeline.service.operations")
+                .tag("service", "task").tag("operation", "createTask").timer().count(),
+                "Operações com erro também devem ser cronometradas");
+        assertEquals(0, registry.get("pipeline.repository.operations")
+                .tag("repository", "task").tag("operation", "save").timer().count());
+    }
+}
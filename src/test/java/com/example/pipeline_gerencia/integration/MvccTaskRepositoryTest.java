@@ -0,0 +1,181 @@
+package com.example.pipeline_gerencia.integration;
+
+import com.example.pipeline_gerencia.model.*;
+import com.example.pipeline_gerencia.repository.impl.MvccTaskRepository;
+import com.example.pipeline_gerencia.service.TaskService;
+import com.example.pipeline_gerencia.util.Page;
+import com.example.pipeline_gerencia.util.SearchFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes de integração das leituras por snapshot do MvccTaskRepository
+ */
+class MvccTaskRepositoryTest {
+
+    private MvccTaskRepository taskRepository;
+    private TaskService taskService;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository = new MvccTaskRepository();
+        taskService = new TaskService(taskRepository);
+    }
+
+    @Test
+    void testSnapshotIgnoresLaterWrites() {
+        Task task = taskService.createTask(new Task("Implementar API", "Criar endpoints REST"));
+        Task removed = taskService.createTask(new Task("Tarefa removida", "Descrição"));
+
+        try (MvccTaskRepository.Snapshot snapshot = taskRepository.openSnapshot()) {
+            taskService.updateStatus(task.getId(), Status.COMPLETED);
+            taskService.deleteTask(removed.getId());
+            taskService.createTask(new Task("Nova tarefa", "Descrição"));
+
+            assertEquals(Status.PENDING, snapshot.findById(task.getId()).orElseThrow().getStatus());
+            assertTrue(snapshot.findById(removed.getId()).isPresent(), "Snapshot deve ver a tarefa removida depois");
+            assertEquals(2, snapshot.count());
+            assertEquals(2, snapshot.findByStatus(Status.PENDING).size());
+            assertEquals(0, snapshot.countByStatus(Status.COMPLETED));
+            assertThrows(UnsupportedOperationException.class, () -> snapshot.save(new Task("Outra", "Descrição")));
+        }
+
+        assertEquals(Status.COMPLETED, taskRepository.findById(task.getId()).orElseThrow().getStatus());
+        assertFalse(taskRepository.findById(removed.getId()).isPresent());
+        assertEquals(2, taskRepository.count());
+        assertEquals(50, taskService.getCompletionRate());
+    }
+
+    @Test
+    void testReadsReturnCopies() {
+        Task task = taskService.createTask(new Task("Implementar API", "Criar endpoints REST"));
+        task.setTitle("Alterado sem update");
+
+        Task read = taskRepository.findById(task.getId()).orElseThrow();
+        assertEquals("Implementar API", read.getTitle());
+        read.setStatus(Status.BLOCKED);
+        assertEquals(Status.PENDING, taskRepository.findById(task.getId()).orElseThrow().getStatus(),
+                "Alterar a cópia não deve alterar a versão armazenada");
+        assertTrue(taskRepository.findByStatus(Status.BLOCKED).isEmpty());
+    }
+
+    @Test
+    void testOldVersionsAreCollectedOnceNoSnapshotNeedsThem() {
+        Task task = taskService.createTask(new Task("Implementar API", "Criar endpoints REST"));
+        Task removed = taskService.createTask(new Task("Tarefa removida", "Descrição"));
+
+        MvccTaskRepository.Snapshot snapshot = taskRepository.openSnapshot();
+        taskService.updateStatus(task.getId(), Status.IN_PROGRESS);
+        taskService.updateStatus(task.getId(), Status.COMPLETED);
+        taskService.deleteTask(removed.getId());
+        assertEquals(3, taskRepository.versionCount(task.getId()), "Versões vistas pelo snapshot devem ser mantidas");
+        assertEquals(2, taskRepository.versionCount(removed.getId()));
+
+        snapshot.close();
+        assertEquals(3, taskRepository.versionCount(task.getId()), "Fechar o snapshot não deve coletar versões");
+        taskRepository.collectGarbage();
+        assertEquals(1, taskRepository.versionCount(task.getId()));
+        assertEquals(0, taskRepository.versionCount(removed.getId()), "Tarefa removida deve ser descartada");
+        assertEquals(1, taskRepository.findByStatus(Status.COMPLETED).size());
+        assertTrue(taskRepository.findByStatus(Status.PENDING).isEmpty());
+    }
+
+    @Test
+    void testSearchSeesBatchesAtomicallyUnderConcurrentWrites() throws Exception {
+        int tasks = 2_000;
+        List<Task> batch = new ArrayList<>();
+        for (int i = 0; i < tasks; i++) {
+            batch.add(new Task("Tarefa " + i, "Descrição"));
+        }
+        taskService.createTasks(batch);
+
+        SearchFilter pending = new SearchFilter();
+        pending.setStatus(Status.PENDING);
+        SearchFilter inProgress = new SearchFilter();
+        inProgress.setStatus(Status.IN_PROGRESS);
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            Future<?> writer = executor.submit(() -> {
+                for (int round = 0; round < 50; round++) {
+                    taskService.updateStatusWhere(round % 2 == 0 ? pending : inProgress,
+                            round % 2 == 0 ? Status.IN_PROGRESS : Status.PENDING);
+                }
+                running.set(false);
+                return null;
+            });
+            List<Future<?>> readers = new ArrayList<>();
+            for (int r = 0; r < 2; r++) {
+                readers.add(executor.submit(() -> {
+                    while (running.get()) {
+                        int found = taskService.searchTasks(pending).size();
+                        assertTrue(found == 0 || found == tasks, "Busca viu um lote pela metade: " + found);
+                        taskRepository.readConsistent(repository -> {
+                            assertEquals(tasks, repository.countByStatus(Status.PENDING)
+                                    + repository.countByStatus(Status.IN_PROGRESS));
+                            return null;
+                        });
+                    }
+                    return null;
+                }));
+            }
+            writer.get(60, TimeUnit.SECONDS);
+            for (Future<?> reader : readers) {
+                reader.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(tasks, taskRepository.countByStatus(Status.PENDING));
+        taskRepository.collectGarbage();
+        assertEquals(1, taskRepository.versionCount(1L), "Versões antigas devem ser coletadas");
+    }
+
+    @Test
+    void testKeywordPagesResumeFromCursorAndStreamIsLazy() {
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            Task task = new Task(i % 4 == 0 ? "Deploy do serviço " + i : "Tarefa " + i, "Descrição");
+            Long id = taskService.createTask(task).getId();
+            if (i % 4 == 0) {
+                expected.add(id);
+            }
+        }
+        // Título antigo continua indexado enquanto a versão existir
+        Task renamed = taskRepository.findById(expected.get(0)).orElseThrow();
+        renamed.setTitle("Sem palavra-chave");
+        taskRepository.update(renamed);
+        expected.remove(0);
+        SearchFilter filter = new SearchFilter("DEPLOY");
+
+        List<Long> paged = new ArrayList<>();
+        String cursor = null;
+        do {
+            Page<Task> page = taskRepository.search(filter, cursor, 3);
+            assertTrue(page.getItems().size() <= 3);
+            page.getItems().forEach(t -> paged.add(t.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        assertEquals(expected, paged, "Páginas devem seguir os ids a partir do cursor");
+
+        List<Long> streamed = new ArrayList<>();
+        try (Stream<Task> matches = taskRepository.stream(filter)) {
+            Iterator<Task> iterator = matches.iterator();
+            streamed.add(iterator.next().getId());
+            // Escrita após o início da leitura não aparece no stream
+            taskService.createTask(new Task("Deploy tardio", "Descrição"));
+            iterator.forEachRemaining(t -> streamed.add(t.getId()));
+        }
+        assertEquals(expected, streamed);
+        assertEquals(expected.size() + 1, taskRepository.search(filter).size());
+    }
+}
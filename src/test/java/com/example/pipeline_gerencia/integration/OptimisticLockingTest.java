@@ -0,0 +1,194 @@
+package com.example.pipeline_gerencia.integration;
+
+import com.example.pipeline_gerencia.controller.*;
+import com.example.pipeline_gerencia.model.*;
+import com.example.pipeline_gerencia.persistence.DurableStore;
+import com.example.pipeline_gerencia.repository.OptimisticLockException;
+import com.example.pipeline_gerencia.repository.TaskRepository;
+import com.example.pipeline_gerencia.repository.impl.*;
+import com.example.pipeline_gerencia.service.TaskService;
+import com.example.pipeline_gerencia.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes de integração do controle de concorrência otimista por versão
+ */
+class OptimisticLockingTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static List<TaskRepository> repositories() {
+        return List.of(new InMemoryTaskRepository(), new ConcurrentTaskRepository(),
+                new ColumnarTaskRepository(), new MvccTaskRepository());
+    }
+
+    @Test
+    void testStaleCopyIsRejectedByEveryRepository() {
+        for (TaskRepository repository : repositories()) {
+            String name = repository.getClass().getSimpleName();
+            Task stored = repository.save(new Task("Implementar API", "Criar endpoints REST"));
+            Task first = new Task(stored);
+            Task second = new Task(stored);
+
+            first.setStatus(Status.IN_PROGRESS);
+            repository.update(first);
+            assertEquals(1, first.getVersion(), name + ": update deve avançar a versão");
+
+            second.setStatus(Status.BLOCKED);
+            OptimisticLockException conflict = assertThrows(OptimisticLockException.class,
+                    () -> repository.update(second), name);
+            assertEquals(0, conflict.getExpectedVersion());
+            assertEquals(1, conflict.getActualVersion());
+            Task current = repository.findById(stored.getId()).orElseThrow();
+            assertEquals(Status.IN_PROGRESS, current.getStatus(), name + ": cópia desatualizada não deve ser gravada");
+            assertEquals(1, current.getVersion());
+            assertEquals(0, repository.countByStatus(Status.BLOCKED), name);
+        }
+    }
+
+    @Test
+    void testBatchWithConflictAppliesNothing() {
+        // ConcurrentTaskRepository grava o lote tarefa a tarefa e pode aplicá-lo em parte
+        List<TaskRepository> lockedBatches = List.of(new InMemoryTaskRepository(),
+                new ColumnarTaskRepository(), new MvccTaskRepository());
+        for (TaskRepository repository : lockedBatches) {
+            String name = repository.getClass().getSimpleName();
+            Task a = repository.save(new Task("Tarefa A", "Descrição"));
+            Task b = repository.save(new Task("Tarefa B", "Descrição"));
+            Task stale = new Task(b);
+            Task fresh = new Task(b);
+            fresh.setPriority(Priority.LOW);
+            repository.update(fresh);
+
+            Task changedA = new Task(repository.findById(a.getId()).orElseThrow());
+            changedA.setStatus(Status.COMPLETED);
+            stale.setStatus(Status.COMPLETED);
+            assertThrows(OptimisticLockException.class, () -> repository.updateAll(List.of(changedA, stale)), name);
+
+            assertEquals(0, repository.countByStatus(Status.COMPLETED), name + ": nenhuma tarefa do lote deve mudar");
+            assertEquals(0, repository.findById(a.getId()).orElseThrow().getVersion(), name);
+        }
+    }
+
+    @Test
+    void testConcurrentEditsAreNotLost() throws Exception {
+        TaskService taskService = new TaskService(new ConcurrentTaskRepository());
+        Long taskId = taskService.createTask(new Task("Implementar API", "Criar endpoints REST")).getId();
+        int threads = 4;
+        int editsPerThread = 25;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < editsPerThread; i++) {
+                        taskService.updateTask(taskId,
+                                task -> task.setCompletionPercentage(task.getCompletionPercentage() + 1));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Task task = taskService.getTaskById(taskId).orElseThrow();
+        assertEquals(threads * editsPerThread, task.getCompletionPercentage(), "Nenhuma alteração deve se perder");
+        assertEquals(threads * editsPerThread, task.getVersion());
+    }
+
+    @Test
+    void testUserExpectedVersion() {
+        UserService userService = new UserService(new InMemoryUserRepository());
+        User user = userService.createUser("João", "joao@example.com", "Desenvolvimento");
+
+        User updated = userService.updateUser(user.getId(), 0L, u -> u.setName("João Silva"));
+        assertEquals(1, updated.getVersion());
+        assertEquals(0, user.getVersion(), "Cópia lida antes não deve mudar");
+        assertThrows(OptimisticLockException.class,
+                () -> userService.updateUser(user.getId(), 0L, u -> u.setName("Outro nome")));
+        assertEquals("João Silva", userService.getUserById(user.getId()).orElseThrow().getName(),
+                "Usuário não deve mudar com versão desatualizada");
+
+        assertEquals(2, userService.updateUser(user.getId(), null, u -> u.setDepartment("Gerência")).getVersion());
+    }
+
+    @Test
+    void testCopiesReadAtSameVersionConflict() {
+        InMemoryUserRepository repository = new InMemoryUserRepository();
+        User saved = repository.save(new User("João", "joao@example.com", "Desenvolvimento"));
+        User first = repository.findById(saved.getId()).orElseThrow();
+        User second = repository.findById(saved.getId()).orElseThrow();
+        assertNotSame(first, second, "Leituras devem devolver cópias");
+
+        first.setName("João Silva");
+        repository.update(first);
+        second.setName("Outro nome");
+        assertThrows(OptimisticLockException.class, () -> repository.update(second),
+                "Segunda cópia lida na mesma versão deve conflitar");
+        assertEquals("João Silva", repository.findById(saved.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    void testStaleRequestIsMappedToConflict() {
+        UserService userService = new UserService(new InMemoryUserRepository());
+        TaskController taskController = new TaskController(new TaskService(new ConcurrentTaskRepository()),
+                userService, new InMemoryCategoryRepository());
+        Task task = taskController.createTask(new TaskRequest("Implementar API", null, null, null,
+                null, null, null, null, null)).getBody();
+
+        taskController.updateTask(task.getId(), new TaskRequest(null, null, Status.IN_PROGRESS, null,
+                null, null, null, null, 0L));
+        OptimisticLockException conflict = assertThrows(OptimisticLockException.class,
+                () -> taskController.updateTask(task.getId(), new TaskRequest(null, null, Status.BLOCKED, null,
+                        null, null, null, null, 0L)));
+
+        ResponseEntity<Map<String, Object>> response = new ApiExceptionHandler().handleConflict(conflict);
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertEquals(1L, response.getBody().get("currentVersion"));
+        assertEquals(Status.IN_PROGRESS, taskController.getTask(task.getId()).getStatus());
+    }
+
+    @Test
+    void testVersionsSurviveRestart() throws IOException {
+        Long taskId;
+        Long userId;
+        try (DurableStore store = new DurableStore(tempDir, new InMemoryTaskRepository(),
+                new InMemoryUserRepository(), new InMemoryCategoryRepository())) {
+            TaskService taskService = new TaskService(store.getTaskRepository());
+            UserService userService = new UserService(store.getUserRepository());
+            taskId = taskService.createTask(new Task("Implementar API", "Criar endpoints REST")).getId();
+            userId = userService.createUser("João", "joao@example.com", "Desenvolvimento").getId();
+            taskService.updateStatus(taskId, Status.IN_PROGRESS);
+            store.compact();
+            taskService.updateStatus(taskId, Status.COMPLETED);
+            userService.updateUser(userId, 0L, u -> u.setName("João Silva"));
+        }
+
+        try (DurableStore store = new DurableStore(tempDir, new InMemoryTaskRepository(),
+                new InMemoryUserRepository(), new InMemoryCategoryRepository())) {
+            Task task = store.getTaskRepository().findById(taskId).orElseThrow();
+            assertEquals(2, task.getVersion(), "Versão deve ser restaurada do snapshot e do log");
+            assertEquals(1, store.getUserRepository().findById(userId).orElseThrow().getVersion());
+
+            Task stale = new Task(task);
+            stale.setVersion(1);
+            assertThrows(OptimisticLockException.class, () -> store.getTaskRepository().update(stale));
+        }
+    }
+}
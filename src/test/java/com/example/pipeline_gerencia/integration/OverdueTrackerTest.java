@@ -0,0 +1,166 @@
+package com.example.pipeline_gerencia.integration;
+
+import com.example.pipeline_gerencia.model.*;
+import com.example.pipeline_gerencia.overdue.OverdueTracker;
+import com.example.pipeline_gerencia.overdue.OverdueTrackingTaskRepository;
+import com.example.pipeline_gerencia.repository.TaskRepository;
+import com.example.pipeline_gerencia.repository.impl.InMemoryTaskRepository;
+import com.example.pipeline_gerencia.repository.impl.MvccTaskRepository;
+import com.example.pipeline_gerencia.service.TaskService;
+import com.example.pipeline_gerencia.util.Page;
+import com.example.pipeline_gerencia.util.SearchFilter;
+import org.junit.jupiter.api.Test;
+
+import java.time.*;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes de integração do rastreamento de tarefas atrasadas com roda de temporização
+ */
+class OverdueTrackerTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2030, 1, 1, 9, 0);
+
+    @Test
+    void testDeadlinesExpireAsClockAdvances() {
+        MutableClock clock = new MutableClock(START);
+        OverdueTracker tracker = new OverdueTracker(clock);
+        List<Long> notified = new ArrayList<>();
+        tracker.addListener((taskId, dueDate) -> notified.add(taskId));
+
+        Random random = new Random(7);
+        long[] horizons = {2_000, 120_000, 7_200_000, 172_800_000L, 5_184_000_000L};
+        Map<Long, Task> tasks = new HashMap<>();
+        for (long id = 1; id <= 500; id++) {
+            Task task = new Task("Tarefa " + id, "Descrição");
+            task.setId(id);
+            long horizon = horizons[random.nextInt(horizons.length)];
+            task.setDueDate(START.plus(Duration.ofMillis((long) (random.nextDouble() * horizon))));
+            tasks.put(id, task);
+            tracker.track(task);
+        }
+
+        while (clock.now.isBefore(START.plusDays(61))) {
+            clock.now = clock.now.plus(Duration.ofMillis(random.nextInt(4) == 0
+                    ? random.nextInt(3_600_000) : random.nextInt(2_000)));
+            if (random.nextInt(50) == 0) {
+                // Reagendamento de uma tarefa, atrasada ou não
+                Task task = tasks.get(1L + random.nextInt(tasks.size()));
+                task.setDueDate(clock.now.plusMinutes(random.nextInt(600)));
+                tracker.track(task);
+                notified.remove(task.getId());
+            }
+            List<Long> expected = tasks.values().stream()
+                    .filter(t -> !t.getDueDate().isAfter(clock.now))
+                    .sorted(Comparator.comparing(Task::getDueDate).thenComparing(Task::getId))
+                    .map(Task::getId)
+                    .collect(Collectors.toList());
+            assertEquals(expected, tracker.overdueIds(clock.now), "Em " + clock.now);
+        }
+        assertEquals(500, tracker.getOverdueCount());
+        assertEquals(500, new HashSet<>(notified).size());
+        assertEquals(500, notified.size(), "Cada tarefa deve ser notificada uma vez por prazo");
+    }
+
+    @Test
+    void testStatusAndDueDateChangesAreTracked() {
+        MutableClock clock = new MutableClock(START);
+        OverdueTracker tracker = new OverdueTracker(clock);
+        OverdueTrackingTaskRepository repository = new OverdueTrackingTaskRepository(new MvccTaskRepository(), tracker);
+        TaskService taskService = new TaskService(repository);
+
+        Task task = new Task("Implementar API", "Criar endpoints REST");
+        task.setDueDate(START.plusHours(2));
+        Long taskId = taskService.createTask(task).getId();
+        assertTrue(repository.findOverdueTasks().isEmpty());
+
+        clock.now = START.plusHours(3);
+        assertEquals(List.of(taskId), ids(repository.findOverdueTasks()));
+
+        taskService.updateTask(taskId, t -> t.setDueDate(START.plusDays(1)));
+        assertTrue(repository.findOverdueTasks().isEmpty(), "Prazo adiado deve sair do conjunto de atrasadas");
+
+        clock.now = START.plusDays(2);
+        assertEquals(List.of(taskId), ids(repository.findOverdueTasks()));
+
+        taskService.updateStatus(taskId, Status.COMPLETED);
+        assertTrue(repository.findOverdueTasks().isEmpty(), "Tarefa concluída não está atrasada");
+        assertEquals(0, tracker.getTrackedCount());
+
+        taskService.updateStatus(taskId, Status.IN_PROGRESS);
+        assertEquals(1, repository.findOverdueTasks().size());
+        taskService.deleteTask(taskId);
+        assertTrue(repository.findOverdueTasks().isEmpty());
+        assertEquals(0, tracker.getTrackedCount());
+    }
+
+    @Test
+    void testOverdueSearchesMatchScan() {
+        TaskRepository reference = new InMemoryTaskRepository();
+        List<Task> seed = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        Random random = new Random(11);
+        for (int i = 0; i < 500; i++) {
+            Task task = new Task((i % 5 == 0 ? "Revisar deploy " : "Tarefa ") + i, "Descrição " + i);
+            task.setStatus(Status.values()[random.nextInt(Status.values().length)]);
+            task.setPriority(Priority.values()[random.nextInt(Priority.values().length)]);
+            if (i % 4 != 0) {
+                task.setDueDate(now.plusDays(random.nextInt(40) - 20));
+            }
+            seed.add(task);
+        }
+        reference.saveAll(seed);
+        MvccTaskRepository store = new MvccTaskRepository();
+        store.saveAll(seed.subList(0, 250).stream().map(Task::new).collect(Collectors.toList()));
+        OverdueTrackingTaskRepository repository = new OverdueTrackingTaskRepository(store, new OverdueTracker());
+        repository.saveAll(seed.subList(250, 500).stream().map(Task::new).collect(Collectors.toList()));
+
+        assertEquals(ids(reference.findOverdueTasks()), ids(repository.findOverdueTasks()));
+        SearchFilter filter = new SearchFilter("deploy");
+        filter.setShowOverdueOnly(true);
+        assertEquals(ids(reference.search(filter)), ids(repository.search(filter)));
+        filter = new SearchFilter();
+        filter.setShowOverdueOnly(true);
+        filter.setPriority(Priority.HIGH);
+        assertEquals(ids(reference.search(filter)), ids(repository.search(filter)));
+
+        List<Long> paged = new ArrayList<>();
+        String cursor = null;
+        do {
+            Page<Task> page = repository.search(filter, cursor, 4);
+            paged.addAll(ids(page.getItems()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        assertEquals(ids(reference.search(filter)), paged);
+    }
+
+    private static List<Long> ids(List<Task> tasks) {
+        return tasks.stream().map(Task::getId).sorted().collect(Collectors.toList());
+    }
+
+    private static final class MutableClock extends Clock {
+        LocalDateTime now;
+
+        MutableClock(LocalDateTime now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now.toInstant(ZoneOffset.UTC);
+        }
+    }
+}
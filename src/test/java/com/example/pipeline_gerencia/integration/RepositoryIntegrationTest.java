@@ -4,9 +4,11 @@ import com.example.pipeline_gerencia.model.*;
 import com.example.pipeline_gerencia.repository.CategoryRepository;
 import com.example.pipeline_gerencia.repository.TaskRepository;
 import com.example.pipeline_gerencia.repository.UserRepository;
+import com.example.pipeline_gerencia.repository.impl.ColumnarTaskRepository;
 import com.example.pipeline_gerencia.repository.impl.InMemoryCategoryRepository;
 import com.example.pipeline_gerencia.repository.impl.InMemoryTaskRepository;
 import com.example.pipeline_gerencia.repository.impl.InMemoryUserRepository;
+import com.example.pipeline_gerencia.util.StringPool;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -87,6 +89,101 @@ class RepositoryIntegrationTest {
         assertFalse(found.isPresent());
     }
 
+    @Test
+    void testTaskStatusAndPriorityIndexesFollowMutations() {
+        Task task = new Task("Tarefa Indexada", "Descrição");
+        task.setPriority(Priority.LOW);
+        taskRepository.save(task);
+
+        assertEquals(1, taskRepository.findByStatus(Status.PENDING).size());
+        assertEquals(1, taskRepository.findByPriority(Priority.LOW).size());
+
+        // Mudar status e prioridade deve mover a tarefa de bucket
+        task.setStatus(Status.BLOCKED);
+        task.setPriority(Priority.CRITICAL);
+        taskRepository.update(task);
+
+        assertTrue(taskRepository.findByStatus(Status.PENDING).isEmpty());
+        assertTrue(taskRepository.findByPriority(Priority.LOW).isEmpty());
+        assertEquals(1, taskRepository.findByStatus(Status.BLOCKED).size());
+        assertEquals(1, taskRepository.findByPriority(Priority.CRITICAL).size());
+
+        // Deletar deve remover dos índices
+        taskRepository.delete(task.getId());
+        assertTrue(taskRepository.findByStatus(Status.BLOCKED).isEmpty());
+        assertTrue(taskRepository.findByPriority(Priority.CRITICAL).isEmpty());
+    }
+
+    @Test
+    void testColumnarTaskRepositoryOperations() {
+        TaskRepository columnar = new ColumnarTaskRepository(2);
+        User user = userRepository.save(new User("João", "joao@example.com", "Desenvolvimento"));
+        Category category = categoryRepository.save(new Category("Backend", "Tarefas de backend"));
+
+        Task task = new Task("Implementar API", "Criar endpoints REST");
+        task.setAssignee(user);
+        task.setCategory(category);
+        task.setDueDate(LocalDateTime.now().minusDays(1));
+        columnar.save(task);
+        Task other = columnar.save(new Task("Escrever testes", "Cobrir o serviço"));
+        columnar.save(new Task("Revisar código", null));
+
+        Task stored = columnar.findById(task.getId()).orElseThrow();
+        assertNotSame(task, stored, "Leituras devem devolver cópias desacopladas");
+        assertEquals("Implementar API", stored.getTitle());
+        assertEquals("Criar endpoints REST", stored.getDescription());
+        assertEquals(user.getId(), stored.getAssigneeId());
+        assertEquals(category.getId(), stored.getCategoryId());
+        assertEquals(1, columnar.findOverdueTasks().size());
+        assertEquals(1, columnar.findByAssigneeId(user.getId()).size());
+
+        // Alterações só valem após update
+        stored.setStatus(Status.COMPLETED);
+        stored.setCompletionPercentage(100);
+        assertEquals(3, columnar.countByStatus(Status.PENDING));
+        columnar.update(stored);
+        assertEquals(2, columnar.countByStatus(Status.PENDING));
+        assertEquals(100, columnar.sumCompletionPercentage());
+        assertTrue(columnar.findOverdueTasks().isEmpty(), "Tarefa concluída não está atrasada");
+
+        // Slot liberado é reutilizado sem afetar as demais tarefas
+        columnar.delete(other.getId());
+        Task reused = columnar.save(new Task("Nova tarefa", "Descrição"));
+        assertFalse(columnar.findById(other.getId()).isPresent());
+        assertEquals("Nova tarefa", columnar.findById(reused.getId()).orElseThrow().getTitle());
+        assertEquals(3, columnar.count());
+        assertNull(columnar.findAll().stream()
+                .filter(t -> t.getTitle().equals("Revisar código"))
+                .findFirst().orElseThrow().getDescription());
+    }
+
+    @Test
+    void testColumnarRejectsOutOfRangeDatesWithoutChanges() {
+        TaskRepository columnar = new ColumnarTaskRepository(2);
+        Task task = columnar.save(new Task("Implementar API", "Criar endpoints REST"));
+        LocalDateTime farFuture = LocalDateTime.of(2300, 1, 1, 0, 0);
+
+        Task invalid = new Task("Tarefa distante", "Descrição");
+        invalid.setDueDate(farFuture);
+        assertThrows(IllegalArgumentException.class, () -> columnar.save(invalid));
+        assertNull(invalid.getId(), "Tarefa rejeitada não deve receber id");
+
+        Task stored = columnar.findById(task.getId()).orElseThrow();
+        stored.setStatus(Status.COMPLETED);
+        stored.setCompletionPercentage(100);
+        stored.setDueDate(farFuture);
+        assertThrows(IllegalArgumentException.class, () -> columnar.update(stored));
+        assertEquals(task.getVersion(), stored.getVersion(), "Versão não deve avançar");
+
+        Task unchanged = columnar.findById(task.getId()).orElseThrow();
+        assertEquals("Implementar API", unchanged.getTitle());
+        assertEquals(Status.PENDING, unchanged.getStatus());
+        assertEquals(task.getVersion(), unchanged.getVersion());
+        assertEquals(1, columnar.count());
+        assertEquals(1, columnar.countByStatus(Status.PENDING));
+        assertEquals(0, columnar.sumCompletionPercentage());
+    }
+
     @Test
     void testUserRepositoryOperations() {
         User user = new User("Maria", "maria@example.com", "Gerência");
@@ -123,6 +220,56 @@ class RepositoryIntegrationTest {
         assertFalse(found.isPresent());
     }
 
+    @Test
+    void testUserDepartmentIndex() {
+        User joao = userRepository.save(new User("João", "joao@example.com", "Desenvolvimento"));
+        User maria = userRepository.save(new User("Maria", "maria@example.com", "desenvolvimento"));
+        userRepository.save(new User("Pedro", "pedro@example.com", "Gerência"));
+
+        assertEquals(2, userRepository.findByDepartment("DESENVOLVIMENTO").size(), "Busca deve ignorar maiúsculas");
+        assertTrue(userRepository.findByDepartment("Vendas").isEmpty());
+        assertTrue(userRepository.findByDepartment(null).isEmpty());
+
+        // Mudança de departamento passa a valer no update
+        maria.setDepartment("Gerência");
+        userRepository.update(maria);
+        assertEquals(List.of(joao.getId()), userRepository.findByDepartment("Desenvolvimento").stream().map(User::getId).toList());
+        assertEquals(2, userRepository.findByDepartment("gerência").size());
+
+        userRepository.delete(joao.getId());
+        assertTrue(userRepository.findByDepartment("Desenvolvimento").isEmpty());
+    }
+
+    @Test
+    void testUserDepartmentsArePooledPerRepository() {
+        userRepository.save(new User("João", "joao@example.com", "Desenvolvimento"));
+        User maria = userRepository.save(new User("Maria", "maria@example.com", new String("Desenvolvimento")));
+        List<User> users = userRepository.findAll();
+        assertSame(users.get(0).getDepartment(), users.get(1).getDepartment(),
+                "Departamentos iguais devem compartilhar a mesma string");
+
+        maria.setDepartment(new StringBuilder("Gerên").append("cia").toString());
+        userRepository.update(maria);
+        User pedro = userRepository.save(new User("Pedro", "pedro@example.com", "Gerência"));
+        assertSame(userRepository.findById(maria.getId()).orElseThrow().getDepartment(),
+                userRepository.findById(pedro.getId()).orElseThrow().getDepartment());
+
+        Category backend = categoryRepository.save(new Category(new String("Backend"), "Serviços"));
+        Category other = categoryRepository.save(new Category("Backend", "Outro"));
+        assertSame(categoryRepository.findById(backend.getId()).orElseThrow().getName(),
+                categoryRepository.findById(other.getId()).orElseThrow().getName(), "Nomes de categoria devem ser agrupados");
+        other.setColor(new String(categoryRepository.findById(backend.getId()).orElseThrow().getColor()));
+        categoryRepository.update(other);
+        assertSame(categoryRepository.findById(backend.getId()).orElseThrow().getColor(),
+                categoryRepository.findById(other.getId()).orElseThrow().getColor(), "Cores devem ser agrupadas");
+
+        StringPool pool = new StringPool(16);
+        for (int i = 0; i < 1_000; i++) {
+            pool.canonical("Departamento " + i);
+        }
+        assertTrue(pool.size() <= 16, "Pool deve despejar valores além do limite");
+    }
+
     @Test
     void testCategoryRepositoryOperations() {
         Category category = new Category("Teste", "Categoria de teste");
@@ -0,0 +1,112 @@
+package com.example.pipeline_gerencia.integration;
+
+import com.example.pipeline_gerencia.controller.*;
+import com.example.pipeline_gerencia.model.*;
+import com.example.pipeline_gerencia.repository.impl.ConcurrentTaskRepository;
+import com.example.pipeline_gerencia.repository.impl.InMemoryCategoryRepository;
+import com.example.pipeline_gerencia.repository.impl.InMemoryUserRepository;
+import com.example.pipeline_gerencia.repository.impl.SynchronizedCategoryRepository;
+import com.example.pipeline_gerencia.repository.impl.SynchronizedUserRepository;
+import com.example.pipeline_gerencia.service.BatchValidationException;
+import com.example.pipeline_gerencia.service.TaskService;
+import com.example.pipeline_gerencia.service.UserService;
+import com.example.pipeline_gerencia.util.DateUtils;
+import com.example.pipeline_gerencia.util.Page;
+import com.example.pipeline_gerencia.util.SearchFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes de integração dos controllers REST com os serviços reais
+ */
+class RestControllerIntegrationTest {
+
+    private TaskController taskController;
+    private UserController userController;
+    private SearchController searchController;
+    private ApiExceptionHandler exceptionHandler;
+
+    @BeforeEach
+    void setUp() {
+        SynchronizedUserRepository users = new SynchronizedUserRepository(new InMemoryUserRepository());
+        SynchronizedCategoryRepository categories = new SynchronizedCategoryRepository(new InMemoryCategoryRepository());
+        TaskService taskService = new TaskService(new ConcurrentTaskRepository(), DateUtils.getClock(),
+                new EntityLookup(users::findAllById, categories::findAllById, 100));
+        UserService userService = new UserService(users);
+        taskController = new TaskController(taskService, userService, categories);
+        userController = new UserController(userService);
+        searchController = new SearchController(taskService, false);
+        exceptionHandler = new ApiExceptionHandler();
+    }
+
+    private static TaskRequest request(String title, Long assigneeId) {
+        return new TaskRequest(title, "Descrição", null, Priority.HIGH, null, null, assigneeId, null, null);
+    }
+
+    @Test
+    void testCreateUpdateAndDeleteTask() {
+        User user = userController.createUser(new UserRequest("João", "joao@example.com", "Desenvolvimento", null, null)).getBody();
+        ResponseEntity<Task> created = taskController.createTask(request("Implementar API", user.getId()));
+        assertEquals(HttpStatus.CREATED, created.getStatusCode());
+        Task task = created.getBody();
+        assertEquals(user.getId(), task.getAssignee().getId(), "Responsável deve ser resolvido pelo id");
+
+        Task updated = taskController.updateTask(task.getId(),
+                new TaskRequest("Implementar API REST", null, Status.IN_PROGRESS, null, null, 40, null, null, null));
+        assertEquals("Implementar API REST", updated.getTitle());
+        assertEquals(Priority.HIGH, updated.getPriority(), "Campos omitidos devem ser mantidos");
+        assertEquals(Status.IN_PROGRESS, taskController.getTask(task.getId()).getStatus());
+
+        assertThrows(IllegalArgumentException.class, () -> taskController.updateTask(task.getId(),
+                new TaskRequest("ab", null, Status.BLOCKED, null, null, null, null, null, null)));
+        assertEquals(Status.IN_PROGRESS, taskController.getTask(task.getId()).getStatus(),
+                "Atualização inválida não deve alterar a tarefa salva");
+
+        assertEquals(HttpStatus.NO_CONTENT, taskController.deleteTask(task.getId()).getStatusCode());
+        ResponseStatusException notFound = assertThrows(ResponseStatusException.class,
+                () -> taskController.getTask(task.getId()));
+        assertEquals(HttpStatus.NOT_FOUND, notFound.getStatusCode());
+    }
+
+    @Test
+    void testBatchAndSearchEndpoints() {
+        ResponseEntity<List<Task>> created = taskController.createTasks(List.of(
+                request("Configurar pipeline", null), request("Revisar pipeline", null), request("Escrever testes", null)));
+        assertEquals(3, created.getBody().size());
+
+        Page<Task> page = searchController.search(new SearchFilter("pipeline"), null, 1);
+        assertEquals(1, page.getItems().size());
+        assertEquals(1, searchController.search(new SearchFilter("pipeline"), page.getNextCursor(), 1).getItems().size());
+
+        BatchValidationException exception = assertThrows(BatchValidationException.class,
+                () -> taskController.createTasks(List.of(request("Tarefa válida", null), request("ab", null))));
+        ResponseEntity<Map<String, Object>> response = exceptionHandler.handleBatchValidation(exception);
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals(exception.getErrors(), response.getBody().get("errors"));
+        assertEquals(3, taskController.getTasks(null, 50).getItems().size(), "Lote inválido não deve salvar nada");
+    }
+
+    @Test
+    void testUserEndpoints() {
+        User user = userController.createUser(new UserRequest("João", "joao@example.com", "Desenvolvimento", null, null)).getBody();
+        userController.createUser(new UserRequest("Maria", "maria@example.com", "Gerência", null, null));
+
+        assertThrows(IllegalArgumentException.class, () -> userController.updateUser(user.getId(),
+                new UserRequest("João Silva", "MARIA@example.com", null, null, null)));
+        assertEquals("João", userController.getUser(user.getId()).getName(), "Usuário não deve mudar se o email for duplicado");
+
+        userController.updateUser(user.getId(), new UserRequest("João Silva", null, null, null, null));
+        assertEquals("João Silva", userController.getUser(user.getId()).getName());
+        assertFalse(userController.deactivateUser(user.getId()).isActive());
+        assertEquals(1, userController.getUsers(null, true).size());
+        assertEquals(1, userController.getUsers("gerência", false).size());
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.pipeline_gerencia.integration;
+
+import com.example.pipeline_gerencia.model.*;
+import com.example.pipeline_gerencia.persistence.SnapshotStore;
+import com.example.pipeline_gerencia.repository.ForwardingTaskRepository;
+import com.example.pipeline_gerencia.repository.CategoryRepository;
+import com.example.pipeline_gerencia.repository.TaskRepository;
+import com.example.pipeline_gerencia.repository.UserRepository;
+import com.example.pipeline_gerencia.repository.impl.InMemoryCategoryRepository;
+import com.example.pipeline_gerencia.repository.impl.InMemoryTaskRepository;
+import com.example.pipeline_gerencia.repository.impl.InMemoryUserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes de integração para o snapshot mapeado em memória dos repositórios
+ */
+class SnapshotStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    private TaskRepository taskRepository;
+    private UserRepository userRepository;
+    private CategoryRepository categoryRepository;
+    private SnapshotStore snapshotStore;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository = new InMemoryTaskRepository();
+        userRepository = new InMemoryUserRepository();
+        categoryRepository = new InMemoryCategoryRepository();
+        snapshotStore = new SnapshotStore(tempDir.resolve("repositories.snapshot"));
+    }
+
+    @Test
+    void testWriteAndRestoreRepositories() throws IOException {
+        User user = userRepository.save(new User("João", "joao@example.com", "Desenvolvimento"));
+        User inactive = userRepository.save(new User("Maria", "maria@example.com", "Gerência"));
+        inactive.setActive(false);
+        userRepository.update(inactive);
+        Category category = categoryRepository.save(new Category("Backend", "Tarefas de backend"));
+
+        Task task = new Task("Implementar API", "Criar endpoints REST");
+        task.setStatus(Status.IN_PROGRESS);
+        task.setPriority(Priority.HIGH);
+        task.setCompletionPercentage(40);
+        task.setDueDate(LocalDateTime.of(2030, 5, 1, 10, 30, 15, 123456789));
+        task.setAssignee(user);
+        task.setCategory(category);
+        taskRepository.save(task);
+        taskRepository.save(new Task("Sem descrição", null));
+
+        snapshotStore.write(taskRepository, userRepository, categoryRepository);
+
+        TaskRepository restoredTasks = new InMemoryTaskRepository();
+        UserRepository restoredUsers = new InMemoryUserRepository();
+        CategoryRepository restoredCategories = new InMemoryCategoryRepository();
+        assertTrue(snapshotStore.restore(restoredTasks, restoredUsers, restoredCategories));
+
+        assertEquals(2, restoredTasks.count());
+        assertEquals(2, restoredUsers.findAll().size());
+        assertFalse(restoredUsers.findById(inactive.getId()).orElseThrow().isActive());
+        assertEquals("Backend", restoredCategories.findById(category.getId()).orElseThrow().getName());
+
+        Task restored = restoredTasks.findById(task.getId()).orElseThrow();
+        assertEquals("Implementar API", restored.getTitle());
+        assertEquals("Criar endpoints REST", restored.getDescription());
+        assertEquals(Status.IN_PROGRESS, restored.getStatus());
+        assertEquals(Priority.HIGH, restored.getPriority());
+        assertEquals(40, restored.getCompletionPercentage());
+        assertEquals(task.getDueDate(), restored.getDueDate());
+        assertEquals(task.getCreatedAt(), restored.getCreatedAt());
+        new EntityLookup(restoredUsers::findAllById, restoredCategories::findAllById, 100).hydrate(List.of(restored));
+        assertEquals("João", restored.getAssignee().getName(), "Tarefa deve referenciar o usuário restaurado");
+        assertEquals("Backend", restored.getCategory().getName());
+        assertEquals(1, restoredTasks.findByCategoryId(category.getId()).size());
+        assertEquals(1, restoredTasks.findByStatus(Status.IN_PROGRESS).size());
+        assertTrue(restoredUsers.findByEmail("joao@example.com").isPresent());
+
+        // Novos ids continuam após os restaurados
+        Task created = restoredTasks.save(new Task("Nova tarefa", "Descrição"));
+        assertEquals(3L, created.getId());
+    }
+
+    @Test
+    void testDeletedUserIsNotResolved() throws IOException {
+        User user = userRepository.save(new User("João", "joao@example.com", "Desenvolvimento"));
+        Task task = new Task("Tarefa", "Descrição");
+        task.setAssignee(user);
+        taskRepository.save(task);
+        userRepository.delete(user.getId());
+
+        snapshotStore.write(taskRepository, userRepository, categoryRepository);
+
+        TaskRepository restoredTasks = new InMemoryTaskRepository();
+        UserRepository restoredUsers = new InMemoryUserRepository();
+        snapshotStore.restore(restoredTasks, restoredUsers, new InMemoryCategoryRepository());
+
+        assertTrue(restoredUsers.findAll().isEmpty(), "Usuário removido não deve voltar ao repositório");
+        Task restored = restoredTasks.findById(task.getId()).orElseThrow();
+        assertEquals(user.getId(), restored.getAssigneeId(), "Tarefa deve manter o id do responsável");
+        new EntityLookup(restoredUsers::findAllById, id -> List.of(), 100).hydrate(List.of(restored));
+        assertNull(restored.getAssignee(), "Usuário removido não deve ser resolvido");
+    }
+
+    @Test
+    void testTasksAreRestoredInOneBatch() throws IOException {
+        for (int i = 0; i < 10; i++) {
+            taskRepository.save(new Task("Tarefa " + i, "Descrição"));
+        }
+        snapshotStore.write(taskRepository, userRepository, categoryRepository);
+
+        AtomicInteger saves = new AtomicInteger();
+        AtomicInteger batches = new AtomicInteger();
+        TaskRepository restoredTasks = new ForwardingTaskRepository(new InMemoryTaskRepository()) {
+            @Override
+            public Task save(Task task) {
+                saves.incrementAndGet();
+                return super.save(task);
+            }
+
+            @Override
+            public List<Task> saveAll(Collection<Task> tasks) {
+                batches.incrementAndGet();
+                return super.saveAll(tasks);
+            }
+        };
+        snapshotStore.restore(restoredTasks, new InMemoryUserRepository(), new InMemoryCategoryRepository());
+
+        assertEquals(10, restoredTasks.count());
+        assertEquals(1, batches.get(), "Tarefas devem ser restauradas em um único lote");
+        assertEquals(0, saves.get(), "Restauração não deve salvar tarefa por tarefa");
+    }
+
+    @Test
+    void testRestoreWithoutSnapshot() throws IOException {
+        assertFalse(snapshotStore.restore(taskRepository, userRepository, categoryRepository));
+        assertEquals(0, taskRepository.count());
+    }
+
+    @Test
+    void testRejectsCorruptSnapshot() throws IOException {
+        Files.write(snapshotStore.getFile(), new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+
+        assertThrows(IOException.class,
+                () -> snapshotStore.restore(taskRepository, userRepository, categoryRepository));
+    }
+}
@@ -5,13 +5,19 @@ import com.example.pipeline_gerencia.repository.TaskRepository;
 import com.example.pipeline_gerencia.repository.UserRepository;
 import com.example.pipeline_gerencia.repository.impl.InMemoryTaskRepository;
 import com.example.pipeline_gerencia.repository.impl.InMemoryUserRepository;
+import com.example.pipeline_gerencia.repository.impl.MvccTaskRepository;
+import com.example.pipeline_gerencia.service.BatchValidationException;
 import com.example.pipeline_gerencia.service.TaskService;
 import com.example.pipeline_gerencia.service.UserService;
+import com.example.pipeline_gerencia.util.Page;
 import com.example.pipeline_gerencia.util.SearchFilter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Clock;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -53,7 +59,7 @@ class TaskServiceIntegrationTest {
         Optional<Task> retrieved = taskService.getTaskById(savedTask.getId());
         assertTrue(retrieved.isPresent());
         assertEquals("Implementar API", retrieved.get().getTitle());
-        assertEquals(user.getId(), retrieved.get().getAssignee().getId());
+        assertEquals(user.getId(), retrieved.get().getAssigneeId());
     }
 
     @Test
@@ -192,6 +198,27 @@ class TaskServiceIntegrationTest {
         assertEquals(75, averagePercentage, "Média de conclusão deve ser 75%");
     }
 
+    @Test
+    void testStatisticsFollowStatusAndProgressUpdates() {
+        Task task1 = taskService.createTask(new Task("Tarefa 1", "Descrição"));
+        Task task2 = taskService.createTask(new Task("Tarefa 2", "Descrição"));
+
+        assertEquals(0, taskService.getCompletionRate());
+        assertEquals(0, taskService.getAverageCompletionPercentage());
+
+        task1.setCompletionPercentage(40);
+        taskService.updateTask(task1);
+        assertEquals(20, taskService.getAverageCompletionPercentage());
+
+        taskService.updateStatus(task2.getId(), Status.COMPLETED);
+        assertEquals(50, taskService.getCompletionRate());
+        assertEquals(70, taskService.getAverageCompletionPercentage());
+
+        taskService.deleteTask(task2.getId());
+        assertEquals(0, taskService.getCompletionRate());
+        assertEquals(40, taskService.getAverageCompletionPercentage());
+    }
+
     @Test
     void testTasksDueInNextDays() {
         User user = userService.createUser("João", "joao@example.com", "Desenvolvimento");
@@ -218,6 +245,147 @@ class TaskServiceIntegrationTest {
         assertEquals(2, tasksDueInNextDays.size(), "Deve encontrar tarefas vencendo nos próximos 7 dias");
     }
 
+    @Test
+    void testNextDueTasksFollowDueDateChanges() {
+        Task later = new Task("Tarefa Posterior", "Vence em 10 dias");
+        later.setDueDate(LocalDateTime.now().plusDays(10));
+        taskService.createTask(later);
+
+        Task sooner = new Task("Tarefa Próxima", "Vence em 2 dias");
+        sooner.setDueDate(LocalDateTime.now().plusDays(2));
+        taskService.createTask(sooner);
+
+        Task noDueDate = new Task("Sem Prazo", "Nunca vence");
+        taskService.createTask(noDueDate);
+
+        List<Task> next = taskService.getNextDueTasks(5);
+        assertEquals(2, next.size(), "Tarefas sem prazo não entram na fila");
+        assertEquals("Tarefa Próxima", next.get(0).getTitle());
+        assertEquals("Tarefa Posterior", next.get(1).getTitle());
+
+        // Adiar o prazo deve reposicionar a tarefa no índice
+        sooner.setDueDate(LocalDateTime.now().plusDays(20));
+        taskService.updateTask(sooner);
+
+        next = taskService.getNextDueTasks(1);
+        assertEquals(1, next.size());
+        assertEquals("Tarefa Posterior", next.get(0).getTitle());
+        assertEquals(1, taskService.getTasksDueInNextDays(15).size());
+    }
+
+    @Test
+    void testKeywordSearchFollowsTitleAndDescriptionChanges() {
+        Task task = taskService.createTask(new Task("Configurar Pipeline", "Integração contínua no GitHub"));
+        taskService.createTask(new Task("Escrever documentação", "Manual do usuário"));
+
+        assertEquals(1, taskService.searchTasks(new SearchFilter("PIPELINE")).size());
+        assertEquals(1, taskService.searchTasks(new SearchFilter("contínua")).size());
+        assertEquals(2, taskService.searchTasks(new SearchFilter("u")).size(), "Palavras curtas também devem funcionar");
+
+        // Alterar o título deve atualizar o índice de palavras-chave
+        task.setTitle("Configurar Deploy");
+        taskService.updateTask(task);
+        assertTrue(taskService.searchTasks(new SearchFilter("pipeline")).isEmpty());
+        assertEquals(1, taskService.searchTasks(new SearchFilter("deploy")).size());
+
+        taskService.deleteTask(task.getId());
+        assertTrue(taskService.searchTasks(new SearchFilter("github")).isEmpty());
+    }
+
+    @Test
+    void testPaginatedSearchWithCursor() {
+        for (int i = 1; i <= 12; i++) {
+            Task task = new Task("Tarefa " + i, "Descrição");
+            task.setPriority(i % 2 == 0 ? Priority.HIGH : Priority.LOW);
+            taskService.createTask(task);
+        }
+
+        SearchFilter filter = new SearchFilter();
+        filter.setPriority(Priority.HIGH);
+
+        List<Long> ids = new ArrayList<>();
+        Page<Task> page = taskService.searchTasks(filter, null, 4);
+        assertEquals(4, page.getItems().size());
+        assertTrue(page.hasNext());
+        page.getItems().forEach(t -> ids.add(t.getId()));
+
+        page = taskService.searchTasks(filter, page.getNextCursor(), 4);
+        assertEquals(2, page.getItems().size());
+        assertFalse(page.hasNext(), "Última página não deve ter cursor");
+        page.getItems().forEach(t -> ids.add(t.getId()));
+
+        assertEquals(6, ids.size());
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(ids.get(i - 1) < ids.get(i), "Páginas devem seguir a ordem dos ids");
+        }
+        assertEquals(6, taskService.streamTasks(filter).count());
+        assertThrows(IllegalArgumentException.class, () -> taskService.getTasks(null, 0));
+    }
+
+    @Test
+    void testBatchCreateUpdateAndDelete() {
+        List<Task> batch = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            batch.add(new Task("Tarefa em lote " + i, "Importada da planilha"));
+        }
+        List<Task> created = taskService.createTasks(batch);
+        assertEquals(5, created.size());
+        assertTrue(created.stream().allMatch(t -> t.getId() != null), "Todas as tarefas devem receber id");
+        assertEquals(5, taskService.searchTasks(new SearchFilter("planilha")).size());
+
+        created.get(0).setStatus(Status.IN_PROGRESS);
+        created.get(1).setTitle("Tarefa revisada");
+        taskService.updateTasks(created.subList(0, 2));
+        assertEquals(1, taskRepository.countByStatus(Status.IN_PROGRESS));
+        assertEquals(1, taskService.searchTasks(new SearchFilter("revisada")).size());
+
+        taskService.deleteTasks(List.of(created.get(3).getId(), created.get(4).getId()));
+        assertEquals(3, taskService.getAllTasks().size());
+        assertTrue(taskService.searchTasks(new SearchFilter("lote 4")).isEmpty());
+    }
+
+    @Test
+    void testBatchWithInvalidItemsSavesNothing() {
+        List<Task> batch = List.of(
+                new Task("Tarefa válida", "Descrição"),
+                new Task("ab", "Título curto"),
+                new Task("Outra tarefa válida", "Descrição"),
+                new Task("", "Sem título"));
+
+        BatchValidationException exception = assertThrows(BatchValidationException.class,
+                () -> taskService.createTasks(batch));
+
+        assertEquals(List.of(1, 3), new ArrayList<>(exception.getErrors().keySet()),
+                "Erros devem indicar a posição de cada item inválido");
+        assertTrue(taskService.getAllTasks().isEmpty(), "Nenhuma tarefa do lote deve ser salva");
+    }
+
+    @Test
+    void testBulkStatusAndPriorityTransitions() {
+        for (int i = 1; i <= 6; i++) {
+            Task task = new Task("Tarefa da sprint " + i, "Descrição");
+            task.setStatus(i <= 4 ? Status.IN_PROGRESS : Status.PENDING);
+            task.setCompletionPercentage(50);
+            taskService.createTask(task);
+        }
+        SearchFilter inProgress = new SearchFilter();
+        inProgress.setStatus(Status.IN_PROGRESS);
+
+        assertEquals(4, taskService.updateStatusWhere(inProgress, Status.COMPLETED));
+        assertEquals(4, taskRepository.countByStatus(Status.COMPLETED));
+        assertEquals(0, taskRepository.countByStatus(Status.IN_PROGRESS));
+        assertTrue(taskService.getTasksByStatus(Status.COMPLETED).stream()
+                .allMatch(t -> t.getCompletionPercentage() == 100), "Tarefas concluídas devem ficar com 100%");
+        assertEquals(0, taskService.updateStatusWhere(inProgress, Status.COMPLETED), "Nada resta para alterar");
+
+        SearchFilter pending = new SearchFilter();
+        pending.setStatus(Status.PENDING);
+        assertEquals(2, taskService.updatePriorityWhere(pending, Priority.CRITICAL));
+        assertEquals(2, taskService.getTasksByPriority(Priority.CRITICAL).size());
+        assertEquals(0, taskService.updatePriorityWhere(pending, Priority.CRITICAL));
+        assertEquals(6, taskService.searchTasks(new SearchFilter("sprint")).size(), "Índice de palavras-chave deve continuar válido");
+    }
+
     @Test
     void testDeleteTask() {
         User user = userService.createUser("João", "joao@example.com", "Desenvolvimento");
@@ -232,5 +400,28 @@ class TaskServiceIntegrationTest {
 
         assertFalse(taskService.getTaskById(taskId).isPresent(), "Tarefa deve ser removida");
     }
-}
 
+    @Test
+    void testInjectedClockDrivesRepositoryAndService() {
+        LocalDateTime now = LocalDateTime.of(2040, 1, 15, 10, 0);
+        Clock clock = Clock.fixed(now.toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        for (TaskRepository repository : List.of(new InMemoryTaskRepository(clock), new MvccTaskRepository(clock))) {
+            TaskService service = new TaskService(repository, clock);
+            // Ainda no futuro pelo relógio do sistema, já atrasada pelo relógio injetado
+            Task late = new Task("Atrasada", "Descrição");
+            late.setDueDate(now.minusDays(1));
+            Task soon = new Task("Próxima", "Descrição");
+            soon.setDueDate(now.plusDays(3));
+            service.createTasks(List.of(late, soon));
+
+            assertEquals(List.of(late.getId()), service.getOverdueTasks().stream().map(Task::getId).toList());
+            SearchFilter overdue = new SearchFilter();
+            overdue.setShowOverdueOnly(true);
+            assertEquals(1, service.searchTasks(overdue).size(), "Busca deve usar o relógio do repositório");
+            assertEquals(List.of(soon.getId()),
+                    service.getTasksDueInNextDays(7).stream().map(Task::getId).toList());
+            assertEquals(now, service.updatePriority(soon.getId(), Priority.HIGH).getUpdatedAt(),
+                    "Atualização deve ser marcada pelo relógio injetado");
+        }
+    }
+}
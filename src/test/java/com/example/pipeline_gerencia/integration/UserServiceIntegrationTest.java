@@ -112,6 +112,52 @@ class UserServiceIntegrationTest {
         assertFalse(retrieved.get().isActive(), "Usuário deve estar desativado");
     }
 
+    @Test
+    void testEmailIndexFollowsUpdatesAndDeletes() {
+        User user = userService.createUser("João", "Joao@Example.com", "Desenvolvimento");
+
+        // Busca por email ignora maiúsculas/minúsculas
+        assertTrue(userService.getUserByEmail("JOAO@example.COM").isPresent());
+
+        // Alterar o email deve reindexar o usuário
+        user.setEmail("joao.silva@example.com");
+        userService.updateUser(user);
+        assertFalse(userService.getUserByEmail("joao@example.com").isPresent());
+        assertEquals(user.getId(), userService.getUserByEmail("joao.silva@example.com").orElseThrow().getId());
+
+        // O email antigo fica livre para novos cadastros
+        User other = userService.createUser("Outro João", "joao@example.com", "QA");
+        assertNotNull(other.getId());
+
+        userService.deleteUser(user.getId());
+        assertFalse(userService.getUserByEmail("joao.silva@example.com").isPresent());
+    }
+
+    @Test
+    void testEmailOfAnotherUserIsRejected() {
+        User joao = userService.createUser("João", "joao@example.com", "Desenvolvimento");
+        User maria = userService.createUser("Maria", "maria@example.com", "Gerência");
+
+        assertThrows(IllegalArgumentException.class,
+                () -> userService.updateUser(maria.getId(), null, u -> u.setEmail("JOAO@example.com")),
+                "Email de outro usuário deve ser rejeitado");
+        maria.setEmail("joao@example.com");
+        assertThrows(IllegalArgumentException.class, () -> userService.updateUser(maria));
+        User copy = new User("Cópia", "joao@example.com", "QA");
+        assertThrows(IllegalArgumentException.class, () -> userRepository.save(copy),
+                "Repositório também deve rejeitar email repetido");
+
+        // Trocar o email e remover o dono anterior mantém o índice correto
+        userService.updateUser(maria.getId(), null, u -> u.setEmail("maria.silva@example.com"));
+        userService.updateUser(joao.getId(), null, u -> u.setEmail("maria@example.com"));
+        userService.deleteUser(maria.getId());
+        assertEquals(joao.getId(), userService.getUserByEmail("maria@example.com").orElseThrow().getId());
+        assertFalse(userService.getUserByEmail("maria.silva@example.com").isPresent());
+        assertThrows(IllegalArgumentException.class,
+                () -> userService.createUser("Outra Maria", "maria@example.com", "QA"));
+        assertEquals(1, userService.getAllUsers().size());
+    }
+
     @Test
     void testDeleteUser() {
         User user = userService.createUser("João", "joao@example.com", "Desenvolvimento");
@@ -0,0 +1,82 @@
+package com.example.pipeline_gerencia.unit;
+
+import com.example.pipeline_gerencia.util.CachedClock;
+import org.junit.jupiter.api.Test;
+
+import java.time.*;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para a classe CachedClock
+ */
+class CachedClockTest {
+
+    private static final Instant START = LocalDateTime.of(2030, 1, 15, 10, 0).toInstant(ZoneOffset.UTC);
+
+    @Test
+    void testReadingIsCachedUntilRefresh() {
+        MutableClock source = new MutableClock(START);
+        CachedClock clock = new CachedClock(source);
+
+        source.instant = START.plusSeconds(30);
+        assertEquals(START, clock.instant(), "Leitura deve vir do cache");
+        assertSame(clock.now(), clock.now(), "Leituras entre atualizações não devem alocar");
+
+        clock.refresh();
+        assertEquals(START.plusSeconds(30), clock.instant());
+        assertEquals(LocalDateTime.of(2030, 1, 15, 10, 0, 30), clock.now());
+    }
+
+    @Test
+    void testClosedClockReadsSource() {
+        MutableClock source = new MutableClock(START);
+        CachedClock clock = new CachedClock(source);
+        clock.close();
+
+        source.instant = START.plusSeconds(5);
+        assertEquals(START.plusSeconds(5), clock.instant(), "Relógio fechado deve ler a fonte diretamente");
+        assertEquals(LocalDateTime.of(2030, 1, 15, 10, 0, 5), clock.now());
+    }
+
+    @Test
+    void testTickingClockAdvances() throws InterruptedException {
+        CachedClock clock = CachedClock.ticking(Clock.systemUTC(), 1, TimeUnit.MILLISECONDS);
+        try {
+            Instant first = clock.instant();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (!clock.instant().isAfter(first) && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            assertTrue(clock.instant().isAfter(first), "Relógio deve ser atualizado em segundo plano");
+        } finally {
+            clock.close();
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> CachedClock.ticking(Clock.systemUTC(), 0, TimeUnit.MILLISECONDS));
+    }
+
+    private static final class MutableClock extends Clock {
+        Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
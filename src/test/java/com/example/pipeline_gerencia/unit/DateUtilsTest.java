@@ -3,7 +3,9 @@ package com.example.pipeline_gerencia.unit;
 import com.example.pipeline_gerencia.util.DateUtils;
 import org.junit.jupiter.api.Test;
 
+import java.time.Clock;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -67,6 +69,18 @@ class DateUtilsTest {
         assertFalse(DateUtils.isOverdue(future), "Data no futuro não deve ser considerada atrasada");
     }
 
+    @Test
+    void testFixedClock() {
+        LocalDateTime now = LocalDateTime.of(2030, 1, 15, 10, 0);
+        Clock fixed = Clock.fixed(now.toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        assertEquals(now, DateUtils.now(fixed));
+        assertTrue(DateUtils.isOverdue(now.minusNanos(1), DateUtils.now(fixed)));
+        assertFalse(DateUtils.isOverdue(now, DateUtils.now(fixed)));
+        assertEquals(5, DateUtils.getDaysUntilDue(now.plusDays(5), DateUtils.now(fixed)));
+        assertFalse(now.equals(DateUtils.now()), "Relógio fixo não deve alterar o relógio padrão");
+        assertSame(Clock.systemDefaultZone().getZone(), DateUtils.getClock().getZone());
+    }
+
     @Test
     void testIsOverdueNull() {
         assertFalse(DateUtils.isOverdue(null), "Data nula não deve ser considerada atrasada");
@@ -0,0 +1,43 @@
+package com.example.pipeline_gerencia.unit;
+
+import com.example.pipeline_gerencia.util.Page;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para a classe Page
+ */
+class PageTest {
+
+    @Test
+    void testCursorRoundTrip() {
+        String cursor = Page.encodeCursor(42L);
+        assertNotNull(cursor);
+        assertEquals(42L, Page.decodeCursor(cursor));
+    }
+
+    @Test
+    void testEmptyCursorMeansFirstPage() {
+        assertNull(Page.decodeCursor(null));
+        assertNull(Page.decodeCursor(""));
+    }
+
+    @Test
+    void testInvalidCursor() {
+        assertThrows(IllegalArgumentException.class, () -> Page.decodeCursor("não-é-um-cursor"));
+    }
+
+    @Test
+    void testHasNext() {
+        Page<String> lastPage = new Page<>(Collections.singletonList("a"), null);
+        assertFalse(lastPage.hasNext());
+
+        Page<String> firstPage = new Page<>(Arrays.asList("a", "b"), Page.encodeCursor(2L));
+        assertTrue(firstPage.hasNext());
+        assertEquals(2, firstPage.getItems().size());
+    }
+}
@@ -2,10 +2,14 @@ package com.example.pipeline_gerencia.unit;
 
 import com.example.pipeline_gerencia.model.Priority;
 import com.example.pipeline_gerencia.model.Status;
+import com.example.pipeline_gerencia.model.Task;
+import com.example.pipeline_gerencia.model.User;
 import com.example.pipeline_gerencia.util.SearchFilter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.LocalDateTime;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -81,6 +85,33 @@ class SearchFilterTest {
         assertTrue(filter.hasFilters(), "Deve ter filtros quando showOverdueOnly é true");
     }
 
+    @Test
+    void testMatchesCombinesAllCriteria() {
+        User user = new User("João", "joao@example.com", "Desenvolvimento");
+        user.setId(1L);
+        Task task = new Task("Implementar API", "Criar endpoints REST");
+        task.setStatus(Status.IN_PROGRESS);
+        task.setPriority(Priority.HIGH);
+        task.setAssignee(user);
+        task.setDueDate(LocalDateTime.now().minusDays(1));
+
+        assertTrue(filter.matches(task), "Filtro vazio deve aceitar qualquer tarefa");
+
+        filter.setKeyword("rest");
+        filter.setStatus(Status.IN_PROGRESS);
+        filter.setPriority(Priority.HIGH);
+        filter.setAssigneeId(1L);
+        filter.setShowOverdueOnly(true);
+        assertTrue(filter.matches(task), "Deve aceitar tarefa que atende todos os critérios");
+
+        filter.setCategoryId(2L);
+        assertFalse(filter.matches(task), "Tarefa sem categoria não atende filtro por categoria");
+
+        filter.setCategoryId(null);
+        filter.setKeyword("inexistente");
+        assertFalse(filter.matches(task), "Palavra-chave ausente deve rejeitar a tarefa");
+    }
+
     @Test
     void testToString() {
         filter.setKeyword("teste");
@@ -12,6 +12,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -59,6 +60,18 @@ class TaskServiceUnitTest {
         verify(taskRepository, never()).save(any());
     }
 
+    @Test
+    void testCreateTasksSavesBatchAtOnce() {
+        List<Task> batch = Arrays.asList(new Task("Primeira tarefa", "Descrição"), new Task("Segunda tarefa", "Descrição"));
+        when(taskRepository.saveAll(batch)).thenReturn(batch);
+
+        List<Task> result = taskService.createTasks(batch);
+
+        assertEquals(2, result.size());
+        verify(taskRepository, times(1)).saveAll(batch);
+        verify(taskRepository, never()).save(any());
+    }
+
     @Test
     void testGetTaskById() {
         Task task = new Task("Tarefa", "Descrição");
@@ -130,21 +143,20 @@ class TaskServiceUnitTest {
 
     @Test
     void testGetCompletionRate() {
-        Task task1 = new Task("Tarefa 1", "Descrição");
-        task1.setStatus(Status.COMPLETED);
-        Task task2 = new Task("Tarefa 2", "Descrição");
-        task2.setStatus(Status.PENDING);
-
-        when(taskRepository.findAll()).thenReturn(Arrays.asList(task1, task2));
+        readsDirectly();
+        when(taskRepository.count()).thenReturn(2L);
+        when(taskRepository.countByStatus(Status.COMPLETED)).thenReturn(1L);
 
         int rate = taskService.getCompletionRate();
 
         assertEquals(50, rate, "Taxa de conclusão deve ser 50%");
+        verify(taskRepository, never()).findAll();
     }
 
     @Test
     void testGetCompletionRateEmpty() {
-        when(taskRepository.findAll()).thenReturn(Arrays.asList());
+        readsDirectly();
+        when(taskRepository.count()).thenReturn(0L);
 
         int rate = taskService.getCompletionRate();
 
@@ -153,16 +165,19 @@ class TaskServiceUnitTest {
 
     @Test
     void testGetAverageCompletionPercentage() {
-        Task task1 = new Task("Tarefa 1", "Descrição");
-        task1.setCompletionPercentage(50);
-        Task task2 = new Task("Tarefa 2", "Descrição");
-        task2.setCompletionPercentage(100);
-
-        when(taskRepository.findAll()).thenReturn(Arrays.asList(task1, task2));
+        readsDirectly();
+        when(taskRepository.count()).thenReturn(2L);
+        when(taskRepository.sumCompletionPercentage()).thenReturn(150L);
 
         int average = taskService.getAverageCompletionPercentage();
 
         assertEquals(75, average, "Média deve ser 75%");
+        verify(taskRepository, never()).findAll();
     }
-}
 
+    // Executa as consultas consistentes diretamente no mock
+    private void readsDirectly() {
+        when(taskRepository.readConsistent(any())).thenAnswer(invocation ->
+                invocation.<Function<TaskRepository, Object>>getArgument(0).apply(taskRepository));
+    }
+}
@@ -4,10 +4,13 @@ import com.example.pipeline_gerencia.model.Priority;
 import com.example.pipeline_gerencia.model.Status;
 import com.example.pipeline_gerencia.model.Task;
 import com.example.pipeline_gerencia.model.User;
+import com.example.pipeline_gerencia.repository.impl.InMemoryTaskRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Clock;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -31,7 +34,7 @@ class TaskTest {
         assertEquals(Status.PENDING, task.getStatus());
         assertEquals(Priority.MEDIUM, task.getPriority());
         assertEquals(0, task.getCompletionPercentage());
-        assertNotNull(task.getCreatedAt());
+        assertNull(task.getCreatedAt(), "Data de criação só é definida ao salvar");
     }
 
     @Test
@@ -40,7 +43,21 @@ class TaskTest {
         assertEquals(Status.PENDING, newTask.getStatus());
         assertEquals(Priority.MEDIUM, newTask.getPriority());
         assertEquals(0, newTask.getCompletionPercentage());
-        assertNotNull(newTask.getCreatedAt());
+        assertNull(newTask.getCreatedAt());
+    }
+
+    @Test
+    void testCreatedAtIsStampedOnSave() {
+        LocalDateTime now = LocalDateTime.of(2030, 1, 15, 10, 0);
+        Clock fixed = Clock.fixed(now.toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        InMemoryTaskRepository repository = new InMemoryTaskRepository(fixed);
+
+        assertEquals(now, repository.save(task).getCreatedAt(), "Data de criação deve vir do relógio do repositório");
+        LocalDateTime earlier = now.minusDays(3);
+        Task restored = new Task("Tarefa restaurada", "Descrição");
+        restored.setCreatedAt(earlier);
+        assertEquals(earlier, repository.save(restored).getCreatedAt(), "Data já definida deve ser mantida");
+        assertEquals(now, repository.findById(task.getId()).orElseThrow().getCreatedAt());
     }
 
     @Test
@@ -77,6 +94,16 @@ class TaskTest {
         assertFalse(task.isOverdue(), "Tarefa sem prazo não deve ser considerada atrasada");
     }
 
+    @Test
+    void testIsOverdueAtInstant() {
+        LocalDateTime dueDate = LocalDateTime.of(2030, 1, 15, 10, 0);
+        task.setDueDate(dueDate);
+
+        assertFalse(task.isOverdue(dueDate.minusMinutes(1)), "Antes do prazo não está atrasada");
+        assertFalse(task.isOverdue(dueDate), "No instante do prazo ainda não está atrasada");
+        assertTrue(task.isOverdue(dueDate.plusMinutes(1)), "Depois do prazo está atrasada");
+    }
+
     @Test
     void testTaskSettersAndGetters() {
         User user = new User("João", "joao@example.com", "Desenvolvimento");